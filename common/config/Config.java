@@ -132,7 +132,9 @@ public class Config {
     public <T> T getProperty(ConfigKey<T> key) {
         String value = prop.getProperty(key.name());
 
-        if (value == null) {
+        if (value == null && key.defaultValue() != null) {
+            return key.defaultValue();
+        } else if (value == null) {
             throw new RuntimeException(ErrorMessage.UNAVAILABLE_PROPERTY.getMessage(key.name(), CONFIG_FILE_PATH));
         }
 
@@ -18,6 +18,7 @@
 
 package grakn.core.common.config;
 
+import javax.annotation.Nullable;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -47,6 +48,7 @@ public class ConfigKey<T> {
     public static final KeyParser<String> STRING = string -> string;
     public static final KeyParser<Integer> INT = Integer::parseInt;
     public static final KeyParser<Long> LONG = Long::parseLong;
+    public static final KeyParser<Double> DOUBLE = Double::parseDouble;
     public static final KeyParser<Boolean> BOOL = Boolean::parseBoolean;
     public static final KeyParser<Path> PATH = Paths::get;
 
@@ -60,9 +62,25 @@ public class ConfigKey<T> {
     public static final ConfigKey<String> STORAGE_KEYSPACE = key("storage.cql.keyspace");
 
     public static final ConfigKey<Long> TYPE_SHARD_THRESHOLD = key("knowledge-base.type-shard-threshold", LONG);
+    public static final ConfigKey<Integer> DISTINCT_SPILL_THRESHOLD = key("knowledge-base.distinct-spill-threshold", INT, 1_000_000);
+    public static final ConfigKey<Integer> PLAN_CACHE_SIZE = key("knowledge-base.plan-cache-size", INT, 10_000);
+    public static final ConfigKey<Double> PLAN_CACHE_STATISTICS_DRIFT = key("knowledge-base.plan-cache-statistics-drift", DOUBLE, 0.5);
+    public static final ConfigKey<Integer> REASONER_PARALLELISM = key("knowledge-base.reasoner-parallelism", INT, 1);
+    public static final ConfigKey<String> MATERIALISED_KEYSPACES = key("knowledge-base.materialised-keyspaces", STRING, "");
+    public static final ConfigKey<Long> KEYSPACE_IDLE_TIMEOUT = key("knowledge-base.keyspace-idle-timeout", LONG, 300_000L);
+    public static final ConfigKey<Integer> WARM_KEYSPACES_LIMIT = key("knowledge-base.warm-keyspaces-limit", INT, 8);
+    public static final ConfigKey<Long> COMPUTE_IN_PROCESS_THRESHOLD = key("knowledge-base.compute-in-process-threshold", LONG, 1_000_000L);
+    public static final ConfigKey<Integer> COMPUTE_PATH_SEARCH_LIMIT = key("knowledge-base.compute-path-search-limit", INT, 100_000);
+    public static final ConfigKey<Boolean> MIGRATE_ATTRIBUTE_INDEX = key("knowledge-base.migrate-attribute-index", BOOL, false);
+    public static final ConfigKey<Integer> ATTRIBUTE_CACHE_SIZE = key("knowledge-base.attribute-cache-size", INT, 10_000);
+    public static final ConfigKey<Long> ATTRIBUTE_CACHE_TIMEOUT = key("knowledge-base.attribute-cache-timeout", LONG, 120_000L);
     public static final ConfigKey<String> DATA_DIR = key("data-dir");
     public static final ConfigKey<String> LOG_DIR = key("log.dirs");
 
+    public static final ConfigKey<Integer> ITERATOR_BATCH_SIZE = key("server.iterator-batch-size", INT, 50);
+    public static final ConfigKey<Integer> ITERATOR_MAX_BATCH_SIZE = key("server.iterator-max-batch-size", INT, 1_000);
+    public static final ConfigKey<Integer> TRANSACTION_THREADS = key("server.transaction-threads", INT, 64);
+
     /**
      * The name of the key, how it looks in the properties file
      */
@@ -73,10 +91,21 @@ public class ConfigKey<T> {
      */
     private final KeyParser<T> parser;
 
+    /**
+     * The value used when the property is absent from the properties file, null if the property is mandatory.
+     */
+    @Nullable
+    private final T defaultValue;
+
 
     public ConfigKey(String value, KeyParser<T> parser) {
+        this(value, parser, null);
+    }
+
+    public ConfigKey(String value, KeyParser<T> parser, @Nullable T defaultValue) {
         this.name = value;
         this.parser = parser;
+        this.defaultValue = defaultValue;
     }
 
     public String name() {
@@ -87,6 +116,11 @@ public class ConfigKey<T> {
         return parser;
     }
 
+    @Nullable
+    public T defaultValue() {
+        return defaultValue;
+    }
+
     /**
      * Convert the value of the property into a string to store in a properties file
      */
@@ -109,4 +143,11 @@ public class ConfigKey<T> {
         return new ConfigKey<>(value, parser);
     }
 
+    /**
+     * Create an optional key with the given parser, falling back to the default value when the property is not set
+     */
+    public static <T> ConfigKey<T> key(String value, KeyParser<T> parser, T defaultValue) {
+        return new ConfigKey<>(value, parser, defaultValue);
+    }
+
 }
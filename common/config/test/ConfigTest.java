@@ -26,6 +26,7 @@ import org.junit.rules.ExpectedException;
 
 import java.io.InputStream;
 
+import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNotNull;
 
 /**
@@ -52,6 +53,13 @@ public class ConfigTest {
         configuration.getProperty(key);
     }
 
+    @org.junit.Test
+    public void whenGettingPropertyWithDefaultAndPropertyIsUndefinedInConfigurationFile_DefaultIsReturned() {
+        ConfigKey<Integer> key = ConfigKey.key("undefined-with-default", ConfigKey.INT, 7);
+
+        assertEquals(Integer.valueOf(7), configuration.getProperty(key));
+    }
+
     @org.junit.Test
     public void whenGettingExistingProperty_PropertyIsReturned(){
         assertNotNull(configuration.getProperty(ConfigKey.SERVER_HOST_NAME));
@@ -146,18 +146,18 @@ public class AttributeTypeImpl<D> extends TypeImpl<AttributeType<D>, Attribute<D
     @Override
     @Nullable
     public Attribute<D> attribute(D value) {
-        String index = Schema.generateAttributeIndex(label(), value.toString());
-        Attribute<D> concept = conceptManager.getCachedAttribute(index);
+        String index = conceptManager.attributeIndex(this, value);
+        Attribute<D> concept = conceptManager.getCachedAttribute(index, value);
         if (concept != null) return concept;
-        return conceptManager.getConcept(Schema.VertexProperty.INDEX, index);
+        return conceptManager.getAttributeWithIndex(index, value);
     }
 
     /**
      * This is only used when checking if attribute exists before trying to create a new one.
      */
     private Attribute<D> getAttribute(D value) {
-        String index = Schema.generateAttributeIndex(label(), value.toString());
-        return conceptManager.getAttribute(index);
+        String index = conceptManager.attributeIndex(this, value);
+        return conceptManager.getAttribute(index, value);
     }
 
     /**
@@ -186,6 +186,31 @@ public class AttributeTypeImpl<D> extends TypeImpl<AttributeType<D>, Attribute<D
         return vertex().property(Schema.VertexProperty.REGEX);
     }
 
+    @Override
+    @Nullable
+    public Long getOwnershipCount() {
+        return vertex().property(Schema.VertexProperty.OWNERSHIP_COUNT);
+    }
+
+    @Override
+    @Nullable
+    public Double getOwnedValueSum() {
+        return vertex().property(Schema.VertexProperty.OWNED_VALUE_SUM);
+    }
+
+    @Override
+    @Nullable
+    public Double getOwnedValueSquareSum() {
+        return vertex().property(Schema.VertexProperty.OWNED_VALUE_SQUARE_SUM);
+    }
+
+    @Override
+    public void writeOwnedValueStatistics(@Nullable Long ownershipCount, @Nullable Double sum, @Nullable Double squareSum) {
+        vertex().property(Schema.VertexProperty.OWNERSHIP_COUNT, ownershipCount);
+        vertex().property(Schema.VertexProperty.OWNED_VALUE_SUM, sum);
+        vertex().property(Schema.VertexProperty.OWNED_VALUE_SQUARE_SUM, squareSum);
+    }
+
     @Override
     void trackRolePlayers() {
         conceptNotificationChannel.trackAttributeInstancesRolesPlayed(this);
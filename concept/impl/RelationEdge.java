@@ -96,6 +96,7 @@ public class RelationEdge implements RelationStructure {
         RelationReified relationReified = (RelationReified) conceptManager().createRelationReified(relationVertex, type());
 
         //Delete the old edge
+        conceptNotificationChannel.hasAttributeRelationReified(value());
         delete();
 
         return relationReified;
@@ -156,7 +157,7 @@ public class RelationEdge implements RelationStructure {
     public void delete() {
         if (!isDeleted()) {
             Supplier<Concept> conceptRetriever = () -> conceptManager.getConcept(id());
-            conceptNotificationChannel.relationEdgeDeleted(this.type(), this.isInferred(), conceptRetriever);
+            conceptNotificationChannel.relationEdgeDeleted(this.type(), this.isInferred(), conceptRetriever, this::value);
             edge().delete();
         }
     }
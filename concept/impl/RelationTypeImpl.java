@@ -26,6 +26,7 @@ import grakn.core.kb.concept.api.RelationType;
 import grakn.core.kb.concept.api.Role;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.concept.manager.ConceptNotificationChannel;
+import grakn.core.kb.concept.manager.SchemaSnapshot;
 import grakn.core.kb.concept.structure.Casting;
 import grakn.core.kb.concept.structure.EdgeElement;
 import grakn.core.kb.concept.structure.VertexElement;
@@ -42,7 +43,11 @@ import java.util.stream.Stream;
  * They are used to model and categorise n-ary relations.
  */
 public class RelationTypeImpl extends TypeImpl<RelationType, Relation> implements RelationType {
-    private final ConceptCache<Set<Role>> cachedRelates = new ConceptCache<>(() -> this.<Role>neighbours(Direction.OUT, Schema.EdgeLabel.RELATES).collect(Collectors.toSet()));
+    private final ConceptCache<Set<Role>> cachedRelates = new ConceptCache<>(() -> {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return this.<Role>schemaConcepts(schemaSnapshot.roles(label())).collect(Collectors.toSet());
+        return this.<Role>neighbours(Direction.OUT, Schema.EdgeLabel.RELATES).collect(Collectors.toSet());
+    });
 
     public RelationTypeImpl(VertexElement vertexElement, ConceptManager conceptBuilder, ConceptNotificationChannel conceptNotificationChannel) {
         super(vertexElement, conceptBuilder, conceptNotificationChannel);
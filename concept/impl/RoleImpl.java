@@ -26,6 +26,7 @@ import grakn.core.kb.concept.api.Role;
 import grakn.core.kb.concept.api.Type;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.concept.manager.ConceptNotificationChannel;
+import grakn.core.kb.concept.manager.SchemaSnapshot;
 import grakn.core.kb.concept.structure.Casting;
 import grakn.core.kb.concept.structure.VertexElement;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -43,8 +44,16 @@ import java.util.stream.Stream;
  * 2. It is special in that it is unique to RelationTypes.
  */
 public class RoleImpl extends SchemaConceptImpl<Role> implements Role {
-    private final ConceptCache<Set<Type>> cachedDirectPlayedByTypes = new ConceptCache<>(() -> this.<Type>neighbours(Direction.IN, Schema.EdgeLabel.PLAYS).collect(Collectors.toSet()));
-    private final ConceptCache<Set<RelationType>> cachedRelationTypes = new ConceptCache<>(() -> this.<RelationType>neighbours(Direction.IN, Schema.EdgeLabel.RELATES).collect(Collectors.toSet()));
+    private final ConceptCache<Set<Type>> cachedDirectPlayedByTypes = new ConceptCache<>(() -> {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return this.<Type>schemaConcepts(schemaSnapshot.directPlayers(label())).collect(Collectors.toSet());
+        return this.<Type>neighbours(Direction.IN, Schema.EdgeLabel.PLAYS).collect(Collectors.toSet());
+    });
+    private final ConceptCache<Set<RelationType>> cachedRelationTypes = new ConceptCache<>(() -> {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return this.<RelationType>schemaConcepts(schemaSnapshot.relations(label())).collect(Collectors.toSet());
+        return this.<RelationType>neighbours(Direction.IN, Schema.EdgeLabel.RELATES).collect(Collectors.toSet());
+    });
 
     public RoleImpl(VertexElement vertexElement, ConceptManager conceptManager, ConceptNotificationChannel conceptNotificationChannel) {
         super(vertexElement, conceptManager, conceptNotificationChannel);
@@ -80,6 +89,8 @@ public class RoleImpl extends SchemaConceptImpl<Role> implements Role {
      */
     @Override
     public Stream<Type> players() {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return schemaConcepts(schemaSnapshot.players(label()));
         return cachedDirectPlayedByTypes.get().stream().flatMap(Type::subs);
     }
 
@@ -102,6 +113,23 @@ public class RoleImpl extends SchemaConceptImpl<Role> implements Role {
                 .flatMap(relation -> relation.castingsRelation(this));
     }
 
+    /**
+     * Roles have no instances of their own, so the instance count property of a role vertex holds its role player count
+     */
+    @Override
+    public Long getRolePlayerCount() {
+        Long count = vertex().property(Schema.VertexProperty.INSTANCE_COUNT);
+        if (count != null) {
+            return count;
+        }
+        return 0L;
+    }
+
+    @Override
+    public void writeRolePlayerCount(Long count) {
+        vertex().property(Schema.VertexProperty.INSTANCE_COUNT, count);
+    }
+
     @Override
     boolean deletionAllowed() {
         return super.deletionAllowed() &&
@@ -28,10 +28,12 @@ import grakn.core.kb.concept.api.Rule;
 import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.concept.manager.ConceptNotificationChannel;
+import grakn.core.kb.concept.manager.SchemaSnapshot;
 import grakn.core.kb.concept.structure.PropertyNotUniqueException;
 import grakn.core.kb.concept.structure.VertexElement;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -48,11 +50,34 @@ import java.util.stream.Stream;
  *            For example an EntityType or RelationType or Role
  */
 public abstract class SchemaConceptImpl<T extends SchemaConcept> extends ConceptImpl implements SchemaConcept {
-    private final ConceptCache<Label> cachedLabel = new ConceptCache<>(() -> Label.of(vertex().property(Schema.VertexProperty.SCHEMA_LABEL)));
-    private final ConceptCache<LabelId> cachedLabelId = new ConceptCache<>(() -> LabelId.of(vertex().property(Schema.VertexProperty.LABEL_ID)));
-    private final ConceptCache<T> cachedSuperType = new ConceptCache<>(() -> this.<T>neighbours(Direction.OUT, Schema.EdgeLabel.SUB).findFirst().orElse(null));
-    private final ConceptCache<Set<T>> cachedDirectSubTypes = new ConceptCache<>(() -> this.<T>neighbours(Direction.IN, Schema.EdgeLabel.SUB).collect(Collectors.toSet()));
-    private final ConceptCache<Boolean> cachedIsImplicit = new ConceptCache<>(() -> vertex().propertyBoolean(Schema.VertexProperty.IS_IMPLICIT));
+    private final ConceptCache<Label> cachedLabel = new ConceptCache<>(() -> {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return schemaSnapshot.label(id());
+        return Label.of(vertex().property(Schema.VertexProperty.SCHEMA_LABEL));
+    });
+    private final ConceptCache<LabelId> cachedLabelId = new ConceptCache<>(() -> {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return schemaSnapshot.labelId(label());
+        return LabelId.of(vertex().property(Schema.VertexProperty.LABEL_ID));
+    });
+    private final ConceptCache<T> cachedSuperType = new ConceptCache<>(() -> {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) {
+            Label sup = schemaSnapshot.sup(label());
+            return sup != null ? conceptManager.getSchemaConcept(sup) : null;
+        }
+        return this.<T>neighbours(Direction.OUT, Schema.EdgeLabel.SUB).findFirst().orElse(null);
+    });
+    private final ConceptCache<Set<T>> cachedDirectSubTypes = new ConceptCache<>(() -> {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return this.<T>schemaConcepts(schemaSnapshot.directSubs(label())).collect(Collectors.toSet());
+        return this.<T>neighbours(Direction.IN, Schema.EdgeLabel.SUB).collect(Collectors.toSet());
+    });
+    private final ConceptCache<Boolean> cachedIsImplicit = new ConceptCache<>(() -> {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return schemaSnapshot.isImplicit(label());
+        return vertex().propertyBoolean(Schema.VertexProperty.IS_IMPLICIT);
+    });
 
     SchemaConceptImpl(VertexElement vertexElement, ConceptManager conceptManager, ConceptNotificationChannel conceptNotificationChannel) {
         super(vertexElement, conceptManager, conceptNotificationChannel);
@@ -63,6 +88,24 @@ public abstract class SchemaConceptImpl<T extends SchemaConcept> extends Concept
         return (SchemaConceptImpl<X>) schemaConcept;
     }
 
+    /**
+     * @return the schema snapshot shared by the transactions of this keyspace, if it can be used to describe this
+     * SchemaConcept. It cannot once the transaction has modified the schema, or if this SchemaConcept is new.
+     */
+    @Nullable
+    SchemaSnapshot schemaSnapshot() {
+        SchemaSnapshot schemaSnapshot = conceptManager.schemaSnapshot();
+        return schemaSnapshot != null && schemaSnapshot.contains(id()) ? schemaSnapshot : null;
+    }
+
+    /**
+     * @param labels labels of schema concepts recorded in the schema snapshot
+     * @return the schema concepts with those labels
+     */
+    <X extends SchemaConcept> Stream<X> schemaConcepts(Set<Label> labels) {
+        return labels.stream().map(conceptManager::<X>getSchemaConcept);
+    }
+
     public T label(Label label) {
         // TODO combine with labelAdded if possible
         conceptNotificationChannel.labelRemoved(this);
@@ -102,6 +145,9 @@ public abstract class SchemaConceptImpl<T extends SchemaConcept> extends Concept
 
     @Override
     public Stream<T> sups() {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return schemaConcepts(schemaSnapshot.sups(label()));
+
         Set<T> superSet = new HashSet<>();
 
         T superParent = getThis();
@@ -155,6 +201,8 @@ public abstract class SchemaConceptImpl<T extends SchemaConcept> extends Concept
      */
     @Override
     public Stream<T> subs() {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return schemaConcepts(schemaSnapshot.subs(label()));
         return nextSubLevel(getThis());
     }
 
@@ -180,11 +228,13 @@ public abstract class SchemaConceptImpl<T extends SchemaConcept> extends Concept
      * Checks if we are mutating a SchemaConcept in a valid way. SchemaConcept mutations are valid if:
      * 1. The SchemaConcept is not a meta-type
      * 2. The graph is not batch loading
+     * Valid mutations are announced, as they make the shared schema snapshot out of date for this transaction.
      */
     void checkSchemaMutationAllowed() {
         if (Schema.MetaSchema.isMetaLabel(label())) {
             throw GraknConceptException.metaTypeImmutable(label());
         }
+        conceptNotificationChannel.schemaConceptModified(this);
     }
 
     /**
@@ -32,6 +32,7 @@ import grakn.core.kb.concept.api.Thing;
 import grakn.core.kb.concept.api.Type;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.concept.manager.ConceptNotificationChannel;
+import grakn.core.kb.concept.manager.SchemaSnapshot;
 import grakn.core.kb.concept.structure.EdgeElement;
 import grakn.core.kb.concept.structure.Shard;
 import grakn.core.kb.concept.structure.VertexElement;
@@ -60,6 +61,12 @@ public class TypeImpl<T extends Type, V extends Thing> extends SchemaConceptImpl
     private final ConceptCache<Map<Role, Boolean>> cachedDirectPlays = new ConceptCache<>(() -> {
         Map<Role, Boolean> roleTypes = new HashMap<>();
 
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) {
+            schemaSnapshot.directPlays(label()).forEach((role, required) -> roleTypes.put(conceptManager.getSchemaConcept(role), required));
+            return roleTypes;
+        }
+
         vertex().getEdgesOfType(Direction.OUT, Schema.EdgeLabel.PLAYS).forEach(edge -> {
             Role role = conceptManager.buildConcept(edge.target());
             Boolean required = edge.propertyBoolean(Schema.EdgeProperty.REQUIRED);
@@ -83,6 +90,9 @@ public class TypeImpl<T extends Type, V extends Thing> extends SchemaConceptImpl
      */
     @Override
     public Stream<Role> playing() {
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        if (schemaSnapshot != null) return schemaConcepts(schemaSnapshot.playing(label()));
+
         //Get the immediate plays which may be cached
         Stream<Role> allRoles = directPlays().keySet().stream();
 
@@ -19,6 +19,7 @@
 
 package grakn.core.concept.manager;
 
+import grakn.core.concept.impl.RelationEdge;
 import grakn.core.concept.impl.RelationImpl;
 import grakn.core.concept.impl.RelationReified;
 import grakn.core.concept.impl.ThingImpl;
@@ -45,6 +46,7 @@ import grakn.core.kb.server.cache.TransactionCache;
 import grakn.core.kb.keyspace.StatisticsDelta;
 
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 /**
@@ -80,30 +82,42 @@ public class ConceptListenerImpl implements ConceptListener {
     public void thingDeleted(Thing thing) {
         Type type = thing.type();
         statistics.decrement(type);
+        // the value of a reified ownership may be deleted before the ownership, so it can't be followed
+        if (type.isImplicit()) statistics.invalidateOwnedValues(Schema.ImplicitType.explicitLabel(type.label()));
         queryCache.ackDeletion(type);
+        if (!thing.isInferred()) transactionCache.ackInstanceDeletion(type.label());
         conceptDeleted(thing);
         if(thing.isAttribute()) attributeDeleted(thing.asAttribute());
     }
 
-    // Using a supplier instead of the concept avoids fetching the wrapping concept
+    // Using suppliers instead of the concepts avoids fetching the wrapping concept
     // when the edge is not inferred, which is probably most of the time
     @Override
-    public void relationEdgeDeleted(RelationType edgeTypeDeleted, boolean isInferredEdge, Supplier<Concept> wrappingConceptGetter) {
+    public void relationEdgeDeleted(RelationType edgeTypeDeleted, boolean isInferredEdge, Supplier<Concept> wrappingConceptGetter, Supplier<Thing> valueGetter) {
         statistics.decrement(edgeTypeDeleted);
+        ownedValueChanged(valueGetter.get(), statistics::ownedValueRemoved);
         if (isInferredEdge) {
             Concept wrappingConcept = wrappingConceptGetter.get();
             if (wrappingConcept != null) {
                 transactionCache.removeInferredInstance(wrappingConcept.asThing());
             }
+        } else {
+            transactionCache.ackInstanceDeletion(edgeTypeDeleted.label());
         }
     }
 
     @Override
     public void schemaConceptDeleted(SchemaConcept schemaConcept) {
         ruleCache.clear();
+        transactionCache.markSchemaModified();
         conceptDeleted(schemaConcept);
     }
 
+    @Override
+    public void schemaConceptModified(SchemaConcept schemaConcept) {
+        transactionCache.markSchemaModified();
+    }
+
     /**
      * Sync the transaction caches to reflect the new concept that has been created
      *
@@ -122,6 +136,7 @@ public class ConceptListenerImpl implements ConceptListener {
             //creation of inferred concepts is an integral part of reasoning
             //hence we only acknowledge non-inferred insertions
             queryCache.ackInsertion();
+            transactionCache.ackInstanceInsertion(thingType.label());
         }
 
         transactionCache.cacheConcept(thing);
@@ -137,8 +152,7 @@ public class ConceptListenerImpl implements ConceptListener {
                     .filter(Concept::isAttribute)
                     .map(Concept::asAttribute)
                     .forEach(key -> {
-                        Label label = Schema.ImplicitType.explicitLabel(thingType.label());
-                        String index = Schema.generateAttributeIndex(label, key.value().toString());
+                        String index = attributeManager.attributeIndex(key.type(), key.value());
                         transactionCache.addModifiedKeyIndex(index);
                     });
         }
@@ -146,19 +160,18 @@ public class ConceptListenerImpl implements ConceptListener {
 
     @Override
     public <D> void attributeCreated(Attribute<D> attribute, D value, boolean isInferred) {
-        Type type = attribute.type();
+        AttributeType<D> type = attribute.type();
         //Track the attribute by index
         Label label = type.label();
-        String index = Schema.generateAttributeIndex(label, value.toString());
+        String index = attributeManager.attributeIndex(type, value);
         transactionCache.addNewAttribute(label, index, attribute.id());
         thingCreated(attribute, isInferred);
         attributeManager.ackAttributeInsert(index, txId);
     }
 
     private <D> void attributeDeleted(Attribute<D> attribute) {
-        Type type = attribute.type();
         //Track the attribute by index
-        String index = Schema.generateAttributeIndex(type.label(), attribute.value().toString());
+        String index = attributeManager.attributeIndex(attribute.type(), attribute.value());
         attributeManager.ackAttributeDelete(index, txId);
     }
 
@@ -176,21 +189,44 @@ public class ConceptListenerImpl implements ConceptListener {
     @Override
     public void hasAttributeRelationCreated(Relation hasAttributeRelation, boolean isInferred) {
         thingCreated(hasAttributeRelation, isInferred);
+        RelationEdge relationEdge = (RelationEdge) RelationImpl.from(hasAttributeRelation).structure();
+        ownedValueChanged(relationEdge.value(), statistics::ownedValueAdded);
+    }
+
+    @Override
+    public void hasAttributeRelationReified(Thing value) {
+        // cancels out the removal recorded when the edge is deleted
+        ownedValueChanged(value, statistics::ownedValueAdded);
+    }
+
+    /**
+     * Ownerships of numeric attributes are followed by value, to maintain the aggregates of compute statistics
+     */
+    private void ownedValueChanged(Thing value, BiConsumer<Label, Number> change) {
+        if (!value.isAttribute()) return;
+        Attribute<?> attribute = value.asAttribute();
+        AttributeType.DataType<?> dataType = attribute.dataType();
+        if (AttributeType.DataType.LONG.equals(dataType) || AttributeType.DataType.DOUBLE.equals(dataType)) {
+            change.accept(attribute.type().label(), (Number) attribute.value());
+        }
     }
 
     @Override
     public void ruleCreated(Rule rule) {
         transactionCache.trackForValidation(rule);
+        transactionCache.markSchemaModified();
     }
 
     @Override
     public void roleCreated(Role role) {
         transactionCache.trackForValidation(role);
+        transactionCache.markSchemaModified();
     }
 
     @Override
     public void relationTypeCreated(RelationType relationType) {
         transactionCache.trackForValidation(relationType);
+        transactionCache.markSchemaModified();
     }
 
     /*
@@ -198,15 +234,18 @@ public class ConceptListenerImpl implements ConceptListener {
      */
     @Override
     public void labelRemoved(SchemaConcept schemaConcept) {
+        transactionCache.markSchemaModified();
         transactionCache.remove(schemaConcept);
     }
     @Override
     public void labelAdded(SchemaConcept schemaConcept) {
+        transactionCache.markSchemaModified();
         transactionCache.cacheConcept(schemaConcept);
     }
 
     @Override
     public void conceptSetAbstract(Type type, boolean isAbstract) {
+        transactionCache.markSchemaModified();
         if (isAbstract) {
             transactionCache.removeFromValidation(type);
         } else {
@@ -216,6 +255,7 @@ public class ConceptListenerImpl implements ConceptListener {
 
     @Override
     public void trackRelationInstancesRolePlayers(RelationType relationType) {
+        transactionCache.markSchemaModified();
         relationType.instances().forEach(concept -> {
             RelationImpl relation = RelationImpl.from(concept);
             RelationReified reifedRelation = relation.reified();
@@ -227,12 +267,14 @@ public class ConceptListenerImpl implements ConceptListener {
 
     @Override
     public void trackEntityInstancesRolesPlayed(EntityType entity) {
+        transactionCache.markSchemaModified();
         entity.instances().forEach(concept -> ((ThingImpl<?, ?>) concept).castingsInstance().forEach(
                 rolePlayer -> transactionCache.trackForValidation(rolePlayer)));
     }
 
     @Override
     public void trackAttributeInstancesRolesPlayed(AttributeType attributeType) {
+        transactionCache.markSchemaModified();
         attributeType.instances().forEach(concept -> ((ThingImpl<?, ?>) concept).castingsInstance().forEach(
                 rolePlayer -> transactionCache.trackForValidation(rolePlayer)));
     }
@@ -240,6 +282,8 @@ public class ConceptListenerImpl implements ConceptListener {
     @Override
     public void castingDeleted(Casting casting) {
        transactionCache.deleteCasting(casting);
+       transactionCache.ackInstanceDeletion(casting.getRelationType().label());
+       rolePlayerDeleted(casting.getRole());
     }
 
     @Override
@@ -248,10 +292,16 @@ public class ConceptListenerImpl implements ConceptListener {
         if (owner.isInferred()) {
             transactionCache.removeInferredInstance(owner);
         }
+        // the remaining role player edges are removed together with the relation vertex
+        RelationReified reifiedRelation = RelationImpl.from(owner).reified();
+        if (reifiedRelation != null) {
+            reifiedRelation.castingsRelation().forEach(casting -> rolePlayerDeleted(casting.getRole()));
+        }
     }
 
     @Override
     public void relationRoleUnrelated(RelationType relationType, Role role, List<Casting> conceptsPlayingRole) {
+        transactionCache.markSchemaModified();
         transactionCache.trackForValidation(relationType);
         transactionCache.trackForValidation(role);
         conceptsPlayingRole.forEach(casting -> transactionCache.trackForValidation(casting));
@@ -259,11 +309,23 @@ public class ConceptListenerImpl implements ConceptListener {
 
     @Override
     public void roleDeleted(Role role) {
+        transactionCache.markSchemaModified();
         transactionCache.trackForValidation(role);
     }
 
     @Override
     public void rolePlayerCreated(Casting casting) {
         transactionCache.trackForValidation(casting);
+        Role role = casting.getRole();
+        if (!role.isImplicit()) statistics.incrementRolePlayer(role);
+        if (!casting.getRelation().isInferred()) transactionCache.ackInstanceInsertion(casting.getRelationType().label());
+    }
+
+    /**
+     * Role players of implicit roles are not counted: most attribute ownerships are stored as edges which have no
+     * castings, so their counts are derived from the instance counts of the implicit relation types instead
+     */
+    private void rolePlayerDeleted(Role role) {
+        if (!role.isImplicit()) statistics.decrementRolePlayer(role);
     }
 }
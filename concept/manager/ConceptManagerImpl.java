@@ -50,6 +50,7 @@ import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.concept.api.Type;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.concept.manager.ConceptNotificationChannel;
+import grakn.core.kb.concept.manager.SchemaSnapshot;
 import grakn.core.kb.concept.structure.EdgeElement;
 import grakn.core.kb.concept.structure.Shard;
 import grakn.core.kb.concept.structure.VertexElement;
@@ -62,11 +63,16 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static grakn.core.core.Schema.BaseType.ATTRIBUTE;
@@ -77,6 +83,7 @@ import static grakn.core.core.Schema.BaseType.RELATION;
 import static grakn.core.core.Schema.BaseType.RELATION_TYPE;
 import static grakn.core.core.Schema.BaseType.ROLE;
 import static grakn.core.core.Schema.BaseType.RULE;
+import static grakn.core.core.Schema.BaseType.TYPE;
 
 /**
  * Class handling all creation and retrieval of concepts
@@ -95,6 +102,8 @@ public class ConceptManagerImpl implements ConceptManager {
     private TransactionCache transactionCache;
     private ConceptNotificationChannel conceptNotificationChannel;
     private final AttributeManager attributeManager;
+    // The ids of the attributes read ahead of their lookups by prefetchAttributes, by index
+    private final Map<String, List<ConceptId>> prefetchedAttributes = new ConcurrentHashMap<>();
 
     public ConceptManagerImpl(ElementFactory elementFactory, TransactionCache transactionCache, ConceptNotificationChannel conceptNotificationChannel, AttributeManager attributeManager) {
         this.elementFactory = elementFactory;
@@ -277,7 +286,7 @@ public class ConceptManagerImpl implements ConceptManager {
         vertex.propertyImmutable(property, valueToPersist, null);
 
         // set unique index - combination of type and value to an indexed Janus property, used for lookups
-        String index = Schema.generateAttributeIndex(type.label(), convertedValue.toString());
+        String index = attributeManager.attributeIndex(type, convertedValue);
         vertex.property(Schema.VertexProperty.INDEX, index);
 
         AttributeImpl<V> newAttribute = new AttributeImpl<>(vertex, this, conceptNotificationChannel);
@@ -385,35 +394,118 @@ public class ConceptManagerImpl implements ConceptManager {
 
      */
 
+    @Override
+    public String attributeIndex(AttributeType<?> type, Object value) {
+        return attributeManager.attributeIndex(type, persistedValue(type, value));
+    }
+
+    /**
+     * Attributes are indexed by the value they are persisted with, which may differ from the value they are looked up
+     * or inserted with, such as a long inserted into a double type
+     */
+    private static Object persistedValue(AttributeType<?> type, Object value) {
+        if (type.dataType() == null) return value;
+        try {
+            AttributeValueConverter<Object, ?> converter = AttributeValueConverter.of(type.dataType());
+            return converter.convert(value);
+        } catch (ClassCastException e) {
+            // reported once the attribute is created
+            return value;
+        }
+    }
+
     /**
      * Check the transaction cache to see if we have the attribute already by index
      * return NULL if attribtue does not exist in cache
      */
     @Override
     @Nullable
-    public Attribute getCachedAttribute(String index) {
-        return transactionCache.getAttributeCache().get(index);
+    public <D> Attribute<D> getCachedAttribute(String index, D value) {
+        Attribute<D> attribute = transactionCache.getAttributeCache().get(index);
+        if (attribute != null && hasValue(index, attribute, value)) return attribute;
+        return null;
     }
 
     /**
      * This is only used when checking if attribute exists before trying to create a new one.
      */
     @Override
-    public Attribute getAttribute(String index) {
-        Attribute concept = getCachedAttribute(index);
+    public <D> Attribute<D> getAttribute(String index, D value) {
+        Attribute<D> concept = getCachedAttribute(index, value);
         if (concept != null) return concept;
 
         //We check committed attributes first. In certain situations (adding the same attribute in multiple txs),
         //the ephemeral cache might be populated for a longer period of time.
         //As a result checking ephemeral attributes first might result in locking all the time.
         ConceptId attributeCommitted = attributeManager.attributesCommitted().getIfPresent(index);
-        if (attributeCommitted != null) return getConcept(attributeCommitted);
+        if (attributeCommitted != null) {
+            concept = getConcept(attributeCommitted);
+            //a hashed index may have been committed by an attribute of another value
+            if (concept == null || hasValue(index, concept, value)) return concept;
+        }
 
         //check EPHA
         if (attributeManager.isAttributeEphemeral(index)) return null;
 
+        //check attributes read ahead of time
+        List<ConceptId> prefetched = prefetchedAttributes.get(index);
+        if (prefetched != null) {
+            for (ConceptId attributeId : prefetched) {
+                //attributes deleted since they were read are no longer found
+                concept = getConcept(attributeId);
+                if (concept != null && hasValue(index, concept, value)) return concept;
+            }
+            return null;
+        }
+
         //check graph
-        return getConcept(Schema.VertexProperty.INDEX, index);
+        return getAttributeWithIndex(index, value);
+    }
+
+    @Override
+    public void prefetchAttributes(Collection<String> indices) {
+        Set<String> unknownIndices = indices.stream()
+                .filter(index -> !transactionCache.getAttributeCache().containsKey(index))
+                .filter(index -> attributeManager.attributesCommitted().getIfPresent(index) == null)
+                .filter(index -> !attributeManager.isAttributeEphemeral(index))
+                .filter(index -> !prefetchedAttributes.containsKey(index))
+                .collect(Collectors.toSet());
+        if (unknownIndices.isEmpty()) return;
+
+        Map<Object, List<Long>> vertexIds = elementFactory.getVertexIdsWithProperty(Schema.VertexProperty.INDEX, unknownIndices);
+        if (vertexIds == null) return;
+        vertexIds.forEach((index, ids) -> prefetchedAttributes.put((String) index,
+                ids.stream().map(Schema::conceptIdFromVertexId).collect(Collectors.toList())));
+    }
+
+    @Override
+    public void clearPrefetchedAttributes() {
+        prefetchedAttributes.clear();
+    }
+
+    @Override
+    public boolean hasUncommittedWrites() {
+        return elementFactory.hasUncommittedWrites();
+    }
+
+    /**
+     * Looks the attribute up in the graph only
+     */
+    @Override
+    @Nullable
+    public <D> Attribute<D> getAttributeWithIndex(String index, D value) {
+        if (!Schema.isHashedAttributeIndex(index)) return getConcept(Schema.VertexProperty.INDEX, index);
+        return elementFactory.getVerticesWithProperty(Schema.VertexProperty.INDEX, index)
+                .map(vertex -> this.<Attribute<D>>buildConcept(vertex))
+                .filter(attribute -> hasValue(index, attribute, value))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Hashed indices are shared by the attributes with colliding values, which are told apart by their value
+     */
+    private static boolean hasValue(String index, Attribute<?> attribute, Object value) {
+        return !Schema.isHashedAttributeIndex(index) || attribute.value().toString().equals(value.toString());
     }
 
     @Override
@@ -432,6 +524,17 @@ public class ConceptManagerImpl implements ConceptManager {
         return concepts;
     }
 
+    @Override
+    @Nullable
+    public List<ConceptId> attributesInRange(AttributeType<?> type, @Nullable Object lower, boolean lowerInclusive,
+                                             @Nullable Object upper, boolean upperInclusive, int limit) {
+        if (type.dataType() == null) return null;
+        Schema.VertexProperty property = Schema.VertexProperty.ofDataType(type.dataType());
+        List<Long> vertexIds = elementFactory.getVertexIdsInRange(property, type.labelId(), lower, lowerInclusive, upper, upperInclusive, limit);
+        if (vertexIds == null) return null;
+        return vertexIds.stream().map(Schema::conceptIdFromVertexId).collect(Collectors.toList());
+    }
+
     @Override
     public <T extends Concept> T getConcept(ConceptId conceptId) {
         if (!Schema.validateConceptId(conceptId)) {
@@ -474,8 +577,11 @@ public class ConceptManagerImpl implements ConceptManager {
 
     public <T extends SchemaConcept> T getSchemaConcept(Label label, Schema.BaseType baseType) {
         SchemaConcept schemaConcept;
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
         if (transactionCache.isTypeCached(label)) {
             schemaConcept = transactionCache.getCachedSchemaConcept(label);
+        } else if (schemaSnapshot != null && schemaSnapshot.contains(label)) {
+            schemaConcept = getSchemaConcept(schemaSnapshot, label);
         } else {
             schemaConcept = getSchemaConcept(convertToId(label));
         }
@@ -485,9 +591,52 @@ public class ConceptManagerImpl implements ConceptManager {
     @Override
     public <T extends SchemaConcept> T getSchemaConcept(LabelId id) {
         if (!id.isValid()) return null;
+        SchemaSnapshot schemaSnapshot = schemaSnapshot();
+        Label label = schemaSnapshot != null ? schemaSnapshot.label(id) : null;
+        if (label != null) return getSchemaConcept(schemaSnapshot, label);
         return getConcept(Schema.VertexProperty.LABEL_ID, id.getValue());
     }
 
+    /**
+     * Builds a schema concept straight from its vertex, as recorded in the schema snapshot,
+     * skipping the label index lookup and the read of the vertex label
+     */
+    private <T extends SchemaConcept> T getSchemaConcept(SchemaSnapshot schemaSnapshot, Label label) {
+        ConceptId conceptId = schemaSnapshot.conceptId(label);
+        if (transactionCache.isConceptCached(conceptId)) {
+            return transactionCache.getCachedConcept(conceptId);
+        }
+        Vertex vertex = elementFactory.getVertexWithId(Schema.elementId(conceptId));
+        if (vertex == null) return null;
+        return buildConcept(elementFactory.buildVertexElement(vertex), schemaSnapshot.baseType(label));
+    }
+
+    @Override
+    @Nullable
+    public SchemaSnapshot schemaSnapshot() {
+        return transactionCache.schemaSnapshot();
+    }
+
+    @Override
+    public SchemaSnapshot.Builder snapshotSchema() {
+        SchemaSnapshot.Builder schema = SchemaSnapshot.builder();
+        Stream.of(getMetaConcept(), getMetaRole(), getMetaRule())
+                .flatMap(SchemaConcept::subs)
+                .forEach(schemaConcept -> {
+                    Label label = schemaConcept.label();
+                    SchemaConcept sup = schemaConcept.sup();
+                    schema.schemaConcept(label, schemaConcept.id(), schemaConcept.labelId(), getBaseType(schemaConcept),
+                            schemaConcept.isImplicit(), sup != null ? sup.label() : null);
+                    if (schemaConcept.isRelationType()) {
+                        schemaConcept.asRelationType().roles().forEach(role -> schema.relates(label, role.label()));
+                    }
+                    if (schemaConcept.isType()) {
+                        TypeImpl.from(schemaConcept.asType()).directPlays().forEach((role, required) -> schema.plays(label, role.label(), required));
+                    }
+                });
+        return schema;
+    }
+
     @Override
     public AttributeType getMetaAttributeType() {
         return getSchemaConcept(Schema.MetaSchema.ATTRIBUTE.getId());
@@ -619,44 +768,48 @@ public class ConceptManagerImpl implements ConceptManager {
             } catch (IllegalStateException e) {
                 throw TemporaryWriteException.indexOverlap(vertexElement.element(), e);
             }
-            Concept concept;
-            switch (type) {
-                case RELATION:
-                    concept = new RelationImpl(new RelationReified(vertexElement, this, conceptNotificationChannel));
-                    break;
-                case TYPE:
-                    concept = new TypeImpl(vertexElement, this, conceptNotificationChannel);
-                    break;
-                case ROLE:
-                    concept = new RoleImpl(vertexElement, this, conceptNotificationChannel);
-                    break;
-                case RELATION_TYPE:
-                    concept = new RelationTypeImpl(vertexElement, this, conceptNotificationChannel);
-                    break;
-                case ENTITY:
-                    concept = new EntityImpl(vertexElement, this, conceptNotificationChannel);
-                    break;
-                case ENTITY_TYPE:
-                    concept = new EntityTypeImpl(vertexElement, this, conceptNotificationChannel);
-                    break;
-                case ATTRIBUTE_TYPE:
-                    concept = new AttributeTypeImpl(vertexElement, this, conceptNotificationChannel);
-                    break;
-                case ATTRIBUTE:
-                    concept = new AttributeImpl(vertexElement, this, conceptNotificationChannel);
-                    break;
-                case RULE:
-                    concept = new RuleImpl(vertexElement, this, conceptNotificationChannel);
-                    break;
-                default:
-                    throw GraknConceptException.unknownConceptType(type.name());
-            }
-            transactionCache.cacheConcept(concept);
-            return (X) concept;
+            return buildConcept(vertexElement, type);
         }
         return (X) cachedConcept;
     }
 
+    private <X extends Concept> X buildConcept(VertexElement vertexElement, Schema.BaseType type) {
+        Concept concept;
+        switch (type) {
+            case RELATION:
+                concept = new RelationImpl(new RelationReified(vertexElement, this, conceptNotificationChannel));
+                break;
+            case TYPE:
+                concept = new TypeImpl(vertexElement, this, conceptNotificationChannel);
+                break;
+            case ROLE:
+                concept = new RoleImpl(vertexElement, this, conceptNotificationChannel);
+                break;
+            case RELATION_TYPE:
+                concept = new RelationTypeImpl(vertexElement, this, conceptNotificationChannel);
+                break;
+            case ENTITY:
+                concept = new EntityImpl(vertexElement, this, conceptNotificationChannel);
+                break;
+            case ENTITY_TYPE:
+                concept = new EntityTypeImpl(vertexElement, this, conceptNotificationChannel);
+                break;
+            case ATTRIBUTE_TYPE:
+                concept = new AttributeTypeImpl(vertexElement, this, conceptNotificationChannel);
+                break;
+            case ATTRIBUTE:
+                concept = new AttributeImpl(vertexElement, this, conceptNotificationChannel);
+                break;
+            case RULE:
+                concept = new RuleImpl(vertexElement, this, conceptNotificationChannel);
+                break;
+            default:
+                throw GraknConceptException.unknownConceptType(type.name());
+        }
+        transactionCache.cacheConcept(concept);
+        return (X) concept;
+    }
+
     /**
      * Constructors are called directly because this is only called when reading a known Edge or Concept.
      * Thus tracking the concept can be skipped.
@@ -705,6 +858,15 @@ public class ConceptManagerImpl implements ConceptManager {
     }
 
 
+    private static Schema.BaseType getBaseType(SchemaConcept schemaConcept) {
+        if (schemaConcept.isEntityType()) return ENTITY_TYPE;
+        if (schemaConcept.isRelationType()) return RELATION_TYPE;
+        if (schemaConcept.isAttributeType()) return ATTRIBUTE_TYPE;
+        if (schemaConcept.isRole()) return ROLE;
+        if (schemaConcept.isRule()) return RULE;
+        return TYPE;
+    }
+
     /**
      * This is a helper method to get the base type of a vertex.
      * It first tried to get the base type via the label.
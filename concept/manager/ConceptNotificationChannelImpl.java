@@ -53,8 +53,13 @@ public class ConceptNotificationChannelImpl implements ConceptNotificationChanne
     }
 
     @Override
-    public void relationEdgeDeleted(RelationType edgeTypeDeleted, boolean isInferredEdge, Supplier<Concept> wrappingConceptGetter) {
-        conceptListener.relationEdgeDeleted(edgeTypeDeleted, isInferredEdge, wrappingConceptGetter);
+    public void relationEdgeDeleted(RelationType edgeTypeDeleted, boolean isInferredEdge, Supplier<Concept> wrappingConceptGetter, Supplier<Thing> valueGetter) {
+        conceptListener.relationEdgeDeleted(edgeTypeDeleted, isInferredEdge, wrappingConceptGetter, valueGetter);
+    }
+
+    @Override
+    public void hasAttributeRelationReified(Thing value) {
+        conceptListener.hasAttributeRelationReified(value);
     }
 
     @Override
@@ -62,6 +67,11 @@ public class ConceptNotificationChannelImpl implements ConceptNotificationChanne
         conceptListener.schemaConceptDeleted(schemaConcept);
     }
 
+    @Override
+    public void schemaConceptModified(SchemaConcept schemaConcept) {
+        conceptListener.schemaConceptModified(schemaConcept);
+    }
+
     @Override
     public void labelRemoved(SchemaConcept schemaConcept) {
         conceptListener.labelRemoved(schemaConcept);
@@ -36,7 +36,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -71,6 +75,32 @@ public final class ElementFactory {
         return vertices.map(vertex -> buildVertexElement(vertex));
     }
 
+    /**
+     * @return the ids of the vertices of the type with a value of the property within the bounds, in the order of
+     * their values, or null if the values of the property are not ordered by an index
+     */
+    @Nullable
+    public List<Long> getVertexIdsInRange(Schema.VertexProperty key, LabelId typeId, @Nullable Object lower, boolean lowerInclusive,
+                                          @Nullable Object upper, boolean upperInclusive, int limit) {
+        return janusTx.orderedIndexQuery(key.name(), typeId.getValue(), lower, lowerInclusive, upper, upperInclusive, limit);
+    }
+
+    /**
+     * @return the ids of the vertices with each of the values of the property, all read at once, or null if the
+     * property is not indexed
+     */
+    @Nullable
+    public Map<Object, List<Long>> getVertexIdsWithProperty(Schema.VertexProperty key, Collection<?> values) {
+        return janusTx.compositeIndexMultiQuery(key.name(), values);
+    }
+
+    /**
+     * @return true if the transaction has added or removed elements of the graph that it has not committed yet
+     */
+    public boolean hasUncommittedWrites() {
+        return janusTx.hasModifications();
+    }
+
     public Vertex getVertexWithId(String id) {
         Iterator<Vertex> vertices = traversalSourceProvider.getTinkerTraversal().V(id);
         if (vertices.hasNext()) {
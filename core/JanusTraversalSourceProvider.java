@@ -57,6 +57,22 @@ public class JanusTraversalSourceProvider {
         return graphTraversalSource;
     }
 
+    /**
+     * Allows the current thread to traverse on behalf of the thread the transaction originated in,
+     * e.g. a worker resolving part of a query of that transaction. Only use it from several threads at once if the
+     * Janus transaction was opened multi-threaded, a thread-bound one must only ever be used by one thread at a time.
+     */
+    public void bindCurrentThread() {
+        createdInCurrentThread.set(true);
+    }
+
+    /**
+     * Reverts bindCurrentThread once the current thread has finished working on behalf of the transaction
+     */
+    public void unbindCurrentThread() {
+        createdInCurrentThread.remove();
+    }
+
     private void checkThreadLocal() {
         if (!createdInCurrentThread.get()) {
             throw new RuntimeException("Transaction is no longer in thread it originated in");
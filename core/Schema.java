@@ -34,6 +34,7 @@ import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.concept.api.Type;
 import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.Attribute;
+import com.google.common.hash.Hashing;
 import graql.lang.Graql;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -41,6 +42,9 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Map;
 
 import static grakn.core.common.exception.ErrorMessage.INVALID_IMPLICIT_TYPE;
@@ -53,6 +57,10 @@ import static grakn.common.util.Collections.pair;
 public final class Schema {
     private final static String PREFIX_VERTEX = "V";
     private final static String PREFIX_EDGE = "E";
+    private final static char INLINE_VALUE_SEPARATOR = ':';
+    private final static char HASHED_VALUE_SEPARATOR = '#';
+    // length of the base 64 encoding of the 128 bits of a hash kept by an index
+    private final static int MAX_INLINE_ATTRIBUTE_VALUE_LENGTH = 22;
 
     private Schema() {
         throw new UnsupportedOperationException();
@@ -200,6 +208,7 @@ public final class Schema {
 
         // Attribute schema concept properties
         REGEX(String.class), DATA_TYPE(String.class),
+        OWNERSHIP_COUNT(Long.class), OWNED_VALUE_SUM(Double.class), OWNED_VALUE_SQUARE_SUM(Double.class),
 
         // Attribute concept properties
         INDEX(String.class),
@@ -212,6 +221,7 @@ public final class Schema {
 
         // Misc. properties
         CURRENT_LABEL_ID(Integer.class), RULE_WHEN(String.class), RULE_THEN(String.class), CURRENT_SHARD(String.class),
+        COMPACT_ATTRIBUTE_INDEX(Boolean.class), ATTRIBUTE_INDEX_MIGRATION(Boolean.class),
 
         // Relation properties
         IS_IMPLICIT(Boolean.class),
@@ -368,7 +378,39 @@ public final class Schema {
      */
     @CheckReturnValue
     public static String generateAttributeIndex(Label label, String value) {
-        //TODO trim it down in the future
         return Schema.BaseType.ATTRIBUTE.name() + "-" + label + "-" + value;
     }
+
+    /**
+     * The index of keyspaces flagged with COMPACT_ATTRIBUTE_INDEX on their meta attribute type: the id of the type in
+     * base 36, followed by the value, or by a hash of the value for strings longer than the hash.
+     * Hashes may collide, the attributes found by a hashed index must be checked to have the value.
+     *
+     * @param typeId The id of the AttributeType
+     * @param dataType The DataType of the AttributeType
+     * @param value The value of the Attribute
+     * @return A unique id for the Attribute, unless hashed
+     */
+    @CheckReturnValue
+    public static String generateCompactAttributeIndex(LabelId typeId, @Nullable AttributeType.DataType<?> dataType, String value) {
+        String typePrefix = Integer.toString(typeId.getValue(), Character.MAX_RADIX);
+        if (AttributeType.DataType.STRING.equals(dataType) && value.length() > MAX_INLINE_ATTRIBUTE_VALUE_LENGTH) {
+            byte[] hash = Hashing.sha256().hashString(value, StandardCharsets.UTF_8).asBytes();
+            return typePrefix + HASHED_VALUE_SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        }
+        return typePrefix + INLINE_VALUE_SEPARATOR + value;
+    }
+
+    /**
+     * @return whether the attribute index holds a hash of the value rather than the value
+     */
+    @CheckReturnValue
+    public static boolean isHashedAttributeIndex(String index) {
+        // the type prefix is made of lower case digits only, which never start an index of the older format
+        for (int i = 0; i < index.length(); i++) {
+            char c = index.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'z')) return c == HASHED_VALUE_SEPARATOR;
+        }
+        return false;
+    }
 }
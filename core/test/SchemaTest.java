@@ -0,0 +1,92 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.core;
+
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.LabelId;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SchemaTest {
+
+    private static final String LONG_VALUE = "a string longer than the hash of the value it is indexed by";
+
+    @Test
+    public void whenIndexingShortValues_TheValueFollowsTheTypeIdInBase36() {
+        assertEquals("z:Bob", Schema.generateCompactAttributeIndex(LabelId.of(35), AttributeType.DataType.STRING, "Bob"));
+        assertEquals("10:42", Schema.generateCompactAttributeIndex(LabelId.of(36), AttributeType.DataType.LONG, "42"));
+        assertFalse(Schema.isHashedAttributeIndex("z:Bob"));
+    }
+
+    @Test
+    public void whenIndexingLongStrings_TheValueIsHashed() {
+        String index = Schema.generateCompactAttributeIndex(LabelId.of(35), AttributeType.DataType.STRING, LONG_VALUE);
+
+        assertTrue(index.startsWith("z#"));
+        assertTrue(index.length() < LONG_VALUE.length());
+        assertTrue(Schema.isHashedAttributeIndex(index));
+        assertEquals(index, Schema.generateCompactAttributeIndex(LabelId.of(35), AttributeType.DataType.STRING, LONG_VALUE));
+        assertNotEquals(index, Schema.generateCompactAttributeIndex(LabelId.of(35), AttributeType.DataType.STRING, LONG_VALUE + "!"));
+    }
+
+    @Test
+    public void whenStringIsAsLongAsTheHash_ItIsNotHashed() {
+        String value = "0123456789012345678901";
+        assertEquals("z:" + value, Schema.generateCompactAttributeIndex(LabelId.of(35), AttributeType.DataType.STRING, value));
+        assertTrue(Schema.isHashedAttributeIndex(
+                Schema.generateCompactAttributeIndex(LabelId.of(35), AttributeType.DataType.STRING, value + "2")));
+    }
+
+    @Test
+    public void whenIndexingLongValuesOfOtherDataTypes_TheyAreNotHashed() {
+        String value = "2019-01-01T00:00:00.000000000";
+        String index = Schema.generateCompactAttributeIndex(LabelId.of(35), AttributeType.DataType.DATE, value);
+
+        assertEquals("z:" + value, index);
+        assertFalse(Schema.isHashedAttributeIndex(index));
+    }
+
+    @Test
+    public void whenTypesDiffer_IndicesOfTheSameValueDiffer() {
+        assertNotEquals(
+                Schema.generateCompactAttributeIndex(LabelId.of(1), AttributeType.DataType.STRING, LONG_VALUE),
+                Schema.generateCompactAttributeIndex(LabelId.of(2), AttributeType.DataType.STRING, LONG_VALUE));
+        assertNotEquals(
+                Schema.generateCompactAttributeIndex(LabelId.of(1), AttributeType.DataType.STRING, "Bob"),
+                Schema.generateCompactAttributeIndex(LabelId.of(2), AttributeType.DataType.STRING, "Bob"));
+    }
+
+    @Test
+    public void whenInlineValueContainsHashSeparator_IndexIsNotReportedHashed() {
+        assertFalse(Schema.isHashedAttributeIndex(
+                Schema.generateCompactAttributeIndex(LabelId.of(35), AttributeType.DataType.STRING, "#hashtag")));
+    }
+
+    @Test
+    public void whenIndexIsOfTheOlderFormat_ItIsNotReportedHashed() {
+        assertFalse(Schema.isHashedAttributeIndex(Schema.generateAttributeIndex(Label.of("name"), LONG_VALUE)));
+        assertFalse(Schema.isHashedAttributeIndex(Schema.generateAttributeIndex(Label.of("tag"), "#hashtag")));
+    }
+}
@@ -395,6 +395,7 @@ def list_dependencies():
     {"artifact": "net.jpountz.lz4:lz4:1.3.0", "lang": "java", "sha1": "c708bb2590c0652a642236ef45d9f99ff842a2ce", "sha256": "b877a4d4a3a0140486d3d0f83d9058e7c0ff6ca80b00d2f7b77145935b385b56", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/jpountz/lz4/lz4/1.3.0/lz4-1.3.0.jar", "source": {"sha1": "31debfaa8a55bc4af1d4fe63a8ad0a2a7e851274", "sha256": "956df26ca2bca3131a578688e300daeaef4e99e794516bdbcc5272e804c6f4ee", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/jpountz/lz4/lz4/1.3.0/lz4-1.3.0-sources.jar"} , "name": "net-jpountz-lz4-lz4", "actual": "@net-jpountz-lz4-lz4//jar", "bind": "jar/net/jpountz/lz4/lz4"},
     {"artifact": "net.objecthunter:exp4j:0.4.8", "lang": "java", "sha1": "cf1cfc0f958077d86ac7452c7e36d944689b2ec4", "sha256": "271f7824ee8a3468257bc0613afdabb67597af8389317643fa806b983b7ecb27", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/objecthunter/exp4j/0.4.8/exp4j-0.4.8.jar", "source": {"sha1": "08d86f148ff1f0d5b624eae9bb0882198ab5cd07", "sha256": "deaab24dfc9684d5aea5a2afb62f0b7d2be8940fca2b7d4d127699e9a3c74f93", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/objecthunter/exp4j/0.4.8/exp4j-0.4.8-sources.jar"} , "name": "net-objecthunter-exp4j", "actual": "@net-objecthunter-exp4j//jar", "bind": "jar/net/objecthunter/exp4j"},
     {"artifact": "net.razorvine:pyrolite:4.13", "lang": "java", "sha1": "b71a4668b0c4194486832fe7ce161eed2d0d12cb", "sha256": "4ba424d328cbd7a6ff73108cce40d3cc376eef602b947e57fdc782171d92e463", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/razorvine/pyrolite/4.13/pyrolite-4.13.jar", "source": {"sha1": "7a1e526ecf1ad858ab58ae1dfb89f73d6e11b5dd", "sha256": "a6bbb4f677e359eb583664ecaabf295ad644935320529042e969326eab10d7c0", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/razorvine/pyrolite/4.13/pyrolite-4.13-sources.jar"} , "name": "net-razorvine-pyrolite", "actual": "@net-razorvine-pyrolite//jar", "bind": "jar/net/razorvine/pyrolite"},
+    {"artifact": "net.sf.jopt-simple:jopt-simple:4.6", "lang": "java", "sha1": "306816fb57cf94f108a43c95731b08934dcae15c", "sha256": "3fcfbe3203c2ea521bf7640484fd35d6303186ea2e08e72f032d640ca067ffda", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/sf/jopt-simple/jopt-simple/4.6/jopt-simple-4.6.jar", "source": {"sha1": "9cd14a61d7aa7d554f251ef285a6f2c65caf7b65", "sha256": "edceaf232b2480e282af8dd9509176507e1781bef92cd06800c2cefed917c85b", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/sf/jopt-simple/jopt-simple/4.6/jopt-simple-4.6-sources.jar"} , "name": "net-sf-jopt-simple-jopt-simple", "actual": "@net-sf-jopt-simple-jopt-simple//jar", "bind": "jar/net/sf/jopt-simple/jopt-simple"},
     {"artifact": "net.sf.py4j:py4j:0.10.7", "lang": "java", "sha1": "e733e888c2e798ea15802f12a9f3130949ca741f", "sha256": "49d1e3e86532a6c68c399fb83508603ebeeb9b942e0cf301db71c7987fd4dfcb", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/sf/py4j/py4j/0.10.7/py4j-0.10.7.jar", "source": {"sha1": "ae7a544264b1fa2986431d79a571353968abf9df", "sha256": "32a99c91d5253c2d96d65166ada3dba97c8b45b6d706417e71b49517eb0c2530", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/net/sf/py4j/py4j/0.10.7/py4j-0.10.7-sources.jar"} , "name": "net-sf-py4j-py4j", "actual": "@net-sf-py4j-py4j//jar", "bind": "jar/net/sf/py4j/py4j"},
     {"artifact": "org.antlr:ST4:4.0.8", "lang": "java", "sha1": "0a1c55e974f8a94d78e2348fa6ff63f4fa1fae64", "sha256": "58caabc40c9f74b0b5993fd868e0f64a50c0759094e6a251aaafad98edfc7a3b", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/antlr/ST4/4.0.8/ST4-4.0.8.jar", "source": {"sha1": "6f23134f1c98dfce77f85defda31bfbce3e2a4ac", "sha256": "3ef0657835d918c2c2e982f917144ad29f528ba474565b1bc8191ee5fb6cdf1b", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/antlr/ST4/4.0.8/ST4-4.0.8-sources.jar"} , "name": "org-antlr-ST4", "actual": "@org-antlr-ST4//jar", "bind": "jar/org/antlr/ST4"},
     {"artifact": "org.antlr:antlr-runtime:3.5.2", "lang": "java", "sha1": "cd9cd41361c155f3af0f653009dcecb08d8b4afd", "sha256": "ce3fc8ecb10f39e9a3cddcbb2ce350d272d9cd3d0b1e18e6fe73c3b9389c8734", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/antlr/antlr-runtime/3.5.2/antlr-runtime-3.5.2.jar", "source": {"sha1": "5214ea45dd20d3a2e4caa6f1ad2248ad107e0daf", "sha256": "3a8fde6cabadd1f6c6dcddc92edbe17501448e0553fee893cfc62becce57531a", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/antlr/antlr-runtime/3.5.2/antlr-runtime-3.5.2-sources.jar"} , "name": "org-antlr-antlr-runtime", "actual": "@org-antlr-antlr-runtime//jar", "bind": "jar/org/antlr/antlr-runtime"},
@@ -431,6 +432,7 @@ def list_dependencies():
 # - org.apache.cassandra:cassandra-all:3.11.3 wanted version 3.2
 # - org.apache.hadoop:hadoop-common:2.7.2 wanted version 3.1.1
 # - org.apache.spark:spark-core_2.11:2.2.0 wanted version 3.4.1
+# - org.openjdk.jmh:jmh-core:1.21 wanted version 3.2
     {"artifact": "org.apache.commons:commons-math3:3.6.1", "lang": "java", "sha1": "e4ba98f1d4b3c80ec46392f25e094a6a2e58fcbf", "sha256": "1e56d7b058d28b65abd256b8458e3885b674c1d588fa43cd7d1cbb9c7ef2b308", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar", "source": {"sha1": "8fab23986ea8886af34818daf32a718e81dc98ba", "sha256": "e2ff85a3c360d56c51a7021614a194f3fbaf224054642ac535016f118322934d", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1-sources.jar"} , "name": "org-apache-commons-commons-math3", "actual": "@org-apache-commons-commons-math3//jar", "bind": "jar/org/apache/commons/commons-math3"},
     {"artifact": "org.apache.curator:curator-client:2.7.1", "lang": "java", "sha1": "a591dfc085db3e9d4d480381cc7e6ae8a26b34af", "sha256": "949ac95323bb13b4d9cde33ab1ca73f07a87e6e43cf76629e89fdd74d5b378e4", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/apache/curator/curator-client/2.7.1/curator-client-2.7.1.jar", "source": {"sha1": "907fbe2d200f326c59afd74030cb3958862387d3", "sha256": "2d69f2959759a787d1b874fc1c2203a520a8eb8ee080e67d30c4af072d100fb1", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/apache/curator/curator-client/2.7.1/curator-client-2.7.1-sources.jar"} , "name": "org-apache-curator-curator-client", "actual": "@org-apache-curator-curator-client//jar", "bind": "jar/org/apache/curator/curator-client"},
     {"artifact": "org.apache.curator:curator-framework:2.7.1", "lang": "java", "sha1": "8c7b1eeb78e43bb91ea737111ba3dec0512be876", "sha256": "a65e3f515b022d84d86c553c99216e384bc82d1de51b5a32b10f33314ad81ceb", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/apache/curator/curator-framework/2.7.1/curator-framework-2.7.1.jar", "source": {"sha1": "3a638ad4232d6c5a690b00fcda80e6c60df9cbf3", "sha256": "57aefbdc69646c31b763cdebc82c53e95b7b4c4c72bb9cc36372fc73f9eb0ea5", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/apache/curator/curator-framework/2.7.1/curator-framework-2.7.1-sources.jar"} , "name": "org-apache-curator-curator-framework", "actual": "@org-apache-curator-curator-framework//jar", "bind": "jar/org/apache/curator/curator-framework"},
@@ -592,6 +594,8 @@ def list_dependencies():
 # - com.esotericsoftware:kryo-shaded:4.0.2 wanted version 2.5.1
 # - org.mockito:mockito-core:2.6.4 wanted version 2.5
     {"artifact": "org.objenesis:objenesis:2.5.1", "lang": "java", "sha1": "272bab9a4e5994757044d1fc43ce480c8cb907a4", "sha256": "b043f03e466752f7f03e2326a3b13a49b7c649f8f2a2dc87715827e24f73d9c6", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/objenesis/objenesis/2.5.1/objenesis-2.5.1.jar", "source": {"sha1": "36bc7ecec5fb17144916c7012cc1a91a87c0ba95", "sha256": "73de89f90983df544efa7454e5b8b92b08b06bc71ba8c7ea0b88f3f0a1b62c8a", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/objenesis/objenesis/2.5.1/objenesis-2.5.1-sources.jar"} , "name": "org-objenesis-objenesis", "actual": "@org-objenesis-objenesis//jar", "bind": "jar/org/objenesis/objenesis"},
+    {"artifact": "org.openjdk.jmh:jmh-core:1.21", "lang": "java", "sha1": "442447101f63074c61063858033fbfde8a076873", "sha256": "79aecd73ffb5d95d88b1ac36b505fa30ae3e83788e936838e2be9a51074fd2dd", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/openjdk/jmh/jmh-core/1.21/jmh-core-1.21.jar", "source": {"sha1": "a6fe84788bf8cf762b0e561bf48774c2ea74e370", "sha256": "cbe057fbe16bedbf759026f99d683a60b6094220abaffcae8f3e9687e8e9e475", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/openjdk/jmh/jmh-core/1.21/jmh-core-1.21-sources.jar"} , "name": "org-openjdk-jmh-jmh-core", "actual": "@org-openjdk-jmh-jmh-core//jar", "bind": "jar/org/openjdk/jmh/jmh-core"},
+    {"artifact": "org.openjdk.jmh:jmh-generator-annprocess:1.21", "lang": "java", "sha1": "7aac374614a8a76cad16b91f1a4419d31a7dcda3", "sha256": "c5636ecbc617732f5acf41f94521cf6ae4f5bc6ad3512e82416fbbaabe805fe5", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/openjdk/jmh/jmh-generator-annprocess/1.21/jmh-generator-annprocess-1.21.jar", "source": {"sha1": "fb48e2a97df95f8b9dced54a1a37749d2a64d2ae", "sha256": "4f90d2fe9b322a98af2751cb8ecf7600e09349b89d92a4848856a1fc07ec7842", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/openjdk/jmh/jmh-generator-annprocess/1.21/jmh-generator-annprocess-1.21-sources.jar"} , "name": "org-openjdk-jmh-jmh-generator-annprocess", "actual": "@org-openjdk-jmh-jmh-generator-annprocess//jar", "bind": "jar/org/openjdk/jmh/jmh-generator-annprocess"},
     {"artifact": "org.ow2.asm:asm:5.0.4", "lang": "java", "sha1": "0da08b8cce7bbf903602a25a3a163ae252435795", "sha256": "896618ed8ae62702521a78bc7be42b7c491a08e6920a15f89a3ecdec31e9a220", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/ow2/asm/asm/5.0.4/asm-5.0.4.jar", "source": {"sha1": "112ff54474f1f04ccf1384c92e39fdc566f0bb5e", "sha256": "7ba89bc14669d86c1c0dc6abaeb74a87715089f3b904cc2016969e8737d70707", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/ow2/asm/asm/5.0.4/asm-5.0.4-sources.jar"} , "name": "org-ow2-asm-asm", "actual": "@org-ow2-asm-asm//jar", "bind": "jar/org/ow2/asm/asm"},
     {"artifact": "org.roaringbitmap:RoaringBitmap:0.5.11", "lang": "java", "sha1": "e6b04760ea1896fc36beea4f11b8649481bf5af7", "sha256": "bad2fcf146d4a41cb188a28a4216f15cc470cd2fb6417a7d0005e7f8221ff312", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/roaringbitmap/RoaringBitmap/0.5.11/RoaringBitmap-0.5.11.jar", "source": {"sha1": "dd4dc1e5ed4d98ff8421e0e26f9822873c455e34", "sha256": "15767ab00bd7b50f8711003dd544b18d446a8ef9cdba06b6ad441cb8d2fe59b3", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/roaringbitmap/RoaringBitmap/0.5.11/RoaringBitmap-0.5.11-sources.jar"} , "name": "org-roaringbitmap-RoaringBitmap", "actual": "@org-roaringbitmap-RoaringBitmap//jar", "bind": "jar/org/roaringbitmap/RoaringBitmap"},
     {"artifact": "org.scala-lang.modules:scala-xml_2.11:1.0.5", "lang": "java", "sha1": "77ac9be4033768cf03cc04fbd1fc5e5711de2459", "sha256": "767e11f33eddcd506980f0ff213f9d553a6a21802e3be1330345f62f7ee3d50f", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/scala-lang/modules/scala-xml_2.11/1.0.5/scala-xml_2.11-1.0.5.jar", "source": {"sha1": "ca7f8ffad89550695d29fdd45d251d2f41447a8c", "sha256": "c472bfbcccdd7b3843b4970f4538e943baccffa8ec21b4d7fea13274551e71b7", "repository": "https://repo.maven.apache.org/maven2/", "url": "https://repo.maven.apache.org/maven2/org/scala-lang/modules/scala-xml_2.11/1.0.5/scala-xml_2.11-1.0.5-sources.jar"} , "name": "org-scala-lang-modules-scala-xml_2-11", "actual": "@org-scala-lang-modules-scala-xml_2-11//jar", "bind": "jar/org/scala-lang/modules/scala-xml-2-11"},
@@ -23,6 +23,8 @@ import grakn.core.graph.diskstorage.configuration.ConfigNamespace;
 import grakn.core.graph.diskstorage.configuration.ConfigOption;
 import grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration;
 
+import java.time.Duration;
+
 /**
  * Configuration options for the CQL storage backend. These are managed under the 'cql' namespace in the configuration.
  */
@@ -161,6 +163,67 @@ public interface CQLConfigOptions {
             ConfigOption.Type.FIXED,
             2048);
 
+    ConfigOption<Integer> MAX_CONCURRENT_SLICE_QUERIES = new ConfigOption<>(
+            CQL_NS,
+            "max-concurrent-slice-queries",
+            "The maximum number of partitions a single multi-key slice query reads in parallel.",
+            ConfigOption.Type.MASKABLE,
+            256);
+
+    // Key scans
+    ConfigOption<Integer> SCAN_READ_AHEAD = new ConfigOption<>(
+            CQL_NS,
+            "scan-read-ahead",
+            "The number of pages a key scan reads ahead of the page being iterated. Set to 0 to read each page only once " +
+                    "the previous one is exhausted. Pages hold up to storage.page-size rows.",
+            ConfigOption.Type.MASKABLE,
+            2);
+
+    ConfigOption<Integer> SCAN_PARALLELISM = new ConfigOption<>(
+            CQL_NS,
+            "scan-parallelism",
+            "The number of disjoint token ranges a scan of all the keys of a table reads in parallel.",
+            ConfigOption.Type.MASKABLE,
+            1);
+
+    ConfigOption<Boolean> SCAN_ORDERED = new ConfigOption<>(
+            CQL_NS,
+            "scan-ordered",
+            "Whether a scan reading token ranges in parallel returns the keys in token order. Otherwise the keys are " +
+                    "returned as soon as any of the token ranges has read them.",
+            ConfigOption.Type.MASKABLE,
+            true);
+
+    // Un-logged batches
+    ConfigOption<Integer> MAX_INFLIGHT_BATCHES = new ConfigOption<>(
+            CQL_NS,
+            "max-inflight-batches",
+            "The maximum number of un-logged batches a single commit keeps in flight while writing its mutations.",
+            ConfigOption.Type.MASKABLE,
+            256);
+
+    ConfigOption<Integer> BATCH_SIZE_BYTES = new ConfigOption<>(
+            CQL_NS,
+            "batch-size-bytes",
+            "The size in serialized bytes up to which the mutations of partitions stored on the same replicas are grouped " +
+                    "in a single un-logged batch. The mutations of a partition are never split across batches.",
+            ConfigOption.Type.MASKABLE,
+            4096);
+
+    ConfigOption<Integer> BATCH_RETRIES = new ConfigOption<>(
+            CQL_NS,
+            "batch-retries",
+            "The number of times an un-logged batch failing with a temporary exception is retried before the commit fails.",
+            ConfigOption.Type.MASKABLE,
+            3);
+
+    ConfigOption<Duration> BATCH_RETRY_BACKOFF = new ConfigOption<>(
+            CQL_NS,
+            "batch-retry-backoff",
+            "The time to wait before retrying a failed un-logged batch, doubled on every further retry.",
+            ConfigOption.Type.MASKABLE,
+            Duration.ofMillis(100));
+
 
     // SSL
     ConfigNamespace SSL_NS = new ConfigNamespace(
@@ -18,21 +18,26 @@
 
 package grakn.core.graph.diskstorage.cql;
 
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BatchableStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.servererrors.QueryValidationException;
 import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.api.querybuilder.SchemaBuilder;
 import com.datastax.oss.driver.api.querybuilder.relation.Relation;
 import com.datastax.oss.driver.api.querybuilder.schema.CreateTableWithOptions;
 import com.datastax.oss.driver.api.querybuilder.schema.compaction.CompactionStrategy;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import grakn.core.graph.core.JanusGraphException;
 import grakn.core.graph.diskstorage.BackendException;
 import grakn.core.graph.diskstorage.Entry;
 import grakn.core.graph.diskstorage.EntryList;
@@ -56,13 +61,20 @@ import io.vavr.Tuple;
 import io.vavr.Tuple3;
 import io.vavr.collection.Array;
 import io.vavr.collection.Iterator;
-import io.vavr.control.Try;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.bindMarker;
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.deleteFrom;
@@ -79,6 +91,10 @@ import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.CF_COMPRESSION_B
 import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.CF_COMPRESSION_TYPE;
 import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.COMPACTION_OPTIONS;
 import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.COMPACTION_STRATEGY;
+import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.MAX_CONCURRENT_SLICE_QUERIES;
+import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.SCAN_ORDERED;
+import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.SCAN_PARALLELISM;
+import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.SCAN_READ_AHEAD;
 import static grakn.core.graph.diskstorage.cql.CQLTransaction.getTransaction;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.PAGE_SIZE;
 import static io.vavr.API.$;
@@ -124,10 +140,16 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
     private final PreparedStatement getSlice;
     private final PreparedStatement getKeysAll;
     private final PreparedStatement getKeysRanged;
+    private final PreparedStatement getKeysInTokenRange;
+    private final PreparedStatement getKeysAfterToken;
     private final PreparedStatement deleteColumn;
     private final PreparedStatement insertColumn;
     private final PreparedStatement insertColumnWithTTL;
     private final int pageSize;
+    private final int maxConcurrentSliceQueries;
+    private final int scanReadAhead;
+    private final int scanParallelism;
+    private final boolean scanOrdered;
 
     /**
      * Creates an instance of the {@link KeyColumnValueStore} that stores the data in a CQL backed table.
@@ -151,6 +173,12 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
         // Default configured page size for this storage backend. The page size is used to determine
         // the number of records to request at a time when streaming result data.
         this.pageSize = configuration.get(PAGE_SIZE);
+        // Upper bound on the number of partitions read in parallel by a single multi-key slice query
+        this.maxConcurrentSliceQueries = configuration.get(MAX_CONCURRENT_SLICE_QUERIES);
+        // Pages read ahead by key scans, and token ranges read in parallel by scans of all the keys
+        this.scanReadAhead = configuration.get(SCAN_READ_AHEAD);
+        this.scanParallelism = configuration.get(SCAN_PARALLELISM);
+        this.scanOrdered = configuration.get(SCAN_ORDERED);
 
 
         if (shouldInitialiseTable()) {
@@ -195,6 +223,38 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
                 .whereColumn(COLUMN_COLUMN_NAME).isLessThan(bindMarker(SLICE_END_BINDING))
                 .build());
 
+        if (this.scanParallelism > 1) {
+            this.getKeysInTokenRange = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
+                    .column(KEY_COLUMN_NAME)
+                    .column(COLUMN_COLUMN_NAME)
+                    .column(VALUE_COLUMN_NAME)
+                    .function(WRITETIME_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(WRITETIME_COLUMN_NAME)
+                    .function(TTL_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(TTL_COLUMN_NAME)
+                    .allowFiltering()
+                    .where(
+                            Relation.token(KEY_COLUMN_NAME).isGreaterThan(bindMarker(KEY_START_BINDING)),
+                            Relation.token(KEY_COLUMN_NAME).isLessThanOrEqualTo(bindMarker(KEY_END_BINDING))
+                    )
+                    .whereColumn(COLUMN_COLUMN_NAME).isGreaterThanOrEqualTo(bindMarker(SLICE_START_BINDING))
+                    .whereColumn(COLUMN_COLUMN_NAME).isLessThan(bindMarker(SLICE_END_BINDING))
+                    .build());
+
+            this.getKeysAfterToken = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
+                    .column(KEY_COLUMN_NAME)
+                    .column(COLUMN_COLUMN_NAME)
+                    .column(VALUE_COLUMN_NAME)
+                    .function(WRITETIME_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(WRITETIME_COLUMN_NAME)
+                    .function(TTL_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(TTL_COLUMN_NAME)
+                    .allowFiltering()
+                    .where(Relation.token(KEY_COLUMN_NAME).isGreaterThan(bindMarker(KEY_START_BINDING)))
+                    .whereColumn(COLUMN_COLUMN_NAME).isGreaterThanOrEqualTo(bindMarker(SLICE_START_BINDING))
+                    .whereColumn(COLUMN_COLUMN_NAME).isLessThan(bindMarker(SLICE_END_BINDING))
+                    .build());
+        } else {
+            this.getKeysInTokenRange = null;
+            this.getKeysAfterToken = null;
+        }
+
         this.deleteColumn = this.session.prepare(deleteFrom(this.storeManager.getKeyspaceName(), this.tableName)
                 .usingTimestamp(bindMarker(TIMESTAMP_BINDING))
                 .whereColumn(KEY_COLUMN_NAME).isEqualTo(bindMarker(KEY_BINDING))
@@ -296,19 +356,122 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
 
     @Override
     public EntryList getSlice(KeySliceQuery query, StoreTransaction txh) {
-        ResultSet result = this.storeManager.executeOnSession(this.getSlice.bind()
-                .setByteBuffer(KEY_BINDING, query.getKey().asByteBuffer())
-                .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
-                .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
-                .setInt(LIMIT_BINDING, query.getLimit())
-                .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel()));
+        ResultSet result = this.storeManager.executeOnSession(bindSlice(query.getKey(), query, getTransaction(txh).getReadConsistencyLevel()));
 
         return fromResultSet(result, this.getter);
     }
 
+    /**
+     * Reads the slice without blocking the calling thread, other than to wait for the driver to accept one more request.
+     */
+    @Override
+    public CompletionStage<EntryList> getSliceAsync(KeySliceQuery query, StoreTransaction txh) {
+        return mapFailure(readSlice(query.getKey(), query, getTransaction(txh).getReadConsistencyLevel()));
+    }
+
+    /**
+     * Reads the same slice from many partitions by firing one asynchronous read per key, keeping at most
+     * maxConcurrentSliceQueries of them in flight, and waiting for all of them to complete.
+     */
     @Override
     public Map<StaticBuffer, EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) throws BackendException {
-        throw new UnsupportedOperationException("The CQL backend does not support multi-key queries");
+        try {
+            return getSliceAsync(keys, query, txh).toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JanusGraphException("Interrupted while waiting for multi-key slice query to complete", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof BackendException ? (BackendException) e.getCause() : EXCEPTION_MAPPER.apply(e.getCause());
+        }
+    }
+
+    /**
+     * Reads the same slice from many partitions without waiting for them. The keys are split in maxConcurrentSliceQueries
+     * chains, each issuing the read of its next key once the previous one completes, so that at most that many are in flight.
+     */
+    @Override
+    public CompletionStage<Map<StaticBuffer, EntryList>> getSliceAsync(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) {
+        ConsistencyLevel consistencyLevel = getTransaction(txh).getReadConsistencyLevel();
+        EntryList[] slices = new EntryList[keys.size()];
+        int chains = Math.min(this.maxConcurrentSliceQueries, keys.size());
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[chains];
+        for (int chain = 0; chain < chains; chain++) {
+            futures[chain] = readSlices(keys, chain, chains, query, consistencyLevel, slices).toCompletableFuture();
+        }
+
+        return mapFailure(CompletableFuture.allOf(futures).thenApply(done -> {
+            Map<StaticBuffer, EntryList> results = new HashMap<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                results.put(keys.get(i), slices[i]);
+            }
+            return results;
+        }));
+    }
+
+    /**
+     * Reads the slices of the keys at the given position and every stride keys after it, one after the other.
+     * Each next read is issued on the read executor of the store manager, off the driver thread completing the previous one.
+     */
+    private CompletionStage<Void> readSlices(List<StaticBuffer> keys, int position, int stride, SliceQuery query,
+                                             ConsistencyLevel consistencyLevel, EntryList[] slices) {
+        if (position >= keys.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return readSlice(keys.get(position), query, consistencyLevel).thenComposeAsync(slice -> {
+            slices[position] = slice;
+            return readSlices(keys, position + stride, stride, query, consistencyLevel, slices);
+        }, this.storeManager.getReadExecutor());
+    }
+
+    private CompletionStage<EntryList> readSlice(StaticBuffer key, SliceQuery query, ConsistencyLevel consistencyLevel) {
+        return this.storeManager.executeAsyncOnSession(bindSlice(key, query, consistencyLevel))
+                .thenCompose(firstPage -> allRows(firstPage, new ArrayList<>()))
+                .thenApply(rows -> fromRows(rows, this.getter));
+    }
+
+    /**
+     * Completes with the result of the given read, or exceptionally with the {@link BackendException} its failure maps to.
+     */
+    private static <V> CompletionStage<V> mapFailure(CompletionStage<V> read) {
+        CompletableFuture<V> result = new CompletableFuture<>();
+        read.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+            } else {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                result.completeExceptionally(cause instanceof BackendException ? cause : EXCEPTION_MAPPER.apply(cause));
+            }
+        });
+        return result;
+    }
+
+    private BoundStatement bindSlice(StaticBuffer key, SliceQuery query, ConsistencyLevel consistencyLevel) {
+        return this.getSlice.bind()
+                .setByteBuffer(KEY_BINDING, key.asByteBuffer())
+                .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
+                .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
+                .setInt(LIMIT_BINDING, query.getLimit())
+                .setPageSize(this.pageSize)
+                .setConsistencyLevel(consistencyLevel);
+    }
+
+    /**
+     * Asynchronously follows the pages of a result set, accumulating all the rows in the given list.
+     */
+    private static CompletionStage<List<Row>> allRows(AsyncResultSet page, List<Row> rows) {
+        page.currentPage().forEach(rows::add);
+        if (page.hasMorePages()) {
+            return page.fetchNextPage().thenCompose(nextPage -> allRows(nextPage, rows));
+        }
+        return CompletableFuture.completedFuture(rows);
+    }
+
+    private static EntryList fromRows(List<Row> rows, StaticArrayEntry.GetColVal<Tuple3<StaticBuffer, StaticBuffer, Row>, StaticBuffer> getter) {
+        return StaticArrayEntryList.ofStaticBuffer(() -> Iterator.ofAll(rows).map(row -> Tuple.of(
+                StaticArrayBuffer.of(row.getByteBuffer(COLUMN_COLUMN_NAME)),
+                StaticArrayBuffer.of(row.getByteBuffer(VALUE_COLUMN_NAME)),
+                row)),
+                getter);
     }
 
     private static EntryList fromResultSet(ResultSet resultSet, StaticArrayEntry.GetColVal<Tuple3<StaticBuffer, StaticBuffer, Row>, StaticBuffer> getter) {
@@ -363,38 +526,148 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
 
     @Override
     public KeyIterator getKeys(KeyRangeQuery query, StoreTransaction txh) throws BackendException {
+        return awaitScan(getKeysAsync(query, txh));
+    }
+
+    @Override
+    public KeyIterator getKeys(SliceQuery query, StoreTransaction txh) throws BackendException {
+        return awaitScan(getKeysAsync(query, txh));
+    }
+
+    private static KeyIterator awaitScan(CompletionStage<KeyIterator> scan) throws BackendException {
+        try {
+            return scan.toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JanusGraphException("Interrupted while waiting for the first page of a key scan", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof BackendException ? (BackendException) e.getCause() : EXCEPTION_MAPPER.apply(e.getCause());
+        }
+    }
+
+    /**
+     * Completes once the first page of keys has been read. The following pages are read asynchronously,
+     * up to scanReadAhead pages ahead of the page being iterated.
+     */
+    @Override
+    public CompletionStage<KeyIterator> getKeysAsync(KeyRangeQuery query, StoreTransaction txh) {
         if (!this.storeManager.getFeatures().hasOrderedScan()) {
-            throw new PermanentBackendException("This operation is only allowed when the byteorderedpartitioner is used.");
+            return KeyColumnValueStore.supplyNow(() -> {
+                throw new PermanentBackendException("This operation is only allowed when the byteorderedpartitioner is used.");
+            });
         }
 
-        TokenMap tokenMap = this.session.getMetadata().getTokenMap().get();
-        return Try.of(() -> new CQLResultSetKeyIterator(
-                query,
-                this.getter,
-                this.storeManager.executeOnSession(this.getKeysRanged.bind()
-                        .setToken(KEY_START_BINDING, tokenMap.newToken(query.getKeyStart().asByteBuffer()))
-                        .setToken(KEY_END_BINDING, tokenMap.newToken(query.getKeyEnd().asByteBuffer()))
-                        .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
-                        .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
-                        .setPageSize(this.pageSize)
-                        .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel()))))
-                .getOrElseThrow(EXCEPTION_MAPPER);
+        BoundStatement statement = bindKeysRanged(query, txh);
+        return mapFailure(CQLPagedRowIterator.open(Collections.singletonList(() -> this.storeManager.executeAsyncOnSession(statement)), this.scanReadAhead, this.storeManager.getReadExecutor(), () -> {})
+                .thenApply(rows -> new CQLResultSetKeyIterator(query, this.getter, rows)));
     }
 
+    /**
+     * Completes once the first page of keys has been read. With a scanParallelism above 1, the token ring is split in
+     * as many sub-scans of contiguous token ranges, each reading its pages ahead of the pages being iterated.
+     */
     @Override
-    public KeyIterator getKeys(SliceQuery query, StoreTransaction txh) throws BackendException {
+    public CompletionStage<KeyIterator> getKeysAsync(SliceQuery query, StoreTransaction txh) {
         if (this.storeManager.getFeatures().hasOrderedScan()) {
-            throw new PermanentBackendException("This operation is only allowed when a random partitioner (md5 or murmur3) is used.");
+            return KeyColumnValueStore.supplyNow(() -> {
+                throw new PermanentBackendException("This operation is only allowed when a random partitioner (md5 or murmur3) is used.");
+            });
+        }
+
+        if (this.scanParallelism <= 1) {
+            BoundStatement statement = bindKeysAll(query, txh);
+            return mapFailure(CQLPagedRowIterator.open(Collections.singletonList(() -> this.storeManager.executeAsyncOnSession(statement)), this.scanReadAhead, this.storeManager.getReadExecutor(), () -> {})
+                    .thenApply(rows -> new CQLResultSetKeyIterator(query, this.getter, rows)));
+        }
+
+        Object progress = new Object();
+        Runnable onPage = () -> {
+            synchronized (progress) {
+                progress.notifyAll();
+            }
+        };
+        List<CompletableFuture<CQLPagedRowIterator>> subScans = new ArrayList<>();
+        for (List<TokenRange> ranges : splitTokenRing(this.session.getMetadata().getTokenMap().get().getTokenRanges(), this.scanParallelism)) {
+            List<Supplier<CompletionStage<AsyncResultSet>>> queries = new ArrayList<>(ranges.size());
+            for (TokenRange range : ranges) {
+                queries.add(() -> this.storeManager.executeAsyncOnSession(bindKeysInTokenRange(range, query, txh)));
+            }
+            subScans.add(CQLPagedRowIterator.open(queries, this.scanReadAhead, this.storeManager.getReadExecutor(), onPage).toCompletableFuture());
+        }
+
+        CompletableFuture<KeyIterator> scan = CompletableFuture.allOf(subScans.toArray(new CompletableFuture[0])).thenApply(opened -> {
+            List<CQLResultSetKeyIterator> keys = new ArrayList<>(subScans.size());
+            for (CompletableFuture<CQLPagedRowIterator> subScan : subScans) {
+                keys.add(new CQLResultSetKeyIterator(query, this.getter, subScan.join()));
+            }
+            return new CQLParallelKeyIterator(keys, this.scanOrdered, progress);
+        });
+        scan.whenComplete((opened, failure) -> {
+            if (failure != null) {
+                subScans.forEach(subScan -> subScan.thenAccept(CQLPagedRowIterator::close));
+            }
+        });
+        return mapFailure(scan);
+    }
+
+    /**
+     * Splits the token ring in at most the given number of sub-scans, each made of contiguous token ranges, in token order.
+     * Ranges wrapping around the ring are split at its end, so that the range ending the ring comes last.
+     */
+    @VisibleForTesting
+    static List<List<TokenRange>> splitTokenRing(Set<TokenRange> ring, int subScans) {
+        int splits = (subScans + ring.size() - 1) / ring.size();
+        List<TokenRange> ranges = new ArrayList<>();
+        for (TokenRange range : ring) {
+            for (TokenRange split : range.splitEvenly(splits)) {
+                ranges.addAll(split.unwrap());
+            }
+        }
+        ranges.sort(Comparator.comparing(CQLKeyColumnValueStore::endsRing).thenComparing(TokenRange::getStart));
+
+        int groups = Math.min(subScans, ranges.size());
+        List<List<TokenRange>> split = new ArrayList<>(groups);
+        for (int group = 0; group < groups; group++) {
+            split.add(ranges.subList(group * ranges.size() / groups, (group + 1) * ranges.size() / groups));
         }
+        return split;
+    }
+
+    /**
+     * A range not wrapping around the ring whose end is not after its start ends at the minimum token,
+     * which stands for the end of the ring.
+     */
+    private static boolean endsRing(TokenRange range) {
+        return range.getEnd().compareTo(range.getStart()) <= 0;
+    }
 
-        return Try.of(() -> new CQLResultSetKeyIterator(
-                query,
-                this.getter,
-                this.storeManager.executeOnSession(this.getKeysAll.bind()
-                        .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
-                        .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
-                        .setPageSize(this.pageSize)
-                        .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel()))))
-                .getOrElseThrow(EXCEPTION_MAPPER);
+    private BoundStatement bindKeysInTokenRange(TokenRange range, SliceQuery query, StoreTransaction txh) {
+        BoundStatement statement = endsRing(range)
+                ? this.getKeysAfterToken.bind().setToken(KEY_START_BINDING, range.getStart())
+                : this.getKeysInTokenRange.bind().setToken(KEY_START_BINDING, range.getStart()).setToken(KEY_END_BINDING, range.getEnd());
+        return statement
+                .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
+                .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
+                .setPageSize(this.pageSize)
+                .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel());
+    }
+
+    private BoundStatement bindKeysRanged(KeyRangeQuery query, StoreTransaction txh) {
+        TokenMap tokenMap = this.session.getMetadata().getTokenMap().get();
+        return this.getKeysRanged.bind()
+                .setToken(KEY_START_BINDING, tokenMap.newToken(query.getKeyStart().asByteBuffer()))
+                .setToken(KEY_END_BINDING, tokenMap.newToken(query.getKeyEnd().asByteBuffer()))
+                .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
+                .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
+                .setPageSize(this.pageSize)
+                .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel());
+    }
+
+    private BoundStatement bindKeysAll(SliceQuery query, StoreTransaction txh) {
+        return this.getKeysAll.bind()
+                .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
+                .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
+                .setPageSize(this.pageSize)
+                .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel());
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.diskstorage.cql;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Summary of the un-logged batches written to Cassandra by a single commit: how many batches and partitions were
+ * written, their size in serialized bytes, how many batches were retried and the percentiles of the batch latencies.
+ */
+public class CQLMutationMetrics {
+    private final int batches;
+    private final int partitions;
+    private final long bytes;
+    private final int retries;
+    private final long[] sortedLatencies;
+
+    CQLMutationMetrics(int batches, int partitions, long bytes, int retries, long[] latencyNanos) {
+        this.batches = batches;
+        this.partitions = partitions;
+        this.bytes = bytes;
+        this.retries = retries;
+        this.sortedLatencies = latencyNanos.clone();
+        Arrays.sort(this.sortedLatencies);
+    }
+
+    public int batches() {
+        return batches;
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    public int retries() {
+        return retries;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return latency of a batch such that the given percentage of the batches completed at least as fast
+     */
+    public Duration latencyPercentile(double percentile) {
+        if (sortedLatencies.length == 0) return Duration.ZERO;
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+        return Duration.ofNanos(sortedLatencies[Math.min(Math.max(rank, 1), sortedLatencies.length) - 1]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d batches, %d partitions, %d bytes, %d retries, latency p50 %dms p99 %dms max %dms",
+                batches, partitions, bytes, retries,
+                latencyPercentile(50).toMillis(), latencyPercentile(99).toMillis(), latencyPercentile(100).toMillis());
+    }
+}
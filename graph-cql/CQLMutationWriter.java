@@ -0,0 +1,236 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.diskstorage.cql;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import grakn.core.graph.core.JanusGraphException;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.PermanentBackendException;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.TemporaryBackendException;
+import grakn.core.graph.diskstorage.configuration.Configuration;
+import grakn.core.graph.diskstorage.keycolumnvalue.KCVMutation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.BATCH_RETRIES;
+import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.BATCH_RETRY_BACKOFF;
+import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.BATCH_SIZE_BYTES;
+import static grakn.core.graph.diskstorage.cql.CQLConfigOptions.MAX_INFLIGHT_BATCHES;
+import static grakn.core.graph.diskstorage.cql.CQLKeyColumnValueStore.EXCEPTION_MAPPER;
+
+/**
+ * Writes the mutations of a commit as un-logged batches, sending each batch as soon as it is full while the next ones
+ * are built, with at most a configured number of batches of the commit in flight.
+ *
+ * The mutations of a partition always go in the same batch. Partitions replicated on the same nodes are grouped in a
+ * batch until its statements reach the configured size in serialized bytes, so that the coordinator of a batch owns all
+ * of its data. Without token metadata each partition is written in its own batch.
+ * Batches failing with a TemporaryBackendException are retried with exponential backoff.
+ */
+class CQLMutationWriter {
+
+    private final CQLStoreManager storeManager;
+    private final int maxInFlightBatches;
+    private final int batchSizeBytes;
+    private final int batchRetries;
+    private final Duration retryBackoff;
+    private final ScheduledExecutorService retryScheduler;
+
+    CQLMutationWriter(CQLStoreManager storeManager, Configuration configuration) {
+        this.storeManager = storeManager;
+        this.maxInFlightBatches = configuration.get(MAX_INFLIGHT_BATCHES);
+        this.batchSizeBytes = configuration.get(BATCH_SIZE_BYTES);
+        this.batchRetries = configuration.get(BATCH_RETRIES);
+        this.retryBackoff = configuration.get(BATCH_RETRY_BACKOFF);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cql-batch-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    CQLMutationMetrics write(Map<String, Map<StaticBuffer, KCVMutation>> mutations, Map<String, CQLKeyColumnValueStore> stores,
+                             long deletionTime, long additionTime, ConsistencyLevel consistencyLevel) throws BackendException {
+        CommitWrite commitWrite = new CommitWrite(consistencyLevel);
+        Optional<TokenMap> tokenMap = storeManager.getSession().getMetadata().getTokenMap();
+        Map<Set<Node>, Batch> openBatches = new HashMap<>();
+
+        try {
+            for (Map.Entry<String, Map<StaticBuffer, KCVMutation>> tableNameAndMutations : mutations.entrySet()) {
+                CQLKeyColumnValueStore columnValueStore = stores.get(tableNameAndMutations.getKey());
+
+                for (Map.Entry<StaticBuffer, KCVMutation> keyAndMutations : tableNameAndMutations.getValue().entrySet()) {
+                    StaticBuffer key = keyAndMutations.getKey();
+                    KCVMutation keyMutations = keyAndMutations.getValue();
+
+                    Set<Node> replicas = tokenMap
+                            .map(tokens -> tokens.getReplicas(storeManager.getKeyspaceName(), key.asByteBuffer()))
+                            .orElse(null);
+                    Batch batch = replicas == null || replicas.isEmpty() ? new Batch() : openBatches.computeIfAbsent(replicas, r -> new Batch());
+
+                    for (StaticBuffer deletion : keyMutations.getDeletions()) {
+                        batch.add(columnValueStore.deleteColumn(key, deletion, deletionTime), key.length() + deletion.length());
+                    }
+                    for (Entry addition : keyMutations.getAdditions()) {
+                        batch.add(columnValueStore.insertColumn(key, addition, additionTime), key.length() + addition.length());
+                    }
+                    batch.partitions++;
+
+                    if (replicas == null || replicas.isEmpty()) {
+                        commitWrite.send(batch);
+                    } else if (batch.bytes >= batchSizeBytes) {
+                        openBatches.remove(replicas);
+                        commitWrite.send(batch);
+                    }
+                }
+            }
+            for (Batch batch : openBatches.values()) {
+                commitWrite.send(batch);
+            }
+            return commitWrite.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JanusGraphException("Interrupted while writing mutations to Cassandra", e);
+        }
+    }
+
+    void close() {
+        retryScheduler.shutdownNow();
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        return exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+    }
+
+    private static BackendException toBackendException(Throwable exception) {
+        return exception instanceof BackendException ? (BackendException) exception : EXCEPTION_MAPPER.apply(exception);
+    }
+
+    /**
+     * Statements of the partitions written together in an un-logged batch
+     */
+    private static class Batch {
+        private final List<BatchableStatement<BoundStatement>> statements = new ArrayList<>();
+        private long bytes = 0;
+        private int partitions = 0;
+
+        private void add(BatchableStatement<BoundStatement> statement, long statementBytes) {
+            statements.add(statement);
+            bytes += statementBytes;
+        }
+    }
+
+    /**
+     * Batches sent by a single commit, their completion and metrics
+     */
+    private class CommitWrite {
+        private final ConsistencyLevel consistencyLevel;
+        private final Semaphore inFlight = new Semaphore(maxInFlightBatches);
+        private final List<CompletableFuture<Void>> written = new ArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicInteger retries = new AtomicInteger();
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private int partitions = 0;
+        private long bytes = 0;
+
+        private CommitWrite(ConsistencyLevel consistencyLevel) {
+            this.consistencyLevel = consistencyLevel;
+        }
+
+        private void send(Batch batch) throws InterruptedException, BackendException {
+            Throwable failed = failure.get();
+            if (failed != null) throw toBackendException(failed);
+
+            inFlight.acquire();
+            partitions += batch.partitions;
+            bytes += batch.bytes;
+            BatchStatement statement = BatchStatement.newInstance(DefaultBatchType.UNLOGGED)
+                    .addAll(batch.statements)
+                    .setConsistencyLevel(consistencyLevel);
+            CompletableFuture<Void> batchWritten = new CompletableFuture<>();
+            batchWritten.whenComplete((result, exception) -> inFlight.release());
+            written.add(batchWritten);
+            execute(statement, 0, batchWritten);
+        }
+
+        private void execute(BatchStatement statement, int attempt, CompletableFuture<Void> batchWritten) {
+            long start = System.nanoTime();
+            try {
+                storeManager.executeAsyncOnSession(statement).whenComplete((result, exception) -> {
+                    latencies.add(System.nanoTime() - start);
+                    if (exception == null) {
+                        batchWritten.complete(null);
+                    } else if (attempt < batchRetries && EXCEPTION_MAPPER.apply(unwrap(exception)) instanceof TemporaryBackendException) {
+                        retries.incrementAndGet();
+                        long backoffMillis = retryBackoff.toMillis() << attempt;
+                        try {
+                            retryScheduler.schedule(() -> execute(statement, attempt + 1, batchWritten), backoffMillis, TimeUnit.MILLISECONDS);
+                        } catch (RejectedExecutionException e) {
+                            // the writer was closed while the batch was being written, so it can't be retried any more
+                            PermanentBackendException closed = new PermanentBackendException("Writer closed before a failed batch could be retried", unwrap(exception));
+                            failure.compareAndSet(null, closed);
+                            batchWritten.completeExceptionally(closed);
+                        }
+                    } else {
+                        failure.compareAndSet(null, unwrap(exception));
+                        batchWritten.completeExceptionally(unwrap(exception));
+                    }
+                });
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                batchWritten.completeExceptionally(e);
+            }
+        }
+
+        private CQLMutationMetrics await() throws InterruptedException, BackendException {
+            try {
+                CompletableFuture.allOf(written.toArray(new CompletableFuture[]{})).get();
+            } catch (ExecutionException e) {
+                throw toBackendException(unwrap(e.getCause()));
+            }
+            long[] latencyNanos = latencies.stream().mapToLong(Long::longValue).toArray();
+            return new CQLMutationMetrics(written.size(), partitions, bytes, retries.get(), latencyNanos);
+        }
+    }
+}
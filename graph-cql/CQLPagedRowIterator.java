@@ -0,0 +1,189 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.diskstorage.cql;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.google.common.collect.AbstractIterator;
+import grakn.core.graph.core.JanusGraphException;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Iterates the rows returned by a sequence of paged queries, reading up to readAhead pages asynchronously
+ * ahead of the page being iterated, so that iterating a page overlaps with reading the following ones.
+ * <p>
+ * Each query is only issued once the pages of the previous one have all been read. The pages read are handled on the
+ * given executor rather than on the driver's threads completing them, as issuing the next query may wait for the driver
+ * to accept one more request. This iterator is meant to be consumed by a single thread.
+ */
+class CQLPagedRowIterator extends AbstractIterator<Row> {
+
+    private final Iterator<Supplier<CompletionStage<AsyncResultSet>>> queries;
+    private final int readAhead;
+    private final Executor executor;
+    private final Runnable onPage;
+    private final CompletableFuture<CQLPagedRowIterator> firstPage = new CompletableFuture<>();
+
+    // guarded by this
+    private final Deque<AsyncResultSet> pages = new ArrayDeque<>();
+    private AsyncResultSet lastPage = null;
+    private boolean reading = false;
+    private boolean closed = false;
+    private Throwable failure = null;
+
+    private Iterator<Row> rows = Collections.emptyIterator();
+
+    private CQLPagedRowIterator(List<Supplier<CompletionStage<AsyncResultSet>>> queries, int readAhead, Executor executor, Runnable onPage) {
+        this.queries = queries.iterator();
+        this.readAhead = readAhead;
+        this.executor = executor;
+        this.onPage = onPage;
+    }
+
+    /**
+     * Starts reading the first page of the given queries.
+     *
+     * @param queries   issue the queries whose rows are iterated, in order
+     * @param readAhead number of pages read ahead of the page being iterated, 0 reads each page only once it is needed
+     * @param executor  handles the pages read, and issues the reads following them
+     * @param onPage    notified on the executor every time a page is read or fails to be read
+     * @return completes once the first page is read, or exceptionally with the failure to read it
+     */
+    static CompletionStage<CQLPagedRowIterator> open(List<Supplier<CompletionStage<AsyncResultSet>>> queries, int readAhead,
+                                                     Executor executor, Runnable onPage) {
+        CQLPagedRowIterator iterator = new CQLPagedRowIterator(queries, readAhead, executor, onPage);
+        CompletionStage<AsyncResultSet> read;
+        synchronized (iterator) {
+            read = iterator.nextRead(true);
+        }
+        if (read == null) {
+            iterator.firstPage.complete(iterator);
+        }
+        iterator.attach(read);
+        return iterator.firstPage;
+    }
+
+    /**
+     * @return false if the next row can only be returned once the page being read arrives. Without read ahead, the
+     * next page is only read once it is needed, so the iterator is ready even if it will then have to wait for it.
+     */
+    synchronized boolean ready() {
+        return rows.hasNext() || !pages.isEmpty() || failure != null || !reading;
+    }
+
+    synchronized void close() {
+        closed = true;
+        pages.clear();
+    }
+
+    @Override
+    protected Row computeNext() {
+        while (!rows.hasNext()) {
+            AsyncResultSet page = null;
+            CompletionStage<AsyncResultSet> read;
+            synchronized (this) {
+                if (pages.isEmpty()) {
+                    if (failure != null) {
+                        throw new JanusGraphException("Could not read the next page of a key scan", failure);
+                    }
+                    if (reading) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new JanusGraphException("Interrupted while waiting for the next page of a key scan", e);
+                        }
+                        continue;
+                    }
+                    if (closed || !hasMorePages()) {
+                        return endOfData();
+                    }
+                    read = nextRead(true);
+                } else {
+                    page = pages.poll();
+                    read = nextRead(false);
+                }
+            }
+            attach(read);
+            if (page != null) {
+                rows = page.currentPage().iterator();
+            }
+        }
+        return rows.next();
+    }
+
+    // guarded by this
+    private boolean hasMorePages() {
+        return (lastPage != null && lastPage.hasMorePages()) || queries.hasNext();
+    }
+
+    /**
+     * Issues the read of the page following the last one read, unless one is being read already, or enough pages
+     * are read ahead and the page is not needed yet. The read must be attached, outside of the lock, once issued.
+     */
+    // guarded by this
+    private CompletionStage<AsyncResultSet> nextRead(boolean needed) {
+        if (reading || closed || failure != null || !hasMorePages() || (!needed && pages.size() >= readAhead)) {
+            return null;
+        }
+        reading = true;
+        try {
+            return lastPage != null && lastPage.hasMorePages() ? lastPage.fetchNextPage() : queries.next().get();
+        } catch (RuntimeException e) {
+            CompletableFuture<AsyncResultSet> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private void attach(CompletionStage<AsyncResultSet> read) {
+        if (read != null) {
+            read.whenCompleteAsync(this::pageRead, executor);
+        }
+    }
+
+    private void pageRead(AsyncResultSet page, Throwable readFailure) {
+        CompletionStage<AsyncResultSet> read = null;
+        synchronized (this) {
+            reading = false;
+            if (readFailure != null) {
+                failure = readFailure;
+            } else {
+                lastPage = page;
+                if (!closed) pages.add(page);
+                read = nextRead(false);
+            }
+            notifyAll();
+        }
+        if (readFailure != null) firstPage.completeExceptionally(readFailure);
+        else firstPage.complete(this);
+        onPage.run();
+        attach(read);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.diskstorage.cql;
+
+import grakn.core.graph.core.JanusGraphException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyIterator;
+import grakn.core.graph.diskstorage.util.RecordIterator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link KeyIterator} over the keys of sub-scans reading disjoint token ranges in parallel.
+ * <p>
+ * When ordered, the keys of each sub-scan are returned after those of the previous one, which returns the keys
+ * in token order if the sub-scans are ordered by token range. Otherwise the keys are returned from whichever
+ * sub-scan has read them, waiting only when none has.
+ */
+class CQLParallelKeyIterator implements KeyIterator {
+
+    private final List<CQLResultSetKeyIterator> scans;
+    private final boolean[] exhausted;
+    private final boolean ordered;
+    private final Object progress;
+
+    private int position = 0;
+    private CQLResultSetKeyIterator current = null;
+
+    /**
+     * @param progress notified every time a page of any of the sub-scans is read
+     */
+    CQLParallelKeyIterator(List<CQLResultSetKeyIterator> scans, boolean ordered, Object progress) {
+        this.scans = scans;
+        this.exhausted = new boolean[scans.size()];
+        this.ordered = ordered;
+        this.progress = progress;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.ordered ? hasNextInOrder() : hasNextReady();
+    }
+
+    private boolean hasNextInOrder() {
+        while (this.position < this.scans.size()) {
+            if (this.scans.get(this.position).hasNext()) {
+                return true;
+            }
+            this.position++;
+        }
+        return false;
+    }
+
+    private boolean hasNextReady() {
+        while (true) {
+            int reading = 0;
+            for (int i = 0; i < this.scans.size(); i++) {
+                int index = (this.position + i) % this.scans.size();
+                if (this.exhausted[index]) continue;
+
+                CQLResultSetKeyIterator scan = this.scans.get(index);
+                if (scan.ready()) {
+                    if (scan.hasNext()) {
+                        this.position = index;
+                        return true;
+                    }
+                    this.exhausted[index] = true;
+                } else {
+                    reading++;
+                }
+            }
+            if (reading == 0) {
+                return false;
+            }
+            awaitProgress();
+        }
+    }
+
+    private void awaitProgress() {
+        synchronized (this.progress) {
+            for (int i = 0; i < this.scans.size(); i++) {
+                if (!this.exhausted[i] && this.scans.get(i).ready()) return;
+            }
+            try {
+                this.progress.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JanusGraphException("Interrupted while waiting for the next page of a key scan", e);
+            }
+        }
+    }
+
+    @Override
+    public StaticBuffer next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.current = this.scans.get(this.position);
+        return this.current.next();
+    }
+
+    @Override
+    public RecordIterator<Entry> getEntries() {
+        return this.current.getEntries();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (CQLResultSetKeyIterator scan : this.scans) {
+            scan.close();
+        }
+    }
+}
@@ -18,7 +18,6 @@
 
 package grakn.core.graph.diskstorage.cql;
 
-import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.google.common.collect.AbstractIterator;
 import io.vavr.Tuple;
@@ -44,16 +43,18 @@ class CQLResultSetKeyIterator extends AbstractIterator<StaticBuffer> implements
 
     private final SliceQuery sliceQuery;
     private final CQLColValGetter getter;
+    private final CQLPagedRowIterator rows;
     private final Iterator<Row> iterator;
 
     private Row currentRow = null;
     private StaticBuffer currentKey = null;
     private StaticBuffer lastKey = null;
 
-    CQLResultSetKeyIterator(SliceQuery sliceQuery, CQLColValGetter getter, ResultSet resultSet) {
+    CQLResultSetKeyIterator(SliceQuery sliceQuery, CQLColValGetter getter, CQLPagedRowIterator rows) {
         this.sliceQuery = sliceQuery;
         this.getter = getter;
-        this.iterator = Iterator.ofAll(resultSet.iterator())
+        this.rows = rows;
+        this.iterator = Iterator.ofAll(rows)
                 .peek(row -> {
                     this.currentRow = row;
                     this.currentKey = StaticArrayBuffer.of(row.getByteBuffer(CQLKeyColumnValueStore.KEY_COLUMN_NAME));
@@ -82,9 +83,17 @@ class CQLResultSetKeyIterator extends AbstractIterator<StaticBuffer> implements
         return new EntryRecordIterator(this.sliceQuery, this.getter, Iterator.of(this.currentRow).concat(this.iterator), this.currentKey);
     }
 
+    /**
+     * @return whether the next key can be returned without waiting for a page to be read, unless the rows of the key
+     * continue on the following page
+     */
+    boolean ready() {
+        return this.rows.ready();
+    }
+
     @Override
     public void close() throws IOException {
-        // NOP
+        this.rows.close();
     }
 
     static class EntryRecordIterator extends AbstractIterator<Entry> implements RecordIterator<Entry> {
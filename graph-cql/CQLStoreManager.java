@@ -39,6 +39,7 @@ import com.datastax.oss.driver.internal.core.auth.PlainTextAuthProvider;
 import com.datastax.oss.driver.internal.core.ssl.DefaultSslEngineFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import grakn.core.graph.core.JanusGraphException;
 import grakn.core.graph.diskstorage.BackendException;
 import grakn.core.graph.diskstorage.BaseTransactionConfig;
@@ -68,16 +69,16 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.truncate;
 import static com.datastax.oss.driver.api.querybuilder.SchemaBuilder.createKeyspace;
@@ -131,6 +132,9 @@ public class CQLStoreManager extends AbstractStoreManager implements KeyColumnVa
     private final StoreFeatures storeFeatures;
     private final Map<String, CQLKeyColumnValueStore> openStores;
     private final Semaphore semaphore;
+    // issues the reads that follow completed ones, which must not wait for the semaphore on a driver thread
+    private final ExecutorService readExecutor;
+    private final CQLMutationWriter mutationWriter;
 
     /**
      * Constructor for the {@link CQLStoreManager} given a JanusGraph {@link Configuration}.
@@ -141,7 +145,9 @@ public class CQLStoreManager extends AbstractStoreManager implements KeyColumnVa
         this.atomicBatch = configuration.get(ATOMIC_BATCH_MUTATE);
         this.times = configuration.get(TIMESTAMP_PROVIDER);
         this.semaphore = new Semaphore(configuration.get(MAX_REQUESTS_PER_CONNECTION));
+        this.readExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("cql-read-%d").setDaemon(true).build());
         this.session = initialiseSession();
+        this.mutationWriter = new CQLMutationWriter(this, configuration);
 
         initialiseKeyspace();
 
@@ -161,7 +167,7 @@ public class CQLStoreManager extends AbstractStoreManager implements KeyColumnVa
         fb.keyConsistent(global, local);
         fb.locking(false);
         fb.optimisticLocking(true);
-        fb.multiQuery(false);
+        fb.multiQuery(true);
 
         String partitioner = this.session.getMetadata().getTokenMap().get().getPartitionerName();
         switch (partitioner.substring(partitioner.lastIndexOf('.') + 1)) {
@@ -288,7 +294,7 @@ public class CQLStoreManager extends AbstractStoreManager implements KeyColumnVa
         }
     }
 
-    private CompletionStage<AsyncResultSet> executeAsyncOnSession(Statement statement) {
+    CompletionStage<AsyncResultSet> executeAsyncOnSession(Statement statement) {
         try {
             this.semaphore.acquire();
             CompletionStage<AsyncResultSet> async = this.session.executeAsync(statement);
@@ -302,12 +308,19 @@ public class CQLStoreManager extends AbstractStoreManager implements KeyColumnVa
             });
             return async;
         } catch (InterruptedException e) {
-            this.semaphore.release();
             Thread.currentThread().interrupt();
             throw new JanusGraphException("Interrupted while acquiring resource to execute query on Session.");
         }
     }
 
+    /**
+     * Executor on which to issue a read from the completion of another one. Completions run on the threads of the driver,
+     * which would deadlock waiting for the semaphore to executeAsyncOnSession, as only they release it.
+     */
+    Executor getReadExecutor() {
+        return this.readExecutor;
+    }
+
     String getKeyspaceName() {
         return this.keyspace;
     }
@@ -335,6 +348,8 @@ public class CQLStoreManager extends AbstractStoreManager implements KeyColumnVa
 
     @Override
     public void close() {
+        this.mutationWriter.close();
+        this.readExecutor.shutdownNow();
         this.session.close();
     }
 
@@ -433,49 +448,16 @@ public class CQLStoreManager extends AbstractStoreManager implements KeyColumnVa
         sleepAfterWrite(commitTime);
     }
 
-    // Create an async un-logged batch per partition key
+    // Write the mutations as pipelined un-logged batches, grouping partitions stored on the same replicas
     private void mutateManyUnlogged(Map<String, Map<StaticBuffer, KCVMutation>> mutations, StoreTransaction txh) throws BackendException {
         MaskedTimestamp commitTime = new MaskedTimestamp(txh);
         long deletionTime = commitTime.getDeletionTime(this.times);
         long additionTime = commitTime.getAdditionTime(this.times);
-        List<CompletableFuture<AsyncResultSet>> executionFutures = new ArrayList<>();
-        ConsistencyLevel consistencyLevel = getTransaction(txh).getWriteConsistencyLevel();
-
-        for (Map.Entry<String, Map<StaticBuffer, KCVMutation>> tableNameAndMutations : mutations.entrySet()) {
-            String tableName = tableNameAndMutations.getKey();
-            Map<StaticBuffer, KCVMutation> tableMutations = tableNameAndMutations.getValue();
-            CQLKeyColumnValueStore columnValueStore = this.openStores.get(tableName);
-
-            // Prepare one BatchStatement containing all the statements concerning the same partitioning key.
-            // For correctness we must batch statements based on partition key otherwise we might end-up having batch of statements
-            // containing queries that have to be executed on different cluster nodes.
-            for (Map.Entry<StaticBuffer, KCVMutation> keyAndMutations : tableMutations.entrySet()) {
-                StaticBuffer key = keyAndMutations.getKey();
-                KCVMutation keyMutations = keyAndMutations.getValue();
-
-                //Concatenate additions and deletions and map them to async session executions (completable futures) of resulting batch statement
-                List<BatchableStatement<BoundStatement>> modifications = Stream.concat(
-                        keyMutations.getDeletions().stream().map(deletion -> columnValueStore.deleteColumn(key, deletion, deletionTime)),
-                        keyMutations.getAdditions().stream().map(addition -> columnValueStore.insertColumn(key, addition, additionTime))
-                ).collect(Collectors.toList());
-
-                CompletableFuture<AsyncResultSet> future = executeAsyncOnSession(
-                        BatchStatement.newInstance(DefaultBatchType.UNLOGGED)
-                                .addAll(modifications)
-                                .setConsistencyLevel(consistencyLevel)
-                ).toCompletableFuture();
-                executionFutures.add(future);
-            }
-        }
+        CQLTransaction transaction = getTransaction(txh);
 
-        try {
-            CompletableFuture.allOf(executionFutures.toArray(new CompletableFuture[]{})).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw EXCEPTION_MAPPER.apply(e);
-        } catch (ExecutionException e) {
-            throw EXCEPTION_MAPPER.apply(e);
-        }
+        CQLMutationMetrics metrics = this.mutationWriter.write(mutations, this.openStores, deletionTime, additionTime, transaction.getWriteConsistencyLevel());
+        transaction.setMutationMetrics(metrics);
+        LOGGER.debug("Wrote mutations of {}: {}", txh, metrics);
         sleepAfterWrite(commitTime);
     }
 
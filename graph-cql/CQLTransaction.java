@@ -36,6 +36,7 @@ public class CQLTransaction extends AbstractStoreTransaction {
 
     private final ConsistencyLevel readConsistencyLevel;
     private final ConsistencyLevel writeConsistencyLevel;
+    private volatile CQLMutationMetrics mutationMetrics;
 
     public CQLTransaction(BaseTransactionConfig config) {
         super(config);
@@ -51,6 +52,17 @@ public class CQLTransaction extends AbstractStoreTransaction {
         return this.writeConsistencyLevel;
     }
 
+    /**
+     * @return metrics of the un-logged batches written by the last commit of this transaction, null if none was written yet
+     */
+    public CQLMutationMetrics getMutationMetrics() {
+        return this.mutationMetrics;
+    }
+
+    void setMutationMetrics(CQLMutationMetrics mutationMetrics) {
+        this.mutationMetrics = mutationMetrics;
+    }
+
     static CQLTransaction getTransaction(StoreTransaction storeTransaction) {
         Preconditions.checkNotNull(storeTransaction);
         Preconditions.checkArgument(storeTransaction instanceof CQLTransaction, "Unexpected transaction type %s", storeTransaction.getClass().getName());
@@ -0,0 +1,176 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.diskstorage.cql;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CQLParallelKeyIteratorTest {
+
+    private static final SliceQuery ALL_COLUMNS = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(8));
+    // handles the pages on the thread completing them, so that a completed page is ready once complete returns
+    private static final Executor SAME_THREAD = Runnable::run;
+
+    private final ScheduledExecutorService completer = Executors.newSingleThreadScheduledExecutor();
+    private final Object progress = new Object();
+    private final Runnable onPage = () -> {
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    };
+
+    @After
+    public void shutdown() {
+        completer.shutdownNow();
+    }
+
+    @Test
+    public void whenOrdered_TheKeysOfEachSubScanAreReturnedAfterThoseOfThePreviousOne() throws Exception {
+        CompletableFuture<AsyncResultSet> pending = new CompletableFuture<>();
+        CQLResultSetKeyIterator first = subScan(Arrays.asList(read(page(1, 2)), () -> pending));
+        CQLResultSetKeyIterator second = subScan(Arrays.asList(read(page(3)), read(page(4))));
+        CQLParallelKeyIterator keys = new CQLParallelKeyIterator(Arrays.asList(first, second), true, progress);
+
+        // the second sub-scan has its keys read, but they come after the ones of the first, still being read
+        completer.schedule(() -> pending.complete(page(5)), 100, TimeUnit.MILLISECONDS);
+
+        assertEquals(Arrays.asList(1L, 2L, 5L, 3L, 4L), keys(keys));
+    }
+
+    @Test
+    public void whenUnordered_TheKeysOfSubScansThatHaveReadThemAreReturnedFirst() throws Exception {
+        CompletableFuture<AsyncResultSet> pending = new CompletableFuture<>();
+        CQLResultSetKeyIterator first = subScan(Arrays.asList(read(page(1)), () -> pending));
+        CQLResultSetKeyIterator second = subScan(Arrays.asList(read(page(3)), read(page(4))));
+        CQLParallelKeyIterator keys = new CQLParallelKeyIterator(Arrays.asList(first, second), false, progress);
+
+        assertTrue(keys.hasNext());
+        assertEquals(key(1), keys.next());
+        // the first sub-scan now waits for its second page, the keys of the second sub-scan are returned meanwhile
+        assertEquals(key(3), keys.next());
+        assertEquals(key(4), keys.next());
+
+        pending.complete(page(2));
+        assertEquals(key(2), keys.next());
+        assertFalse(keys.hasNext());
+    }
+
+    @Test
+    public void whenUnorderedAndNoSubScanHasReadItsKeys_TheIteratorWaitsForThePageReadFirst() throws Exception {
+        CompletableFuture<AsyncResultSet> firstPending = new CompletableFuture<>();
+        CompletableFuture<AsyncResultSet> secondPending = new CompletableFuture<>();
+        CQLResultSetKeyIterator first = subScan(Arrays.asList(read(page(1)), () -> firstPending));
+        CQLResultSetKeyIterator second = subScan(Arrays.asList(read(page(3)), () -> secondPending));
+        CQLParallelKeyIterator keys = new CQLParallelKeyIterator(Arrays.asList(first, second), false, progress);
+        assertEquals(key(1), keys.next());
+        assertEquals(key(3), keys.next());
+
+        completer.schedule(() -> secondPending.complete(page(4)), 100, TimeUnit.MILLISECONDS);
+        assertEquals(key(4), keys.next());
+
+        firstPending.complete(page(2));
+        assertEquals(key(2), keys.next());
+        assertFalse(keys.hasNext());
+    }
+
+    @Test
+    public void whenAPageIsReadOnADriverThread_TheNextQueryIsIssuedOnTheExecutor() throws Exception {
+        ExecutorService readExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "cql-read-test"));
+        CompletableFuture<AsyncResultSet> firstPage = new CompletableFuture<>();
+        CompletableFuture<String> issuedOn = new CompletableFuture<>();
+        List<Supplier<CompletionStage<AsyncResultSet>>> queries = Arrays.asList(
+                () -> firstPage,
+                () -> {
+                    issuedOn.complete(Thread.currentThread().getName());
+                    return CompletableFuture.completedFuture(page(2));
+                });
+        // read ahead, so that the second query is issued as soon as the first page is read
+        CompletionStage<CQLPagedRowIterator> rows = CQLPagedRowIterator.open(queries, 2, readExecutor, () -> {});
+
+        Thread driver = new Thread(() -> firstPage.complete(page(1)), "cql-driver-test");
+        driver.start();
+
+        assertEquals("cql-read-test", issuedOn.get(30, TimeUnit.SECONDS));
+        CQLResultSetKeyIterator keys = new CQLResultSetKeyIterator(ALL_COLUMNS, null, rows.toCompletableFuture().get(30, TimeUnit.SECONDS));
+        assertEquals(key(1), keys.next());
+        assertEquals(key(2), keys.next());
+        assertFalse(keys.hasNext());
+        readExecutor.shutdownNow();
+    }
+
+    private CQLResultSetKeyIterator subScan(List<Supplier<CompletionStage<AsyncResultSet>>> queries) throws Exception {
+        CQLPagedRowIterator rows = CQLPagedRowIterator.open(queries, 1, SAME_THREAD, onPage).toCompletableFuture().get(30, TimeUnit.SECONDS);
+        return new CQLResultSetKeyIterator(ALL_COLUMNS, null, rows);
+    }
+
+    private static Supplier<CompletionStage<AsyncResultSet>> read(AsyncResultSet page) {
+        return () -> CompletableFuture.completedFuture(page);
+    }
+
+    /**
+     * A last page of one row per key
+     */
+    private static AsyncResultSet page(long... keys) {
+        List<Row> rows = new ArrayList<>();
+        for (long key : keys) {
+            Row row = mock(Row.class);
+            when(row.getByteBuffer(CQLKeyColumnValueStore.KEY_COLUMN_NAME)).thenReturn(key(key).asByteBuffer());
+            rows.add(row);
+        }
+        AsyncResultSet page = mock(AsyncResultSet.class);
+        when(page.currentPage()).thenReturn(rows);
+        when(page.hasMorePages()).thenReturn(false);
+        return page;
+    }
+
+    private static StaticBuffer key(long key) {
+        return BufferUtil.getLongBuffer(key);
+    }
+
+    private static List<Long> keys(CQLParallelKeyIterator keys) {
+        List<Long> read = new ArrayList<>();
+        while (keys.hasNext()) {
+            read.add(keys.next().getLong(0));
+        }
+        return read;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.diskstorage.cql;
+
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3TokenRange;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CQLTokenRingSplitTest {
+
+    private static final Token MIN_TOKEN = new Murmur3Token(Long.MIN_VALUE);
+
+    @Test
+    public void whenSplittingARingWithAWrappingRange_TheSubScansCoverItContiguouslyInTokenOrder() {
+        Set<TokenRange> ring = ring(-100L, 0L, 100L);
+
+        for (int subScans = 1; subScans <= 8; subScans++) {
+            List<List<TokenRange>> split = CQLKeyColumnValueStore.splitTokenRing(ring, subScans);
+            assertEquals(subScans, split.size());
+            assertContiguousRing(split);
+        }
+    }
+
+    @Test
+    public void whenSplittingARingOfOneNode_ItsWholeRangeIsSplit() {
+        Set<TokenRange> ring = ring(42L);
+
+        List<List<TokenRange>> split = CQLKeyColumnValueStore.splitTokenRing(ring, 4);
+
+        assertEquals(4, split.size());
+        assertContiguousRing(split);
+    }
+
+    @Test
+    public void whenSplittingInManySubScans_TheyReadAsManyRangesGiveOrTakeOne() {
+        Set<TokenRange> ring = ring(-100L, 100L);
+
+        List<List<TokenRange>> split = CQLKeyColumnValueStore.splitTokenRing(ring, 16);
+
+        assertEquals(16, split.size());
+        assertContiguousRing(split);
+        int fewest = split.stream().mapToInt(List::size).min().getAsInt();
+        int most = split.stream().mapToInt(List::size).max().getAsInt();
+        assertTrue(most - fewest <= 1);
+    }
+
+    /**
+     * The token ranges of the nodes owning the given tokens: each from the previous token, the first from the last one
+     */
+    private static Set<TokenRange> ring(long... tokens) {
+        Set<TokenRange> ring = new HashSet<>();
+        for (int i = 0; i < tokens.length; i++) {
+            long start = tokens[(i + tokens.length - 1) % tokens.length];
+            ring.add(new Murmur3TokenRange(new Murmur3Token(start), new Murmur3Token(tokens[i])));
+        }
+        return ring;
+    }
+
+    /**
+     * Asserts that the ranges, in order, start from the minimum token, each from the end of the previous one, and that
+     * only the last one ends the ring
+     */
+    private static void assertContiguousRing(List<List<TokenRange>> split) {
+        List<TokenRange> ranges = new ArrayList<>();
+        for (List<TokenRange> subScan : split) {
+            assertFalse(subScan.isEmpty());
+            ranges.addAll(subScan);
+        }
+        Token previousEnd = MIN_TOKEN;
+        for (int i = 0; i < ranges.size(); i++) {
+            TokenRange range = ranges.get(i);
+            assertEquals(previousEnd, range.getStart());
+            if (i < ranges.size() - 1) {
+                assertTrue(range.getEnd().compareTo(range.getStart()) > 0);
+            } else {
+                assertEquals(MIN_TOKEN, range.getEnd());
+            }
+            previousEnd = range.getEnd();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.benchmark;
+
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.graphdb.database.EdgeSerializer;
+import grakn.core.graph.graphdb.database.serialize.StandardSerializer;
+import grakn.core.graph.graphdb.internal.InternalRelation;
+import grakn.core.graph.graphdb.internal.InternalRelationType;
+import grakn.core.graph.graphdb.relations.EdgeDirection;
+import grakn.core.graph.graphdb.relations.RelationCache;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and parsing the column entries of a single relation: the work done for every edge and property when a
+ * transaction commits, and for every entry read back by a vertex-centric query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class EdgeSerializerBenchmark {
+
+    @Param({"role-player", "attribute", "shard", "index", "value-string", "value-long"})
+    public String relation;
+
+    private GraknGraph graph;
+    private EdgeSerializer edgeSerializer;
+    private InternalRelation outgoing;
+    private InternalRelationType type;
+    private Entry entry;
+    private List<Entry> indexEntries;
+
+    @Setup
+    public void setup() {
+        graph = new GraknGraph(relation.hashCode());
+        edgeSerializer = new EdgeSerializer(new StandardSerializer());
+        switch (relation) {
+            case "role-player":
+                outgoing = graph.rolePlayer();
+                break;
+            case "attribute":
+                outgoing = graph.attribute();
+                break;
+            case "shard":
+                outgoing = graph.shard();
+                break;
+            case "index":
+                outgoing = graph.index();
+                break;
+            case "value-string":
+                outgoing = graph.valueString();
+                break;
+            case "value-long":
+                outgoing = graph.valueLong();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown relation: " + relation);
+        }
+        type = (InternalRelationType) outgoing.getType();
+        entry = edgeSerializer.writeRelation(outgoing, type, 0, graph.schema);
+        indexEntries = new ArrayList<>();
+        for (InternalRelationType index : type.getRelationIndexes()) {
+            if (index != type) indexEntries.add(edgeSerializer.writeRelation(outgoing, index, 0, graph.schema));
+        }
+    }
+
+    @Benchmark
+    public Entry writeRelation() {
+        return edgeSerializer.writeRelation(outgoing, type, 0, graph.schema);
+    }
+
+    /**
+     * Every entry the commit writes for the relation: each relation index, in each direction it covers
+     */
+    @Benchmark
+    public void writeRelationAndIndices(Blackhole blackhole) {
+        for (InternalRelationType index : type.getRelationIndexes()) {
+            for (int pos = 0; pos < outgoing.getArity(); pos++) {
+                if (!index.isUnidirected(Direction.BOTH) && !index.isUnidirected(EdgeDirection.fromPosition(pos))) {
+                    continue;
+                }
+                blackhole.consume(edgeSerializer.writeRelation(outgoing, index, pos, graph.schema));
+            }
+        }
+    }
+
+    @Benchmark
+    public RelationCache parseRelation() {
+        return edgeSerializer.parseRelation(entry, false, graph.schema);
+    }
+
+    @Benchmark
+    public void parseRelationIndices(Blackhole blackhole) {
+        for (Entry indexEntry : indexEntries) {
+            blackhole.consume(edgeSerializer.parseRelation(indexEntry, false, graph.schema));
+        }
+    }
+}
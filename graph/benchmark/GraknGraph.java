@@ -0,0 +1,198 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.benchmark;
+
+import grakn.core.graph.core.EdgeLabel;
+import grakn.core.graph.core.PropertyKey;
+import grakn.core.graph.graphdb.idmanagement.IDManager;
+import grakn.core.graph.graphdb.internal.ElementLifeCycle;
+import grakn.core.graph.graphdb.internal.InternalRelation;
+import grakn.core.graph.graphdb.internal.InternalVertex;
+import grakn.core.graph.graphdb.relations.StandardEdge;
+import grakn.core.graph.graphdb.relations.StandardVertexProperty;
+import grakn.core.graph.graphdb.types.system.EmptyVertex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds relations shaped like the ones Grakn writes for a keyspace: role-player edges from relation vertices,
+ * attribute ownership edges, shard edges and indexed attribute values. Elements are detached from any
+ * transaction, so only the methods the serialisers call are supported.
+ */
+class GraknGraph {
+
+    // the default cluster.max-partitions of 32
+    private static final int PARTITION_BITS = 5;
+    private static final int LABEL_IDS = 200;
+
+    final GraknSchema schema = new GraknSchema();
+
+    private final IDManager idManager = new IDManager(PARTITION_BITS);
+    private final Random random;
+    private long vertexCount = 0;
+    private long relationCount = 0;
+
+    GraknGraph(long seed) {
+        this.random = new Random(seed);
+    }
+
+    InternalVertex vertex() {
+        return new DetachedVertex(idManager.getVertexID(++vertexCount, random.nextInt(1 << PARTITION_BITS), IDManager.VertexIDType.NormalVertex));
+    }
+
+    /**
+     * A role-player edge from a relation vertex to one of its role players
+     */
+    InternalRelation rolePlayer() {
+        InternalRelation edge = edge(schema.rolePlayer, vertex(), vertex());
+        edge.setPropertyDirect(schema.relationTypeLabelId, labelId());
+        edge.setPropertyDirect(schema.roleLabelId, labelId());
+        return edge;
+    }
+
+    /**
+     * An attribute edge from an attribute owner to the attribute, stamped with its implicit relation and roles
+     */
+    InternalRelation attribute() {
+        InternalRelation edge = edge(schema.attribute, vertex(), vertex());
+        edge.setPropertyDirect(schema.relationTypeLabelId, labelId());
+        edge.setPropertyDirect(schema.relationRoleOwnerLabelId, labelId());
+        edge.setPropertyDirect(schema.relationRoleValueLabelId, labelId());
+        return edge;
+    }
+
+    /**
+     * A shard edge from a concept to its type's current shard
+     */
+    InternalRelation shard() {
+        return edge(schema.shard, vertex(), vertex());
+    }
+
+    /**
+     * The INDEX property Grakn puts on every attribute vertex
+     */
+    InternalRelation index() {
+        return property(schema.index, "ATTRIBUTE-name-" + Long.toHexString(random.nextLong()));
+    }
+
+    InternalRelation valueString() {
+        return property(schema.valueString, Long.toHexString(random.nextLong()));
+    }
+
+    InternalRelation valueLong() {
+        return property(schema.valueLong, random.nextLong());
+    }
+
+    InternalRelation valueDouble() {
+        return property(schema.valueDouble, random.nextDouble());
+    }
+
+    List<InternalRelation> relations(int size) {
+        List<InternalRelation> relations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (i % 4) {
+                case 0:
+                    relations.add(rolePlayer());
+                    break;
+                case 1:
+                    relations.add(attribute());
+                    break;
+                case 2:
+                    relations.add(shard());
+                    break;
+                default:
+                    relations.add(valueString());
+            }
+        }
+        return relations;
+    }
+
+    private InternalRelation edge(EdgeLabel label, InternalVertex out, InternalVertex in) {
+        return new DetachedEdge(++relationCount, label, out, in);
+    }
+
+    private InternalRelation property(PropertyKey key, Object value) {
+        return new StandardVertexProperty(++relationCount, key, vertex(), value, ElementLifeCycle.New);
+    }
+
+    private int labelId() {
+        return random.nextInt(LABEL_IDS);
+    }
+
+    private static class DetachedVertex extends EmptyVertex {
+
+        private final long id;
+
+        DetachedVertex(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public long longId() {
+            return id;
+        }
+
+        @Override
+        public boolean hasId() {
+            return true;
+        }
+
+        @Override
+        public InternalVertex it() {
+            return this;
+        }
+    }
+
+    /**
+     * StandardEdge asks its transaction how to store properties, so keep them here instead
+     */
+    private static class DetachedEdge extends StandardEdge {
+
+        private final Map<PropertyKey, Object> properties = new HashMap<>();
+
+        DetachedEdge(long id, EdgeLabel label, InternalVertex start, InternalVertex end) {
+            super(id, label, start, end, ElementLifeCycle.New);
+        }
+
+        @Override
+        public <O> O getValueDirect(PropertyKey type) {
+            return (O) properties.get(type);
+        }
+
+        @Override
+        public void setPropertyDirect(PropertyKey key, Object value) {
+            properties.put(key, value);
+        }
+
+        @Override
+        public Iterable<PropertyKey> getPropertyKeysDirect() {
+            return new ArrayList<>(properties.keySet());
+        }
+
+        @Override
+        public <O> O removePropertyDirect(PropertyKey key) {
+            return (O) properties.remove(key);
+        }
+    }
+}
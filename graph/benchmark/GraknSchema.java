@@ -0,0 +1,392 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.benchmark;
+
+import grakn.core.graph.core.Cardinality;
+import grakn.core.graph.core.Connection;
+import grakn.core.graph.core.EdgeLabel;
+import grakn.core.graph.core.Multiplicity;
+import grakn.core.graph.core.PropertyKey;
+import grakn.core.graph.core.RelationType;
+import grakn.core.graph.core.VertexLabel;
+import grakn.core.graph.core.schema.ConsistencyModifier;
+import grakn.core.graph.core.schema.JanusGraphSchemaType;
+import grakn.core.graph.core.schema.SchemaStatus;
+import grakn.core.graph.graphdb.idmanagement.IDManager;
+import grakn.core.graph.graphdb.internal.ElementCategory;
+import grakn.core.graph.graphdb.internal.InternalRelationType;
+import grakn.core.graph.graphdb.internal.Order;
+import grakn.core.graph.graphdb.internal.Token;
+import grakn.core.graph.graphdb.types.CompositeIndexType;
+import grakn.core.graph.graphdb.types.IndexField;
+import grakn.core.graph.graphdb.types.TypeInspector;
+import grakn.core.graph.graphdb.types.system.EmptyRelationType;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The JanusGraph schema Grakn creates in every keyspace, restricted to the edge labels and property keys the
+ * benchmarks write: role-player, attribute and shard edges, their vertex-centric indices, and attribute values.
+ * The types are built in memory so that the codecs can be exercised without opening a graph.
+ */
+class GraknSchema implements TypeInspector {
+
+    // Schema.EdgeProperty
+    final PropertyKey roleLabelId;
+    final PropertyKey relationTypeLabelId;
+    final PropertyKey relationRoleOwnerLabelId;
+    final PropertyKey relationRoleValueLabelId;
+
+    // Schema.VertexProperty
+    final PropertyKey index;
+    final PropertyKey valueString;
+    final PropertyKey valueLong;
+    final PropertyKey valueDouble;
+
+    // Schema.EdgeLabel, with the vertex-centric indices from indices-edges.properties
+    final EdgeLabel rolePlayer;
+    final InternalRelationType rolePlayerByRelationTypeAndRole;
+    final EdgeLabel attribute;
+    final InternalRelationType attributeByRelationType;
+    final EdgeLabel shard;
+
+    // the composite index from indices-composite.properties used to look attributes up by their index
+    final CompositeIndexType byIndex;
+
+    private final Map<Long, RelationType> types = new HashMap<>();
+    private int typeCount = 0;
+
+    GraknSchema() {
+        roleLabelId = propertyKey("ROLE_LABEL_ID", Integer.class);
+        relationTypeLabelId = propertyKey("RELATION_TYPE_LABEL_ID", Integer.class);
+        relationRoleOwnerLabelId = propertyKey("RELATION_ROLE_OWNER_LABEL_ID", Integer.class);
+        relationRoleValueLabelId = propertyKey("RELATION_ROLE_VALUE_LABEL_ID", Integer.class);
+
+        index = propertyKey("INDEX", String.class);
+        valueString = propertyKey("VALUE_STRING", String.class);
+        valueLong = propertyKey("VALUE_LONG", Long.class);
+        valueDouble = propertyKey("VALUE_DOUBLE", Double.class);
+
+        SchemaEdgeLabel rolePlayerLabel = edgeLabel("role-player");
+        rolePlayer = rolePlayerLabel;
+        rolePlayerByRelationTypeAndRole = edgeIndex(rolePlayerLabel, "role-playerbyRELATION_TYPE_LABEL_ID_ROLE_LABEL_ID",
+                relationTypeLabelId, roleLabelId);
+        SchemaEdgeLabel attributeLabel = edgeLabel("attribute");
+        attribute = attributeLabel;
+        attributeByRelationType = edgeIndex(attributeLabel, "attributebyRELATION_TYPE_LABEL_ID", relationTypeLabelId);
+        shard = edgeLabel("shard");
+
+        byIndex = new SchemaCompositeIndex(IDManager.getSchemaId(IDManager.VertexIDType.GenericSchemaType, ++typeCount), "byINDEX", index);
+    }
+
+    private PropertyKey propertyKey(String name, Class<?> dataType) {
+        SchemaPropertyKey key = new SchemaPropertyKey(name, IDManager.getSchemaId(IDManager.VertexIDType.UserPropertyKey, ++typeCount), dataType);
+        types.put(key.longId(), key);
+        return key;
+    }
+
+    private SchemaEdgeLabel edgeLabel(String name) {
+        SchemaEdgeLabel label = new SchemaEdgeLabel(name, IDManager.getSchemaId(IDManager.VertexIDType.UserEdgeLabel, ++typeCount), null, new long[0]);
+        types.put(label.longId(), label);
+        return label;
+    }
+
+    private SchemaEdgeLabel edgeIndex(SchemaEdgeLabel baseLabel, String name, PropertyKey... sortKey) {
+        long[] sortKeyIds = new long[sortKey.length];
+        for (int i = 0; i < sortKey.length; i++) sortKeyIds[i] = sortKey[i].longId();
+        SchemaEdgeLabel index = new SchemaEdgeLabel(name, IDManager.getSchemaId(IDManager.VertexIDType.UserEdgeLabel, ++typeCount), baseLabel, sortKeyIds);
+        baseLabel.relationIndexes.add(index);
+        types.put(index.longId(), index);
+        return index;
+    }
+
+    @Override
+    public RelationType getExistingRelationType(long id) {
+        RelationType type = types.get(id);
+        if (type == null) throw new IllegalArgumentException("Unknown relation type: " + id);
+        return type;
+    }
+
+    @Override
+    public VertexLabel getExistingVertexLabel(long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsRelationType(String name) {
+        return types.values().stream().anyMatch(type -> type.name().equals(name));
+    }
+
+    @Override
+    public RelationType getRelationType(String name) {
+        return types.values().stream().filter(type -> type.name().equals(name)).findAny().orElse(null);
+    }
+
+    /**
+     * A user defined relation type, as JanusGraph would load it from its schema vertex.
+     */
+    private abstract static class SchemaRelationType extends EmptyRelationType {
+
+        private final String name;
+        private final long id;
+
+        SchemaRelationType(String name, long id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public long longId() {
+            return id;
+        }
+
+        @Override
+        public boolean hasId() {
+            return true;
+        }
+
+        @Override
+        public boolean isInvisible() {
+            return false;
+        }
+
+        @Override
+        public boolean isInvisibleType() {
+            return false;
+        }
+
+        @Override
+        public ConsistencyModifier getConsistencyModifier() {
+            return ConsistencyModifier.DEFAULT;
+        }
+    }
+
+    private static class SchemaEdgeLabel extends SchemaRelationType implements EdgeLabel {
+
+        private final SchemaEdgeLabel baseLabel;
+        private final long[] sortKey;
+        private final Collection<InternalRelationType> relationIndexes = new ArrayList<>();
+
+        SchemaEdgeLabel(String name, long id, SchemaEdgeLabel baseLabel, long[] sortKey) {
+            super(name, id);
+            this.baseLabel = baseLabel;
+            this.sortKey = sortKey;
+            relationIndexes.add(this);
+        }
+
+        @Override
+        public long[] getSortKey() {
+            return sortKey;
+        }
+
+        @Override
+        public Order getSortOrder() {
+            // Grakn builds its vertex-centric indices in decreasing order
+            return baseLabel == null ? Order.ASC : Order.DESC;
+        }
+
+        @Override
+        public InternalRelationType getBaseType() {
+            return baseLabel;
+        }
+
+        @Override
+        public Iterable<InternalRelationType> getRelationIndexes() {
+            return relationIndexes;
+        }
+
+        @Override
+        public Multiplicity multiplicity() {
+            return Multiplicity.MULTI;
+        }
+
+        @Override
+        public boolean isDirected() {
+            return true;
+        }
+
+        @Override
+        public boolean isUnidirected() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnidirected(Direction dir) {
+            return dir == Direction.BOTH;
+        }
+
+        @Override
+        public Collection<PropertyKey> mappedProperties() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Collection<Connection> mappedConnections() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isPropertyKey() {
+            return false;
+        }
+
+        @Override
+        public boolean isEdgeLabel() {
+            return true;
+        }
+    }
+
+    private static class SchemaPropertyKey extends SchemaRelationType implements PropertyKey {
+
+        private final Class<?> dataType;
+
+        SchemaPropertyKey(String name, long id, Class<?> dataType) {
+            super(name, id);
+            this.dataType = dataType;
+        }
+
+        @Override
+        public Class<?> dataType() {
+            return dataType;
+        }
+
+        @Override
+        public Cardinality cardinality() {
+            return Cardinality.SINGLE;
+        }
+
+        @Override
+        public Multiplicity multiplicity() {
+            return Multiplicity.convert(cardinality());
+        }
+
+        @Override
+        public boolean isUnidirected(Direction dir) {
+            return dir == Direction.OUT;
+        }
+
+        @Override
+        public boolean isPropertyKey() {
+            return true;
+        }
+
+        @Override
+        public boolean isEdgeLabel() {
+            return false;
+        }
+    }
+
+    private static class SchemaCompositeIndex implements CompositeIndexType {
+
+        private final long id;
+        private final String name;
+        private final IndexField[] fields;
+
+        SchemaCompositeIndex(long id, String name, PropertyKey key) {
+            this.id = id;
+            this.name = name;
+            this.fields = new IndexField[]{IndexField.of(key)};
+        }
+
+        @Override
+        public long getID() {
+            return id;
+        }
+
+        @Override
+        public IndexField[] getFieldKeys() {
+            return fields;
+        }
+
+        @Override
+        public IndexField getField(PropertyKey key) {
+            return fields[0].getFieldKey().equals(key) ? fields[0] : null;
+        }
+
+        @Override
+        public boolean indexesKey(PropertyKey key) {
+            return getField(key) != null;
+        }
+
+        @Override
+        public SchemaStatus getStatus() {
+            return SchemaStatus.ENABLED;
+        }
+
+        @Override
+        public Cardinality getCardinality() {
+            return Cardinality.LIST;
+        }
+
+        @Override
+        public ConsistencyModifier getConsistencyModifier() {
+            return ConsistencyModifier.DEFAULT;
+        }
+
+        @Override
+        public ElementCategory getElement() {
+            return ElementCategory.VERTEX;
+        }
+
+        @Override
+        public boolean hasSchemaTypeConstraint() {
+            return false;
+        }
+
+        @Override
+        public JanusGraphSchemaType getSchemaTypeConstraint() {
+            return null;
+        }
+
+        @Override
+        public boolean isCompositeIndex() {
+            return true;
+        }
+
+        @Override
+        public boolean isMixedIndex() {
+            return false;
+        }
+
+        @Override
+        public String getBackingIndexName() {
+            return Token.INTERNAL_INDEX_NAME;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void resetCache() {
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.benchmark;
+
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.util.HashingUtil;
+import grakn.core.graph.graphdb.database.IndexSerializer;
+import grakn.core.graph.graphdb.database.idhandling.VariableLong;
+import grakn.core.graph.graphdb.database.serialize.DataOutput;
+import grakn.core.graph.graphdb.database.serialize.StandardSerializer;
+import grakn.core.graph.graphdb.query.graph.MultiKeySliceQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building composite index keys for Grakn's attribute INDEX lookups, which every attribute put and every match
+ * by attribute value goes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class IndexSerializerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean hashKeys;
+
+    @Param({"1", "32"})
+    public int lookups;
+
+    private GraknGraph graph;
+    private IndexSerializer indexSerializer;
+    private List<Object[]> values;
+    private StaticBuffer key;
+
+    @Setup
+    public void setup() {
+        graph = new GraknGraph(lookups);
+        StandardSerializer serializer = new StandardSerializer();
+        indexSerializer = new IndexSerializer(null, serializer, Collections.emptyMap(), hashKeys);
+        Random random = new Random(lookups);
+        values = new ArrayList<>(lookups);
+        for (int i = 0; i < lookups; i++) {
+            values.add(new Object[]{"ATTRIBUTE-name-" + Long.toHexString(random.nextLong())});
+        }
+
+        // the key layout IndexSerializer uses for a single-field composite index
+        DataOutput out = serializer.getDataOutput(64);
+        VariableLong.writePositive(out, graph.schema.byIndex.getID());
+        out.writeObjectNotNull(values.get(0)[0]);
+        key = hashKeys ? HashingUtil.hashPrefixKey(HashingUtil.HashLength.SHORT, out.getStaticBuffer()) : out.getStaticBuffer();
+    }
+
+    @Benchmark
+    public MultiKeySliceQuery getQuery() {
+        return indexSerializer.getQuery(graph.schema.byIndex, values);
+    }
+
+    @Benchmark
+    public long getIndexIdFromKey() {
+        return indexSerializer.getIndexIdFromKey(key);
+    }
+}
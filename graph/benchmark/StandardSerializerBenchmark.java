@@ -0,0 +1,103 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.benchmark;
+
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.graphdb.database.serialize.StandardSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialising the attribute value types Grakn stores on vertices, both with a known data type (property values)
+ * and with the class written inline (composite index keys over generic keys).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class StandardSerializerBenchmark {
+
+    @Param({"string", "long", "double", "integer", "boolean"})
+    public String dataType;
+
+    private StandardSerializer serializer;
+    private Object value;
+    private StaticBuffer object;
+    private StaticBuffer classAndObject;
+
+    @Setup
+    public void setup() {
+        serializer = new StandardSerializer();
+        switch (dataType) {
+            case "string":
+                value = "Bob's attribute value of typical length";
+                break;
+            case "long":
+                value = 1_573_488_000_000L;
+                break;
+            case "double":
+                value = 12345.6789;
+                break;
+            case "integer":
+                value = 42;
+                break;
+            case "boolean":
+                value = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown data type: " + dataType);
+        }
+        object = writeObject();
+        classAndObject = writeClassAndObject();
+    }
+
+    @Benchmark
+    public StaticBuffer writeObject() {
+        return serializer.getDataOutput(64).writeObjectNotNull(value).getStaticBuffer();
+    }
+
+    @Benchmark
+    public Object readObject() {
+        return serializer.readObjectNotNull(object.asReadBuffer(), value.getClass());
+    }
+
+    @Benchmark
+    public StaticBuffer writeClassAndObject() {
+        return serializer.getDataOutput(64).writeClassAndObject(value).getStaticBuffer();
+    }
+
+    @Benchmark
+    public Object readClassAndObject() {
+        return serializer.readClassAndObject(classAndObject.asReadBuffer());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.benchmark;
+
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.EntryMetaData;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.StaticArrayEntryList;
+import grakn.core.graph.graphdb.database.EdgeSerializer;
+import grakn.core.graph.graphdb.database.serialize.StandardSerializer;
+import grakn.core.graph.graphdb.internal.InternalRelation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packing slice results into a StaticArrayEntryList and iterating them, as done for every row set returned by a
+ * storage backend. Entries are the serialised relations of a Grakn-shaped vertex.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class StaticArrayEntryListBenchmark {
+
+    /**
+     * A storage row in the form the CQL backend hands to StaticArrayEntryList: separate column and value buffers
+     */
+    private static final StaticArrayEntry.GetColVal<StaticBuffer[], StaticBuffer> ROW_GETTER = new StaticArrayEntry.GetColVal<StaticBuffer[], StaticBuffer>() {
+        @Override
+        public StaticBuffer getColumn(StaticBuffer[] row) {
+            return row[0];
+        }
+
+        @Override
+        public StaticBuffer getValue(StaticBuffer[] row) {
+            return row[1];
+        }
+
+        @Override
+        public EntryMetaData[] getMetaSchema(StaticBuffer[] row) {
+            return StaticArrayEntry.EMPTY_SCHEMA;
+        }
+
+        @Override
+        public Object getMetaData(StaticBuffer[] row, EntryMetaData meta) {
+            throw new UnsupportedOperationException("Unsupported meta data: " + meta);
+        }
+    };
+
+    @Param({"16", "256"})
+    public int size;
+
+    private List<Entry> entries;
+    private List<StaticBuffer[]> rows;
+    private EntryList entryList;
+
+    @Setup
+    public void setup() {
+        GraknGraph graph = new GraknGraph(size);
+        EdgeSerializer edgeSerializer = new EdgeSerializer(new StandardSerializer());
+        entries = new ArrayList<>(size);
+        rows = new ArrayList<>(size);
+        for (InternalRelation relation : graph.relations(size)) {
+            Entry entry = edgeSerializer.writeRelation(relation, 0, graph.schema);
+            entries.add(entry);
+            rows.add(new StaticBuffer[]{entry.getColumn(), entry.getValue()});
+        }
+        entries.sort(null);
+        rows.sort((a, b) -> a[0].compareTo(b[0]));
+        entryList = StaticArrayEntryList.of(entries);
+    }
+
+    @Benchmark
+    public EntryList ofEntries() {
+        return StaticArrayEntryList.of(entries);
+    }
+
+    @Benchmark
+    public EntryList ofRows() {
+        return StaticArrayEntryList.ofStaticBuffer(rows, ROW_GETTER);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Entry entry : entryList) blackhole.consume(entry);
+    }
+
+    @Benchmark
+    public void reuseIterator(Blackhole blackhole) {
+        Iterator<Entry> iterator = entryList.reuseIterator();
+        while (iterator.hasNext()) blackhole.consume(iterator.next());
+    }
+}
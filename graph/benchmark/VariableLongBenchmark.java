@@ -0,0 +1,120 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.benchmark;
+
+import grakn.core.graph.diskstorage.ReadBuffer;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.WriteBuffer;
+import grakn.core.graph.diskstorage.util.WriteByteBuffer;
+import grakn.core.graph.graphdb.database.idhandling.VariableLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The variable length encodings used for every vertex id, relation id and type id in an edge entry. Each
+ * invocation encodes or decodes a block of values, so results are per block rather than per value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class VariableLongBenchmark {
+
+    private static final int VALUES = 1024;
+    private static final int PREFIX_BITS = 3;
+
+    /**
+     * Number of significant bits: small type ids, label ids, and partitioned vertex ids
+     */
+    @Param({"7", "20", "52"})
+    public int bits;
+
+    private long[] values;
+    private StaticBuffer positive;
+    private StaticBuffer positiveBackward;
+    private StaticBuffer positiveWithPrefix;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(bits);
+        values = new long[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = random.nextLong() >>> (Long.SIZE - bits);
+        }
+        positive = writePositive();
+        positiveBackward = writePositiveBackward();
+        positiveWithPrefix = writePositiveWithPrefix();
+    }
+
+    @Benchmark
+    public StaticBuffer writePositive() {
+        WriteBuffer out = new WriteByteBuffer(VALUES * 8);
+        for (long value : values) VariableLong.writePositive(out, value);
+        return out.getStaticBuffer();
+    }
+
+    @Benchmark
+    public void readPositive(Blackhole blackhole) {
+        ReadBuffer in = positive.asReadBuffer();
+        for (int i = 0; i < VALUES; i++) blackhole.consume(VariableLong.readPositive(in));
+    }
+
+    @Benchmark
+    public StaticBuffer writePositiveBackward() {
+        WriteBuffer out = new WriteByteBuffer(VALUES * 8);
+        for (long value : values) VariableLong.writePositiveBackward(out, value);
+        return out.getStaticBuffer();
+    }
+
+    @Benchmark
+    public void readPositiveBackward(Blackhole blackhole) {
+        ReadBuffer in = positiveBackward.asReadBuffer();
+        in.movePositionTo(positiveBackward.length());
+        for (int i = 0; i < VALUES; i++) blackhole.consume(VariableLong.readPositiveBackward(in));
+    }
+
+    @Benchmark
+    public StaticBuffer writePositiveWithPrefix() {
+        WriteBuffer out = new WriteByteBuffer(VALUES * 8);
+        for (long value : values) VariableLong.writePositiveWithPrefix(out, value, value & 0x7, PREFIX_BITS);
+        return out.getStaticBuffer();
+    }
+
+    @Benchmark
+    public void readPositiveWithPrefix(Blackhole blackhole) {
+        ReadBuffer in = positiveWithPrefix.asReadBuffer();
+        for (int i = 0; i < VALUES; i++) blackhole.consume(VariableLong.readPositiveWithPrefix(in, PREFIX_BITS));
+    }
+}
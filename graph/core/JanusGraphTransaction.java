@@ -25,6 +25,10 @@ import grakn.core.graph.graphdb.relations.RelationIdentifier;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Transaction defines a transactional context for a {@link JanusGraph}. Since JanusGraph is a transactional graph
  * database, all interactions with the graph are mitigated by a Transaction.
@@ -87,6 +91,34 @@ public interface JanusGraphTransaction extends Graph, SchemaManager {
      */
     JanusGraphIndexQuery indexQuery(String indexName, String query);
 
+    /**
+     * Returns the ids of the vertices of a partition with a value of the key within the given bounds, looked up in
+     * the ordered index of the key. Null bounds leave the range open on their side. The vertices, committed or
+     * given the key by this transaction, are returned in the order of their values.
+     * <p>
+     * Note, that vertices deleted or modified in this transaction may be returned, the values of the vertices need
+     * to be checked against the bounds again.
+     *
+     * @param key       Name of the key ordered by an index
+     * @param partition Value of the partition key of the index shared by the vertices looked up
+     * @param limit     Maximum number of vertices returned
+     * @return the ids of the vertices, or null if the key is not ordered by an index
+     * @see grakn.core.graph.core.schema.JanusGraphManagement#buildOrderedIndex(PropertyKey, PropertyKey)
+     */
+    List<Long> orderedIndexQuery(String key, Object partition, Object lower, boolean lowerInclusive,
+                                 Object upper, boolean upperInclusive, int limit);
+
+    /**
+     * Returns the ids of the vertices with each of the given values of the key, looked up in the composite index of
+     * the key. The index entries of all the values are read at once, instead of one value after the other as
+     * separate queries would. Vertices and values added or removed in this transaction are accounted for.
+     *
+     * @param key    Name of the key indexed by a composite index of vertices on that key alone
+     * @param values Values of the key to look up
+     * @return the ids of the vertices with each value, or null if the key has no such index
+     */
+    Map<Object, List<Long>> compositeIndexMultiQuery(String key, Collection<?> values);
+
 
     JanusGraphMultiVertexQuery<? extends JanusGraphMultiVertexQuery> multiQuery(JanusGraphVertex... vertices);
 
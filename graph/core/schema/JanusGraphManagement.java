@@ -135,6 +135,19 @@ public interface JanusGraphManagement extends SchemaManager {
 
     void addIndexKey(JanusGraphIndex index, PropertyKey key, Parameter... parameters);
 
+    /**
+     * Whether the values of the given key are ordered by an index.
+     */
+    boolean containsOrderedIndex(PropertyKey key);
+
+    /**
+     * Orders the values of the given key by an index, partitioned by the values of the partition key, so that ranges
+     * of values can be looked up within a partition through {@link JanusGraphTransaction#orderedIndexQuery}.
+     * The index is maintained from the moment this management system commits, it should only be built along with the
+     * key, as the properties added before are not indexed.
+     */
+    void buildOrderedIndex(PropertyKey key, PropertyKey partitionKey);
+
     /**
      * Builder for {@link JanusGraphIndex}. Allows for the configuration of a graph index prior to its construction.
      */
@@ -34,7 +34,7 @@ import grakn.core.graph.diskstorage.keycolumnvalue.StoreFeatures;
 import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
 import grakn.core.graph.diskstorage.keycolumnvalue.cache.CacheTransaction;
 import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSCache;
-import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSExpirationCache;
+import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSAdaptiveCache;
 import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSNoCache;
 import grakn.core.graph.diskstorage.log.Log;
 import grakn.core.graph.diskstorage.log.LogManager;
@@ -58,6 +58,8 @@ import java.util.concurrent.Executors;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.BUFFER_SIZE;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE_CLEAN_WAIT;
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE_EDGESTORE_FRACTION;
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE_OFF_HEAP;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE_SIZE;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE_TIME;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.INDEX_BACKEND;
@@ -95,8 +97,6 @@ public class Backend {
     public static final String SYSTEM_TX_LOG_NAME = "txlog";
 
     // The sum of the following 2 fields should be 1
-    private static final double EDGESTORE_CACHE_PERCENT = 0.8;
-    private static final double INDEXSTORE_CACHE_PERCENT = 0.2;
     private static final long ETERNAL_CACHE_EXPIRATION = 1000L * 3600 * 24 * 365 * 200; //200 years
 
     private final KeyColumnValueStoreManager storeManager;
@@ -146,11 +146,14 @@ public class Backend {
 
                 long cleanWaitTime = configuration.get(DB_CACHE_CLEAN_WAIT);
                 long cacheSizeBytes = computeCacheSizeBytes();
-                long edgeStoreCacheSize = Math.round(cacheSizeBytes * EDGESTORE_CACHE_PERCENT);
-                long indexStoreCacheSize = Math.round(cacheSizeBytes * INDEXSTORE_CACHE_PERCENT);
-
-                edgeStore = new KCVSExpirationCache(edgeStoreRaw, expirationTime, cleanWaitTime, edgeStoreCacheSize);
-                indexStore = new KCVSExpirationCache(indexStoreRaw, expirationTime, cleanWaitTime, indexStoreCacheSize);
+                double edgeStoreFraction = configuration.get(DB_CACHE_EDGESTORE_FRACTION);
+                Preconditions.checkArgument(edgeStoreFraction >= 0.0 && edgeStoreFraction <= 1.0, "Invalid edge store cache fraction: %s", edgeStoreFraction);
+                long edgeStoreCacheSize = Math.round(cacheSizeBytes * edgeStoreFraction);
+                long indexStoreCacheSize = cacheSizeBytes - edgeStoreCacheSize;
+                boolean offHeap = configuration.get(DB_CACHE_OFF_HEAP);
+
+                edgeStore = new KCVSAdaptiveCache(edgeStoreRaw, expirationTime, cleanWaitTime, edgeStoreCacheSize, offHeap);
+                indexStore = new KCVSAdaptiveCache(indexStoreRaw, expirationTime, cleanWaitTime, indexStoreCacheSize, offHeap);
             } else {
                 edgeStore = new KCVSNoCache(edgeStoreRaw);
                 indexStore = new KCVSNoCache(indexStoreRaw);
@@ -193,6 +196,20 @@ public class Backend {
         return copy.build();
     }
 
+    /**
+     * @return the database level cache of the edge store, or null if the cache is disabled
+     */
+    public KCVSAdaptiveCache getEdgeStoreCache() {
+        return edgeStore instanceof KCVSAdaptiveCache ? (KCVSAdaptiveCache) edgeStore : null;
+    }
+
+    /**
+     * @return the database level cache of the index store, or null if the cache is disabled
+     */
+    public KCVSAdaptiveCache getIndexStoreCache() {
+        return indexStore instanceof KCVSAdaptiveCache ? (KCVSAdaptiveCache) indexStore : null;
+    }
+
     public KCVSLog getSystemTxLog() {
         try {
             return txLogManager.openLog(SYSTEM_TX_LOG_NAME);
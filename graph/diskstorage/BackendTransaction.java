@@ -40,13 +40,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -289,6 +295,63 @@ public class BackendTransaction implements LoggableTransaction {
         }
     }
 
+    /* ###################################################
+            Asynchronous Read Methods
+
+       They return as soon as the read is issued to a storage backend with non-blocking reads, so that the caller
+       can issue further reads while waiting for the results. Temporary failures are retried through the blocking
+       read methods on the thread pool of the backend, without tying up the threads completing the reads.
+     */
+
+    public CompletionStage<EntryList> edgeStoreQueryAsync(KeySliceQuery query) {
+        return executeReadAsync("EdgeStoreQuery",
+                () -> cacheEnabled ? edgeStore.getSliceAsync(query, storeTx) : edgeStore.getSliceNoCacheAsync(query, storeTx),
+                () -> edgeStoreQuery(query));
+    }
+
+    public CompletionStage<Map<StaticBuffer, EntryList>> edgeStoreMultiQueryAsync(List<StaticBuffer> keys, SliceQuery query) {
+        if (storeFeatures.hasMultiQuery()) {
+            return executeReadAsync("MultiEdgeStoreQuery",
+                    () -> cacheEnabled ? edgeStore.getSliceAsync(keys, query, storeTx) : edgeStore.getSliceNoCacheAsync(keys, query, storeTx),
+                    () -> edgeStoreMultiQuery(keys, query));
+        }
+        List<CompletableFuture<EntryList>> reads = new ArrayList<>(keys.size());
+        for (StaticBuffer key : keys) {
+            reads.add(edgeStoreQueryAsync(new KeySliceQuery(key, query)).toCompletableFuture());
+        }
+        return CompletableFuture.allOf(reads.toArray(new CompletableFuture[0])).thenApply(done -> {
+            Map<StaticBuffer, EntryList> results = new HashMap<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                results.put(keys.get(i), reads.get(i).join());
+            }
+            return results;
+        });
+    }
+
+    public CompletionStage<KeyIterator> edgeStoreKeysAsync(SliceQuery sliceQuery) {
+        if (!storeFeatures.hasScan()) {
+            throw new UnsupportedOperationException("The configured storage backend does not support global graph operations - use Faunus instead");
+        }
+
+        return executeReadAsync("EdgeStoreKeys",
+                () -> (storeFeatures.isKeyOrdered())
+                        ? edgeStore.getKeysAsync(new KeyRangeQuery(EDGESTORE_MIN_KEY, EDGESTORE_MAX_KEY, sliceQuery), storeTx)
+                        : edgeStore.getKeysAsync(sliceQuery, storeTx),
+                () -> edgeStoreKeys(sliceQuery));
+    }
+
+    public CompletionStage<KeyIterator> edgeStoreKeysAsync(KeyRangeQuery range) {
+        Preconditions.checkArgument(storeFeatures.hasOrderedScan(), "The configured storage backend does not support ordered scans");
+
+        return executeReadAsync("EdgeStoreKeys", () -> edgeStore.getKeysAsync(range, storeTx), () -> edgeStoreKeys(range));
+    }
+
+    public CompletionStage<EntryList> indexQueryAsync(KeySliceQuery query) {
+        return executeReadAsync("VertexIndexQuery",
+                () -> cacheEnabled ? indexStore.getSliceAsync(query, storeTx) : indexStore.getSliceNoCacheAsync(query, storeTx),
+                () -> indexQuery(query));
+    }
+
     public KeyIterator edgeStoreKeys(SliceQuery sliceQuery) {
         if (!storeFeatures.hasScan()) {
             throw new UnsupportedOperationException("The configured storage backend does not support global graph operations - use Faunus instead");
@@ -395,6 +458,44 @@ public class BackendTransaction implements LoggableTransaction {
         return executeRead(new TotalsCallable(query, indexTx));
     }
 
+    /**
+     * Issues the asynchronous read, and if it fails temporarily falls back to the blocking read, which retries
+     * with back-off for up to the maximum read time.
+     */
+    private <V> CompletionStage<V> executeReadAsync(String name, Supplier<CompletionStage<V>> read, Supplier<V> blockingRead) {
+        CompletableFuture<V> result = new CompletableFuture<>();
+        CompletionStage<V> attempt;
+        try {
+            attempt = read.get();
+        } catch (RuntimeException e) {
+            attempt = failed(e);
+        }
+        attempt.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (BackendOperation.isTemporaryFailure(cause)) {
+                LOG.info("Temporary exception during backend operation [" + name + "]. Retrying as a blocking read.", cause);
+                CompletableFuture.supplyAsync(blockingRead, threadPool != null ? threadPool : ForkJoinPool.commonPool())
+                        .whenComplete((retried, retryFailure) -> {
+                            if (retryFailure == null) result.complete(retried);
+                            else result.completeExceptionally(retryFailure);
+                        });
+            } else {
+                result.completeExceptionally(new JanusGraphException("Exception while executing backend operation " + name, cause));
+            }
+        });
+        return result;
+    }
+
+    private static <V> CompletionStage<V> failed(Throwable e) {
+        CompletableFuture<V> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        return failed;
+    }
+
     private <V> V executeRead(Callable<V> exe) throws JanusGraphException {
         try {
             return BackendOperation.execute(exe, maxReadTime);
@@ -20,6 +20,7 @@ package grakn.core.graph.diskstorage.idmanagement;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Striped;
 import grakn.core.graph.diskstorage.BackendException;
 import grakn.core.graph.diskstorage.Entry;
 import grakn.core.graph.diskstorage.IDAuthority;
@@ -56,6 +57,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.locks.Lock;
 
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.CLUSTER_MAX_PARTITIONS;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.IDAUTHORITY_CAV_BITS;
@@ -132,6 +134,8 @@ public class ConsistentKeyIDAuthority implements BackendOperation.TransactionalP
 
     private final Random random = new Random();
 
+    private final Striped<Lock> blockApplicationLocks = Striped.lazyWeakLock(64);
+
     public ConsistentKeyIDAuthority(KeyColumnValueStore idStore, StoreManager manager, Configuration config, IDBlockSizer sizer) {
         this.uid = config.get(UNIQUE_INSTANCE_ID);
         this.blockSizer = sizer;
@@ -258,7 +262,19 @@ public class ConsistentKeyIDAuthority implements BackendOperation.TransactionalP
     }
 
     @Override
-    public synchronized IDBlock getIDBlock(int partition, int idNamespace, Duration timeout) throws BackendException {
+    public IDBlock getIDBlock(int partition, int idNamespace, Duration timeout) throws BackendException {
+        // applications for the same partition and namespace must not race each other, as their claims could carry
+        // the same timestamp, but those of distinct id pools can be in flight at once
+        Lock lock = blockApplicationLocks.get(((long) partition << Integer.SIZE) | idNamespace);
+        lock.lock();
+        try {
+            return applyForIDBlock(partition, idNamespace, timeout);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private IDBlock applyForIDBlock(int partition, int idNamespace, Duration timeout) throws BackendException {
         Preconditions.checkArgument(partition >= 0 && partition < (1 << partitionBitWidth), "Invalid partition id [%s] for bit width [%s]", partition, partitionBitWidth);
         Preconditions.checkArgument(idNamespace >= 0); //can be any non-negative value
 
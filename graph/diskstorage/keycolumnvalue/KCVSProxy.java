@@ -26,6 +26,7 @@ import grakn.core.graph.diskstorage.StaticBuffer;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Wraps a {@link KeyColumnValueStore} as a proxy as a basis for
@@ -58,6 +59,16 @@ public class KCVSProxy implements KeyColumnValueStore {
         return store.getKeys(columnQuery, unwrapTx(txh));
     }
 
+    @Override
+    public CompletionStage<KeyIterator> getKeysAsync(KeyRangeQuery keyQuery, StoreTransaction txh) {
+        return store.getKeysAsync(keyQuery, unwrapTx(txh));
+    }
+
+    @Override
+    public CompletionStage<KeyIterator> getKeysAsync(SliceQuery columnQuery, StoreTransaction txh) {
+        return store.getKeysAsync(columnQuery, unwrapTx(txh));
+    }
+
     @Override
     public String getName() {
         return store.getName();
@@ -77,4 +88,14 @@ public class KCVSProxy implements KeyColumnValueStore {
     public Map<StaticBuffer, EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) throws BackendException {
         return store.getSlice(keys, query, unwrapTx(txh));
     }
+
+    @Override
+    public CompletionStage<EntryList> getSliceAsync(KeySliceQuery query, StoreTransaction txh) {
+        return store.getSliceAsync(query, unwrapTx(txh));
+    }
+
+    @Override
+    public CompletionStage<Map<StaticBuffer, EntryList>> getSliceAsync(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) {
+        return store.getSliceAsync(keys, query, unwrapTx(txh));
+    }
 }
@@ -26,6 +26,8 @@ import grakn.core.graph.diskstorage.StaticBuffer;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Interface to a data store that has a BigTable like representation of its data. In other words, the data store is comprised of a set of rows
@@ -65,6 +67,23 @@ public interface KeyColumnValueStore {
      */
     Map<StaticBuffer, EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) throws BackendException;
 
+    /**
+     * Asynchronous variant of {@link #getSlice(KeySliceQuery, StoreTransaction)}, which completes with the entries once they
+     * have been read, or exceptionally with the {@link BackendException} that prevented reading them.
+     * <p>
+     * Stores without non-blocking reads perform the read on the calling thread and return a completed stage.
+     */
+    default CompletionStage<EntryList> getSliceAsync(KeySliceQuery query, StoreTransaction txh) {
+        return supplyNow(() -> getSlice(query, txh));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getSlice(List, SliceQuery, StoreTransaction)}.
+     */
+    default CompletionStage<Map<StaticBuffer, EntryList>> getSliceAsync(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) {
+        return supplyNow(() -> getSlice(keys, query, txh));
+    }
+
     /**
      * Writes supplied {@code additions} and/or {@code deletions} to
      * {@code key} in the underlying data store. Deletions are applied strictly
@@ -99,6 +118,20 @@ public interface KeyColumnValueStore {
     KeyIterator getKeys(SliceQuery query, StoreTransaction txh) throws BackendException;
     // like current getKeys if column-slice is such that it queries for vertex state property
 
+    /**
+     * Asynchronous variant of {@link #getKeys(KeyRangeQuery, StoreTransaction)}, which completes once the first keys can be iterated.
+     */
+    default CompletionStage<KeyIterator> getKeysAsync(KeyRangeQuery query, StoreTransaction txh) {
+        return supplyNow(() -> getKeys(query, txh));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getKeys(SliceQuery, StoreTransaction)}, which completes once the first keys can be iterated.
+     */
+    default CompletionStage<KeyIterator> getKeysAsync(SliceQuery query, StoreTransaction txh) {
+        return supplyNow(() -> getKeys(query, txh));
+    }
+
     /**
      * Returns the name of this store. Each store has a unique name which is used to open it.
      *
@@ -112,5 +145,22 @@ public interface KeyColumnValueStore {
      */
     void close() throws BackendException;
 
+    /**
+     * Reads on the calling thread on behalf of the default asynchronous methods
+     */
+    static <V> CompletionStage<V> supplyNow(Read<V> read) {
+        CompletableFuture<V> result = new CompletableFuture<>();
+        try {
+            result.complete(read.call());
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    interface Read<V> {
+        V call() throws BackendException;
+    }
 
 }
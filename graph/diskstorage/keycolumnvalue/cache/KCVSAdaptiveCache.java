@@ -0,0 +1,327 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.diskstorage.keycolumnvalue.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.StaticArrayEntryList;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Database-level cache of the slices read from a store, shared by all transactions.
+ * <p>
+ * The slices are grouped by key, and the keys are admitted and evicted by frequency and recency of use (W-TinyLFU),
+ * up to a budget in bytes of keys and entries. Slices are stale once older than the cache time. A key mutated by
+ * a commit has its slices dropped, and is read through the cache without being cached for the invalidation grace period,
+ * for storage backends which may still return the data preceding the mutation.
+ * <p>
+ * The entries can be kept in direct buffers, off the heap, at the cost of copying them back on every hit. Entries
+ * carrying meta data are always kept on the heap.
+ */
+public class KCVSAdaptiveCache extends KCVSCache {
+
+    private final Cache<StaticBuffer, CachedRow> cache;
+    private final Cache<StaticBuffer, Boolean> invalidatedKeys;
+    private final long cacheTimeMS;
+    private final boolean offHeap;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public KCVSAdaptiveCache(KeyColumnValueStore store, long cacheTimeMS, long invalidationGracePeriodMS, long maximumByteSize, boolean offHeap) {
+        this(store, cacheTimeMS, invalidationGracePeriodMS, maximumByteSize, offHeap, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param maintenanceExecutor runs the evictions and removal notifications of the cache
+     */
+    @VisibleForTesting
+    KCVSAdaptiveCache(KeyColumnValueStore store, long cacheTimeMS, long invalidationGracePeriodMS, long maximumByteSize, boolean offHeap,
+                      Executor maintenanceExecutor) {
+        super(store);
+        Preconditions.checkArgument(cacheTimeMS > 0, "Invalid cache expiration time: %s", cacheTimeMS);
+        Preconditions.checkArgument(invalidationGracePeriodMS >= 0, "Invalid expiration grace period: %s", invalidationGracePeriodMS);
+        this.cacheTimeMS = cacheTimeMS;
+        this.offHeap = offHeap;
+        this.cache = Caffeine.newBuilder()
+                .executor(maintenanceExecutor)
+                .maximumWeight(maximumByteSize)
+                .weigher((StaticBuffer key, CachedRow row) -> row.weight)
+                .expireAfterWrite(cacheTimeMS, TimeUnit.MILLISECONDS)
+                .removalListener((StaticBuffer key, CachedRow row, com.github.benmanes.caffeine.cache.RemovalCause cause) -> {
+                    if (cause.wasEvicted()) evictions.increment();
+                })
+                .build();
+        this.invalidatedKeys = Caffeine.newBuilder()
+                .executor(maintenanceExecutor)
+                .expireAfterWrite(invalidationGracePeriodMS, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of keys evicted to stay within the budget or because their slices were all stale
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the bytes of keys and entries currently cached
+     */
+    public long weightedSize() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    @Override
+    public EntryList getSlice(KeySliceQuery query, StoreTransaction txh) throws BackendException {
+        EntryList cached = getCached(query);
+        if (cached != null) {
+            return cached;
+        }
+        EntryList result = store.getSlice(query, unwrapTx(txh));
+        putCached(query, result);
+        return result;
+    }
+
+    @Override
+    public Map<StaticBuffer, EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) throws BackendException {
+        Map<StaticBuffer, EntryList> results = new HashMap<>(keys.size());
+        List<StaticBuffer> remainingKeys = getCached(keys, query, results);
+        if (!remainingKeys.isEmpty()) {
+            putCached(remainingKeys, query, store.getSlice(remainingKeys, query, unwrapTx(txh)), results);
+        }
+        return results;
+    }
+
+    @Override
+    public CompletionStage<EntryList> getSliceAsync(KeySliceQuery query, StoreTransaction txh) {
+        EntryList cached = getCached(query);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return store.getSliceAsync(query, unwrapTx(txh)).thenApply(result -> {
+            putCached(query, result);
+            return result;
+        });
+    }
+
+    @Override
+    public CompletionStage<Map<StaticBuffer, EntryList>> getSliceAsync(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) {
+        Map<StaticBuffer, EntryList> results = new HashMap<>(keys.size());
+        List<StaticBuffer> remainingKeys = getCached(keys, query, results);
+        if (remainingKeys.isEmpty()) {
+            return CompletableFuture.completedFuture(results);
+        }
+        return store.getSliceAsync(remainingKeys, query, unwrapTx(txh)).thenApply(subresults -> {
+            putCached(remainingKeys, query, subresults, results);
+            return results;
+        });
+    }
+
+    @Override
+    public void invalidate(StaticBuffer key, List<StaticBuffer> entries) {
+        Preconditions.checkArgument(!hasValidateKeysOnly() || entries.isEmpty());
+        invalidatedKeys.put(key, Boolean.TRUE);
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void close() throws BackendException {
+        cache.invalidateAll();
+        invalidatedKeys.invalidateAll();
+        super.close();
+    }
+
+    private EntryList getCached(KeySliceQuery query) {
+        CachedRow row = cache.getIfPresent(query.getKey());
+        CachedSlice slice = row == null ? null : row.slices.get(new SliceQuery(query));
+        if (slice == null || slice.isStale(System.currentTimeMillis())) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return slice.entries();
+    }
+
+    /**
+     * Puts the cached slices of the given keys in the results, and returns the keys whose slice is not cached
+     */
+    private List<StaticBuffer> getCached(List<StaticBuffer> keys, SliceQuery query, Map<StaticBuffer, EntryList> results) {
+        List<StaticBuffer> remainingKeys = new ArrayList<>(keys.size());
+        for (StaticBuffer key : keys) {
+            EntryList cached = getCached(new KeySliceQuery(key, query));
+            if (cached != null) results.put(key, cached);
+            else remainingKeys.add(key);
+        }
+        return remainingKeys;
+    }
+
+    private void putCached(KeySliceQuery query, EntryList entries) {
+        StaticBuffer key = query.getKey();
+        if (invalidatedKeys.getIfPresent(key) != null) {
+            return;
+        }
+        SliceQuery slice = new SliceQuery(query);
+        CachedSlice cached = new CachedSlice(slice, entries, offHeap, System.currentTimeMillis() + cacheTimeMS);
+        cache.asMap().compute(key, (k, row) -> (row == null ? new CachedRow(k) : row).with(slice, cached));
+    }
+
+    private void putCached(List<StaticBuffer> keys, SliceQuery query, Map<StaticBuffer, EntryList> subresults, Map<StaticBuffer, EntryList> results) {
+        for (StaticBuffer key : keys) {
+            EntryList subresult = subresults.get(key);
+            if (subresult != null) {
+                results.put(key, subresult);
+                putCached(new KeySliceQuery(key, query), subresult);
+            }
+        }
+    }
+
+    /**
+     * The slices cached for a key, replaced as a whole when a slice is added so that its weight is accounted for.
+     */
+    private static class CachedRow {
+        private final StaticBuffer key;
+        private final Map<SliceQuery, CachedSlice> slices;
+        private final int weight;
+
+        CachedRow(StaticBuffer key) {
+            this(key, new HashMap<>());
+        }
+
+        private CachedRow(StaticBuffer key, Map<SliceQuery, CachedSlice> slices) {
+            this.key = key;
+            this.slices = slices;
+            long bytes = key.length();
+            for (CachedSlice slice : slices.values()) {
+                bytes += slice.byteSize;
+            }
+            this.weight = (int) Math.min(bytes, Integer.MAX_VALUE);
+        }
+
+        /**
+         * @return a copy of this row with the given slice, without the slices gone stale
+         */
+        CachedRow with(SliceQuery query, CachedSlice slice) {
+            long now = System.currentTimeMillis();
+            Map<SliceQuery, CachedSlice> slices = new HashMap<>(this.slices.size() + 1);
+            this.slices.forEach((cachedQuery, cached) -> {
+                if (!cached.isStale(now)) slices.put(cachedQuery, cached);
+            });
+            slices.put(query, slice);
+            return new CachedRow(key, slices);
+        }
+    }
+
+    private static class CachedSlice {
+        private final EntryList entries;
+        private final ByteBuffer offHeapEntries;
+        private final long byteSize;
+        private final long staleAfter;
+
+        CachedSlice(SliceQuery query, EntryList entries, boolean offHeap, long staleAfter) {
+            this.staleAfter = staleAfter;
+            if (offHeap && !entries.isEmpty() && !hasMetaData(entries)) {
+                this.entries = null;
+                this.offHeapEntries = toDirectBuffer(entries);
+            } else {
+                this.entries = entries;
+                this.offHeapEntries = null;
+            }
+            this.byteSize = query.getSliceStart().length() + query.getSliceEnd().length() + entries.getByteSize();
+        }
+
+        boolean isStale(long now) {
+            return now > staleAfter;
+        }
+
+        EntryList entries() {
+            return offHeapEntries == null ? entries : fromDirectBuffer(offHeapEntries.duplicate());
+        }
+
+        private static boolean hasMetaData(EntryList entries) {
+            for (Entry entry : entries) {
+                if (entry.hasMetaData()) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Writes the number of entries, followed by the length, value position and bytes of each entry
+         */
+        private static ByteBuffer toDirectBuffer(EntryList entries) {
+            int size = Integer.BYTES;
+            for (Entry entry : entries) {
+                size += 2 * Integer.BYTES + entry.length();
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+            buffer.putInt(entries.size());
+            for (Entry entry : entries) {
+                buffer.putInt(entry.length());
+                buffer.putInt(entry.getValuePosition());
+                buffer.put(entry.as(StaticBuffer.ARRAY_FACTORY));
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        private static EntryList fromDirectBuffer(ByteBuffer buffer) {
+            int count = buffer.getInt();
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                int valuePosition = buffer.getInt();
+                buffer.get(bytes);
+                entries.add(new StaticArrayEntry(bytes, valuePosition));
+            }
+            return StaticArrayEntryList.of(entries);
+        }
+    }
+}
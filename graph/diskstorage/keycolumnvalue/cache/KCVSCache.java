@@ -31,6 +31,7 @@ import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 
 public abstract class KCVSCache extends KCVSProxy {
@@ -69,4 +70,12 @@ public abstract class KCVSCache extends KCVSProxy {
         return store.getSlice(keys, query, unwrapTx(txh));
     }
 
+    public CompletionStage<EntryList> getSliceNoCacheAsync(KeySliceQuery query, StoreTransaction txh) {
+        return store.getSliceAsync(query, unwrapTx(txh));
+    }
+
+    public CompletionStage<Map<StaticBuffer, EntryList>> getSliceNoCacheAsync(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) {
+        return store.getSliceAsync(keys, query, unwrapTx(txh));
+    }
+
 }
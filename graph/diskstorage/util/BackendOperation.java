@@ -52,14 +52,7 @@ public class BackendOperation {
             try {
                 return exe.call();
             } catch (Throwable e) {
-                //Find inner-most StorageException
-                Throwable ex = e;
-                BackendException storeEx = null;
-                do {
-                    if (ex instanceof BackendException) storeEx = (BackendException) ex;
-                } while ((ex = ex.getCause()) != null);
-
-
+                BackendException storeEx = innermostBackendException(e);
                 if (storeEx instanceof TemporaryBackendException) {
                     lastException = storeEx; // if this is a temporary exception, don't throw immediately but retry for a totalWaitTime time before throwing
                 } else {
@@ -84,6 +77,23 @@ public class BackendOperation {
         throw new JanusGraphException("Could not successfully complete backend operation due to repeated temporary exceptions after " + totalWaitTime, lastException);
     }
 
+    /**
+     * Whether the given failure of a backend operation is worth retrying, i.e. its inner-most {@link BackendException}
+     * is a {@link TemporaryBackendException}
+     */
+    public static boolean isTemporaryFailure(Throwable e) {
+        return innermostBackendException(e) instanceof TemporaryBackendException;
+    }
+
+    private static BackendException innermostBackendException(Throwable e) {
+        Throwable ex = e;
+        BackendException storeEx = null;
+        do {
+            if (ex instanceof BackendException) storeEx = (BackendException) ex;
+        } while ((ex = ex.getCause()) != null);
+        return storeEx;
+    }
+
     public static <R> R execute(Transactional<R> exe, TransactionalProvider provider, TimestampProvider times) throws BackendException {
         StoreTransaction txh = null;
         try {
@@ -148,6 +148,24 @@ public class GraphDatabaseConfiguration {
                     "of VM heap, while larger values are interpreted as an absolute size in bytes.",
             ConfigOption.Type.MASKABLE, 0.3);
 
+    /**
+     * The fraction of the database level cache given to the edge store, which holds the adjacency lists of vertices.
+     * The rest of the cache is given to the index store.
+     */
+    public static final ConfigOption<Double> DB_CACHE_EDGESTORE_FRACTION = new ConfigOption<>(CACHE_NS, "db-cache-edgestore-fraction",
+            "Fraction of JanusGraph's database level cache given to the adjacency lists of vertices, the rest " +
+                    "is given to the index entries.",
+            ConfigOption.Type.MASKABLE, 0.8);
+
+    /**
+     * Whether the database level cache keeps the bytes of the entries it caches in direct buffers, off the heap.
+     * This reduces the heap held by the cache, at the cost of copying the entries back onto the heap on every hit.
+     */
+    public static final ConfigOption<Boolean> DB_CACHE_OFF_HEAP = new ConfigOption<>(CACHE_NS, "db-cache-off-heap",
+            "Whether JanusGraph's database level cache keeps the entries it caches off the heap, copying them back " +
+                    "onto the heap on every hit.",
+            ConfigOption.Type.MASKABLE, false);
+
     /**
      * How long the database level cache will keep keys expired while the mutations that triggered the expiration
      * are being persisted. This value should be larger than the time it takes for persisted mutations to become visible.
@@ -266,6 +284,15 @@ public class GraphDatabaseConfiguration {
             "Whether JanusGraph should attempt to parallelize storage operations",
             ConfigOption.Type.MASKABLE, true);
 
+    /**
+     * Transactions adding or deleting at least this many relations have their commit prepared in parallel: their added relations
+     * are serialised on a pool shared by all the graphs open in the process.
+     * The resulting mutations are identical to those of a sequential preparation.
+     */
+    public static final ConfigOption<Integer> PARALLEL_COMMIT_THRESHOLD = new ConfigOption<>(STORAGE_NS, "parallel-commit-threshold",
+            "Minimum number of relations a transaction must add or delete for its commit to be prepared in parallel, 0 to always prepare commits sequentially",
+            ConfigOption.Type.MASKABLE, 10000);
+
     public static final ConfigOption<String[]> STORAGE_HOSTS = new ConfigOption<>(STORAGE_NS, "hostname",
             "The hostname or comma-separated list of hostnames of storage backend servers.  " +
                     "This is only applicable to some storage backends, such as cassandra and hbase.",
@@ -27,6 +27,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import grakn.core.graph.core.Cardinality;
 import grakn.core.graph.core.JanusGraphElement;
+import grakn.core.graph.core.JanusGraphException;
 import grakn.core.graph.core.JanusGraphRelation;
 import grakn.core.graph.core.JanusGraphVertex;
 import grakn.core.graph.core.JanusGraphVertexProperty;
@@ -98,6 +99,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
 
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.INDEX_NAME_MAPPING;
@@ -529,16 +532,7 @@ public class IndexSerializer {
             List<EntryList> rs = sq.execute(tx);
             List<Object> results = new ArrayList<>(rs.get(0).size());
             for (EntryList r : rs) {
-                for (java.util.Iterator<Entry> iterator = r.reuseIterator(); iterator.hasNext(); ) {
-                    Entry entry = iterator.next();
-                    ReadBuffer entryValue = entry.asReadBuffer();
-                    entryValue.movePositionTo(entry.getValuePosition());
-                    if (index.getElement() == ElementCategory.VERTEX) {
-                        results.add(VariableLong.readPositive(entryValue));
-                    } else {
-                        results.add(bytebuffer2RelationId(entryValue));
-                    }
-                }
+                addElementIds(index, r, results);
             }
             return results.stream();
         } else {
@@ -546,6 +540,44 @@ public class IndexSerializer {
         }
     }
 
+    /**
+     * Reads the ids of the elements indexed by each of the records of values of the composite index, with the reads
+     * of all the records in flight at once rather than one after the other.
+     *
+     * @return the ids of the elements of each record, in the order of the records
+     */
+    public List<List<Object>> queryAll(CompositeIndexType index, List<Object[]> records, BackendTransaction tx) {
+        List<CompletableFuture<EntryList>> reads = new ArrayList<>(records.size());
+        for (Object[] values : records) {
+            KeySliceQuery query = new KeySliceQuery(getIndexKey(index, values), BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(1));
+            reads.add(tx.indexQueryAsync(query).toCompletableFuture());
+        }
+        List<List<Object>> results = new ArrayList<>(records.size());
+        for (CompletableFuture<EntryList> read : reads) {
+            List<Object> ids = new ArrayList<>();
+            try {
+                addElementIds(index, read.join(), ids);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof JanusGraphException ? (JanusGraphException) e.getCause() : new JanusGraphException(e.getCause());
+            }
+            results.add(ids);
+        }
+        return results;
+    }
+
+    private static void addElementIds(IndexType index, EntryList entries, List<Object> ids) {
+        for (java.util.Iterator<Entry> iterator = entries.reuseIterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            ReadBuffer entryValue = entry.asReadBuffer();
+            entryValue.movePositionTo(entry.getValuePosition());
+            if (index.getElement() == ElementCategory.VERTEX) {
+                ids.add(VariableLong.readPositive(entryValue));
+            } else {
+                ids.add(bytebuffer2RelationId(entryValue));
+            }
+        }
+    }
+
     public MultiKeySliceQuery getQuery(CompositeIndexType index, List<Object[]> values) {
         List<KeySliceQuery> ksqs = new ArrayList<>(values.size());
         for (Object[] value : values) {
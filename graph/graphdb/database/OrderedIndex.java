@@ -0,0 +1,281 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.graphdb.database;
+
+import com.google.common.base.Preconditions;
+import grakn.core.graph.core.JanusGraphVertexProperty;
+import grakn.core.graph.core.PropertyKey;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.BackendTransaction;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.WriteBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSCache;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.graph.diskstorage.util.HashingUtil;
+import grakn.core.graph.diskstorage.util.StaticArrayBuffer;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.WriteByteBuffer;
+import grakn.core.graph.graphdb.database.idhandling.VariableLong;
+import grakn.core.graph.graphdb.internal.InternalRelation;
+import grakn.core.graph.graphdb.internal.InternalVertex;
+import grakn.core.graph.graphdb.query.vertex.VertexCentricQueryBuilder;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Ordered indexes of property keys, kept in the index store next to the composite indexes.
+ * <p>
+ * An ordered index keeps the vertices having a property of its key in one row per value of a second property of the
+ * vertices, the partition key, e.g. one row per type. The columns of a row are the values of the key, encoded so that
+ * their bytes sort in the order of the values, followed by the vertex id. A range of values is then read as a single
+ * slice of a row.
+ * <p>
+ * The ordered indexes are registered in a row of their own, mapping the id of each key to the id of its partition key.
+ * Neither kind of row can collide with the rows of composite indexes, which start with the id of their index.
+ * Ordered indexes are only maintained from the moment they are registered, a key is only ordered by an index if it is
+ * registered along with the key itself.
+ */
+public class OrderedIndex {
+
+    private static final long REGISTRY_ID = 0;
+    private static final byte FIRST_COLUMN_BYTE = 0;
+    private static final StaticBuffer FIRST_COLUMN = BufferUtil.zeroBuffer(1);
+    private static final StaticBuffer END_OF_COLUMNS = StaticArrayBuffer.of(new byte[]{1});
+
+    private final boolean hashKeys;
+    private final HashingUtil.HashLength hashLength = HashingUtil.HashLength.SHORT;
+    private final StaticBuffer registryKey;
+
+    // ids of the ordered keys mapped to the ids of their partition keys, read from the registry on first use
+    private volatile Map<Long, Long> partitionKeys = null;
+
+    OrderedIndex(boolean hashKeys) {
+        this.hashKeys = hashKeys;
+        WriteBuffer out = new WriteByteBuffer(1);
+        VariableLong.writePositive(out, REGISTRY_ID);
+        this.registryKey = hashKey(out.getStaticBuffer());
+    }
+
+    /**
+     * Registers an ordered index of the key, in the given transaction, so that the index is maintained once it commits
+     */
+    public void register(PropertyKey key, PropertyKey partitionKey, BackendTransaction tx) throws BackendException {
+        Preconditions.checkArgument(!key.equals(partitionKey), "A key cannot partition its own ordered index: %s", key);
+        Entry entry = StaticArrayEntry.of(BufferUtil.getLongBuffer(key.longId()), BufferUtil.getLongBuffer(partitionKey.longId()));
+        tx.mutateIndex(registryKey, Collections.singletonList(entry), KCVSCache.NO_DELETIONS);
+    }
+
+    /**
+     * Forgets the registered ordered indexes, so that they are read again on next use, e.g. after registering one
+     */
+    public void invalidate() {
+        partitionKeys = null;
+    }
+
+    /**
+     * @return the id of the partition key of the ordered index of the key, or null if the key is not ordered by an index
+     */
+    @Nullable
+    public Long partitionKeyOf(long keyId, BackendTransaction tx) {
+        return partitionKeys(tx).get(keyId);
+    }
+
+    private Map<Long, Long> partitionKeys(BackendTransaction tx) {
+        Map<Long, Long> keys = partitionKeys;
+        if (keys == null) {
+            keys = new HashMap<>();
+            EntryList entries = tx.indexQuery(new KeySliceQuery(registryKey, FIRST_COLUMN, BufferUtil.oneBuffer(Long.BYTES + 1)));
+            for (Entry entry : entries) {
+                keys.put(entry.getColumn().getLong(0), entry.getValue().getLong(0));
+            }
+            partitionKeys = keys;
+        }
+        return keys;
+    }
+
+    /* ################################################
+               Maintenance
+    ################################################### */
+
+    /**
+     * Adds to the mutations of a commit the changes to the ordered indexes of the properties of a vertex updated by it
+     */
+    void mutate(InternalVertex vertex, Collection<InternalRelation> updatedProperties, BackendTransaction mutator) throws BackendException {
+        Map<Long, Long> keys = partitionKeys(mutator);
+        if (keys.isEmpty()) return;
+        for (InternalRelation relation : updatedProperties) {
+            Long partitionKeyId = keys.get(relation.getType().longId());
+            if (partitionKeyId == null) continue;
+
+            boolean deletion = relation.isRemoved();
+            Object partition = partitionOf(vertex, partitionKeyId, updatedProperties, deletion);
+            // vertices without a partition are not indexed
+            if (partition == null) continue;
+
+            StaticBuffer key = getIndexKey(relation.getType().longId(), partition);
+            Entry entry = StaticArrayEntry.of(getIndexColumn(((JanusGraphVertexProperty) relation).value(), vertex.longId()));
+            if (deletion) {
+                mutator.mutateIndex(key, KeyColumnValueStore.NO_ADDITIONS, Collections.singletonList(entry));
+            } else {
+                mutator.mutateIndex(key, Collections.singletonList(entry), KCVSCache.NO_DELETIONS);
+            }
+        }
+    }
+
+    /**
+     * The partition of a vertex is read from the updated properties first, as the partition key may be updated along with
+     * the ordered key, e.g. when the vertex is removed. Otherwise it is read through the transaction, which can still
+     * read the loaded properties of removed vertices.
+     */
+    @Nullable
+    private static Object partitionOf(InternalVertex vertex, long partitionKeyId, Collection<InternalRelation> updatedProperties, boolean deletion) {
+        for (InternalRelation relation : updatedProperties) {
+            if (relation.getType().longId() == partitionKeyId && relation.isRemoved() == deletion) {
+                return ((JanusGraphVertexProperty) relation).value();
+            }
+        }
+        PropertyKey partitionKey = (PropertyKey) vertex.tx().getExistingRelationType(partitionKeyId);
+        VertexCentricQueryBuilder query = vertex.tx().query(vertex).noPartitionRestriction().type(partitionKey);
+        if (vertex.isRemoved()) query.queryOnlyLoaded();
+        for (JanusGraphVertexProperty property : query.properties()) {
+            return property.value();
+        }
+        return null;
+    }
+
+    /* ################################################
+               Querying
+    ################################################### */
+
+    /**
+     * @param added properties of the key added by the querying transaction to vertices of the partition
+     * @return the ids of the vertices of the partition with a value of the key within the bounds, committed or among
+     * the added properties, in the order of their values, at most as many as the limit
+     */
+    public List<Long> query(long keyId, Object partition, @Nullable Object lower, boolean lowerInclusive,
+                            @Nullable Object upper, boolean upperInclusive, int limit,
+                            Collection<JanusGraphVertexProperty> added, BackendTransaction tx) {
+        StaticBuffer start = lower == null ? FIRST_COLUMN : getValueBound(lower, !lowerInclusive);
+        StaticBuffer end = upper == null ? END_OF_COLUMNS : getValueBound(upper, upperInclusive);
+        if (start.compareTo(end) >= 0) return new ArrayList<>();
+
+        KeySliceQuery query = new KeySliceQuery(getIndexKey(keyId, partition), start, end);
+        query.setLimit(limit);
+        // the columns sort like the values, the first ones of the committed and added columns are the first overall
+        TreeSet<StaticBuffer> columns = new TreeSet<>();
+        for (Entry entry : tx.indexQuery(query)) {
+            columns.add(entry.getColumn());
+        }
+        for (JanusGraphVertexProperty property : added) {
+            StaticBuffer column = getIndexColumn(property.value(), property.element().longId());
+            if (column.compareTo(start) >= 0 && column.compareTo(end) < 0) columns.add(column);
+        }
+
+        List<Long> vertexIds = new ArrayList<>(Math.min(limit, columns.size()));
+        for (StaticBuffer column : columns) {
+            if (vertexIds.size() == limit) break;
+            vertexIds.add(column.getLong(column.length() - Long.BYTES));
+        }
+        return vertexIds;
+    }
+
+    /* ################################################
+               Serialization
+    ################################################### */
+
+    private StaticBuffer getIndexKey(long keyId, Object partition) {
+        WriteBuffer out = new WriteByteBuffer();
+        VariableLong.writePositive(out, keyId);
+        writeOrdered(out, partition);
+        return hashKey(out.getStaticBuffer());
+    }
+
+    private StaticBuffer hashKey(StaticBuffer key) {
+        return hashKeys ? HashingUtil.hashPrefixKey(hashLength, key) : key;
+    }
+
+    private static StaticBuffer getIndexColumn(Object value, long vertexId) {
+        WriteBuffer out = new WriteByteBuffer();
+        out.putByte(FIRST_COLUMN_BYTE);
+        writeOrdered(out, value);
+        out.putLong(vertexId);
+        return out.getStaticBuffer();
+    }
+
+    /**
+     * @param after whether the bound sorts after all the columns of the value rather than before them
+     */
+    private static StaticBuffer getValueBound(Object value, boolean after) {
+        WriteBuffer out = new WriteByteBuffer();
+        out.putByte(FIRST_COLUMN_BYTE);
+        writeOrdered(out, value);
+        StaticBuffer bound = out.getStaticBuffer();
+        // encodings are prefix free, so the columns of the value are the ones starting with its encoding
+        return after ? BufferUtil.nextBiggerBuffer(bound) : bound;
+    }
+
+    /**
+     * Writes the value so that the unsigned byte order of encodings is the order of the values, and no encoding is
+     * the prefix of another one. Numbers flip their sign bit, floating point numbers flip all their other bits as well
+     * when negative. Strings write their characters in two bytes each, escaping the characters 0 and 1 to end with two
+     * zero bytes, which sort before any character.
+     */
+    static void writeOrdered(WriteBuffer out, Object value) {
+        if (value instanceof Long) {
+            out.putLong((Long) value ^ Long.MIN_VALUE);
+        } else if (value instanceof Integer) {
+            out.putInt((Integer) value ^ Integer.MIN_VALUE);
+        } else if (value instanceof Double) {
+            // -0.0 compares equal to 0.0 as a number
+            long bits = Double.doubleToLongBits((Double) value + 0.0);
+            out.putLong(bits < 0 ? ~bits : bits ^ Long.MIN_VALUE);
+        } else if (value instanceof Float) {
+            int bits = Float.floatToIntBits((Float) value + 0.0f);
+            out.putInt(bits < 0 ? ~bits : bits ^ Integer.MIN_VALUE);
+        } else if (value instanceof Boolean) {
+            out.putBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            String string = (String) value;
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c <= 1) {
+                    out.putByte((byte) 0);
+                    out.putByte((byte) 1);
+                    out.putByte((byte) c);
+                } else {
+                    out.putChar(c);
+                }
+            }
+            out.putShort((short) 0);
+        } else {
+            throw new IllegalArgumentException("Values of type " + value.getClass() + " cannot be ordered by an index");
+        }
+    }
+}
@@ -24,11 +24,14 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
 import grakn.core.graph.core.JanusGraph;
 import grakn.core.graph.core.JanusGraphException;
 import grakn.core.graph.core.JanusGraphTransaction;
 import grakn.core.graph.core.JanusGraphVertex;
+import grakn.core.graph.core.PropertyKey;
+import grakn.core.graph.core.RelationType;
 import grakn.core.graph.core.VertexLabel;
 import grakn.core.graph.core.schema.JanusGraphManagement;
 import grakn.core.graph.core.schema.SchemaStatus;
@@ -80,8 +83,10 @@ import grakn.core.graph.graphdb.transaction.StandardTransactionBuilder;
 import grakn.core.graph.graphdb.transaction.TransactionConfiguration;
 import grakn.core.graph.graphdb.types.CompositeIndexType;
 import grakn.core.graph.graphdb.types.MixedIndexType;
+import grakn.core.graph.graphdb.types.TypeInspector;
 import grakn.core.graph.graphdb.types.system.BaseKey;
 import grakn.core.graph.graphdb.types.system.BaseRelationType;
+import grakn.core.graph.graphdb.types.system.ImplicitKey;
 import grakn.core.graph.graphdb.types.vertices.JanusGraphSchemaVertex;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -95,14 +100,18 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 public class StandardJanusGraph implements JanusGraph {
@@ -134,6 +143,7 @@ public class StandardJanusGraph implements JanusGraph {
 
     //Serializers
     private final IndexSerializer indexSerializer;
+    private final OrderedIndex orderedIndex;
     private final EdgeSerializer edgeSerializer;
     protected final StandardSerializer serializer;
 
@@ -147,6 +157,15 @@ public class StandardJanusGraph implements JanusGraph {
 
     private final Set<StandardJanusGraphTx> openTransactions;
 
+    // Pool preparing the commits of large transactions in parallel, null if commits are always prepared sequentially
+    private final int parallelCommitThreshold;
+    private final ForkJoinPool commitPool;
+
+    // One commit pool is shared by all the open graphs of the process, i.e. by all open keyspaces,
+    // and it is shut down when the last graph using it closes
+    private static ForkJoinPool sharedCommitPool;
+    private static int sharedCommitPoolUsers = 0;
+
     public StandardJanusGraph(GraphDatabaseConfiguration configuration, Backend backend) {
         this.config = configuration;
         this.isOpen = true;
@@ -158,12 +177,15 @@ public class StandardJanusGraph implements JanusGraph {
         this.idAssigner = new VertexIDAssigner(config.getConfiguration(), backend);
         this.idManager = idAssigner.getIDManager();
         this.timestampProvider = configuration.getTimestampProvider();
+        this.parallelCommitThreshold = configuration.getConfiguration().get(GraphDatabaseConfiguration.PARALLEL_COMMIT_THRESHOLD);
+        this.commitPool = parallelCommitThreshold > 0 ? acquireCommitPool() : null;
 
 
         // Collaborators (Serializers)
         this.serializer = new StandardSerializer();
         StoreFeatures storeFeatures = backend.getStoreFeatures();
         this.indexSerializer = new IndexSerializer(configuration.getConfiguration(), this.serializer, this.backend.getIndexInformation(), storeFeatures.isDistributed() && storeFeatures.isKeyOrdered());
+        this.orderedIndex = new OrderedIndex(storeFeatures.isDistributed() && storeFeatures.isKeyOrdered());
         this.edgeSerializer = new EdgeSerializer(this.serializer);
 
         // The following query is used by VertexConstructors(inside JanusTransaction) to check whether a vertex associated to a specific ID actually exists in the DB (and it's not a ghost)
@@ -175,6 +197,20 @@ public class StandardJanusGraph implements JanusGraph {
         this.schemaCache = new StandardSchemaCache(typeCacheRetrieval);
     }
 
+    private static synchronized ForkJoinPool acquireCommitPool() {
+        if (sharedCommitPoolUsers++ == 0) {
+            sharedCommitPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return sharedCommitPool;
+    }
+
+    private static synchronized void releaseCommitPool() {
+        if (--sharedCommitPoolUsers == 0) {
+            sharedCommitPool.shutdown();
+            sharedCommitPool = null;
+        }
+    }
+
     @Override
     public String toString() {
         return "StandardJanusGraph[" + backend.getStoreManager().getName() + "]";
@@ -218,6 +254,7 @@ public class StandardJanusGraph implements JanusGraph {
             }
             idAssigner.close();
             backend.close();
+            if (commitPool != null) releaseCommitPool();
         } finally {
             isOpen = false;
         }
@@ -242,6 +279,10 @@ public class StandardJanusGraph implements JanusGraph {
         return indexSerializer;
     }
 
+    public OrderedIndex getOrderedIndex() {
+        return orderedIndex;
+    }
+
     public IDManager getIDManager() {
         return idManager;
     }
@@ -452,39 +493,123 @@ public class StandardJanusGraph implements JanusGraph {
         }
     }
 
+    /**
+     * Entries to add to and delete from the edge store row of a vertex
+     */
+    static class VertexMutation {
+        final List<Entry> additions;
+        final List<Entry> deletions;
+
+        private VertexMutation(List<Entry> additions, List<Entry> deletions) {
+            this.additions = additions;
+            this.deletions = deletions;
+        }
+    }
+
+    /**
+     * The types read to serialise the relations added by a commit, loaded on the committing thread so that the relations
+     * can be serialised on the threads of the commit pool without reading through the transaction, which may be bound
+     * to the committing thread.
+     * Serialising a relation only looks up relation types by id, lookups of other types are left to the transaction.
+     */
+    private static class ResolvedTypes implements TypeInspector {
+        private final StandardJanusGraphTx tx;
+        private final Map<Long, RelationType> types = new HashMap<>();
+        private final Map<Long, List<InternalRelationType>> relationIndexes = new HashMap<>();
+        private final Map<InternalRelation, Integer> ttls = new IdentityHashMap<>();
+
+        private ResolvedTypes(Collection<InternalRelation> relations, StandardJanusGraphTx tx) {
+            this.tx = tx;
+            for (InternalRelation relation : relations) {
+                InternalRelationType baseType = (InternalRelationType) relation.getType();
+                if (!relationIndexes.containsKey(baseType.longId())) {
+                    List<InternalRelationType> indexes = new ArrayList<>();
+                    for (InternalRelationType type : baseType.getRelationIndexes()) {
+                        if (type.getStatus() == SchemaStatus.DISABLED) continue;
+                        resolve(type, tx);
+                        indexes.add(type);
+                    }
+                    relationIndexes.put(baseType.longId(), indexes);
+                }
+                for (PropertyKey key : relation.getPropertyKeysDirect()) {
+                    if (!(key instanceof ImplicitKey)) resolve(key);
+                }
+                int ttl = StandardJanusGraph.getTTL(relation);
+                if (ttl > 0) ttls.put(relation, ttl);
+            }
+        }
+
+        private void resolve(InternalRelationType type, StandardJanusGraphTx tx) {
+            // reading the definition of the type once caches all of it in the type
+            type.isUnidirected(Direction.BOTH);
+            for (long keyId : type.getSortKey()) resolve(tx.getExistingPropertyKey(keyId));
+            for (long keyId : type.getSignature()) resolve(tx.getExistingPropertyKey(keyId));
+            if (type.isPropertyKey()) resolve((PropertyKey) type);
+        }
+
+        private void resolve(PropertyKey key) {
+            key.dataType();
+            types.put(key.longId(), key);
+        }
+
+        Iterable<InternalRelationType> getRelationIndexes(InternalRelationType baseType) {
+            return relationIndexes.get(baseType.longId());
+        }
+
+        int ttl(InternalRelation relation) {
+            return ttls.getOrDefault(relation, 0);
+        }
+
+        @Override
+        public RelationType getExistingRelationType(long id) {
+            RelationType type = types.get(id);
+            Preconditions.checkState(type != null, "Type %s was not resolved before serialising the commit", id);
+            return type;
+        }
+
+        @Override
+        public VertexLabel getExistingVertexLabel(long id) {
+            return tx.getExistingVertexLabel(id);
+        }
+
+        @Override
+        public boolean containsRelationType(String name) {
+            return tx.containsRelationType(name);
+        }
+
+        @Override
+        public RelationType getRelationType(String name) {
+            return tx.getRelationType(name);
+        }
+    }
+
     private ModificationSummary prepareCommit(Collection<InternalRelation> addedRelations, Collection<InternalRelation> deletedRelations,
                                               Predicate<InternalRelation> filter, BackendTransaction mutator, StandardJanusGraphTx tx) throws BackendException {
-        ListMultimap<Long, InternalRelation> mutations = ArrayListMultimap.create();
         ListMultimap<InternalVertex, InternalRelation> mutatedProperties = ArrayListMultimap.create();
-        List<IndexSerializer.IndexUpdate> indexUpdates = Lists.newArrayList();
-        //1) Collect deleted edges and their index updates and acquire edge locks
+        List<InternalRelation> deleted = new ArrayList<>();
+        List<InternalRelation> added = new ArrayList<>();
+        //1) Collect deleted edges and acquire edge locks
         for (InternalRelation del : Iterables.filter(deletedRelations, filter::test)) {
             Preconditions.checkArgument(del.isRemoved());
-            for (int pos = 0; pos < del.getLen(); pos++) {
-                InternalVertex vertex = del.getVertex(pos);
-                if (pos == 0 || !del.isLoop()) {
-                    if (del.isProperty()) mutatedProperties.put(vertex, del);
-                    mutations.put(vertex.longId(), del);
-                }
-            }
-            indexUpdates.addAll(indexSerializer.getIndexUpdates(del));
+            if (del.isProperty()) mutatedProperties.put(del.getVertex(0), del);
+            deleted.add(del);
         }
 
-        //2) Collect added edges and their index updates and acquire edge locks
+        //2) Collect added edges and acquire edge locks
         for (InternalRelation add : Iterables.filter(addedRelations, filter::test)) {
             Preconditions.checkArgument(add.isNew());
+            if (add.isProperty()) mutatedProperties.put(add.getVertex(0), add);
+            added.add(add);
+        }
 
-            for (int pos = 0; pos < add.getLen(); pos++) {
-                InternalVertex vertex = add.getVertex(pos);
-                if (pos == 0 || !add.isLoop()) {
-                    if (add.isProperty()) mutatedProperties.put(vertex, add);
-                    mutations.put(vertex.longId(), add);
-                }
-            }
+        //3) Collect the index updates of the edges (deletions first) and of the vertices
+        List<IndexSerializer.IndexUpdate> indexUpdates = new ArrayList<>();
+        for (InternalRelation del : deleted) {
+            indexUpdates.addAll(indexSerializer.getIndexUpdates(del));
+        }
+        for (InternalRelation add : added) {
             indexUpdates.addAll(indexSerializer.getIndexUpdates(add));
         }
-
-        //3) Collect all index update for vertices
         for (InternalVertex v : mutatedProperties.keySet()) {
             indexUpdates.addAll(indexSerializer.getIndexUpdates(v, mutatedProperties.get(v)));
         }
@@ -499,42 +624,17 @@ public class StandardJanusGraph implements JanusGraph {
         }
 
         //5) Add relation mutations
-        for (Long vertexId : mutations.keySet()) {
-            Preconditions.checkArgument(vertexId > 0, "Vertex has no id: %s", vertexId);
-            List<InternalRelation> edges = mutations.get(vertexId);
-            List<Entry> additions = new ArrayList<>(edges.size());
-            List<Entry> deletions = new ArrayList<>(Math.max(10, edges.size() / 10));
-            for (InternalRelation edge : edges) {
-                InternalRelationType baseType = (InternalRelationType) edge.getType();
-
-                for (InternalRelationType type : baseType.getRelationIndexes()) {
-                    if (type.getStatus() == SchemaStatus.DISABLED) continue;
-                    for (int pos = 0; pos < edge.getArity(); pos++) {
-                        if (!type.isUnidirected(Direction.BOTH) && !type.isUnidirected(EdgeDirection.fromPosition(pos))) {
-                            continue; //Directionality is not covered
-                        }
-                        if (edge.getVertex(pos).longId() == vertexId) {
-                            StaticArrayEntry entry = edgeSerializer.writeRelation(edge, type, pos, tx);
-                            if (edge.isRemoved()) {
-                                deletions.add(entry);
-                            } else {
-                                Preconditions.checkArgument(edge.isNew());
-                                int ttl = getTTL(edge);
-                                if (ttl > 0) {
-                                    entry.setMetaData(EntryMetaData.TTL, ttl);
-                                }
-                                additions.add(entry);
-                            }
-                        }
-                    }
-                }
-            }
-
-            StaticBuffer vertexKey = idManager.getKey(vertexId);
-            mutator.mutateEdges(vertexKey, additions, deletions);
+        boolean parallel = commitPool != null && deleted.size() + added.size() >= parallelCommitThreshold;
+        Map<Long, VertexMutation> vertexMutations = serialiseMutations(added, deleted, tx, parallel);
+        for (Map.Entry<Long, VertexMutation> vertexMutation : vertexMutations.entrySet()) {
+            StaticBuffer vertexKey = idManager.getKey(vertexMutation.getKey());
+            mutator.mutateEdges(vertexKey, vertexMutation.getValue().additions, vertexMutation.getValue().deletions);
         }
 
         //6) Add index updates
+        for (InternalVertex v : mutatedProperties.keySet()) {
+            orderedIndex.mutate(v, mutatedProperties.get(v), mutator);
+        }
         boolean has2iMods = false;
         for (IndexSerializer.IndexUpdate indexUpdate : indexUpdates) {
             if (indexUpdate.isCompositeIndex()) {
@@ -556,7 +656,82 @@ public class StandardJanusGraph implements JanusGraph {
                 }
             }
         }
-        return new ModificationSummary(!mutations.isEmpty(), has2iMods);
+        return new ModificationSummary(!vertexMutations.isEmpty(), has2iMods);
+    }
+
+    /**
+     * Serialises the edge store entries of the added and deleted relations, per vertex id.
+     * Large commits serialise their added relations in the commit pool, against their types resolved on the committing
+     * thread beforehand, and collect the entries in the same order so that they are identical to a sequential commit.
+     * Deleted relations may read their properties through the transaction, they are always serialised on the
+     * committing thread.
+     */
+    Map<Long, VertexMutation> serialiseMutations(List<InternalRelation> addedRelations, List<InternalRelation> deletedRelations,
+                                                 StandardJanusGraphTx tx, boolean parallel) {
+        List<Map.Entry<Long, List<InternalRelation>>> addedVertices = new ArrayList<>(Multimaps.asMap(edgesByVertex(addedRelations)).entrySet());
+        List<List<Entry>> additions;
+        if (parallel) {
+            ResolvedTypes types = new ResolvedTypes(addedRelations, tx);
+            additions = commitPool.submit(() -> addedVertices.parallelStream()
+                    .map(vertexEdges -> serialiseRelations(vertexEdges.getKey(), vertexEdges.getValue(), types, types::getRelationIndexes, types::ttl))
+                    .collect(Collectors.toList())).join();
+        } else {
+            additions = addedVertices.stream()
+                    .map(vertexEdges -> serialiseRelations(vertexEdges.getKey(), vertexEdges.getValue(), tx, InternalRelationType::getRelationIndexes, StandardJanusGraph::getTTL))
+                    .collect(Collectors.toList());
+        }
+
+        Map<Long, VertexMutation> vertexMutations = new HashMap<>();
+        for (int i = 0; i < addedVertices.size(); i++) {
+            vertexMutations.put(addedVertices.get(i).getKey(), new VertexMutation(additions.get(i), KCVSCache.NO_DELETIONS));
+        }
+        for (Map.Entry<Long, List<InternalRelation>> vertexEdges : Multimaps.asMap(edgesByVertex(deletedRelations)).entrySet()) {
+            // deleted entries carry no TTL
+            List<Entry> deletions = serialiseRelations(vertexEdges.getKey(), vertexEdges.getValue(), tx, InternalRelationType::getRelationIndexes, relation -> 0);
+            VertexMutation vertexMutation = vertexMutations.get(vertexEdges.getKey());
+            vertexMutations.put(vertexEdges.getKey(), new VertexMutation(vertexMutation == null ? KeyColumnValueStore.NO_ADDITIONS : vertexMutation.additions, deletions));
+        }
+        return vertexMutations;
+    }
+
+    private static ListMultimap<Long, InternalRelation> edgesByVertex(List<InternalRelation> relations) {
+        ListMultimap<Long, InternalRelation> edges = ArrayListMultimap.create();
+        for (InternalRelation relation : relations) {
+            for (int pos = 0; pos < relation.getLen(); pos++) {
+                if (pos == 0 || !relation.isLoop()) {
+                    edges.put(relation.getVertex(pos).longId(), relation);
+                }
+            }
+        }
+        return edges;
+    }
+
+    private List<Entry> serialiseRelations(long vertexId, List<InternalRelation> edges, TypeInspector types,
+                                           Function<InternalRelationType, Iterable<InternalRelationType>> relationIndexes,
+                                           ToIntFunction<InternalRelation> ttls) {
+        Preconditions.checkArgument(vertexId > 0, "Vertex has no id: %s", vertexId);
+        List<Entry> entries = new ArrayList<>(edges.size());
+        for (InternalRelation edge : edges) {
+            InternalRelationType baseType = (InternalRelationType) edge.getType();
+
+            for (InternalRelationType type : relationIndexes.apply(baseType)) {
+                if (type.getStatus() == SchemaStatus.DISABLED) continue;
+                for (int pos = 0; pos < edge.getArity(); pos++) {
+                    if (!type.isUnidirected(Direction.BOTH) && !type.isUnidirected(EdgeDirection.fromPosition(pos))) {
+                        continue; //Directionality is not covered
+                    }
+                    if (edge.getVertex(pos).longId() == vertexId) {
+                        StaticArrayEntry entry = edgeSerializer.writeRelation(edge, type, pos, types);
+                        int ttl = ttls.applyAsInt(edge);
+                        if (ttl > 0) {
+                            entry.setMetaData(EntryMetaData.TTL, ttl);
+                        }
+                        entries.add(entry);
+                    }
+                }
+            }
+        }
+        return entries;
     }
 
     public void commit(Collection<InternalRelation> addedRelations, Collection<InternalRelation> deletedRelations, StandardJanusGraphTx tx) {
@@ -39,6 +39,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 public class StandardIDPool implements IDPool {
@@ -78,9 +79,8 @@ public class StandardIDPool implements IDPool {
     private final Duration renewTimeout;
     private final double renewBufferPercentage;
 
-    private IDBlock currentBlock;
-    private long currentIndex;
-    private long renewBlockIndex;
+    // ids are handed out of the current block without locking, only the threads replacing the block synchronize
+    private volatile Lease currentLease;
 
     private volatile IDBlock nextBlock;
     private Future<IDBlock> idBlockFuture;
@@ -104,9 +104,7 @@ public class StandardIDPool implements IDPool {
         Preconditions.checkArgument(renewBufferPercentage > 0.0 && renewBufferPercentage <= 1.0, "Renew-buffer percentage must be in (0.0,1.0]");
         this.renewBufferPercentage = renewBufferPercentage;
 
-        currentBlock = UNINITIALIZED_BLOCK;
-        currentIndex = 0;
-        renewBlockIndex = 0;
+        currentLease = new Lease(UNINITIALIZED_BLOCK, 0);
         nextBlock = null;
 
         // daemon=true would probably be fine too
@@ -155,9 +153,11 @@ public class StandardIDPool implements IDPool {
         }
     }
 
-    private synchronized void nextBlock() throws InterruptedException {
+    private synchronized void nextBlock(Lease exhaustedLease) throws InterruptedException {
         Preconditions.checkState(!closed, "ID Pool has been closed for partition(%s)-namespace(%s) - cannot apply for new id block", partition, idNamespace);
 
+        if (currentLease != exhaustedLease) return; // another thread has already replaced the exhausted block
+
         if (null == nextBlock && null == idBlockFuture) {
             startIDBlockGetter();
         }
@@ -170,34 +170,36 @@ public class StandardIDPool implements IDPool {
             throw new IDPoolExhaustedException("Exhausted ID Pool for partition(" + partition + ")-namespace(" + idNamespace + ")");
         }
 
-        currentBlock = nextBlock;
-        currentIndex = 0;
-
-        LOG.debug("ID partition({})-namespace({}) acquired block: [{}]", partition, idNamespace, currentBlock);
+        IDBlock block = nextBlock;
+        LOG.debug("ID partition({})-namespace({}) acquired block: [{}]", partition, idNamespace, block);
 
         nextBlock = null;
-        renewBlockIndex = Math.max(0, currentBlock.numIds() - Math.max(RENEW_ID_COUNT, Math.round(currentBlock.numIds() * renewBufferPercentage)));
+        long renewBlockIndex = Math.max(0, block.numIds() - Math.max(RENEW_ID_COUNT, Math.round(block.numIds() * renewBufferPercentage)));
+        currentLease = new Lease(block, renewBlockIndex);
     }
 
     @Override
-    public synchronized long nextID() {
-        if (currentIndex == currentBlock.numIds()) {
+    public long nextID() {
+        while (true) {
+            Lease lease = currentLease;
+            long index = lease.cursor.getAndIncrement();
+            if (index < lease.block.numIds()) {
+                if (index == lease.renewBlockIndex) {
+                    startIDBlockGetter(lease);
+                }
+
+                long returnId = lease.block.getId(index);
+                if (returnId >= idUpperBound) throw new IDPoolExhaustedException("Reached id upper bound of " + idUpperBound);
+                LOG.trace("partition({})-namespace({}) Returned id: {}", partition, idNamespace, returnId);
+                return returnId;
+            }
+
             try {
-                nextBlock();
+                nextBlock(lease);
             } catch (InterruptedException e) {
                 throw new JanusGraphException("Could not renew id block due to interruption", e);
             }
         }
-
-        if (currentIndex == renewBlockIndex) {
-            startIDBlockGetter();
-        }
-
-        long returnId = currentBlock.getId(currentIndex);
-        currentIndex++;
-        if (returnId >= idUpperBound) throw new IDPoolExhaustedException("Reached id upper bound of " + idUpperBound);
-        LOG.trace("partition({})-namespace({}) Returned id: {}", partition, idNamespace, returnId);
-        return returnId;
     }
 
     @Override
@@ -221,15 +223,37 @@ public class StandardIDPool implements IDPool {
         exec.shutdownNow();
     }
 
+    private synchronized void startIDBlockGetter(Lease renewedLease) {
+        // the thread reaching the renewal index may only get here after the block has been replaced
+        if (currentLease != renewedLease) return;
+        startIDBlockGetter();
+    }
+
     private synchronized void startIDBlockGetter() {
         Preconditions.checkArgument(idBlockFuture == null, idBlockFuture);
         if (closed) return; //Don't renew anymore if closed
         //Renew buffer
-        LOG.debug("Starting id block renewal thread upon {}", currentIndex);
+        LOG.debug("Starting id block renewal thread upon {}", currentLease.renewBlockIndex);
         idBlockGetter = new IDBlockGetter(idAuthority, partition, idNamespace, renewTimeout);
         idBlockFuture = exec.submit(idBlockGetter);
     }
 
+    /**
+     * An id block along with the cursor of the next of its ids to hand out, which threads advance atomically.
+     * The cursor runs past the end of the block once it is exhausted, until the block is replaced.
+     */
+    private static class Lease {
+        private final IDBlock block;
+        private final long renewBlockIndex;
+        private final AtomicLong cursor;
+
+        Lease(IDBlock block, long renewBlockIndex) {
+            this.block = block;
+            this.renewBlockIndex = renewBlockIndex;
+            this.cursor = new AtomicLong();
+        }
+    }
+
     private static class IDBlockGetter implements Callable<IDBlock> {
         private final Stopwatch alive;
         private final IDAuthority idAuthority;
@@ -315,12 +315,9 @@ public class VertexIDAssigner implements AutoCloseable {
             Preconditions.checkArgument(partitionVertexIdPool != null);
             count = partitionVertexIdPool.nextID();
         } else {
-            PartitionIDPool partitionPool = idPools.get(partitionID);
-            if (partitionPool == null) {
-                partitionPool = new PartitionIDPool(partitionID, idAuthority, idManager, renewTimeoutMS, renewBufferPercentage);
-                idPools.putIfAbsent(partitionID, partitionPool);
-                partitionPool = idPools.get(partitionID);
-            }
+            // pools own the threads renewing their blocks, so only the one kept in the map is created
+            PartitionIDPool partitionPool = idPools.computeIfAbsent(partitionID,
+                    id -> new PartitionIDPool(id, idAuthority, idManager, renewTimeoutMS, renewBufferPercentage));
             Preconditions.checkNotNull(partitionPool);
             if (partitionPool.isExhausted()) {
                 placementStrategy.exhaustedPartition(partitionID);
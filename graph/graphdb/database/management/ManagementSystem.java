@@ -88,6 +88,7 @@ public class ManagementSystem implements JanusGraphManagement {
     private final StandardJanusGraphTx transaction;
 
     private boolean isOpen;
+    private boolean orderedIndexBuilt = false;
 
     public ManagementSystem(StandardJanusGraph graph, KCVSConfiguration config) {
         this.graph = graph;
@@ -105,6 +106,7 @@ public class ManagementSystem implements JanusGraphManagement {
 
         //Commit underlying transaction
         transaction.commit();
+        if (orderedIndexBuilt) graph.getOrderedIndex().invalidate();
         close();
     }
 
@@ -335,6 +337,26 @@ public class ManagementSystem implements JanusGraphManagement {
         }
     }
 
+    @Override
+    public boolean containsOrderedIndex(PropertyKey key) {
+        Preconditions.checkArgument(key != null && !(key instanceof BaseKey), "Need to provide a valid key");
+        return graph.getOrderedIndex().partitionKeyOf(key.longId(), transaction.getBackendTransaction()) != null;
+    }
+
+    @Override
+    public void buildOrderedIndex(PropertyKey key, PropertyKey partitionKey) {
+        Preconditions.checkArgument(key != null && !(key instanceof BaseKey), "Need to provide a valid key");
+        Preconditions.checkArgument(partitionKey != null && !(partitionKey instanceof BaseKey), "Need to provide a valid partition key");
+        Preconditions.checkArgument(key.cardinality() == Cardinality.SINGLE && partitionKey.cardinality() == Cardinality.SINGLE,
+                "Ordered indexes only support keys of single cardinality: %s, %s", key, partitionKey);
+        try {
+            graph.getOrderedIndex().register(key, partitionKey, transaction.getBackendTransaction());
+        } catch (BackendException e) {
+            throw new JanusGraphException("Could not register ordered index of key " + key.name(), e);
+        }
+        orderedIndexBuilt = true;
+    }
+
     private JanusGraphIndex createCompositeIndex(String indexName, ElementCategory elementCategory, boolean unique, JanusGraphSchemaType constraint, PropertyKey... keys) {
         checkIndexName(indexName);
         Preconditions.checkArgument(keys != null && keys.length > 0, "Need to provide keys to index [%s]", indexName);
@@ -54,6 +54,7 @@ import grakn.core.graph.diskstorage.util.Hex;
 import grakn.core.graph.diskstorage.util.time.TimestampProvider;
 import grakn.core.graph.graphdb.database.EdgeSerializer;
 import grakn.core.graph.graphdb.database.IndexSerializer;
+import grakn.core.graph.graphdb.database.OrderedIndex;
 import grakn.core.graph.graphdb.database.StandardJanusGraph;
 import grakn.core.graph.graphdb.database.idassigner.IDPool;
 import grakn.core.graph.graphdb.database.serialize.AttributeHandler;
@@ -93,6 +94,7 @@ import grakn.core.graph.graphdb.transaction.indexcache.ConcurrentIndexCache;
 import grakn.core.graph.graphdb.transaction.indexcache.IndexCache;
 import grakn.core.graph.graphdb.transaction.indexcache.SimpleIndexCache;
 import grakn.core.graph.graphdb.transaction.vertexcache.VertexCache;
+import grakn.core.graph.graphdb.types.CompositeIndexType;
 import grakn.core.graph.graphdb.types.StandardEdgeLabelMaker;
 import grakn.core.graph.graphdb.types.StandardPropertyKeyMaker;
 import grakn.core.graph.graphdb.types.StandardVertexLabelMaker;
@@ -1304,6 +1306,72 @@ public class StandardJanusGraphTx implements JanusGraphTransaction, TypeInspecto
         return new IndexQueryBuilder(this, indexSerializer, indexName, query);
     }
 
+    @Override
+    public List<Long> orderedIndexQuery(String keyName, Object partition, Object lower, boolean lowerInclusive,
+                                        Object upper, boolean upperInclusive, int limit) {
+        verifyOpen();
+        PropertyKey key = getPropertyKey(keyName);
+        if (key == null) return null;
+        OrderedIndex orderedIndex = graph.getOrderedIndex();
+        Long partitionKeyId = orderedIndex.partitionKeyOf(key.longId(), backendTransaction);
+        if (partitionKeyId == null) return null;
+        Preconditions.checkArgument(lower == null || key.dataType().isInstance(lower), "Invalid lower bound for key [%s]: %s", keyName, lower);
+        Preconditions.checkArgument(upper == null || key.dataType().isInstance(upper), "Invalid upper bound for key [%s]: %s", keyName, upper);
+
+        List<JanusGraphVertexProperty> added = new ArrayList<>();
+        if (!addedRelations.isEmpty()) {
+            PropertyKey partitionKey = (PropertyKey) getExistingRelationType(partitionKeyId);
+            for (JanusGraphRelation relation : addedRelations.getView(relation -> relation.getType().equals(key))) {
+                JanusGraphVertexProperty property = (JanusGraphVertexProperty) relation;
+                if (partition.equals(property.element().valueOrNull(partitionKey))) added.add(property);
+            }
+        }
+        return orderedIndex.query(key.longId(), partition, lower, lowerInclusive, upper, upperInclusive, limit, added, backendTransaction);
+    }
+
+    @Override
+    public Map<Object, List<Long>> compositeIndexMultiQuery(String keyName, Collection<?> values) {
+        verifyOpen();
+        PropertyKey key = getPropertyKey(keyName);
+        if (key == null) return null;
+        CompositeIndexType index = TypeUtil.getSimpleVertexKeyIndex(key);
+        if (index == null) return null;
+        for (Object value : values) {
+            Preconditions.checkArgument(key.dataType().isInstance(value), "Invalid value for key [%s]: %s", keyName, value);
+        }
+
+        List<Object> valueList = new ArrayList<>(values);
+        List<Object[]> records = new ArrayList<>(valueList.size());
+        for (Object value : valueList) {
+            records.add(new Object[]{value});
+        }
+        List<List<Object>> indexedIds = indexSerializer.queryAll(index, records, backendTransaction);
+
+        // vertices which lost their value of the key in this transaction
+        Map<Object, Set<Long>> removedIds = new HashMap<>();
+        for (InternalRelation relation : deletedRelations.values()) {
+            if (relation.getType().equals(key)) {
+                JanusGraphVertexProperty property = (JanusGraphVertexProperty) relation;
+                removedIds.computeIfAbsent(property.value(), v -> new HashSet<>()).add(property.element().longId());
+            }
+        }
+
+        Map<Object, List<Long>> vertexIds = new HashMap<>();
+        for (int i = 0; i < valueList.size(); i++) {
+            Object value = valueList.get(i);
+            Set<Long> removed = removedIds.getOrDefault(value, Collections.emptySet());
+            List<Long> ids = new ArrayList<>();
+            for (Object id : indexedIds.get(i)) {
+                if (!removed.contains(id)) ids.add((Long) id);
+            }
+            for (JanusGraphVertexProperty property : newVertexIndexEntries.get(value, key)) {
+                if (!property.element().isRemoved()) ids.add(property.element().longId());
+            }
+            vertexIds.put(value, ids);
+        }
+        return vertexIds;
+    }
+
     /*
      * ------------------------------------ Transaction State ------------------------------------
      */
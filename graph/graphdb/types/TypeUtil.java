@@ -23,6 +23,7 @@ import grakn.core.graph.core.JanusGraphRelation;
 import grakn.core.graph.core.JanusGraphVertexProperty;
 import grakn.core.graph.core.PropertyKey;
 import grakn.core.graph.core.schema.ConsistencyModifier;
+import grakn.core.graph.core.schema.SchemaStatus;
 import grakn.core.graph.graphdb.database.management.ModifierType;
 import grakn.core.graph.graphdb.internal.ElementCategory;
 import grakn.core.graph.graphdb.internal.InternalRelationType;
@@ -71,6 +72,21 @@ public class TypeUtil {
         return false;
     }
 
+    /**
+     * @return the enabled composite index of vertices over the key alone, without any constraint on the vertices,
+     * or null if the key has no such index
+     */
+    public static CompositeIndexType getSimpleVertexKeyIndex(PropertyKey key) {
+        InternalRelationType type = (InternalRelationType) key;
+        for (IndexType index : type.getKeyIndexes()) {
+            if (index.getElement() == ElementCategory.VERTEX && index.isCompositeIndex() && index.getFieldKeys().length == 1
+                    && !index.hasSchemaTypeConstraint() && ((CompositeIndexType) index).getStatus() == SchemaStatus.ENABLED) {
+                return (CompositeIndexType) index;
+            }
+        }
+        return null;
+    }
+
     public static InternalRelationType getBaseType(InternalRelationType type) {
         InternalRelationType baseType = type.getBaseType();
         if (baseType == null) return type;
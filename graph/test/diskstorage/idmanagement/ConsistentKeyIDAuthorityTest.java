@@ -0,0 +1,237 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.diskstorage.idmanagement;
+
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.IDBlock;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.common.AbstractStoreTransaction;
+import grakn.core.graph.diskstorage.configuration.Configuration;
+import grakn.core.graph.diskstorage.configuration.ModifiableConfiguration;
+import grakn.core.graph.diskstorage.configuration.backend.CommonsConfiguration;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyIterator;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyRangeQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreFeatures;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreManager;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.StaticArrayEntryList;
+import grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration;
+import grakn.core.graph.graphdb.database.idassigner.IDBlockSizer;
+import grakn.core.graph.graphdb.database.idassigner.StandardIDPool;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConsistentKeyIDAuthorityTest {
+
+    private static final int PARTITION = 0;
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+    private final InMemoryStore store = new InMemoryStore();
+
+    @Test
+    public void whenApplyingConcurrentlyForOneNamespace_BlocksDoNotOverlap() throws Exception {
+        ConsistentKeyIDAuthority authority = authority(10, Duration.ofMillis(5));
+
+        List<IDBlock> blocks = concurrently(8, () -> {
+            List<IDBlock> applied = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                applied.add(authority.getIDBlock(PARTITION, 1, TIMEOUT));
+            }
+            return applied;
+        });
+
+        Set<Long> ids = new HashSet<>();
+        for (IDBlock block : blocks) {
+            assertEquals(10, block.numIds());
+            for (long index = 0; index < block.numIds(); index++) {
+                assertTrue("Id handed out twice: " + block.getId(index), ids.add(block.getId(index)));
+            }
+        }
+        assertEquals(8 * 5 * 10, ids.size());
+    }
+
+    @Test
+    public void whenApplyingForDistinctNamespaces_ApplicationsAreInFlightAtOnce() throws Exception {
+        // long enough for a claim waiting on the other one not to be deemed too slow
+        ConsistentKeyIDAuthority authority = authority(10, Duration.ofSeconds(2));
+        CountDownLatch claims = new CountDownLatch(2);
+        Set<Boolean> claimsMet = ConcurrentHashMap.newKeySet();
+        store.onClaim = key -> {
+            claims.countDown();
+            try {
+                claimsMet.add(claims.await(1, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<IDBlock> first = executor.submit(() -> authority.getIDBlock(PARTITION, 1, TIMEOUT));
+            Future<IDBlock> second = executor.submit(() -> authority.getIDBlock(PARTITION, 2, TIMEOUT));
+            first.get(TIMEOUT.getSeconds(), TimeUnit.SECONDS);
+            second.get(TIMEOUT.getSeconds(), TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(Collections.singleton(true), claimsMet);
+    }
+
+    @Test
+    public void whenPoolDrawsBlocksSmallerThanTheRenewCount_IdsAreUniqueAcrossRollovers() throws Exception {
+        ConsistentKeyIDAuthority authority = authority(10, Duration.ofMillis(5));
+        StandardIDPool pool = new StandardIDPool(authority, PARTITION, 1, Long.MAX_VALUE, TIMEOUT, 0.3);
+
+        List<Long> ids = concurrently(4, () -> {
+            List<Long> drawn = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                drawn.add(pool.nextID());
+            }
+            return drawn;
+        });
+        pool.close();
+
+        assertEquals(4 * 100, new HashSet<>(ids).size());
+    }
+
+    private ConsistentKeyIDAuthority authority(long blockSize, Duration waitTime) throws BackendException {
+        StoreFeatures features = mock(StoreFeatures.class);
+        when(features.isKeyConsistent()).thenReturn(true);
+        when(features.getKeyConsistentTxConfig()).thenReturn(Configuration.EMPTY);
+        StoreManager manager = mock(StoreManager.class);
+        when(manager.getFeatures()).thenReturn(features);
+        when(manager.beginTransaction(any())).thenAnswer(invocation -> new AbstractStoreTransaction(invocation.getArgument(0)) {});
+
+        ModifiableConfiguration config = new ModifiableConfiguration(GraphDatabaseConfiguration.ROOT_NS, new CommonsConfiguration());
+        config.set(GraphDatabaseConfiguration.UNIQUE_INSTANCE_ID, "test");
+        config.set(GraphDatabaseConfiguration.IDAUTHORITY_WAIT, waitTime);
+        return new ConsistentKeyIDAuthority(store, manager, config, new IDBlockSizer() {
+            @Override
+            public long getBlockSize(int idNamespace) {
+                return blockSize;
+            }
+
+            @Override
+            public long getIdUpperBound(int idNamespace) {
+                return 1L << 40;
+            }
+        });
+    }
+
+    private static <T> List<T> concurrently(int threads, Callable<List<T>> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<T>>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(executor.submit(task));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<List<T>> future : futures) {
+                results.addAll(future.get(TIMEOUT.getSeconds(), TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The columns of each key kept in order, as the id store of a key consistent backend reads them
+     */
+    private static class InMemoryStore implements KeyColumnValueStore {
+        private final Map<StaticBuffer, ConcurrentSkipListMap<StaticBuffer, Entry>> rows = new ConcurrentHashMap<>();
+        private volatile Consumer<StaticBuffer> onClaim = key -> {};
+
+        @Override
+        public EntryList getSlice(KeySliceQuery query, StoreTransaction txh) {
+            ConcurrentSkipListMap<StaticBuffer, Entry> row = rows.get(query.getKey());
+            if (row == null) return EntryList.EMPTY_LIST;
+            List<Entry> slice = new ArrayList<>();
+            for (Entry entry : row.subMap(query.getSliceStart(), query.getSliceEnd()).values()) {
+                if (query.hasLimit() && slice.size() >= query.getLimit()) break;
+                slice.add(entry);
+            }
+            return StaticArrayEntryList.of(slice);
+        }
+
+        @Override
+        public Map<StaticBuffer, EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void mutate(StaticBuffer key, List<Entry> additions, List<StaticBuffer> deletions, StoreTransaction txh) {
+            ConcurrentSkipListMap<StaticBuffer, Entry> row = rows.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>());
+            for (StaticBuffer column : deletions) {
+                row.remove(column);
+            }
+            for (Entry entry : additions) {
+                row.put(entry.getColumn(), entry);
+                onClaim.accept(key);
+            }
+        }
+
+        @Override
+        public KeyIterator getKeys(KeyRangeQuery query, StoreTransaction txh) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public KeyIterator getKeys(SliceQuery query, StoreTransaction txh) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return "ids";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.diskstorage.keycolumnvalue.cache;
+
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStoreManager;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.StaticArrayEntryList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KCVSAdaptiveCacheTest {
+
+    private static final SliceQuery ALL_COLUMNS = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(8));
+    private static final long CACHE_TIME_MS = 60_000;
+    private static final long GRACE_PERIOD_MS = 60_000;
+
+    private final Map<StaticBuffer, Integer> storeReads = new HashMap<>();
+    private KeyColumnValueStore store;
+    private CacheTransaction tx;
+
+    @Before
+    public void setUp() throws BackendException {
+        store = mock(KeyColumnValueStore.class);
+        when(store.getName()).thenReturn("edgestore");
+        when(store.getSlice(any(KeySliceQuery.class), any(StoreTransaction.class))).thenAnswer(invocation -> {
+            StaticBuffer key = ((KeySliceQuery) invocation.getArguments()[0]).getKey();
+            storeReads.merge(key, 1, Integer::sum);
+            return row(key.getLong(0));
+        });
+        tx = new CacheTransaction(mock(StoreTransaction.class), mock(KeyColumnValueStoreManager.class), 100, Duration.ofSeconds(10), false);
+    }
+
+    @Test
+    public void whenReadingAKeyAgain_ItsSliceIsReadFromTheCache() throws BackendException {
+        KCVSAdaptiveCache cache = cache(Long.MAX_VALUE, false);
+
+        assertEquals(row(1), read(cache, 1));
+        assertEquals(row(1), read(cache, 1));
+
+        assertEquals(1, storeReads(1));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void whenEntriesAreKeptOffHeap_TheyAreReadBackIdentical() throws BackendException {
+        KCVSAdaptiveCache cache = cache(Long.MAX_VALUE, true);
+
+        read(cache, 1);
+        EntryList cached = read(cache, 1);
+
+        assertEquals(1, storeReads(1));
+        assertEquals(row(1), cached);
+    }
+
+    @Test
+    public void whenCachingMoreThanTheBudget_KeysAreEvictedToStayWithinIt() throws BackendException {
+        long budget = 10 * rowWeight();
+        KCVSAdaptiveCache cache = cache(budget, false);
+
+        for (long key = 0; key < 100; key++) {
+            read(cache, key);
+        }
+
+        assertTrue(cache.evictionCount() >= 90);
+        assertTrue(cache.weightedSize() <= budget);
+    }
+
+    @Test
+    public void whenAFrequentlyReadKeyCompetesWithKeysReadOnce_TheFrequentKeyStaysCached() throws BackendException {
+        KCVSAdaptiveCache cache = cache(10 * rowWeight(), false);
+        // fill the cache, so that the frequencies of the keys are tracked
+        for (long key = 1000; key < 1010; key++) {
+            read(cache, key);
+        }
+        for (int i = 0; i < 20; i++) {
+            read(cache, 1);
+        }
+
+        for (long key = 0; key < 200; key++) {
+            if (key == 1) continue;
+            read(cache, key);
+        }
+        read(cache, 1);
+
+        assertEquals(1, storeReads(1));
+    }
+
+    @Test
+    public void whenAKeyIsMutated_ItsSliceIsReadFromTheStoreAndNotCachedDuringTheGracePeriod() throws BackendException {
+        KCVSAdaptiveCache cache = cache(Long.MAX_VALUE, false);
+        read(cache, 1);
+        read(cache, 2);
+
+        cache.mutateEntries(key(1), Collections.singletonList(entry(1, 99)), KCVSCache.NO_DELETIONS, tx);
+        tx.commit();
+
+        read(cache, 1);
+        read(cache, 1);
+        read(cache, 2);
+        assertEquals(3, storeReads(1));
+        assertEquals(1, storeReads(2));
+    }
+
+    @Test
+    public void whenTheGracePeriodOfAMutatedKeyIsOver_ItIsCachedAgain() throws BackendException, InterruptedException {
+        KCVSAdaptiveCache cache = new KCVSAdaptiveCache(store, CACHE_TIME_MS, 10, Long.MAX_VALUE, false, Runnable::run);
+        read(cache, 1);
+        cache.mutateEntries(key(1), Collections.singletonList(entry(1, 99)), KCVSCache.NO_DELETIONS, tx);
+        tx.commit();
+
+        Thread.sleep(100);
+        read(cache, 1);
+        read(cache, 1);
+
+        assertEquals(2, storeReads(1));
+    }
+
+    @Test
+    public void whenASliceIsStale_ItIsReadFromTheStoreAgain() throws BackendException, InterruptedException {
+        KCVSAdaptiveCache cache = new KCVSAdaptiveCache(store, 10, GRACE_PERIOD_MS, Long.MAX_VALUE, false, Runnable::run);
+        read(cache, 1);
+
+        Thread.sleep(100);
+        read(cache, 1);
+
+        assertEquals(2, storeReads(1));
+    }
+
+    private KCVSAdaptiveCache cache(long maximumByteSize, boolean offHeap) {
+        // evicts on the reading thread, so that the cache is within its budget once a read returns
+        return new KCVSAdaptiveCache(store, CACHE_TIME_MS, GRACE_PERIOD_MS, maximumByteSize, offHeap, Runnable::run);
+    }
+
+    /**
+     * @return the bytes a cached key weighs, all keys having as many columns
+     */
+    private long rowWeight() throws BackendException {
+        KCVSAdaptiveCache cache = cache(Long.MAX_VALUE, false);
+        read(cache, -1);
+        return cache.weightedSize();
+    }
+
+    private EntryList read(KCVSAdaptiveCache cache, long key) throws BackendException {
+        return cache.getSlice(new KeySliceQuery(key(key), ALL_COLUMNS), tx);
+    }
+
+    private int storeReads(long key) {
+        return storeReads.getOrDefault(key(key), 0);
+    }
+
+    private static StaticBuffer key(long key) {
+        return BufferUtil.getLongBuffer(key);
+    }
+
+    private static Entry entry(long key, long column) {
+        return StaticArrayEntry.of(BufferUtil.getLongBuffer(column), BufferUtil.getLongBuffer(key * 1_000 + column));
+    }
+
+    private static EntryList row(long key) {
+        List<Entry> entries = new ArrayList<>();
+        for (long column = 0; column < 4; column++) {
+            entries.add(entry(key, column));
+        }
+        return StaticArrayEntryList.of(entries);
+    }
+}
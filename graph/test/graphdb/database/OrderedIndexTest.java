@@ -0,0 +1,96 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.graphdb.database;
+
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.WriteBuffer;
+import grakn.core.graph.diskstorage.util.WriteByteBuffer;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrderedIndexTest {
+
+    @Test
+    public void whenWritingLongs_TheirEncodingsSortLikeTheLongs() {
+        assertOrderedAndPrefixFree(Arrays.asList(Long.MIN_VALUE, -1_000_000L, -1L, 0L, 1L, 255L, 256L, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void whenWritingDoubles_TheirEncodingsSortLikeTheDoublesIncludingNegativeOnes() {
+        assertOrderedAndPrefixFree(Arrays.asList(Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1e100, -2.5, -1.0, -0.5,
+                -Double.MIN_VALUE, 0.0, Double.MIN_VALUE, 0.5, 1.0, 2.5, 1e100, Double.MAX_VALUE, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void whenWritingNegativeZero_ItIsEncodedAsZero() {
+        assertEquals(encode(0.0), encode(-0.0));
+        assertEquals(encode(0.0f), encode(-0.0f));
+    }
+
+    @Test
+    public void whenWritingStrings_TheirEncodingsSortLikeTheStringsIncludingEscapedCharacters() {
+        assertOrderedAndPrefixFree(Arrays.asList("", "\u0000", "\u0000\u0000", "\u0000\u0001", "\u0001", "\u0001\u0000",
+                "\u0002", "a", "a\u0000", "a\u0000b", "a\u0001", "a\u0001\u0000", "ab", "b", "\u00ff", "\u0100", "\uffff"));
+    }
+
+    /**
+     * Asserts that the encodings of the values, given in increasing order, are in increasing unsigned byte order,
+     * and that no encoding is the prefix of another one
+     */
+    private static void assertOrderedAndPrefixFree(List<?> values) {
+        for (int i = 0; i < values.size(); i++) {
+            for (int j = 0; j < values.size(); j++) {
+                if (i == j) continue;
+                StaticBuffer first = encode(values.get(i));
+                StaticBuffer second = encode(values.get(j));
+                String pair = describe(values.get(i)) + " and " + describe(values.get(j));
+                assertEquals(pair, Integer.signum(Integer.compare(i, j)), Integer.signum(first.compareTo(second)));
+                assertFalse(pair, isPrefix(first, second));
+            }
+        }
+    }
+
+    private static boolean isPrefix(StaticBuffer prefix, StaticBuffer buffer) {
+        return prefix.length() <= buffer.length() && buffer.subrange(0, prefix.length()).equals(prefix);
+    }
+
+    private static StaticBuffer encode(Object value) {
+        WriteBuffer out = new WriteByteBuffer();
+        OrderedIndex.writeOrdered(out, value);
+        StaticBuffer encoded = out.getStaticBuffer();
+        assertTrue(encoded.length() > 0);
+        return encoded;
+    }
+
+    private static String describe(Object value) {
+        if (!(value instanceof String)) return String.valueOf(value);
+        StringBuilder escaped = new StringBuilder("\"");
+        for (char c : ((String) value).toCharArray()) {
+            if (c < 0x20 || c > 0x7e) escaped.append(String.format("\\u%04x", (int) c));
+            else escaped.append(c);
+        }
+        return escaped.append('"').toString();
+    }
+}
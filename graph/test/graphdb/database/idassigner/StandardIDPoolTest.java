@@ -0,0 +1,170 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.graphdb.database.idassigner;
+
+import grakn.core.graph.diskstorage.IDAuthority;
+import grakn.core.graph.diskstorage.IDBlock;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyRange;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StandardIDPoolTest {
+
+    private static final Duration RENEW_TIMEOUT = Duration.ofMinutes(1);
+
+    @Test
+    public void whenBlocksAreSmallerThanTheRenewCount_IdsAreUniqueAcrossRollovers() throws Exception {
+        // the renewal of a block smaller than the renew count starts as soon as its first id is handed out
+        assertIdsAreUniqueAndContiguous(10, 0.3, 8, 2000);
+    }
+
+    @Test
+    public void whenBlocksHoldASingleId_IdsAreUniqueAcrossRollovers() throws Exception {
+        assertIdsAreUniqueAndContiguous(1, 0.3, 4, 200);
+    }
+
+    @Test
+    public void whenBlocksAreRenewedBeforeTheyAreExhausted_IdsAreUniqueAcrossRollovers() throws Exception {
+        assertIdsAreUniqueAndContiguous(500, 0.3, 8, 2000);
+    }
+
+    @Test
+    public void whenWholeBlocksAreRenewed_IdsAreUniqueAcrossRollovers() throws Exception {
+        assertIdsAreUniqueAndContiguous(500, 1.0, 8, 2000);
+    }
+
+    /**
+     * Every id of the blocks handed out in turn by the authority must be drawn exactly once, so that the ids drawn are
+     * those from the start of the first block on, without gaps, and at most one block is applied for ahead of time.
+     */
+    private static void assertIdsAreUniqueAndContiguous(long blockSize, double renewBufferPercentage, int threads, int idsPerThread)
+            throws InterruptedException, ExecutionException {
+        SequentialIDAuthority authority = new SequentialIDAuthority(blockSize);
+        StandardIDPool pool = new StandardIDPool(authority, 0, 0, Long.MAX_VALUE, RENEW_TIMEOUT, renewBufferPercentage);
+
+        List<Long> ids = drawConcurrently(pool, threads, idsPerThread);
+        pool.close();
+
+        int drawn = threads * idsPerThread;
+        Collections.sort(ids);
+        for (int i = 0; i < drawn; i++) {
+            assertEquals(SequentialIDAuthority.FIRST_ID + i, (long) ids.get(i));
+        }
+        long blocksNeeded = (drawn + blockSize - 1) / blockSize;
+        assertTrue("Applied for " + authority.blocks.get() + " blocks", authority.blocks.get() <= blocksNeeded + 1);
+    }
+
+    private static List<Long> drawConcurrently(IDPool pool, int threads, int idsPerThread) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Long>>> draws = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                draws.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> ids = new ArrayList<>(idsPerThread);
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(pool.nextID());
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            List<Long> ids = new ArrayList<>();
+            for (Future<List<Long>> draw : draws) {
+                ids.addAll(draw.get());
+            }
+            return ids;
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Hands out consecutive blocks of ids after a short delay, as a storage round trip would take
+     */
+    private static class SequentialIDAuthority implements IDAuthority {
+        private static final long FIRST_ID = 1;
+
+        private final long blockSize;
+        private final AtomicLong nextStart = new AtomicLong(FIRST_ID);
+        private final AtomicInteger blocks = new AtomicInteger();
+
+        SequentialIDAuthority(long blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public IDBlock getIDBlock(int partition, int idNamespace, Duration timeout) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            blocks.incrementAndGet();
+            long start = nextStart.getAndAdd(blockSize);
+            return new IDBlock() {
+                @Override
+                public long numIds() {
+                    return blockSize;
+                }
+
+                @Override
+                public long getId(long index) {
+                    if (index < 0 || index >= blockSize) throw new ArrayIndexOutOfBoundsException((int) index);
+                    return start + index;
+                }
+            };
+        }
+
+        @Override
+        public List<KeyRange> getLocalIDPartition() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String getUniqueID() {
+            return "test";
+        }
+
+        @Override
+        public boolean supportsInterruption() {
+            return false;
+        }
+    }
+}
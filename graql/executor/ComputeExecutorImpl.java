@@ -49,6 +49,8 @@ import grakn.core.graql.analytics.StatisticsMapReduce;
 import grakn.core.graql.analytics.StdMapReduce;
 import grakn.core.graql.analytics.SumMapReduce;
 import grakn.core.graql.analytics.Utility;
+import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graql.executor.computer.InProcessGraphLoader;
 import grakn.core.kb.concept.api.AttributeType;
 import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.ConceptId;
@@ -64,6 +66,7 @@ import grakn.core.kb.graql.exception.GraqlSemanticException;
 import grakn.core.kb.graql.executor.ComputeExecutor;
 import grakn.core.kb.graql.executor.ExecutorFactory;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
+import grakn.core.kb.keyspace.OwnedValueStatistics;
 import graql.lang.Graql;
 import graql.lang.pattern.Pattern;
 import graql.lang.query.GraqlCompute;
@@ -82,13 +85,16 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.stream.Stream;
 
 import static graql.lang.Graql.Token.Compute.Algorithm.CONNECTED_COMPONENT;
@@ -114,17 +120,30 @@ public class ComputeExecutorImpl implements ComputeExecutor {
     private ExecutorFactory executorFactory;
     private HadoopGraph hadoopGraph;
     private KeyspaceStatistics keyspaceStatistics;
-
-    ComputeExecutorImpl(ConceptManager conceptManager, ExecutorFactory executorFactory, HadoopGraph hadoopGraph, KeyspaceStatistics keyspaceStatistics) {
+    private InProcessGraphLoader inProcessGraphLoader;
+    private long inProcessThreshold;
+    private JanusGraphTransaction janusGraphTransaction;
+    private int pathSearchLimit;
+
+    ComputeExecutorImpl(ConceptManager conceptManager, ExecutorFactory executorFactory, HadoopGraph hadoopGraph, KeyspaceStatistics keyspaceStatistics,
+                        @Nullable InProcessGraphLoader inProcessGraphLoader, long inProcessThreshold,
+                        @Nullable JanusGraphTransaction janusGraphTransaction, int pathSearchLimit) {
         this.conceptManager = conceptManager;
         this.executorFactory = executorFactory;
         this.hadoopGraph = hadoopGraph;
         this.keyspaceStatistics = keyspaceStatistics;
+        this.inProcessGraphLoader = inProcessGraphLoader;
+        this.inProcessThreshold = inProcessThreshold;
+        this.janusGraphTransaction = janusGraphTransaction;
+        this.pathSearchLimit = pathSearchLimit;
     }
 
     @Override
     public Stream<Numeric> stream(GraqlCompute.Statistics query) {
         Graql.Token.Compute.Method method = query.method();
+        if (!method.equals(COUNT) && answerableFromOwnedValues(query.asValue())) {
+            return runComputeFromOwnedValues(query.asValue());
+        }
         if (method.equals(MIN) || method.equals(MAX) || method.equals(MEDIAN) || method.equals(SUM)) {
             return runComputeMinMaxMedianOrSum(query.asValue());
         } else if (method.equals(MEAN)) {
@@ -159,7 +178,7 @@ public class ComputeExecutorImpl implements ComputeExecutor {
                                         @Nullable Set<LabelId> scope,
                                         Boolean includesRolePlayerEdges) {
 
-        return new OLAPOperation(hadoopGraph).compute(program, mapReduce, scope, includesRolePlayerEdges);
+        return olapOperation(scope).compute(program, mapReduce, scope, includesRolePlayerEdges);
     }
 
     @Override
@@ -167,7 +186,86 @@ public class ComputeExecutorImpl implements ComputeExecutor {
                                         @Nullable MapReduce<?, ?, ?, ?, ?> mapReduce,
                                         @Nullable Set<LabelId> scope) {
 
-        return new OLAPOperation(hadoopGraph).compute(program, mapReduce, scope);
+        return olapOperation(scope).compute(program, mapReduce, scope);
+    }
+
+    /**
+     * Runs in-process when the instances in scope are no more than the in-process threshold, on Spark otherwise
+     */
+    private OLAPOperation olapOperation(@Nullable Set<LabelId> scope) {
+        if (inProcessGraphLoader == null || scope == null || scope.isEmpty()) {
+            return new OLAPOperation(hadoopGraph);
+        }
+
+        long instances = scope.stream()
+                .map(labelId -> conceptManager.<SchemaConcept>getSchemaConcept(labelId))
+                .filter(Objects::nonNull)
+                .mapToLong(type -> keyspaceStatistics.count(conceptManager, type.label()))
+                .sum();
+        LOG.debug("Running compute over {} instances {}", instances, instances <= inProcessThreshold ? "in-process" : "on Spark");
+        return instances <= inProcessThreshold ? new OLAPOperation(inProcessGraphLoader) : new OLAPOperation(hadoopGraph);
+    }
+
+    /**
+     * Without a scope, the statistics are over all the owners of the target attributes, which the keyspace statistics
+     * aggregate per attribute type as ownerships are added and removed. This is not the case of the median, nor when
+     * target types own target types, as owners that are themselves targets are not counted.
+     *
+     * @return true if the query can be answered from the keyspace statistics rather than a graph computer
+     */
+    private boolean answerableFromOwnedValues(GraqlCompute.Statistics.Value query) {
+        if (!query.in().isEmpty() || query.method().equals(MEDIAN)) return false;
+
+        ImmutableSet<Type> targetTypes = targetTypes(query);
+        return targetTypes.stream()
+                .flatMap(type -> Stream.concat(type.attributes(), type.keys()))
+                .noneMatch(targetTypes::contains);
+    }
+
+    /**
+     * The Graql compute min, max, sum, mean or std query run method, from the owned values of the target types
+     *
+     * @return a Answer object containing a Number that represents the answer
+     */
+    private Stream<Numeric> runComputeFromOwnedValues(GraqlCompute.Statistics.Value query) {
+        boolean usingLong = AttributeType.DataType.LONG.equals(validateAndGetTargetDataType(query));
+        Set<Label> targetLabels = targetTypeLabels(query);
+        Graql.Token.Compute.Method method = query.method();
+
+        if (method.equals(MIN) || method.equals(MAX)) {
+            Comparator<Number> order = usingLong ?
+                    Comparator.comparingLong(Number::longValue) :
+                    Comparator.comparingDouble(Number::doubleValue);
+            Optional<Number> result = targetLabels.stream()
+                    .map(label -> method.equals(MIN) ?
+                            keyspaceStatistics.minOwnedValue(conceptManager, label) :
+                            keyspaceStatistics.maxOwnedValue(conceptManager, label))
+                    .filter(Objects::nonNull)
+                    .reduce(method.equals(MIN) ? BinaryOperator.minBy(order) : BinaryOperator.maxBy(order));
+            LOG.debug("Result = {}", result);
+            return result.map(number -> Stream.of(new Numeric(number))).orElseGet(Stream::empty);
+        }
+
+        long count = 0L;
+        double sum = 0D;
+        double squareSum = 0D;
+        for (Label label : targetLabels) {
+            OwnedValueStatistics statistics = keyspaceStatistics.ownedValueStatistics(conceptManager, label);
+            count += statistics.count();
+            sum += statistics.sum();
+            squareSum += statistics.squareSum();
+        }
+        LOG.debug("Count = {}, sum = {}, square sum = {}", count, sum, squareSum);
+        if (count == 0) return Stream.empty();
+
+        if (method.equals(SUM)) {
+            // a sum of longs kept as a double is only exact below 2^53
+            if (usingLong && Math.abs(sum) >= 0x1p53) return runComputeMinMaxMedianOrSum(query);
+            return Stream.of(new Numeric(usingLong ? (Number) Math.round(sum) : (Number) sum));
+        }
+        double mean = sum / count;
+        if (method.equals(MEAN)) return Stream.of(new Numeric(mean));
+        return Stream.of(new Numeric(Math.sqrt(squareSum / count - mean * mean)));
     }
 
     /**
@@ -396,16 +494,25 @@ public class ComputeExecutorImpl implements ComputeExecutor {
 
         Set<LabelId> scopedLabelIds = convertLabelsToIds(scopeTypeLabels(query));
 
-        ComputerResult result = compute(new ShortestPathVertexProgram(fromID, toID), null, scopedLabelIds);
-
-        Multimap<ConceptId, ConceptId> pathsAsEdgeList = HashMultimap.create();
-        Map<String, Set<String>> resultFromMemory = result.memory().get(ShortestPathVertexProgram.SHORTEST_PATH);
-        resultFromMemory.forEach((id, idSet) -> idSet.forEach(id2 -> {
-            pathsAsEdgeList.put(Schema.conceptIdFromVertexId(id), Schema.conceptIdFromVertexId(id2));
-        }));
+        // Concepts a few hops apart are connected by searching the transaction, the vertex program is used
+        // when the search gives up because it would read too many edges
+        Multimap<ConceptId, ConceptId> pathsAsEdgeList = null;
+        if (janusGraphTransaction != null && pathSearchLimit > 0) {
+            pathsAsEdgeList = new ShortestPathSearch(janusGraphTransaction, scopedLabelIds, pathSearchLimit).search(fromID, toID);
+        }
+        if (pathsAsEdgeList == null) {
+            ComputerResult result = compute(new ShortestPathVertexProgram(fromID, toID), null, scopedLabelIds);
+
+            Multimap<ConceptId, ConceptId> edgesFromMemory = HashMultimap.create();
+            Map<String, Set<String>> resultFromMemory = result.memory().get(ShortestPathVertexProgram.SHORTEST_PATH);
+            resultFromMemory.forEach((id, idSet) -> idSet.forEach(id2 -> {
+                edgesFromMemory.put(Schema.conceptIdFromVertexId(id), Schema.conceptIdFromVertexId(id2));
+            }));
+            pathsAsEdgeList = edgesFromMemory;
+        }
 
         List<List<ConceptId>> paths;
-        if (!resultFromMemory.isEmpty()) {
+        if (!pathsAsEdgeList.isEmpty()) {
             paths = getComputePathResultList(pathsAsEdgeList, fromID);
             if (scopeIncludesAttributes(query)) {
                 paths = getComputePathResultListIncludingImplicitRelations(paths);
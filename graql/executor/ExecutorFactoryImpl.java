@@ -19,6 +19,12 @@
 
 package grakn.core.graql.executor;
 
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graql.executor.computer.InProcessGraphLoader;
+import grakn.core.graql.executor.util.DistinctKeySet;
 import grakn.core.graql.reasoner.query.ReasonerQueryFactory;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.graql.executor.ComputeExecutor;
@@ -28,6 +34,11 @@ import grakn.core.kb.graql.planning.gremlin.TraversalPlanFactory;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 
+import javax.annotation.Nullable;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class ExecutorFactoryImpl implements ExecutorFactory {
 
     private final ConceptManager conceptManager;
@@ -35,17 +46,41 @@ public class ExecutorFactoryImpl implements ExecutorFactory {
     private KeyspaceStatistics keyspaceStatistics;
     private TraversalPlanFactory traversalPlanFactory;
     private ReasonerQueryFactory reasonerQueryFactory;
+    private final int distinctSpillThreshold;
+    private final InProcessGraphLoader inProcessGraphLoader;
+    private final long inProcessComputeThreshold;
+    private final JanusGraphTransaction janusGraphTransaction;
+    private final int pathSearchLimit;
+    // deduplication sets of answer streams that are still being read, which may hold temporary files
+    private final Set<DistinctKeySet> openKeySets = ConcurrentHashMap.newKeySet();
 
     public ExecutorFactoryImpl(ConceptManager conceptManager, HadoopGraph hadoopGraph, KeyspaceStatistics keyspaceStatistics, TraversalPlanFactory traversalPlanFactory) {
+        this(conceptManager, hadoopGraph, keyspaceStatistics, traversalPlanFactory, Config.of(new Properties()), null, null);
+    }
+
+    /**
+     * @param config                server config, read for the thresholds of the executors
+     * @param graph                 graph copied by compute queries running in-process, null to always run them on Spark
+     * @param janusGraphTransaction transaction searched by compute path queries, null to always run them on a graph computer
+     */
+    public ExecutorFactoryImpl(ConceptManager conceptManager, HadoopGraph hadoopGraph, KeyspaceStatistics keyspaceStatistics,
+                               TraversalPlanFactory traversalPlanFactory, Config config,
+                               @Nullable StandardJanusGraph graph, @Nullable JanusGraphTransaction janusGraphTransaction) {
         this.conceptManager = conceptManager;
         this.hadoopGraph = hadoopGraph;
         this.keyspaceStatistics = keyspaceStatistics;
         this.traversalPlanFactory = traversalPlanFactory;
+        this.distinctSpillThreshold = config.getProperty(ConfigKey.DISTINCT_SPILL_THRESHOLD);
+        this.inProcessGraphLoader = graph != null ? new InProcessGraphLoader(graph) : null;
+        this.inProcessComputeThreshold = config.getProperty(ConfigKey.COMPUTE_IN_PROCESS_THRESHOLD);
+        this.janusGraphTransaction = janusGraphTransaction;
+        this.pathSearchLimit = config.getProperty(ConfigKey.COMPUTE_PATH_SEARCH_LIMIT);
     }
 
     @Override
     public ComputeExecutor compute() {
-        return new ComputeExecutorImpl(conceptManager, this, hadoopGraph, keyspaceStatistics);
+        return new ComputeExecutorImpl(conceptManager, this, hadoopGraph, keyspaceStatistics, inProcessGraphLoader, inProcessComputeThreshold,
+                janusGraphTransaction, pathSearchLimit);
     }
 
     @Override
@@ -53,6 +88,25 @@ public class ExecutorFactoryImpl implements ExecutorFactory {
         return new QueryExecutorImpl(conceptManager, this, traversalPlanFactory, reasonerQueryFactory, infer);
     }
 
+    /**
+     * @return a new deduplication set, closed when the transaction closes unless it is released first
+     */
+    DistinctKeySet openKeySet() {
+        DistinctKeySet keys = new DistinctKeySet(distinctSpillThreshold);
+        openKeySets.add(keys);
+        return keys;
+    }
+
+    void release(DistinctKeySet keys) {
+        openKeySets.remove(keys);
+        keys.close();
+    }
+
+    @Override
+    public void close() {
+        openKeySets.forEach(this::release);
+    }
+
     public void setReasonerQueryFactory(ReasonerQueryFactory reasonerQueryFactory) {
         this.reasonerQueryFactory = reasonerQueryFactory;
     }
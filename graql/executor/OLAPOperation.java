@@ -21,6 +21,7 @@ package grakn.core.graql.executor;
 
 import grakn.core.core.Schema;
 import grakn.core.graql.executor.computer.GraknSparkComputer;
+import grakn.core.graql.executor.computer.InProcessGraphLoader;
 import grakn.core.kb.concept.api.LabelId;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
@@ -53,19 +54,36 @@ import java.util.stream.Collectors;
 public class OLAPOperation {
     private final Graph graph;
     private final Class<? extends GraphComputer> graphComputerClass;
+    // Copies the instances in scope to run on the in-process TinkerGraphComputer, null when running on Spark
+    private final InProcessGraphLoader inProcessGraphLoader;
     private GraphComputer graphComputer = null;
     private boolean filterAllEdges = false;
 
     public OLAPOperation(Graph graph) {
         this.graph = graph;
         this.graphComputerClass = GraknSparkComputer.class;
+        this.inProcessGraphLoader = null;
+    }
+
+    /**
+     * Runs the operation on the threads of the server, over an in-memory copy of the instances in scope,
+     * rather than on Spark. Only suited to scopes that fit in the heap, the types in scope must be given.
+     */
+    public OLAPOperation(InProcessGraphLoader inProcessGraphLoader) {
+        this.graph = null;
+        this.graphComputerClass = null;
+        this.inProcessGraphLoader = inProcessGraphLoader;
     }
 
     @CheckReturnValue
     public ComputerResult compute(@Nullable VertexProgram program, @Nullable MapReduce mapReduce,
                                   @Nullable Set<LabelId> types, Boolean includesRolePlayerEdges) {
         try {
-            graphComputer = graph.compute(this.graphComputerClass);
+            if (inProcessGraphLoader != null) {
+                graphComputer = inProcessGraphLoader.load(types).compute();
+            } else {
+                graphComputer = graph.compute(this.graphComputerClass);
+            }
             if (program != null) {
                 graphComputer.program(program);
             } else {
@@ -89,7 +107,7 @@ public class OLAPOperation {
     }
 
     public void killJobs() {
-        if (graphComputer != null && graphComputerClass.equals(GraknSparkComputer.class)) {
+        if (graphComputer != null && GraknSparkComputer.class.equals(graphComputerClass)) {
             ((GraknSparkComputer) graphComputer).cancelJobs();
         }
     }
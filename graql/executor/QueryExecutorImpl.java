@@ -19,8 +19,11 @@
 
 package grakn.core.graql.executor;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
 import grakn.benchmark.lib.instrumentation.ServerTracing;
 import grakn.core.concept.answer.Answer;
 import grakn.core.concept.answer.AnswerGroup;
@@ -28,13 +31,15 @@ import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.answer.Numeric;
 import grakn.core.concept.answer.Void;
 import grakn.core.graql.executor.property.PropertyExecutorFactoryImpl;
+import grakn.core.graql.executor.util.DistinctKeySet;
 import grakn.core.graql.executor.util.LazyMergingStream;
+import grakn.core.graql.planning.gremlin.value.ValueOperation;
 import grakn.core.graql.reasoner.query.ReasonerQueryFactory;
+import grakn.core.kb.concept.api.AttributeType;
 import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.GraknConceptException;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.graql.exception.GraqlSemanticException;
-import grakn.core.kb.graql.executor.ExecutorFactory;
 import grakn.core.kb.graql.executor.QueryExecutor;
 import grakn.core.kb.graql.executor.property.PropertyExecutor;
 import grakn.core.kb.graql.executor.property.PropertyExecutorFactory;
@@ -46,6 +51,7 @@ import graql.lang.Graql;
 import graql.lang.pattern.Conjunction;
 import graql.lang.pattern.Disjunction;
 import graql.lang.pattern.Pattern;
+import graql.lang.property.IsaProperty;
 import graql.lang.property.NeqProperty;
 import graql.lang.property.ValueProperty;
 import graql.lang.property.VarProperty;
@@ -71,14 +77,18 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.groupingBy;
@@ -90,14 +100,15 @@ import static java.util.stream.Collectors.toList;
 public class QueryExecutorImpl implements QueryExecutor {
 
     private ConceptManager conceptManager;
-    private ExecutorFactory executorFactory;
+    private ExecutorFactoryImpl executorFactory;
     private final boolean infer;
     private final TraversalPlanFactory traversalPlanFactory;
     private ReasonerQueryFactory reasonerQueryFactory;
     private final PropertyExecutorFactory propertyExecutorFactory;
     private static final Logger LOG = LoggerFactory.getLogger(QueryExecutorImpl.class);
 
-    QueryExecutorImpl(ConceptManager conceptManager, ExecutorFactory executorFactory, TraversalPlanFactory traversalPlanFactory, ReasonerQueryFactory reasonerQueryFactory, boolean infer) {
+    QueryExecutorImpl(ConceptManager conceptManager, ExecutorFactoryImpl executorFactory, TraversalPlanFactory traversalPlanFactory,
+                      ReasonerQueryFactory reasonerQueryFactory, boolean infer) {
         this.conceptManager = conceptManager;
         this.executorFactory = executorFactory;
         this.infer = infer;
@@ -135,7 +146,8 @@ public class QueryExecutorImpl implements QueryExecutor {
                 Stream<Stream<ConceptMap>> answerStreams = conjunctions
                         .map(p -> reasonerQueryFactory.resolvable(p).rewrite())
                         // we return an answer with the substituted IDs in the pattern
-                        .map(q -> q.resolve().map(ans -> ans.withPattern(q.withSubstitution(ans).getPattern())));
+                        .map(q -> q.resolve(new HashSet<>(), reasonerQueryFactory.parallelResolution())
+                                .map(ans -> ans.withPattern(q.withSubstitution(ans).getPattern())));
 
                 LazyMergingStream<ConceptMap> mergedStreams = new LazyMergingStream<>(answerStreams);
                 return mergedStreams.flatStream();
@@ -228,13 +240,61 @@ public class QueryExecutorImpl implements QueryExecutor {
         Set<Variable> vars = Sets.filter(pattern.variables(), Variable::isReturned);
         GraphTraversal<Vertex, Map<String, Element>> traversal = graqlTraversal.getGraphTraversal(vars);
 
-        return traversal.toStream()
+        Stream<Map<String, Element>> results = traversal.toStream().sequential();
+        if (!graqlTraversal.isDistinct(vars)) {
+            results = distinct(results, vars);
+        }
+        return results
                 .map(elements -> createAnswer(vars, elements))
-                .distinct()
-                .sequential()
                 .map(ConceptMap::new);
     }
 
+    /**
+     * Removes duplicate traversal results, comparing them by the concept ids of the given variables only.
+     * Keys are kept on the heap up to the configured spill threshold and in temporary files beyond it,
+     * so that deduplicating a very large match does not hold every answer in memory.
+     * The keys are released as soon as the results are exhausted or the stream is closed, and otherwise
+     * when the transaction closes, as answer streams handed out over RPC are usually not closed.
+     */
+    private Stream<Map<String, Element>> distinct(Stream<Map<String, Element>> results, Set<Variable> vars) {
+        List<String> symbols = vars.stream().map(Variable::symbol).sorted().collect(toList());
+        DistinctKeySet keys = executorFactory.openKeySet();
+        Iterator<Map<String, Element>> distinctResults = results.filter(elements -> keys.add(answerKey(symbols, elements))).iterator();
+        Iterator<Map<String, Element>> releasingResults = new AbstractIterator<Map<String, Element>>() {
+            @Override
+            protected Map<String, Element> computeNext() {
+                if (distinctResults.hasNext()) return distinctResults.next();
+                executorFactory.release(keys);
+                return endOfData();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(releasingResults, Spliterator.ORDERED), false)
+                .onClose(() -> executorFactory.release(keys))
+                .onClose(results::close);
+    }
+
+    /**
+     * Encodes the ids of the elements bound to the given variables, in order.
+     * Vertex ids are numeric, so they are written as 8 bytes instead of as their concept id string.
+     */
+    private static byte[] answerKey(List<String> symbols, Map<String, Element> elements) {
+        ByteArrayDataOutput key = ByteStreams.newDataOutput();
+        for (String symbol : symbols) {
+            Element element = elements.get(symbol);
+            if (element == null) {
+                // an unbound variable is reported when the answer is created
+                key.writeByte(0);
+            } else if (element instanceof Vertex && element.id() instanceof Long) {
+                key.writeByte(1);
+                key.writeLong((Long) element.id());
+            } else {
+                key.writeByte(2);
+                key.writeUTF(element.id().toString());
+            }
+        }
+        return key.toByteArray();
+    }
+
     /**
      * @param vars     set of variables of interest
      * @param elements a map of vertices and edges where the key is the variable name
@@ -274,27 +334,38 @@ public class QueryExecutorImpl implements QueryExecutor {
                 executors.addAll(propertyExecutorFactory.insertable(statement.var(), property).insertExecutors());
             }
         }
+        // the order of the writers does not depend on the answers, so it is compiled once for all of them
+        WriteExecutorImpl.Plan plan = WriteExecutorImpl.plan(executors.build());
 
         ServerTracing.closeScopedChildSpan(createExecSpanId);
 
         int answerStreamSpanId = ServerTracing.startScopedChildSpan("QueryExecutor.insert create answer stream");
 
+        // the inserted attributes have the same values for every answer, so their lookups are read ahead all at once.
+        // Each query reads ahead its own attributes only: over RPC, the writes of an insert run when its answers are
+        // iterated, and clients wait for them before sending the next query, so the queries of a load sent one row at
+        // a time never queue up to be read ahead together. Loads read ahead in bulk by inserting many rows per query.
+        conceptManager.prefetchAttributes(insertedAttributeIndices(statements));
         Stream<ConceptMap> answerStream;
-        if (query.match() != null) {
-            MatchClause match = query.match();
-            Set<Variable> matchVars = match.getSelectedNames();
-            Set<Variable> insertVars = statements.stream().map(Statement::var).collect(ImmutableSet.toImmutableSet());
-
-            // only need to keep the match vars required in the insert clause
-            LinkedHashSet<Variable> projectedVars = new LinkedHashSet<>(matchVars);
-            projectedVars.retainAll(insertVars);
-
-            Stream<ConceptMap> answers = executorFactory.transactional(infer).get(match.get(projectedVars));
-            answerStream = answers
-                    .flatMap(answer -> WriteExecutorImpl.create(conceptManager, executors.build()).write(answer))
-                    .collect(toList()).stream();
-        } else {
-            answerStream = WriteExecutorImpl.create(conceptManager, executors.build()).write();
+        try {
+            if (query.match() != null) {
+                MatchClause match = query.match();
+                Set<Variable> matchVars = match.getSelectedNames();
+                Set<Variable> insertVars = statements.stream().map(Statement::var).collect(ImmutableSet.toImmutableSet());
+
+                // only need to keep the match vars required in the insert clause
+                LinkedHashSet<Variable> projectedVars = new LinkedHashSet<>(matchVars);
+                projectedVars.retainAll(insertVars);
+
+                Stream<ConceptMap> answers = executorFactory.transactional(infer).get(match.get(projectedVars));
+                answerStream = answers
+                        .flatMap(answer -> WriteExecutorImpl.create(conceptManager, plan).write(answer))
+                        .collect(toList()).stream();
+            } else {
+                answerStream = WriteExecutorImpl.create(conceptManager, plan).write();
+            }
+        } finally {
+            conceptManager.clearPrefetchedAttributes();
         }
 
         ServerTracing.closeScopedChildSpan(answerStreamSpanId);
@@ -303,6 +374,27 @@ public class QueryExecutorImpl implements QueryExecutor {
     }
 
 
+    /**
+     * @return the indices of the attributes inserted by statements with both a value and the label of their type
+     */
+    private Set<String> insertedAttributeIndices(Collection<Statement> statements) {
+        Set<String> indices = new HashSet<>();
+        for (Statement statement : statements) {
+            IsaProperty isa = statement.getProperty(IsaProperty.class).orElse(null);
+            ValueProperty<?> value = statement.getProperty(ValueProperty.class).orElse(null);
+            if (isa == null || value == null || !(value.operation() instanceof ValueProperty.Operation.Assignment<?>)) continue;
+
+            String label = isa.type().getType().orElse(null);
+            AttributeType<Object> attributeType = label != null ? conceptManager.getAttributeType(label) : null;
+            if (attributeType != null) {
+                // the value the attribute will be inserted with, as passed on by the value writer
+                Object attributeValue = ValueOperation.of(value.operation()).value();
+                indices.add(conceptManager.attributeIndex(attributeType, attributeValue));
+            }
+        }
+        return indices;
+    }
+
     @Override
     public Void delete(GraqlDelete query) {
         Stream<ConceptMap> answers = executorFactory.transactional(infer).match(query.match())
@@ -0,0 +1,233 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import grakn.core.core.Schema;
+import grakn.core.graph.core.JanusGraphEdge;
+import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graph.core.JanusGraphVertex;
+import grakn.core.graph.core.JanusGraphVertexProperty;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.LabelId;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Finds all the shortest paths between two concepts with a bidirectional breadth first search over the transaction.
+ * This is an alternative to running the ShortestPathVertexProgram on a graph computer, for concepts a few hops apart.
+ * <p>
+ * Concepts are connected by the same edges the vertex program sends messages along: role player edges,
+ * and attribute edges of implicit relation types in scope, between instances of the types in scope.
+ * The adjacency of a whole frontier is read in a single batched query, then the types of the new neighbours in another.
+ * The search gives up once it would read more edges than its limit, however few vertices they are adjacent to.
+ */
+class ShortestPathSearch {
+
+    private final JanusGraphTransaction tx;
+    private final Set<Integer> scope;
+    private final int edgeLimit;
+    // Edges read by both ends of the search so far
+    private int edgesRead = 0;
+
+    /**
+     * @param scope     label ids of the types in scope
+     * @param edgeLimit number of edges past which the search is considered too large to be done in a transaction
+     */
+    ShortestPathSearch(JanusGraphTransaction tx, Set<LabelId> scope, int edgeLimit) {
+        this.tx = tx;
+        this.scope = scope.stream().map(LabelId::getValue).collect(Collectors.toSet());
+        this.edgeLimit = edgeLimit;
+    }
+
+    /**
+     * @return every concept on a shortest path mapped to its successors towards the destination, as computed by the
+     * ShortestPathVertexProgram, empty if the concepts are not connected, or null if the search had to read more edges
+     * than its limit
+     */
+    @Nullable
+    Multimap<ConceptId, ConceptId> search(ConceptId source, ConceptId destination) {
+        JanusGraphVertex sourceVertex = vertex(source);
+        JanusGraphVertex destinationVertex = vertex(destination);
+        if (sourceVertex == null || destinationVertex == null) return null;
+
+        Frontier fromSource = new Frontier(sourceVertex);
+        Frontier fromDestination = new Frontier(destinationVertex);
+        Set<JanusGraphVertex> meeting = new HashSet<>();
+        while (meeting.isEmpty()) {
+            // Always expand the smaller frontier, the two searches meet once a vertex has been reached by both
+            Frontier expanded = fromSource.size() <= fromDestination.size() ? fromSource : fromDestination;
+            Frontier other = expanded == fromSource ? fromDestination : fromSource;
+            if (expanded.size() == 0) return HashMultimap.create();
+            if (!expanded.expand()) return null;
+
+            for (JanusGraphVertex vertex : expanded.vertices) {
+                if (other.reached(vertex)) meeting.add(vertex);
+            }
+        }
+
+        Multimap<ConceptId, ConceptId> successors = HashMultimap.create();
+        fromSource.collect(meeting, (vertex, parent) -> successors.put(Schema.conceptId(parent), Schema.conceptId(vertex)));
+        fromDestination.collect(meeting, (vertex, parent) -> successors.put(Schema.conceptId(vertex), Schema.conceptId(parent)));
+        return successors;
+    }
+
+    @Nullable
+    private JanusGraphVertex vertex(ConceptId conceptId) {
+        try {
+            Iterator<JanusGraphVertex> vertices = tx.getVertices(Long.parseLong(Schema.elementId(conceptId))).iterator();
+            return vertices.hasNext() ? vertices.next() : null;
+        } catch (NumberFormatException e) {
+            // Concepts stored as edges cannot be on a path
+            return null;
+        }
+    }
+
+    /**
+     * The vertices a search reached last, together with the vertices of the previous level each of them was reached from
+     */
+    private class Frontier {
+        // Every vertex reached so far mapped to the vertices it was reached from, the start of the search has none
+        private final Map<JanusGraphVertex, Set<JanusGraphVertex>> parents = new HashMap<>();
+        private Set<JanusGraphVertex> vertices = new HashSet<>();
+
+        Frontier(JanusGraphVertex start) {
+            parents.put(start, new HashSet<>());
+            vertices.add(start);
+        }
+
+        int size() {
+            return vertices.size();
+        }
+
+        boolean reached(JanusGraphVertex vertex) {
+            return parents.containsKey(vertex);
+        }
+
+        /**
+         * Replaces the frontier with the neighbours in scope that were not reached before
+         *
+         * @return false if the edges of the frontier are more than the search has left to read
+         */
+        boolean expand() {
+            Map<JanusGraphVertex, List<JanusGraphEdge>> adjacency = adjacency(vertices);
+            if (adjacency == null) return false;
+
+            Multimap<JanusGraphVertex, JanusGraphVertex> candidates = HashMultimap.create();
+            adjacency.forEach((vertex, edges) -> edges.forEach(edge -> {
+                if (traversable(edge)) {
+                    JanusGraphVertex neighbour = edge.otherVertex(vertex);
+                    if (!reached(neighbour)) candidates.put(neighbour, vertex);
+                }
+            }));
+
+            Set<JanusGraphVertex> next = new HashSet<>();
+            for (JanusGraphVertex neighbour : inScope(candidates.keySet())) {
+                parents.put(neighbour, new HashSet<>(candidates.get(neighbour)));
+                next.add(neighbour);
+            }
+            vertices = next;
+            return true;
+        }
+
+        /**
+         * Reads the edges of the vertices, each vertex reading at most its share of the edges left to read at first.
+         * The vertices having more edges than their share are read again, one at a time, up to the edges left.
+         *
+         * @return the edges of every vertex, or null if they are more than the edges left to read
+         */
+        @Nullable
+        private Map<JanusGraphVertex, List<JanusGraphEdge>> adjacency(Set<JanusGraphVertex> vertices) {
+            int share = (edgeLimit - edgesRead) / vertices.size() + 1;
+            Map<JanusGraphVertex, List<JanusGraphEdge>> adjacency = new HashMap<>();
+            List<JanusGraphVertex> beyondShare = new ArrayList<>();
+            edges(vertices, share).forEach((vertex, edges) -> {
+                List<JanusGraphEdge> read = Lists.newArrayList(edges);
+                edgesRead += read.size();
+                if (read.size() < share) adjacency.put(vertex, read);
+                else beyondShare.add(vertex);
+            });
+            for (JanusGraphVertex vertex : beyondShare) {
+                if (edgesRead > edgeLimit) return null;
+                List<JanusGraphEdge> read = Lists.newArrayList(edges(Collections.singleton(vertex), edgeLimit - edgesRead + 1).get(vertex));
+                edgesRead += read.size();
+                adjacency.put(vertex, read);
+            }
+            return edgesRead > edgeLimit ? null : adjacency;
+        }
+
+        private Map<JanusGraphVertex, Iterable<JanusGraphEdge>> edges(Set<JanusGraphVertex> vertices, int limit) {
+            return tx.multiQuery(vertices.toArray(new JanusGraphVertex[0]))
+                    .direction(Direction.BOTH)
+                    .labels(Schema.EdgeLabel.ROLE_PLAYER.getLabel(), Schema.EdgeLabel.ATTRIBUTE.getLabel())
+                    .limit(limit)
+                    .edges();
+        }
+
+        /**
+         * Walks back from the given vertices to the start of the search, passing every vertex and parent on the way
+         */
+        void collect(Set<JanusGraphVertex> from, BiConsumer<JanusGraphVertex, JanusGraphVertex> consumer) {
+            Set<JanusGraphVertex> visited = new HashSet<>(from);
+            Queue<JanusGraphVertex> queue = new ArrayDeque<>(from);
+            while (!queue.isEmpty()) {
+                JanusGraphVertex vertex = queue.poll();
+                for (JanusGraphVertex parent : parents.get(vertex)) {
+                    consumer.accept(vertex, parent);
+                    if (visited.add(parent)) queue.add(parent);
+                }
+            }
+        }
+    }
+
+    private boolean traversable(JanusGraphEdge edge) {
+        if (!edge.label().equals(Schema.EdgeLabel.ATTRIBUTE.getLabel())) return true;
+        Object relationType = edge.property(Schema.EdgeProperty.RELATION_TYPE_LABEL_ID.name()).orElse(null);
+        return relationType != null && scope.contains(relationType);
+    }
+
+    private Set<JanusGraphVertex> inScope(Collection<JanusGraphVertex> vertices) {
+        Set<JanusGraphVertex> inScope = new HashSet<>();
+        if (vertices.isEmpty()) return inScope;
+        Map<JanusGraphVertex, Iterable<JanusGraphVertexProperty>> types = tx.multiQuery(vertices.toArray(new JanusGraphVertex[0]))
+                .keys(Schema.VertexProperty.THING_TYPE_LABEL_ID.name())
+                .properties();
+        types.forEach((vertex, properties) -> properties.forEach(property -> {
+            if (scope.contains(property.value())) inScope.add(vertex);
+        }));
+        return inScope;
+    }
+}
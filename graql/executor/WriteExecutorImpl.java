@@ -23,7 +23,6 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -68,7 +67,10 @@ public class WriteExecutorImpl implements WriteExecutor {
 
     protected final Logger LOG = LoggerFactory.getLogger(WriteExecutor.class);
 
-    private ConceptManager conceptManager;
+    private final ConceptManager conceptManager;
+
+    // The writers to execute, in order, and the vars they refer to, shared by all the answers written by a query
+    private final Plan plan;
 
     // A mutable map associating each `Var` to the `Concept` in the graph it refers to.
     private final Map<Variable, Concept> concepts = new HashMap<>();
@@ -79,27 +81,27 @@ public class WriteExecutorImpl implements WriteExecutor {
     // A mutable map of concepts "under construction" that require more information before they can be built
     private final Map<Variable, ConceptBuilder> conceptBuilders = new HashMap<>();
 
-    // An immutable set of all properties
-    private final ImmutableSet<Writer> writers;
-
-    // A partition (disjoint set) indicating which `Var`s should refer to the same concept
-    private final Partition<Variable> equivalentVars;
-
-    // A map, where `dependencies.containsEntry(x, y)` implies that `y` must be inserted before `x` is inserted.
-    private final ImmutableMultimap<Writer, Writer> dependencies;
-
-    private WriteExecutorImpl(ConceptManager conceptManager,
-                              Set<Writer> writers,
-                              Partition<Variable> equivalentVars,
-                              Multimap<Writer, Writer> executorDependency
-    ) {
+    private WriteExecutorImpl(ConceptManager conceptManager, Plan plan) {
         this.conceptManager = conceptManager;
-        this.writers = ImmutableSet.copyOf(writers);
-        this.equivalentVars = equivalentVars;
-        this.dependencies = ImmutableMultimap.copyOf(executorDependency);
+        this.plan = plan;
     }
 
     static WriteExecutor create(ConceptManager conceptManager, ImmutableSet<Writer> writers) {
+        return create(conceptManager, plan(writers));
+    }
+
+    /**
+     * Creates an executor writing a single answer of the given plan. The plan is immutable, and can be shared by the
+     * executors of all the answers of a query.
+     */
+    static WriteExecutor create(ConceptManager conceptManager, Plan plan) {
+        return new WriteExecutorImpl(conceptManager, plan);
+    }
+
+    /**
+     * Compiles the writers of a query into the order they must be executed in, which is the same for all answers.
+     */
+    static Plan plan(ImmutableSet<Writer> writers) {
         /*
             We build several many-to-many relations, indicated by a `Multimap<X, Y>`. These are used to represent
             the dependencies between properties and variables.
@@ -188,7 +190,7 @@ public class WriteExecutorImpl implements WriteExecutor {
         Multimap<Writer, Writer> writerDependencies =
                 writerDependencies(executorToRequiredVars, varToProducingWriter);
 
-        return new WriteExecutorImpl(conceptManager, writers, equivalentVars, writerDependencies);
+        return new Plan(writers, equivalentVars, writerDependencies);
     }
 
     private static Multimap<VarProperty, Variable> propertyToEquivalentVars(Set<Writer> executors) {
@@ -236,7 +238,7 @@ public class WriteExecutorImpl implements WriteExecutor {
         int executeWritersSpanId = ServerTracing.startScopedChildSpan("WriteExecutor.write execute writers");
 
 
-        for (Writer writer : sortedWriters()) {
+        for (Writer writer : plan.sortedWriters()) {
             writer.execute(this);
         }
 
@@ -264,8 +266,8 @@ public class WriteExecutorImpl implements WriteExecutor {
         ImmutableMap.Builder<Variable, Concept> allConcepts = ImmutableMap.<Variable, Concept>builder().putAll(concepts);
 
         // Make sure to include all equivalent vars in the result
-        for (Variable var : equivalentVars.getNodes()) {
-            allConcepts.put(var, concepts.get(equivalentVars.componentOf(var)));
+        for (Map.Entry<Variable, Variable> equivalentVar : plan.equivalentVars.entrySet()) {
+            allConcepts.put(equivalentVar.getKey(), concepts.get(equivalentVar.getValue()));
         }
 
         Map<Variable, Concept> namedConcepts = Maps.filterKeys(allConcepts.build(), Variable::isReturned);
@@ -289,53 +291,6 @@ public class WriteExecutorImpl implements WriteExecutor {
         return concept;
     }
 
-    /**
-     * Produce a valid ordering of the properties by using the given dependency information.
-     * This method uses a topological sort (Kahn's algorithm) in order to find a valid ordering.
-     */
-    private ImmutableList<Writer> sortedWriters() {
-        ImmutableList.Builder<Writer> sorted = ImmutableList.builder();
-
-        // invertedDependencies is intended to just be a 'view' on dependencies, so when dependencies is modified
-        // we should always also modify invertedDependencies (and vice-versa).
-        Multimap<Writer, Writer> dependencies = HashMultimap.create(this.dependencies);
-        Multimap<Writer, Writer> invertedDependencies = HashMultimap.create();
-        Multimaps.invertFrom(dependencies, invertedDependencies);
-
-        Queue<Writer> writerWithoutDependencies =
-                new ArrayDeque<>(Sets.filter(writers, property -> dependencies.get(property).isEmpty()));
-
-        Writer property;
-
-        // Retrieve the next property without any dependencies
-        while ((property = writerWithoutDependencies.poll()) != null) {
-            sorted.add(property);
-
-            // We copy this into a new list because the underlying collection gets modified during iteration
-            Collection<Writer> dependents = Lists.newArrayList(invertedDependencies.get(property));
-
-            for (Writer dependent : dependents) {
-                // Because the property has been removed, the dependent no longer needs to depend on it
-                dependencies.remove(dependent, property);
-                invertedDependencies.remove(property, dependent);
-
-                boolean hasNoDependencies = dependencies.get(dependent).isEmpty();
-
-                if (hasNoDependencies) {
-                    writerWithoutDependencies.add(dependent);
-                }
-            }
-        }
-
-        if (!dependencies.isEmpty()) {
-            // This means there must have been a loop. Pick an arbitrary remaining var to display
-            Variable var = dependencies.keys().iterator().next().var();
-            throw GraqlSemanticException.insertRecursive(printableRepresentation(var));
-        }
-
-        return sorted.build();
-    }
-
     /**
      * Return a ConceptBuilder for given Variable. This can be used to provide information for how to create
      * the concept that the variable represents.
@@ -349,7 +304,7 @@ public class WriteExecutorImpl implements WriteExecutor {
     @Override
     public ConceptBuilder getBuilder(Variable var) {
         return tryBuilder(var).orElseThrow(() -> {
-            Concept concept = concepts.get(equivalentVars.componentOf(var));
+            Concept concept = concepts.get(plan.componentOf(var));
             return GraqlSemanticException.insertExistingConcept(printableRepresentation(var), concept);
         });
     }
@@ -365,7 +320,7 @@ public class WriteExecutorImpl implements WriteExecutor {
      */
     @Override
     public Optional<ConceptBuilder> tryBuilder(Variable var) {
-        var = equivalentVars.componentOf(var);
+        var = plan.componentOf(var);
 
         if (concepts.containsKey(var)) {
             return Optional.empty();
@@ -390,7 +345,7 @@ public class WriteExecutorImpl implements WriteExecutor {
      */
     @Override
     public Concept getConcept(Variable var) {
-        var = equivalentVars.componentOf(var);
+        var = plan.componentOf(var);
         Preconditions.checkNotNull(var);
 
         @Nullable Concept concept = concepts.get(var);
@@ -414,12 +369,16 @@ public class WriteExecutorImpl implements WriteExecutor {
 
     @Override
     public boolean isConceptDefined(Variable var) {
-        var = equivalentVars.componentOf(var);
+        var = plan.componentOf(var);
         return concepts.containsKey(var);
     }
 
     @Override
     public Statement printableRepresentation(Variable var) {
+        return printableRepresentation(plan.writers, var);
+    }
+
+    private static Statement printableRepresentation(Set<Writer> writers, Variable var) {
         LinkedHashSet<VarProperty> propertiesOfVar = new LinkedHashSet<>();
 
         // This could be faster if we built a dedicated map Var -> VarPattern
@@ -432,4 +391,90 @@ public class WriteExecutorImpl implements WriteExecutor {
 
         return Statement.create(var, propertiesOfVar);
     }
+
+    /**
+     * The writers of a query, sorted in the order they must be executed in, and the vars that must refer to the same
+     * concept. A plan is immutable, it is compiled once per query and run against the state of each answer.
+     */
+    static class Plan {
+
+        // An immutable set of all properties
+        private final ImmutableSet<Writer> writers;
+
+        // Maps the `Var`s that should refer to the same concept as another `Var` to the `Var` representing them
+        private final ImmutableMap<Variable, Variable> equivalentVars;
+
+        private final ImmutableList<Writer> sortedWriters;
+
+        // A `Var` depending on itself, if the writers could not be sorted, reported when the plan is run
+        @Nullable
+        private final Variable recursiveVar;
+
+        private Plan(Set<Writer> writers, Partition<Variable> equivalentVars, Multimap<Writer, Writer> dependencies) {
+            this.writers = ImmutableSet.copyOf(writers);
+            ImmutableMap.Builder<Variable, Variable> components = ImmutableMap.builder();
+            for (Variable var : ImmutableSet.copyOf(equivalentVars.getNodes())) {
+                components.put(var, equivalentVars.componentOf(var));
+            }
+            this.equivalentVars = components.build();
+
+            // `dependencies.containsEntry(x, y)` implies that `y` must be inserted before `x` is inserted.
+            Multimap<Writer, Writer> remainingDependencies = HashMultimap.create(dependencies);
+            this.sortedWriters = sortWriters(this.writers, remainingDependencies);
+            // This means there must have been a loop. Pick an arbitrary remaining var to display
+            this.recursiveVar = remainingDependencies.isEmpty() ? null : remainingDependencies.keys().iterator().next().var();
+        }
+
+        private Variable componentOf(Variable var) {
+            return equivalentVars.getOrDefault(var, var);
+        }
+
+        private ImmutableList<Writer> sortedWriters() {
+            if (recursiveVar != null) {
+                throw GraqlSemanticException.insertRecursive(printableRepresentation(writers, recursiveVar));
+            }
+            return sortedWriters;
+        }
+
+        /**
+         * Produce a valid ordering of the properties by using the given dependency information.
+         * This method uses a topological sort (Kahn's algorithm) in order to find a valid ordering.
+         * The dependencies left once it returns form a loop.
+         */
+        private static ImmutableList<Writer> sortWriters(Set<Writer> writers, Multimap<Writer, Writer> dependencies) {
+            ImmutableList.Builder<Writer> sorted = ImmutableList.builder();
+
+            // invertedDependencies is intended to just be a 'view' on dependencies, so when dependencies is modified
+            // we should always also modify invertedDependencies (and vice-versa).
+            Multimap<Writer, Writer> invertedDependencies = HashMultimap.create();
+            Multimaps.invertFrom(dependencies, invertedDependencies);
+
+            Queue<Writer> writerWithoutDependencies =
+                    new ArrayDeque<>(Sets.filter(writers, property -> dependencies.get(property).isEmpty()));
+
+            Writer property;
+
+            // Retrieve the next property without any dependencies
+            while ((property = writerWithoutDependencies.poll()) != null) {
+                sorted.add(property);
+
+                // We copy this into a new list because the underlying collection gets modified during iteration
+                Collection<Writer> dependents = Lists.newArrayList(invertedDependencies.get(property));
+
+                for (Writer dependent : dependents) {
+                    // Because the property has been removed, the dependent no longer needs to depend on it
+                    dependencies.remove(dependent, property);
+                    invertedDependencies.remove(property, dependent);
+
+                    boolean hasNoDependencies = dependencies.get(dependent).isEmpty();
+
+                    if (hasNoDependencies) {
+                        writerWithoutDependencies.add(dependent);
+                    }
+                }
+            }
+
+            return sorted.build();
+        }
+    }
 }
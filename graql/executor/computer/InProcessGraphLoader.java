@@ -0,0 +1,169 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor.computer;
+
+import grakn.core.core.Schema;
+import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
+import grakn.core.kb.concept.api.LabelId;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Copies the instances of the types in the scope of a compute query, together with the role player and attribute
+ * edges between them, from the Janus graph into an in-memory {@link TinkerGraph}.
+ * The copy lets vertex programs run on the in-process TinkerGraphComputer instead of on Spark.
+ * <p>
+ * Instances are read in parallel, one type shard per task, each task on its own read only Janus transaction.
+ * The copy is then assembled on the calling thread, as TinkerGraph does not support concurrent writes.
+ */
+public class InProcessGraphLoader {
+
+    private final StandardJanusGraph graph;
+    private final int workers;
+
+    public InProcessGraphLoader(StandardJanusGraph graph) {
+        this.graph = graph;
+        this.workers = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @param types label ids of the types whose instances are copied
+     * @return a graph containing the instances of the types and the edges between them
+     */
+    public TinkerGraph load(Set<LabelId> types) throws InterruptedException, ExecutionException {
+        List<Object> shardIds = shardIds(types);
+        List<LoadedVertex> vertices = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(workers, shardIds.size())));
+        try {
+            List<Future<List<LoadedVertex>>> shards = new ArrayList<>();
+            for (Object shardId : shardIds) {
+                shards.add(executor.submit(loadShard(shardId)));
+            }
+            for (Future<List<LoadedVertex>> shard : shards) {
+                vertices.addAll(shard.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return copy(vertices);
+    }
+
+    private List<Object> shardIds(Set<LabelId> types) {
+        StandardJanusGraphTx tx = graph.buildTransaction().readOnly().start();
+        try {
+            List<Object> shardIds = new ArrayList<>();
+            for (LabelId type : types) {
+                tx.traversal().V().has(Schema.VertexProperty.LABEL_ID.name(), type.getValue())
+                        .in(Schema.EdgeLabel.SHARD.getLabel()).id()
+                        .forEachRemaining(shardIds::add);
+            }
+            return shardIds;
+        } finally {
+            tx.rollback();
+        }
+    }
+
+    private Callable<List<LoadedVertex>> loadShard(Object shardId) {
+        return () -> {
+            StandardJanusGraphTx tx = graph.buildTransaction().readOnly().start();
+            try {
+                List<LoadedVertex> vertices = new ArrayList<>();
+                tx.traversal().V(shardId).in(Schema.EdgeLabel.ISA.getLabel()).forEachRemaining(vertex -> {
+                    LoadedVertex loaded = new LoadedVertex(vertex.id(), vertex.label());
+                    vertex.properties().forEachRemaining(property -> {
+                        loaded.keyValues.add(property.key());
+                        loaded.keyValues.add(property.value());
+                    });
+                    vertex.edges(Direction.OUT, Schema.EdgeLabel.ROLE_PLAYER.getLabel(), Schema.EdgeLabel.ATTRIBUTE.getLabel())
+                            .forEachRemaining(edge -> loaded.edges.add(new LoadedEdge(edge)));
+                    vertices.add(loaded);
+                });
+                return vertices;
+            } finally {
+                tx.rollback();
+            }
+        };
+    }
+
+    private static TinkerGraph copy(List<LoadedVertex> vertices) {
+        TinkerGraph copy = TinkerGraph.open();
+        Map<Object, Vertex> copiedVertices = new HashMap<>();
+        for (LoadedVertex vertex : vertices) {
+            List<Object> keyValues = new ArrayList<>();
+            keyValues.add(T.id);
+            keyValues.add(vertex.id);
+            keyValues.add(T.label);
+            keyValues.add(vertex.label);
+            keyValues.addAll(vertex.keyValues);
+            copiedVertices.put(vertex.id, copy.addVertex(keyValues.toArray()));
+        }
+        // Edges to instances outside of the scope are dropped, as are the messages sent along them on Spark
+        for (LoadedVertex vertex : vertices) {
+            Vertex outVertex = copiedVertices.get(vertex.id);
+            for (LoadedEdge edge : vertex.edges) {
+                Vertex inVertex = copiedVertices.get(edge.inVertexId);
+                if (inVertex != null) outVertex.addEdge(edge.label, inVertex, edge.keyValues.toArray());
+            }
+        }
+        return copy;
+    }
+
+    private static class LoadedVertex {
+        private final Object id;
+        private final String label;
+        private final List<Object> keyValues = new ArrayList<>();
+        private final List<LoadedEdge> edges = new ArrayList<>();
+
+        LoadedVertex(Object id, String label) {
+            this.id = id;
+            this.label = label;
+        }
+    }
+
+    private static class LoadedEdge {
+        private final String label;
+        private final Object inVertexId;
+        private final List<Object> keyValues = new ArrayList<>();
+
+        LoadedEdge(Edge edge) {
+            this.label = edge.label();
+            this.inVertexId = edge.inVertex().id();
+            edge.properties().forEachRemaining(property -> {
+                keyValues.add(property.key());
+                keyValues.add(property.value());
+            });
+        }
+    }
+}
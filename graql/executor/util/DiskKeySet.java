@@ -0,0 +1,227 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor.util;
+
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * An append-only set of byte array keys stored in temporary files rather than on the heap.
+ * <p>
+ * Keys are appended to a data file as length-prefixed records. The set is indexed by open-addressing hash tables,
+ * one per partition, each memory-mapped from its own file. A table slot holds the 64-bit hash of a key and the offset
+ * of its record, so lookups only read a key back from the data file when the full hashes match, and tables can grow
+ * without re-reading any keys. The files are unlinked as soon as they are opened, so the space is given back
+ * even if the set is never closed.
+ */
+class DiskKeySet implements AutoCloseable {
+
+    private static final int PARTITION_BITS = 6;
+    private static final int SLOT_BYTES = 2 * Long.BYTES;
+    private static final int INITIAL_SLOTS = 1 << 12;
+    // keeps every mapped table below the 2GB limit of a single MappedByteBuffer
+    private static final int MAX_SLOTS = 1 << 26;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final Partition[] partitions = new Partition[1 << PARTITION_BITS];
+    private final FileChannel data;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+    private long flushedSize = 0;
+    private long dataSize = 0;
+
+    DiskKeySet() {
+        data = openTempFile();
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(INITIAL_SLOTS);
+        }
+    }
+
+    /**
+     * @return true if the key had not been added before
+     */
+    boolean add(byte[] key) {
+        long hash = Hashing.murmur3_128().hashBytes(key).asLong();
+        Partition partition = partitions[(int) (hash >>> (Long.SIZE - PARTITION_BITS))];
+        return partition.add(hash, key);
+    }
+
+    @Override
+    public void close() {
+        try {
+            data.close();
+            for (Partition partition : partitions) {
+                partition.channel.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not close distinct answer files", e);
+        }
+    }
+
+    private long append(byte[] key) {
+        long offset = dataSize;
+        if (writeBuffer.remaining() < Integer.BYTES + key.length) flush();
+
+        if (writeBuffer.remaining() < Integer.BYTES + key.length) {
+            ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + key.length);
+            record.putInt(key.length).put(key).flip();
+            write(record, offset);
+            flushedSize += record.limit();
+        } else {
+            writeBuffer.putInt(key.length).put(key);
+        }
+        dataSize += Integer.BYTES + key.length;
+        return offset;
+    }
+
+    private boolean keyEquals(long offset, byte[] key) {
+        if (offset >= flushedSize) flush();
+
+        ByteBuffer length = read(offset, Integer.BYTES);
+        if (length.getInt() != key.length) return false;
+        return Arrays.equals(read(offset + Integer.BYTES, key.length).array(), key);
+    }
+
+    private void flush() {
+        writeBuffer.flip();
+        int written = writeBuffer.limit();
+        write(writeBuffer, flushedSize);
+        flushedSize += written;
+        writeBuffer.clear();
+    }
+
+    private void write(ByteBuffer buffer, long position) {
+        try {
+            while (buffer.hasRemaining()) {
+                position += data.write(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write to distinct answer file", e);
+        }
+    }
+
+    private ByteBuffer read(long position, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                int read = data.read(buffer, position + buffer.position());
+                if (read < 0) throw new IllegalStateException("Unexpected end of distinct answer file");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read from distinct answer file", e);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static FileChannel openTempFile() {
+        try {
+            Path path = Files.createTempFile("grakn-distinct-", ".tmp");
+            FileChannel channel = new RandomAccessFile(path.toFile(), "rw").getChannel();
+            // the open channel keeps the file alive, so removing it now means it can never be left behind
+            if (!path.toFile().delete()) path.toFile().deleteOnExit();
+            return channel;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create distinct answer file", e);
+        }
+    }
+
+    /**
+     * A linear-probing hash table of (hash, record offset + 1) slots, where a zero offset marks an empty slot.
+     */
+    private class Partition {
+        private FileChannel channel;
+        private MappedByteBuffer table;
+        private int capacity;
+        private int size = 0;
+
+        Partition(int capacity) {
+            map(capacity);
+        }
+
+        boolean add(long hash, byte[] key) {
+            int slot = (int) hash & (capacity - 1);
+            while (true) {
+                int position = slot * SLOT_BYTES;
+                long reference = table.getLong(position + Long.BYTES);
+                if (reference == 0) break;
+                if (table.getLong(position) == hash && keyEquals(reference - 1, key)) return false;
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            int position = slot * SLOT_BYTES;
+            table.putLong(position, hash);
+            table.putLong(position + Long.BYTES, append(key) + 1);
+            size++;
+
+            if (size * 2 > capacity) grow();
+            return true;
+        }
+
+        private void grow() {
+            if (capacity >= MAX_SLOTS) {
+                if (size < capacity - capacity / 8) return;
+                throw new IllegalStateException("Too many distinct answers to deduplicate");
+            }
+
+            FileChannel oldChannel = channel;
+            MappedByteBuffer oldTable = table;
+            int oldCapacity = capacity;
+            map(capacity * 2);
+
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                long reference = oldTable.getLong(slot * SLOT_BYTES + Long.BYTES);
+                if (reference == 0) continue;
+                long hash = oldTable.getLong(slot * SLOT_BYTES);
+
+                int newSlot = (int) hash & (capacity - 1);
+                while (table.getLong(newSlot * SLOT_BYTES + Long.BYTES) != 0) {
+                    newSlot = (newSlot + 1) & (capacity - 1);
+                }
+                table.putLong(newSlot * SLOT_BYTES, hash);
+                table.putLong(newSlot * SLOT_BYTES + Long.BYTES, reference);
+            }
+
+            try {
+                oldChannel.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Could not close distinct answer file", e);
+            }
+        }
+
+        private void map(int capacity) {
+            try {
+                this.channel = openTempFile();
+                // a freshly mapped file region reads as zeros, i.e. all slots start out empty
+                this.table = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * SLOT_BYTES);
+                this.capacity = capacity;
+            } catch (IOException e) {
+                throw new RuntimeException("Could not map distinct answer index", e);
+            }
+        }
+    }
+}
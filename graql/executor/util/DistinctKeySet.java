@@ -0,0 +1,74 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor.util;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A set of answer keys used to deduplicate a stream of answers, which keeps its keys on the heap until it reaches
+ * a spill threshold and then moves them into a {@link DiskKeySet} backed by temporary files.
+ * <p>
+ * Keys are compact byte encodings of an answer (e.g. the concept ids of its variables), not the answers themselves,
+ * so that deduplicating a very large stream does not require holding every answer in memory.
+ * It is not thread safe, and should be closed once the stream it deduplicates is done.
+ */
+public class DistinctKeySet implements AutoCloseable {
+
+    private final int spillThreshold;
+    private Set<ByteBuffer> memoryKeys = new HashSet<>();
+    private DiskKeySet diskKeys = null;
+
+    public DistinctKeySet(int spillThreshold) {
+        if (spillThreshold < 0) throw new IllegalArgumentException("Spill threshold must not be negative");
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * @return true if the key had not been added before
+     */
+    public boolean add(byte[] key) {
+        if (diskKeys != null) return diskKeys.add(key);
+
+        boolean added = memoryKeys.add(ByteBuffer.wrap(key));
+        if (added && memoryKeys.size() > spillThreshold) spill();
+        return added;
+    }
+
+    public boolean spilled() {
+        return diskKeys != null;
+    }
+
+    private void spill() {
+        diskKeys = new DiskKeySet();
+        for (ByteBuffer key : memoryKeys) {
+            diskKeys.add(key.array());
+        }
+        memoryKeys = null;
+    }
+
+    @Override
+    public void close() {
+        if (diskKeys != null) diskKeys.close();
+        memoryKeys = new HashSet<>();
+        diskKeys = null;
+    }
+}
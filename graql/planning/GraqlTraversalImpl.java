@@ -112,6 +112,28 @@ public class GraqlTraversalImpl implements GraqlTraversal {
         return new GraqlTraversalImpl(janusTraversalSourceProvider, conceptManager, ImmutableSet.of(fragments));
     }
 
+    /**
+     * A single conjunction built only from fragments with unique paths yields each full variable binding at most once.
+     * Projecting onto the returned variables keeps answers distinct as long as every dropped variable can take only
+     * one value, i.e. it is pinned to a single concept by an id, label or attribute index lookup.
+     */
+    @Override
+    public boolean isDistinct(Set<Variable> vars) {
+        if (fragments().size() != 1) return false;
+
+        ImmutableList<? extends Fragment> list = Iterables.getOnlyElement(fragments());
+        if (!list.stream().allMatch(Fragment::hasUniquePaths)) return false;
+
+        Set<Variable> pinnedVars = list.stream()
+                .filter(Fragment::bindsSingleConcept)
+                .map(Fragment::start)
+                .collect(Collectors.toSet());
+
+        return list.stream()
+                .flatMap(fragment -> fragment.vars().stream())
+                .allMatch(var -> vars.contains(var) || pinnedVars.contains(var));
+    }
+
     /**
      * @return a gremlin traversal that represents this inner query
      */
@@ -0,0 +1,175 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.planning;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.hash.Hashing;
+import grakn.core.kb.graql.planning.gremlin.EquivalentFragmentSet;
+import grakn.core.kb.graql.planning.gremlin.Fragment;
+import graql.lang.statement.Variable;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The fragments of a conjunction with their variables renamed canonically and their ids and values left out.
+ * Two conjunctions which only differ by variable names, ids or values normalise to the same key, so they
+ * can share a query plan.
+ * <p>
+ * Variables are named by refining their colours: a variable's colour starts out empty, and is repeatedly replaced
+ * by a hash of the shapes of the fragments it appears in and the colours of the other variables in those fragments,
+ * until no more variables can be told apart. Variables are then named in order of colour.
+ */
+class NormalisedConjunction {
+
+    private final String key;
+    private final Map<Fragment, String> signatures;
+    private final Collection<EquivalentFragmentSet> fragmentSets;
+
+    private NormalisedConjunction(String key, Map<Fragment, String> signatures, Collection<EquivalentFragmentSet> fragmentSets) {
+        this.key = key;
+        this.signatures = signatures;
+        this.fragmentSets = fragmentSets;
+    }
+
+    static NormalisedConjunction of(Collection<EquivalentFragmentSet> fragmentSets) {
+        Set<Fragment> fragments = fragmentSets.stream()
+                .flatMap(EquivalentFragmentSet::stream)
+                .collect(Collectors.toSet());
+        Map<Variable, String> names = canonicalNames(fragments);
+
+        Map<Fragment, String> signatures = new HashMap<>();
+        for (Fragment fragment : fragments) {
+            signatures.put(fragment, signature(fragment, names));
+        }
+        String key = signatures.values().stream().sorted().collect(Collectors.joining(";"));
+        return new NormalisedConjunction(key, signatures, fragmentSets);
+    }
+
+    String key() {
+        return key;
+    }
+
+    /**
+     * @param plan the fragments of a conjunction with the same key, in planned order
+     * @return the canonical signatures of the plan, which can be reapplied to other conjunctions with the same key
+     */
+    List<String> signatures(List<Fragment> plan) {
+        return plan.stream().map(signatures::get).collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * A plan only holds one of the equivalent fragments of most fragment sets, so fragments may be left over,
+     * but every fragment set of this conjunction must still be traversed by the plan.
+     *
+     * @param planSignatures the signatures of a plan made for a conjunction with the same key
+     * @return the fragments of this conjunction in the order of the plan, or null if the plan doesn't fit
+     */
+    @Nullable
+    List<Fragment> reorder(List<String> planSignatures) {
+        ListMultimap<String, Fragment> fragmentsBySignature = ArrayListMultimap.create();
+        signatures.forEach((fragment, signature) -> fragmentsBySignature.put(signature, fragment));
+
+        List<Fragment> plan = new ArrayList<>(planSignatures.size());
+        for (String signature : planSignatures) {
+            List<Fragment> candidates = fragmentsBySignature.get(signature);
+            if (candidates.isEmpty()) return null;
+            plan.add(candidates.remove(candidates.size() - 1));
+        }
+
+        Set<Fragment> planned = new HashSet<>(plan);
+        boolean coversFragmentSets = fragmentSets.stream().allMatch(set -> set.stream().anyMatch(planned::contains));
+        return coversFragmentSets ? plan : null;
+    }
+
+    private static String signature(Fragment fragment, Map<Variable, String> names) {
+        String vars = fragment.vars().stream().map(names::get).collect(Collectors.joining(","));
+        String dependencies = fragment.dependencies().stream().map(names::get).sorted().collect(Collectors.joining(","));
+        return fragment.shape() + "(" + vars + "|" + dependencies + ")";
+    }
+
+    private static Map<Variable, String> canonicalNames(Set<Fragment> fragments) {
+        Set<Variable> vars = new LinkedHashSet<>();
+        fragments.forEach(fragment -> {
+            vars.addAll(fragment.vars());
+            vars.addAll(fragment.dependencies());
+        });
+
+        Map<Variable, String> colours = new HashMap<>();
+        vars.forEach(var -> colours.put(var, ""));
+        int distinctColours = 1;
+
+        for (int round = 0; round < vars.size(); round++) {
+            Map<Variable, String> refined = refine(fragments, vars, colours);
+            int refinedDistinctColours = new HashSet<>(refined.values()).size();
+            colours.putAll(refined);
+            if (refinedDistinctColours == distinctColours) break;
+            distinctColours = refinedDistinctColours;
+        }
+
+        // variables that still share a colour are interchangeable as far as planning can tell, so any order will do
+        List<Variable> ordered = vars.stream()
+                .sorted(Comparator.comparing((Variable var) -> colours.get(var)).thenComparing(Variable::symbol))
+                .collect(Collectors.toList());
+        Map<Variable, String> names = new HashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            names.put(ordered.get(i), "v" + i);
+        }
+        return names;
+    }
+
+    private static Map<Variable, String> refine(Set<Fragment> fragments, Set<Variable> vars, Map<Variable, String> colours) {
+        Map<Variable, List<String>> neighbourhoods = new HashMap<>();
+        vars.forEach(var -> neighbourhoods.put(var, new ArrayList<>()));
+
+        for (Fragment fragment : fragments) {
+            List<String> varColours = fragment.vars().stream().map(colours::get).collect(Collectors.toList());
+            String dependencyColours = fragment.dependencies().stream().map(colours::get).sorted().collect(Collectors.joining(","));
+            int position = 0;
+            for (Variable var : fragment.vars()) {
+                neighbourhoods.get(var).add(fragment.shape() + "@" + position + varColours + "|" + dependencyColours);
+                position++;
+            }
+            for (Variable dependency : fragment.dependencies()) {
+                neighbourhoods.get(dependency).add(fragment.shape() + "@dependency" + varColours + "|" + dependencyColours);
+            }
+        }
+
+        Map<Variable, String> refined = new HashMap<>();
+        neighbourhoods.forEach((var, neighbourhood) -> {
+            neighbourhood.sort(Comparator.naturalOrder());
+            String colour = colours.get(var) + String.join(";", neighbourhood);
+            refined.put(var, Hashing.murmur3_128().hashString(colour, StandardCharsets.UTF_8).toString());
+        });
+        return refined;
+    }
+}
@@ -24,7 +24,6 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
-import grakn.core.graql.planning.gremlin.fragment.Fragments;
 import grakn.core.graql.planning.gremlin.fragment.InIsaFragment;
 import grakn.core.graql.planning.gremlin.fragment.InSubFragment;
 import grakn.core.graql.planning.gremlin.fragment.LabelFragment;
@@ -55,17 +54,17 @@ import static graql.lang.Graql.var;
 public class RelationTypeInference {
     // infer type of relation type if we know the type of the role players
     // add label fragment and isa fragment if we can infer any
-    public static Set<Fragment> inferRelationTypes(ConceptManager conceptManager, Set<Fragment> allFragments) {
+    public static Set<EquivalentFragmentSet> inferRelationTypes(ConceptManager conceptManager, Set<Fragment> allFragments) {
 
-        Set<Fragment> inferredFragments = new HashSet<>();
+        Set<EquivalentFragmentSet> inferredFragmentSets = new HashSet<>();
 
         Map<Variable, Type> labelVarTypeMap = getLabelVarTypeMap(conceptManager, allFragments);
-        if (labelVarTypeMap.isEmpty()) return inferredFragments;
+        if (labelVarTypeMap.isEmpty()) return inferredFragmentSets;
 
         Multimap<Variable, Type> instanceVarTypeMap = getInstanceVarTypeMap(allFragments, labelVarTypeMap);
 
         Multimap<Variable, Variable> relationRolePlayerMap = getRelationRolePlayerMap(allFragments, instanceVarTypeMap);
-        if (relationRolePlayerMap.isEmpty()) return inferredFragments;
+        if (relationRolePlayerMap.isEmpty()) return inferredFragmentSets;
 
         // for each type, get all possible relation type it could be in
         Multimap<Type, RelationType> relationMap = HashMultimap.create();
@@ -92,8 +91,7 @@ public class RelationTypeInference {
                 if (!inferredLabels.containsKey(label)) {
                     Statement labelVar = var();
                     inferredLabels.put(label, labelVar);
-                    Fragment labelFragment = Fragments.label(new TypeProperty(label.getValue()), labelVar.var(), ImmutableSet.of(label));
-                    inferredFragments.add(labelFragment);
+                    inferredFragmentSets.add(EquivalentFragmentSets.label(new TypeProperty(label.getValue()), labelVar.var(), ImmutableSet.of(label)));
                 }
 
                 // finally, add inferred isa fragments
@@ -101,11 +99,11 @@ public class RelationTypeInference {
                 IsaProperty isaProperty = new IsaProperty(labelVar);
                 EquivalentFragmentSet isaEquivalentFragmentSet = EquivalentFragmentSets.isa(isaProperty,
                         relationVar, labelVar.var(), relationType.isImplicit());
-                inferredFragments.addAll(isaEquivalentFragmentSet.fragments());
+                inferredFragmentSets.add(isaEquivalentFragmentSet);
             }
         });
 
-        return inferredFragments;
+        return inferredFragmentSets;
     }
 
     // find all vars with direct or indirect out isa edges
@@ -0,0 +1,192 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.planning;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import grakn.core.core.Schema;
+import grakn.core.graql.planning.gremlin.fragment.LabelFragment;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.graql.planning.gremlin.Fragment;
+import grakn.core.kb.keyspace.KeyspaceSchemaCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Query plans of a keyspace, shared by all its transactions and keyed on normalised conjunctions, so that
+ * queries which only differ by variable names, ids or values are planned once.
+ * <p>
+ * A plan is dropped when the schema of the keyspace is committed after the plan was made, or when the instance count
+ * of any type the plan starts from has drifted by more than the given fraction since the plan was made.
+ * Plans only order fragments, so a stale plan is slower but never wrong.
+ * <p>
+ * The estimated costs of filters that read the keyspace to be estimated, such as value ranges, are cached alongside
+ * the plans. They are dropped when the schema is committed, or when the number of attributes has drifted.
+ */
+public class TraversalPlanCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TraversalPlanCache.class);
+
+    // counts below this are too small for their drift to change a plan
+    private static final long MIN_DRIFT_COUNT = 100;
+
+    private final KeyspaceSchemaCache keyspaceSchemaCache;
+    private final Cache<String, CachedPlan> plans;
+    private final Cache<String, CachedCost> filterCosts;
+    private final double statisticsDriftThreshold;
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+
+    public TraversalPlanCache(KeyspaceSchemaCache keyspaceSchemaCache, int maximumSize, double statisticsDriftThreshold) {
+        this.keyspaceSchemaCache = keyspaceSchemaCache;
+        this.plans = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        this.filterCosts = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        this.statisticsDriftThreshold = statisticsDriftThreshold;
+    }
+
+    /**
+     * @param conjunction   the conjunction to find a plan for
+     * @param instanceCount the current instance count of a type, including its subtypes
+     * @return the fragments of the conjunction in planned order, or null if there is no up to date plan for it
+     */
+    @Nullable
+    List<Fragment> get(NormalisedConjunction conjunction, ToLongFunction<Label> instanceCount) {
+        CachedPlan cachedPlan = plans.getIfPresent(conjunction.key());
+        List<Fragment> plan = null;
+        if (cachedPlan != null) {
+            if (cachedPlan.schemaVersion != keyspaceSchemaCache.schemaVersion() || hasDrifted(cachedPlan, instanceCount)) {
+                plans.invalidate(conjunction.key());
+            } else {
+                plan = conjunction.reorder(cachedPlan.signatures);
+            }
+        }
+
+        if (plan != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            LOG.debug("Plan cache miss, hits: {}, misses: {}", hits.get(), misses.get());
+        }
+        return plan;
+    }
+
+    /**
+     * @param conjunction   the conjunction the plan was made for
+     * @param plan          the fragments of the conjunction in planned order
+     * @param instanceCount the current instance count of a type, including its subtypes
+     */
+    void put(NormalisedConjunction conjunction, List<Fragment> plan, ToLongFunction<Label> instanceCount) {
+        Map<Label, Long> instanceCounts = new HashMap<>();
+        plan.stream()
+                .filter(fragment -> fragment instanceof LabelFragment)
+                .flatMap(fragment -> ((LabelFragment) fragment).labels().stream())
+                .forEach(label -> instanceCounts.computeIfAbsent(label, instanceCount::applyAsLong));
+        long schemaVersion = keyspaceSchemaCache.schemaVersion();
+        plans.put(conjunction.key(), new CachedPlan(conjunction.signatures(plan), instanceCounts, schemaVersion));
+    }
+
+    /**
+     * @param filter        identifies the filter fragment and the values it compares to
+     * @param estimate      estimates the cost of the filter, if there is no up to date estimate cached
+     * @param instanceCount the current instance count of a type, including its subtypes
+     * @return the estimated cost of the filter
+     */
+    double filterCost(String filter, DoubleSupplier estimate, ToLongFunction<Label> instanceCount) {
+        long attributeCount = instanceCount.applyAsLong(Schema.MetaSchema.ATTRIBUTE.getLabel());
+        CachedCost cachedCost = filterCosts.getIfPresent(filter);
+        if (cachedCost != null && cachedCost.schemaVersion == keyspaceSchemaCache.schemaVersion()
+                && !hasDrifted(cachedCost.attributeCount, attributeCount)) {
+            return cachedCost.cost;
+        }
+
+        long schemaVersion = keyspaceSchemaCache.schemaVersion();
+        double cost = estimate.getAsDouble();
+        filterCosts.put(filter, new CachedCost(cost, attributeCount, schemaVersion));
+        return cost;
+    }
+
+    private boolean hasDrifted(CachedPlan cachedPlan, ToLongFunction<Label> instanceCount) {
+        return cachedPlan.instanceCounts.entrySet().stream()
+                .anyMatch(entry -> hasDrifted(entry.getValue(), instanceCount.applyAsLong(entry.getKey())));
+    }
+
+    private boolean hasDrifted(long plannedCount, long currentCount) {
+        return Math.abs(currentCount - plannedCount) > statisticsDriftThreshold * Math.max(plannedCount, MIN_DRIFT_COUNT);
+    }
+
+    public void invalidateAll() {
+        plans.invalidateAll();
+        filterCosts.invalidateAll();
+    }
+
+    /**
+     * @return number of plans currently cached
+     */
+    public long size() {
+        return plans.size();
+    }
+
+    /**
+     * @return number of conjunctions that reused a cached plan
+     */
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of conjunctions that had to be planned
+     */
+    public long missCount() {
+        return misses.get();
+    }
+
+    private static class CachedPlan {
+        private final List<String> signatures;
+        private final Map<Label, Long> instanceCounts;
+        private final long schemaVersion;
+
+        CachedPlan(List<String> signatures, Map<Label, Long> instanceCounts, long schemaVersion) {
+            this.signatures = signatures;
+            this.instanceCounts = ImmutableMap.copyOf(instanceCounts);
+            this.schemaVersion = schemaVersion;
+        }
+    }
+
+    private static class CachedCost {
+        private final double cost;
+        private final long attributeCount;
+        private final long schemaVersion;
+
+        CachedCost(double cost, long attributeCount, long schemaVersion) {
+            this.cost = cost;
+            this.attributeCount = attributeCount;
+            this.schemaVersion = schemaVersion;
+        }
+    }
+}
@@ -28,7 +28,9 @@ import grakn.core.core.JanusTraversalSourceProvider;
 import grakn.core.graql.planning.gremlin.fragment.InIsaFragment;
 import grakn.core.graql.planning.gremlin.fragment.InSubFragment;
 import grakn.core.graql.planning.gremlin.fragment.LabelFragment;
+import grakn.core.graql.planning.gremlin.fragment.ValueFragment;
 import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.concept.api.Type;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.graql.executor.property.PropertyExecutorFactory;
@@ -52,6 +54,8 @@ import graql.lang.statement.Variable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -82,15 +86,26 @@ public class TraversalPlanFactoryImpl implements TraversalPlanFactory {
     private PropertyExecutorFactory propertyExecutorFactory;
     private final long shardingThreshold;
     private final KeyspaceStatistics keyspaceStatistics;
+    private final TraversalPlanCache planCache;
 
     public TraversalPlanFactoryImpl(JanusTraversalSourceProvider janusTraversalSourceProvider, ConceptManager conceptManager,
                                     PropertyExecutorFactory propertyExecutorFactory, long shardingThreshold,
                                     KeyspaceStatistics keyspaceStatistics) {
+        this(janusTraversalSourceProvider, conceptManager, propertyExecutorFactory, shardingThreshold, keyspaceStatistics, null);
+    }
+
+    /**
+     * @param planCache plans shared by the transactions of the keyspace, or null to plan every query from scratch
+     */
+    public TraversalPlanFactoryImpl(JanusTraversalSourceProvider janusTraversalSourceProvider, ConceptManager conceptManager,
+                                    PropertyExecutorFactory propertyExecutorFactory, long shardingThreshold,
+                                    KeyspaceStatistics keyspaceStatistics, @Nullable TraversalPlanCache planCache) {
         this.janusTraversalSourceProvider = janusTraversalSourceProvider;
         this.conceptManager = conceptManager;
         this.propertyExecutorFactory = propertyExecutorFactory;
         this.shardingThreshold = shardingThreshold;
         this.keyspaceStatistics = keyspaceStatistics;
+        this.planCache = planCache;
     }
 
     /**
@@ -117,16 +132,34 @@ public class TraversalPlanFactoryImpl implements TraversalPlanFactory {
      * @return a semi-optimal traversal plan to execute the given conjunction
      */
     private List<Fragment> planForConjunction(ConjunctionQuery query) {
-        // a query plan is an ordered list of fragments
-        List<Fragment> plan = new ArrayList<>();
-
         // flatten all the possible fragments from the conjunction query (these become edges in the query graph)
         Set<Fragment> allFragments = query.getEquivalentFragmentSets().stream()
                 .flatMap(EquivalentFragmentSet::stream).collect(Collectors.toSet());
 
         // if role players' types are known, we can infer the types of the relation, adding label & isa fragments
-        Set<Fragment> inferredFragments = inferRelationTypes(conceptManager, allFragments);
-        allFragments.addAll(inferredFragments);
+        Set<EquivalentFragmentSet> inferredFragmentSets = inferRelationTypes(conceptManager, allFragments);
+        inferredFragmentSets.forEach(fragmentSet -> allFragments.addAll(fragmentSet.fragments()));
+
+        if (planCache == null) return planForFragments(allFragments);
+
+        // reuse the plan of an earlier conjunction that only differed by variable names, ids or values
+        Set<EquivalentFragmentSet> fragmentSets = new HashSet<>(query.getEquivalentFragmentSets());
+        fragmentSets.addAll(inferredFragmentSets);
+        NormalisedConjunction normalisedConjunction = NormalisedConjunction.of(fragmentSets);
+        List<Fragment> cachedPlan = planCache.get(normalisedConjunction, this::instanceCount);
+        if (cachedPlan != null) {
+            LOG.trace("Cached Plan = {}", cachedPlan);
+            return cachedPlan;
+        }
+
+        List<Fragment> plan = planForFragments(allFragments);
+        planCache.put(normalisedConjunction, plan, this::instanceCount);
+        return plan;
+    }
+
+    private List<Fragment> planForFragments(Set<Fragment> allFragments) {
+        // a query plan is an ordered list of fragments
+        List<Fragment> plan = new ArrayList<>();
 
         // convert fragments into nodes - some fragments create virtual middle nodes to ensure the Janus edge is traversed
         ImmutableMap<NodeId, Node> queryGraphNodes = buildNodesWithDependencies(allFragments);
@@ -186,7 +219,7 @@ public class TraversalPlanFactoryImpl implements TraversalPlanFactory {
         // fragments that represent Janus edges
         Set<Fragment> edgeFragmentSet = new HashSet<>();
 
-        // save the fragments corresponding to edges, and updates some costs if we can via shard count
+        // save the fragments corresponding to edges, and updates their costs if we can via shard count or statistics
         for (Fragment fragment : connectedFragments) {
             if (fragment.end() != null) {
                 edgeFragmentSet.add(fragment);
@@ -196,7 +229,13 @@ public class TraversalPlanFactoryImpl implements TraversalPlanFactory {
                     if (nodesWithFixedCost.containsKey(type) && nodesWithFixedCost.get(type) > 0) {
                         fragment.setAccurateFragmentCost(nodesWithFixedCost.get(type));
                     }
+                } else {
+                    // weight edges such as role players by their fan-out in this keyspace, so skewed schemas are planned for
+                    fragment.setAccurateFragmentCost(fragment.estimatedFragmentCost(conceptManager, keyspaceStatistics));
                 }
+            } else if (!fragment.hasFixedFragmentCost()) {
+                // weight filters such as value ranges by their selectivity in this keyspace
+                fragment.setAccurateFragmentCost(filterCost(fragment));
             }
         }
 
@@ -338,9 +377,7 @@ public class TraversalPlanFactoryImpl implements TraversalPlanFactory {
 
             //TODO: this manipulation is to retain the previous behaviour, we need to update the query planner
             //to remove the sharding threshold dependency and make this more granular
-            double instanceCount = (conceptManager.getSchemaConcept(label).subs()
-                    .mapToLong(schemaConcept -> keyspaceStatistics.count(conceptManager, schemaConcept.label()))
-                    .sum() / shardingThreshold + shardLoadFactor ) * shardingThreshold;
+            double instanceCount = (instanceCount(label) / shardingThreshold + shardLoadFactor ) * shardingThreshold;
             logInstanceCount = Math.log(instanceCount);
         } else {
             logInstanceCount = -1D;
@@ -348,6 +385,25 @@ public class TraversalPlanFactoryImpl implements TraversalPlanFactory {
         return logInstanceCount;
     }
 
+    /**
+     * The selectivity of a value range is estimated by reading the ordered index, so it is cached with the plans of the
+     * keyspace rather than read each time a query is planned
+     */
+    private double filterCost(Fragment fragment) {
+        if (planCache == null || !(fragment instanceof ValueFragment)) {
+            return fragment.estimatedFragmentCost(conceptManager, keyspaceStatistics);
+        }
+        String estimateKey = ((ValueFragment) fragment).estimateKey();
+        return planCache.filterCost(estimateKey, () -> fragment.estimatedFragmentCost(conceptManager, keyspaceStatistics), this::instanceCount);
+    }
+
+    private long instanceCount(Label label) {
+        SchemaConcept schemaConcept = conceptManager.getSchemaConcept(label);
+        if (schemaConcept == null) return 0;
+        return schemaConcept.subs()
+                .mapToLong(sub -> keyspaceStatistics.count(conceptManager, sub.label()))
+                .sum();
+    }
 
     // if in-sub starts from an indexed supertype, update the fragment cost of in-isa starting from the subtypes
     private static void updateFixedCostSubsReachableByIndex(ImmutableMap<NodeId, Node> allNodes,
@@ -21,6 +21,8 @@ package grakn.core.graql.planning.gremlin.fragment;
 import com.google.common.collect.ImmutableSet;
 import grakn.core.core.Schema;
 import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.RelationType;
+import grakn.core.kb.concept.api.Role;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.graql.planning.spanningtree.graph.InstanceNode;
 import grakn.core.kb.graql.planning.spanningtree.graph.Node;
@@ -33,7 +35,9 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.ToDoubleFunction;
 
 import static grakn.core.graql.planning.gremlin.fragment.Fragments.displayOptionalTypeLabels;
 import static java.util.stream.Collectors.toSet;
@@ -72,6 +76,13 @@ abstract class AbstractRolePlayerFragment extends EdgeFragment {
         return "[" + Schema.EdgeLabel.ROLE_PLAYER.getLabel() + ":" + edge().symbol() + roleString + rels + roles + "]";
     }
 
+    final String innerShape() {
+        String roleString = role() != null ? " role" : "";
+        String rels = displayOptionalTypeLabels("rels", relationTypeLabels());
+        String roles = displayOptionalTypeLabels("roles", roleLabels());
+        return "[" + Schema.EdgeLabel.ROLE_PLAYER.getLabel() + roleString + rels + roles + "]";
+    }
+
     @Override
     final ImmutableSet<Variable> otherVars() {
         ImmutableSet.Builder<Variable> builder = ImmutableSet.<Variable>builder().add(edge());
@@ -97,6 +108,40 @@ abstract class AbstractRolePlayerFragment extends EdgeFragment {
     }
 
 
+    /**
+     * Estimate the cost of this fragment as the log of a per-role fan-out from the keyspace statistics, summed over
+     * the roles it traverses: its role labels if present, otherwise all roles of its relation types.
+     * Falls back to the internal fragment cost when the roles are unknown or have no statistics yet.
+     */
+    double estimatedFanOutCost(ConceptManager conceptManager, ToDoubleFunction<Label> roleFanOut) {
+        Set<Label> roles = traversedRoleLabels(conceptManager);
+        if (roles == null) return internalFragmentCost();
+
+        double fanOut = 0D;
+        boolean hasStatistics = false;
+        for (Label role : roles) {
+            double fanOutOfRole = roleFanOut.applyAsDouble(role);
+            if (fanOutOfRole >= 0) {
+                fanOut += fanOutOfRole;
+                hasStatistics = true;
+            }
+        }
+        return hasStatistics ? Math.log1p(fanOut) : internalFragmentCost();
+    }
+
+    @Nullable
+    private Set<Label> traversedRoleLabels(ConceptManager conceptManager) {
+        if (roleLabels() != null) return roleLabels();
+        if (relationTypeLabels() == null) return null;
+
+        return relationTypeLabels().stream()
+                .map(label -> conceptManager.getRelationType(label.getValue()))
+                .filter(Objects::nonNull)
+                .flatMap(RelationType::roles)
+                .map(Role::label)
+                .collect(toSet());
+    }
+
     static void applyLabelsToTraversal(
             GraphTraversal<?, Edge> traversal, Schema.EdgeProperty property,
             @Nullable Set<Label> typeLabels, ConceptManager conceptManager) {
@@ -37,6 +37,7 @@ import java.util.Objects;
 import java.util.stream.Stream;
 
 import static grakn.core.core.Schema.VertexProperty.INDEX;
+import static grakn.core.core.Schema.VertexProperty.VALUE_STRING;
 
 public class AttributeIndexFragment extends FragmentImpl {
 
@@ -53,12 +54,34 @@ public class AttributeIndexFragment extends FragmentImpl {
     public GraphTraversal<Vertex, ? extends Element> applyTraversalInner(
             GraphTraversal<Vertex, ? extends Element> traversal, ConceptManager conceptManager, Collection<Variable> vars) {
 
-        return traversal.has(INDEX.name(), attributeIndex());
+        AttributeType<Object> attributeType = conceptManager.getAttributeType(attributeLabel().getValue());
+        if (attributeType == null) return traversal.limit(0);
+
+        String index = conceptManager.attributeIndex(attributeType, attributeValue());
+        traversal.has(INDEX.name(), index);
+        // hashed indices are shared by the values colliding on the hash
+        if (Schema.isHashedAttributeIndex(index)) traversal.has(VALUE_STRING.name(), attributeValue());
+        return traversal;
+    }
+
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
+    @Override
+    public boolean bindsSingleConcept() {
+        return true;
     }
 
     @Override
     public String name() {
-        return "[index:" + attributeIndex() + "]";
+        return "[index:" + attributeLabel() + "-" + attributeValue() + "]";
+    }
+
+    @Override
+    public String shape() {
+        return "[index:" + attributeLabel() + "]";
     }
 
     @Override
@@ -79,11 +102,6 @@ public class AttributeIndexFragment extends FragmentImpl {
         return true;
     }
 
-    private String attributeIndex() {
-        String attributeIndex = Schema.generateAttributeIndex(attributeLabel(), attributeValue());
-        return attributeIndex;
-    }
-
     @Override
     public double estimatedCostAsStartingPoint(ConceptManager conceptManager, KeyspaceStatistics statistics) {
         // here we estimate the number of owners of an attribute instance of this type
@@ -51,6 +51,11 @@ class DataTypeFragment extends FragmentImpl {
         return traversal.has(DATA_TYPE.name(), dataType().name());
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
     @Override
     public String name() {
         return "[datatype:" + dataType().name() + "]";
@@ -214,11 +214,13 @@ public abstract class FragmentImpl implements Fragment {
                     // Restart traversal when fragments are disconnected
                     traversal.V();
                     selectVariable(traversal);
+                    seekStart(traversal, conceptManager);
                 }
             }
         } else {
             // this is the very start of the traversal, record the step using `as` as we haven't visited the variable yet
             selectVariable(traversal);
+            seekStart(traversal, conceptManager);
         }
 
         vars.add(start());
@@ -241,6 +243,15 @@ public abstract class FragmentImpl implements Fragment {
         return traversal;
     }
 
+    /**
+     * Narrows down the vertices a traversal starts from, when it starts from this fragment, e.g. by looking them up in
+     * an index rather than scanning all of them. The fragment is still applied to the vertices it starts from.
+     *
+     * @param traversal the traversal starting from all vertices
+     */
+    void seekStart(GraphTraversal<Vertex, ? extends Element> traversal, ConceptManager conceptManager) {
+    }
+
     static <T, U> GraphTraversal<T, U> assignVar(GraphTraversal<T, U> traversal, Variable var, Collection<Variable> vars) {
         if (!vars.contains(var)) {
             // This variable name has not been encountered before, remember it and use the 'as' step
@@ -297,6 +308,11 @@ public abstract class FragmentImpl implements Fragment {
         throw new UnsupportedOperationException("Fragment of type " + this.getClass() + " is not a fixed cost starting point - no esimated cost as a starting point.");
     }
 
+    @Override
+    public double estimatedFragmentCost(ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics) {
+        return internalFragmentCost();
+    }
+
     /**
      * If a fragment has fixed cost, the traversal is done using index. This makes the fragment a good starting point.
      * A plan should always start with these fragments when possible.
@@ -306,6 +322,25 @@ public abstract class FragmentImpl implements Fragment {
         return false;
     }
 
+    /**
+     * Fragments that branch (e.g. through role-players, plays or relates edges) may reach the same element through
+     * several paths, so this defaults to false and is only overridden by fragments known to be duplicate-free.
+     */
+    @Override
+    public boolean hasUniquePaths() {
+        return false;
+    }
+
+    @Override
+    public boolean bindsSingleConcept() {
+        return false;
+    }
+
+    @Override
+    public String shape() {
+        return name();
+    }
+
     @Override
     public Fragment getInverse() {
         return this;
@@ -96,11 +96,26 @@ class IdFragment extends FragmentImpl {
         );
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        return !canOperateOnEdges();
+    }
+
+    @Override
+    public boolean bindsSingleConcept() {
+        return !canOperateOnEdges();
+    }
+
     @Override
     public String name() {
         return "[id:" + id().getValue() + "]";
     }
 
+    @Override
+    public String shape() {
+        return "[id]";
+    }
+
     @Override
     public double internalFragmentCost() {
         return COST_NODE_INDEX;
@@ -137,6 +137,12 @@ public class InIsaFragment extends EdgeFragment {
                 .has(RELATION_TYPE_LABEL_ID.name(), __.where(P.eq(labelId.symbol())));
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        // edge instances are found by navigating the schema, which can reach the same edge more than once
+        return !mayHaveEdgeInstances();
+    }
+
     @Override
     public String name() {
         return String.format("<-[isa:%s]-", mayHaveEdgeInstances() ? "with-edges" : "");
@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableSet;
 import grakn.core.core.Schema;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.keyspace.KeyspaceStatistics;
 import graql.lang.property.VarProperty;
 import graql.lang.statement.Variable;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
@@ -141,11 +142,21 @@ class InRolePlayerFragment extends AbstractRolePlayerFragment {
         return "<-" + innerName() + "-";
     }
 
+    @Override
+    public String shape() {
+        return "<-" + innerShape() + "-";
+    }
+
     @Override
     public double internalFragmentCost() {
         return COST_RELATIONS_PER_INSTANCE;
     }
 
+    @Override
+    public double estimatedFragmentCost(ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics) {
+        return estimatedFanOutCost(conceptManager, role -> keyspaceStatistics.relationsPerRolePlayer(conceptManager, role));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == this) {
@@ -63,6 +63,11 @@ public class InSubFragment extends EdgeFragment {
         return Fragments.inSubs(Fragments.isVertex(traversal), subTraversalDepthLimit());
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
     @Override
     public String name() {
         if (subTraversalDepthLimit() == Fragments.TRAVERSE_ALL_SUB_EDGES) {
@@ -75,6 +75,16 @@ public class LabelFragment extends FragmentImpl {
         }
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
+    @Override
+    public boolean bindsSingleConcept() {
+        return labels().size() == 1;
+    }
+
     @Override
     public String name() {
         return "[label:" + labels().stream().map(Label::getValue).collect(joining(",")) + "]";
@@ -59,11 +59,21 @@ public class NeqFragment extends FragmentImpl {
         return traversal.where(P.neq(other().symbol()));
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
     @Override
     public String name() {
         return "[neq:" + other().symbol() + "]";
     }
 
+    @Override
+    public String shape() {
+        return "[neq]";
+    }
+
     @Override
     public double internalFragmentCost() {
         // This is arbitrary - we imagine about half the results are filtered out
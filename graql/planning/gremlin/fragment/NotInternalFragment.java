@@ -43,6 +43,11 @@ class NotInternalFragment extends FragmentImpl {
         return traversal.not(__.hasLabel(Schema.BaseType.SHARD.name()));
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
     @Override
     public String name() {
         return "[not-internal]";
@@ -71,6 +71,11 @@ public class OutIsaFragment extends EdgeFragment {
         return Fragments.traverseSchemaConceptFromEdge(Fragments.isEdge(__.start()), RELATION_TYPE_LABEL_ID);
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
     @Override
     public String name() {
         return "-[isa]->";
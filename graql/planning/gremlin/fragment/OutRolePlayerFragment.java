@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableSet;
 import grakn.core.core.Schema;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.keyspace.KeyspaceStatistics;
 import graql.lang.property.VarProperty;
 import graql.lang.statement.Variable;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
@@ -143,11 +144,21 @@ public class OutRolePlayerFragment extends AbstractRolePlayerFragment {
         return "-" + innerName() + "->";
     }
 
+    @Override
+    public String shape() {
+        return "-" + innerShape() + "->";
+    }
+
     @Override
     public double internalFragmentCost() {
         return roleLabels() != null ? COST_ROLE_PLAYERS_PER_ROLE : COST_ROLE_PLAYERS_PER_RELATION;
     }
 
+    @Override
+    public double estimatedFragmentCost(ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics) {
+        return estimatedFanOutCost(conceptManager, role -> keyspaceStatistics.rolePlayersPerRelation(conceptManager, role));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == this) {
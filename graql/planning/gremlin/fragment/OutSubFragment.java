@@ -63,6 +63,11 @@ public class OutSubFragment extends EdgeFragment {
         return Fragments.outSubs(Fragments.isVertex(traversal), this.subTraversalDepthLimit());
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
     @Override
     public String name() {
         if (subTraversalDepthLimit() == Fragments.TRAVERSE_ALL_SUB_EDGES) {
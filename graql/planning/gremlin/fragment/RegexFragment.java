@@ -51,6 +51,11 @@ class RegexFragment extends FragmentImpl {
         return traversal.has(REGEX.name(), regex());
     }
 
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
     @Override
     public String name() {
         return "[regex:" + StringUtil.valueToString(regex()) + "]";
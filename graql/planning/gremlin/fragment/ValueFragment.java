@@ -22,25 +22,36 @@ import grakn.core.core.Schema;
 import grakn.core.graql.planning.gremlin.value.ValueComparison;
 import grakn.core.graql.planning.gremlin.value.ValueOperation;
 import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.ConceptId;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
+import graql.lang.Graql;
 import graql.lang.property.VarProperty;
 import graql.lang.statement.Variable;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ValueFragment extends FragmentImpl {
 
+    // Number of attributes a traversal starting from this fragment looks up in the ordered index, beyond which it scans
+    private static final int SEEK_LIMIT = 100_000;
+    // Number of attributes counted in the ordered index to estimate the selectivity of a range
+    private static final int ESTIMATE_LIMIT = 1_000;
+
     private final ValueOperation<?, ?> operation;
 
     ValueFragment(@Nullable VarProperty varProperty, Variable start, ValueOperation<?, ?> operation) {
@@ -61,11 +72,125 @@ public class ValueFragment extends FragmentImpl {
         return predicate().apply(traversal);
     }
 
+    /**
+     * Only ranges seek into the ordered index: an equality is looked up in the composite index of values by the
+     * traversal itself, in a single read, where seeking would read the ordered index of every comparable type.
+     */
+    @Override
+    void seekStart(GraphTraversal<Vertex, ? extends Element> traversal, ConceptManager conceptManager) {
+        if (!isRange()) return;
+        List<ConceptId> attributeIds = attributesMatching(conceptManager, SEEK_LIMIT);
+        // without an index to seek in, or with too many matches, the traversal scans all vertices
+        if (attributeIds == null) return;
+
+        if (attributeIds.isEmpty()) {
+            // an empty set of ids would not restrict the vertices at all
+            traversal.limit(0);
+        } else {
+            traversal.hasId(P.within(attributeIds.stream().map(Schema::elementId).collect(Collectors.toList())));
+        }
+    }
+
+    /**
+     * @return identifies the estimated cost of this fragment: the comparison, and the value it compares to with its class
+     */
+    public String estimateKey() {
+        return predicate().comparator() + ":" + predicate().value().getClass().getName() + ":" + predicate().value();
+    }
+
+    private boolean isRange() {
+        if (operation instanceof ValueComparison.Variable) return false;
+        switch (predicate().comparator()) {
+            case GT:
+            case GTE:
+            case LT:
+            case LTE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Looks the values up in the ordered index of each attribute type of a comparable data type. Values compared to
+     * another data type are converted to it, widening the bounds so that the ids found include all the matching ones.
+     *
+     * @return the ids of the attributes with a value satisfying the predicate, or null if there are more than the limit
+     * or the values of some attribute type are not ordered by an index
+     */
+    @Nullable
+    private List<ConceptId> attributesMatching(ConceptManager conceptManager, int limit) {
+        Object value = predicate().valueSerialised();
+        Graql.Token.Comparator comparator = predicate().comparator();
+        boolean lowerBounded = !comparator.equals(Graql.Token.Comparator.LT) && !comparator.equals(Graql.Token.Comparator.LTE);
+        boolean upperBounded = !comparator.equals(Graql.Token.Comparator.GT) && !comparator.equals(Graql.Token.Comparator.GTE);
+        boolean inclusive = !comparator.equals(Graql.Token.Comparator.GT) && !comparator.equals(Graql.Token.Comparator.LT);
+
+        List<ConceptId> attributeIds = new ArrayList<>();
+        for (AttributeType<?> type : comparableTypes(conceptManager)) {
+            Class<?> valueClass = Schema.VertexProperty.ofDataType(type.dataType()).getPropertyClass();
+            Object lower = lowerBounded ? convertBound(value, valueClass, false) : null;
+            Object upper = upperBounded ? convertBound(value, valueClass, true) : null;
+            if ((lowerBounded && lower == null) || (upperBounded && upper == null)) return null;
+
+            boolean inclusiveBounds = inclusive || !valueClass.isInstance(value);
+            List<ConceptId> typeAttributeIds = conceptManager.attributesInRange(
+                    type, lower, inclusiveBounds, upper, inclusiveBounds, limit + 1 - attributeIds.size());
+            if (typeAttributeIds == null) return null;
+            attributeIds.addAll(typeAttributeIds);
+            if (attributeIds.size() > limit) return null;
+        }
+        return attributeIds;
+    }
+
+    /**
+     * @return the attribute types whose values may be compared to the value of the predicate
+     */
+    private List<AttributeType<?>> comparableTypes(ConceptManager conceptManager) {
+        Set<AttributeType.DataType<?>> dataTypes = AttributeType.DataType.of(predicate().value().getClass()).comparableDataTypes();
+        List<AttributeType<?>> types = new ArrayList<>();
+        for (Iterator<AttributeType> it = conceptManager.getMetaAttributeType().subs().iterator(); it.hasNext(); ) {
+            AttributeType<?> type = it.next();
+            if (type.dataType() != null && dataTypes.contains(type.dataType())) types.add(type);
+        }
+        return types;
+    }
+
+    /**
+     * @return the bound converted to the class of the values it is compared to, rounded away from the values it bounds,
+     * or null if it cannot be converted
+     */
+    @Nullable
+    private static Object convertBound(Object bound, Class<?> valueClass, boolean upper) {
+        if (valueClass.isInstance(bound)) return bound;
+        if (!(bound instanceof Number)) return null;
+
+        double number = ((Number) bound).doubleValue();
+        if (valueClass.equals(Long.class)) {
+            return (long) (upper ? Math.ceil(number) : Math.floor(number));
+        } else if (valueClass.equals(Double.class)) {
+            // a long may not be exactly representable as a double
+            return upper ? Math.nextUp(number) : Math.nextDown(number);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean hasUniquePaths() {
+        return true;
+    }
+
     @Override
     public String name() {
         return "[value:" + predicate() + "]";
     }
 
+    @Override
+    public String shape() {
+        return "[value:" + predicate().comparator() + "]";
+    }
+
     @Override
     public double internalFragmentCost() {
         if (predicate().isValueEquality()) {
@@ -76,6 +201,20 @@ public class ValueFragment extends FragmentImpl {
         }
     }
 
+    @Override
+    public double estimatedFragmentCost(ConceptManager conceptManager, KeyspaceStatistics statistics) {
+        if (!isRange()) return internalFragmentCost();
+        List<ConceptId> attributeIds = attributesMatching(conceptManager, ESTIMATE_LIMIT);
+        if (attributeIds == null) return internalFragmentCost();
+
+        long totalAttributes = 0;
+        for (AttributeType<?> type : comparableTypes(conceptManager)) {
+            totalAttributes += statistics.count(conceptManager, type.label());
+        }
+        // the statistics may lag behind the index, a filter never adds values
+        return Math.min(0D, Math.log((attributeIds.size() + 1D) / (totalAttributes + 1D)));
+    }
+
     @Override
     public boolean hasFixedFragmentCost() {
         return predicate().isValueEquality() && dependencies().isEmpty();
@@ -0,0 +1,104 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.reasoner;
+
+import grakn.core.core.JanusTraversalSourceProvider;
+import grakn.core.graql.reasoner.state.ResolutionBranch;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>
+ * Opt-in parallel resolution for the queries of a single transaction.
+ *
+ * The fork-join pool is bounded and shared by all transactions of the server. Its parallelism also bounds the number
+ * of rule branches a single ResolutionIterator explores concurrently. Workers are bound to the transaction for the
+ * duration of a branch so that they can traverse the graph on its behalf, which requires the transaction to be
+ * multi-threaded. Closing the transaction cancels its outstanding branches and waits for the running ones to stop.
+ * </p>
+ */
+public class ParallelResolution {
+
+    private final ForkJoinPool pool;
+    private final JanusTraversalSourceProvider traversalSourceProvider;
+    // Branches submitted and not finished yet, guarded by this
+    private final Set<ResolutionBranch> outstandingBranches = new HashSet<>();
+    private boolean closed = false;
+
+    public ParallelResolution(ForkJoinPool pool, JanusTraversalSourceProvider traversalSourceProvider) {
+        this.pool = pool;
+        this.traversalSourceProvider = traversalSourceProvider;
+    }
+
+    /**
+     * @return maximum number of branches resolved concurrently per query
+     */
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Runs the branch on a worker bound to the transaction
+     * @param branch work to be done on behalf of the transaction
+     * @param onCompletion invoked on the worker once the branch is done, failed or cancelled
+     * @return false if the transaction is closing and the branch was not submitted
+     */
+    synchronized boolean execute(ResolutionBranch branch, Runnable onCompletion) {
+        if (closed) return false;
+        // initialise the traversal source on the transaction thread before workers share it
+        traversalSourceProvider.getTinkerTraversal();
+        outstandingBranches.add(branch);
+        pool.execute(() -> {
+            traversalSourceProvider.bindCurrentThread();
+            try {
+                branch.run();
+            } finally {
+                traversalSourceProvider.unbindCurrentThread();
+                completed(branch);
+                onCompletion.run();
+            }
+        });
+        return true;
+    }
+
+    private synchronized void completed(ResolutionBranch branch) {
+        outstandingBranches.remove(branch);
+        if (outstandingBranches.isEmpty()) notifyAll();
+    }
+
+    /**
+     * Cancels all outstanding branches and waits for the running ones to stop, so that no worker uses the
+     * transaction once it is closed. Branches can no longer be submitted afterwards.
+     */
+    public synchronized void close() {
+        closed = true;
+        outstandingBranches.forEach(ResolutionBranch::cancel);
+        while (!outstandingBranches.isEmpty()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
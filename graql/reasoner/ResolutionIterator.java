@@ -23,21 +23,32 @@ import grakn.core.concept.answer.ConceptMap;
 import grakn.core.graql.reasoner.cache.MultilevelSemanticCache;
 import grakn.core.graql.reasoner.query.ReasonerAtomicQuery;
 import grakn.core.graql.reasoner.query.ResolvableQuery;
+import grakn.core.graql.reasoner.state.ResolutionBranch;
 import grakn.core.graql.reasoner.state.ResolutionState;
 import grakn.core.graql.reasoner.unifier.UnifierImpl;
+import grakn.core.kb.graql.reasoner.ReasonerException;
 import grakn.core.kb.graql.reasoner.cache.QueryCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
 
 /**
  *
  * <p>
  * Iterator for query answers maintaining the iterative behaviour of the QSQ scheme.
+ *
+ * With ParallelResolution, rule applications are forked as ResolutionBranches, up to the configured parallelism,
+ * while this iterator keeps exploring the rest of the tree. Answers of a branch rejoin the tree once the branch is
+ * complete and are consumed on the iterator's thread. Closing the stream of the iterator cancels its running branches.
  * </p>
  *
  *
@@ -52,19 +63,38 @@ public class ResolutionIterator extends ReasonerQueryIterator {
     private final QueryCache queryCache;
     private final Stack<ResolutionState> states = new Stack<>();
 
+    @Nullable
+    private final ParallelResolution parallelResolution;
+    private final BlockingQueue<ResolutionBranch> completedBranches = new LinkedBlockingQueue<>();
+    private final Set<ResolutionBranch> runningBranches = new HashSet<>();
+
     private ConceptMap nextAnswer = null;
 
     private static final Logger LOG = LoggerFactory.getLogger(ResolutionIterator.class);
 
     public ResolutionIterator(ResolvableQuery q, Set<ReasonerAtomicQuery> subGoals, QueryCache queryCache){
+        this(q, subGoals, queryCache, null);
+    }
+
+    public ResolutionIterator(ResolvableQuery q, Set<ReasonerAtomicQuery> subGoals, QueryCache queryCache,
+                              @Nullable ParallelResolution parallelResolution){
         this.query = q;
         this.subGoals = subGoals;
         this.queryCache = queryCache;
+        // workers resolve their branches sequentially, so that they never wait on other workers
+        this.parallelResolution = ForkJoinTask.inForkJoinPool() ? null : parallelResolution;
         states.push(query.resolutionState(new ConceptMap(), new UnifierImpl(), null, subGoals));
     }
 
     private ConceptMap findNextAnswer(){
-        while(!states.isEmpty()) {
+        while(!states.isEmpty() || !runningBranches.isEmpty()) {
+            ResolutionBranch completed = states.isEmpty() ? awaitBranch() : completedBranches.poll();
+            if (completed != null) {
+                runningBranches.remove(completed);
+                completed.join().forEach(states::push);
+                continue;
+            }
+
             ResolutionState state = states.pop();
 
             LOG.trace("state: {}", state);
@@ -76,7 +106,7 @@ public class ResolutionIterator extends ReasonerQueryIterator {
             ResolutionState newState = state.generateChildState();
             if (newState != null) {
                 if (!state.isAnswerState()) states.push(state);
-                states.push(newState);
+                if (!fork(newState)) states.push(newState);
             } else {
                 LOG.trace("new state: NULL");
             }
@@ -84,6 +114,44 @@ public class ResolutionIterator extends ReasonerQueryIterator {
         return null;
     }
 
+    /**
+     * Resolves the state as a branch on a worker, if it's a rule application and there is a free worker
+     * @param state freshly generated state to be resolved
+     * @return true if the state was forked
+     */
+    private boolean fork(ResolutionState state){
+        if (parallelResolution == null || runningBranches.size() >= parallelResolution.parallelism()) return false;
+        ResolutionBranch branch = ResolutionBranch.of(state);
+        if (branch == null) return false;
+        if (!parallelResolution.execute(branch, () -> completedBranches.add(branch))) return false;
+
+        LOG.trace("forked branch: {}", state);
+        runningBranches.add(branch);
+        return true;
+    }
+
+    /**
+     * Cancels the branches still running once the answers of this iterator are no longer needed
+     */
+    private void cancelBranches(){
+        runningBranches.forEach(ResolutionBranch::cancel);
+        runningBranches.clear();
+    }
+
+    @Override
+    public Stream<ConceptMap> hasStream() {
+        return super.hasStream().onClose(this::cancelBranches);
+    }
+
+    private ResolutionBranch awaitBranch(){
+        try {
+            return completedBranches.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ReasonerException.resolutionInterrupted();
+        }
+    }
+
     @Override
     public ConceptMap next(){
         if (nextAnswer == null) throw new NoSuchElementException();
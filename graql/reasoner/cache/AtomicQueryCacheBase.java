@@ -57,17 +57,17 @@ public abstract class AtomicQueryCacheBase<
         super(executorFactory, traversalPlanFactory);
     }
 
-    public boolean isDBComplete(ReasonerAtomicQuery query){
+    public synchronized boolean isDBComplete(ReasonerAtomicQuery query){
         return dbCompleteEntries.contains(queryToKey(query))
                 || dbCompleteQueries.contains(query);
     }
 
-    public boolean isComplete(ReasonerAtomicQuery query){
+    public synchronized boolean isComplete(ReasonerAtomicQuery query){
         return completeEntries.contains(queryToKey(query))
                 || completeQueries.contains(query);
     }
 
-    public void ackCompleteness(ReasonerAtomicQuery query) {
+    public synchronized void ackCompleteness(ReasonerAtomicQuery query) {
         ackDBCompleteness(query);
         if (query.getAtom().getPredicates(IdPredicate.class).findFirst().isPresent()) {
             completeQueries.add(query);
@@ -76,7 +76,7 @@ public abstract class AtomicQueryCacheBase<
         }
     }
 
-    public void ackDBCompleteness(ReasonerAtomicQuery query){
+    public synchronized void ackDBCompleteness(ReasonerAtomicQuery query){
         if (query.getAtom().getPredicates(IdPredicate.class).findFirst().isPresent()) {
             dbCompleteQueries.add(query);
         } else {
@@ -115,7 +115,7 @@ public abstract class AtomicQueryCacheBase<
     }
 
     @Override
-    public void clear(){
+    public synchronized void clear(){
         super.clear();
         clearCompleteness();
     }
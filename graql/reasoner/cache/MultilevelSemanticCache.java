@@ -36,7 +36,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -115,10 +117,13 @@ public class MultilevelSemanticCache extends SemanticCache<Equivalence.Wrapper<R
         MultiUnifier multiUnifier = equivalentQuery.getMultiUnifier(query, unifierType());
         Preconditions.checkState(!multiUnifier.isEmpty());
 
+        //NB: we stream a copy of the cached answers as the entry can get new answers while the stream is consumed
+        List<ConceptMap> cachedAnswers = multiUnifier.inverse()
+                .apply(answerIndex)
+                .flatMap(index -> answers.get(index).stream())
+                .collect(Collectors.toList());
         return new Pair<>(
-                multiUnifier.inverse()
-                        .apply(answerIndex)
-                        .flatMap(index -> answers.get(index).stream())
+                cachedAnswers.stream()
                         .flatMap(multiUnifier::apply)
                 .map(ans -> ans.withPattern(query.getPattern())),
                 multiUnifier
@@ -126,7 +131,7 @@ public class MultilevelSemanticCache extends SemanticCache<Equivalence.Wrapper<R
     }
 
     @Override
-    public boolean answersQuery(ReasonerAtomicQuery query) {
+    public synchronized boolean answersQuery(ReasonerAtomicQuery query) {
         CacheEntry<ReasonerAtomicQuery, IndexedAnswerSet> entry = getEntry(query);
         if (entry == null) return false;
         ReasonerAtomicQuery cacheQuery = entry.query();
@@ -41,6 +41,7 @@ import java.util.stream.Stream;
  * Base class for storing query resolutions based on alpha-equivalence.
  * A one-to-one mapping is ensured between queries and entries.
  * On retrieval, a relevant entry is identified by means of a query alpha-equivalence check.
+ * Access is synchronised on the cache, which is shared by rule branches resolved in parallel.
  *
  * @param <Q>  the type of query that is being cached
  * @param <R>  the type of answer being cached
@@ -68,7 +69,7 @@ public abstract class QueryCacheBase<
     abstract Q keyToQuery(QE key);
 
     @Override
-    public void clear() {
+    public synchronized void clear() {
         cache.clear();
         sCache.clear();
     }
@@ -79,27 +80,27 @@ public abstract class QueryCacheBase<
     StructuralCache<Q> structuralCache() { return sCache;}
 
     @Override
-    public CacheEntry<Q, SE> record(Q query, ConceptMap answer) {
+    public synchronized CacheEntry<Q, SE> record(Q query, ConceptMap answer) {
         return record(query, answer, null, null);
     }
 
     @Override
-    public R getAnswers(Q query) { return getAnswersWithUnifier(query).first(); }
+    public synchronized R getAnswers(Q query) { return getAnswersWithUnifier(query).first(); }
 
     @Override
-    public Stream<ConceptMap> getAnswerStream(Q query) { return getAnswerStreamWithUnifier(query).first(); }
+    public synchronized Stream<ConceptMap> getAnswerStream(Q query) { return getAnswerStreamWithUnifier(query).first(); }
 
     @Override
-    public boolean contains(Q query) { return getEntry(query) != null; }
+    public synchronized boolean contains(Q query) { return getEntry(query) != null; }
 
     @Override
-    public Set<Q> queries(){ return cache.keySet().stream().map(this::keyToQuery).collect(Collectors.toSet());}
+    public synchronized Set<Q> queries(){ return cache.keySet().stream().map(this::keyToQuery).collect(Collectors.toSet());}
 
     /**
      * @param query to find unifier for
      * @return unifier that unifies this query with the cache equivalent
      */
-    public MultiUnifier getCacheUnifier(Q query) {
+    public synchronized MultiUnifier getCacheUnifier(Q query) {
         CacheEntry<Q, SE> entry = getEntry(query);
         return entry != null ? query.getMultiUnifier(entry.query(), unifierType()) : null;
     }
@@ -108,7 +109,7 @@ public abstract class QueryCacheBase<
      * @param query for which the entry is to be retrieved
      * @return corresponding cache entry if any or null
      */
-    public CacheEntry<Q, SE> getEntry(Q query) {
+    public synchronized CacheEntry<Q, SE> getEntry(Q query) {
         return cache.get(queryToKey(query));
     }
 
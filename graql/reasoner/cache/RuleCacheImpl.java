@@ -42,6 +42,8 @@ import java.util.stream.Stream;
 /**
  * Caches rules applicable to schema concepts and their conversion to InferenceRule object (parsing is expensive when large number of rules present).
  * NB: non-committed rules are also cached.
+ * NB: access is synchronised as rule branches resolved in parallel share the cache. The query cache may be locked
+ * while this cache is (when inferred instances are inserted) but never the other way round.
  */
 public class RuleCacheImpl implements RuleCache {
 
@@ -56,6 +58,7 @@ public class RuleCacheImpl implements RuleCache {
     private Set<Rule> unmatchableRules = new HashSet<>();
     private Set<Rule> checkedRules = new HashSet<>();
     private ReasonerQueryFactory reasonerQueryFactory;
+    private boolean rulesMaterialised = false;
 
     public RuleCacheImpl(ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics) {
         this.conceptManager = conceptManager;
@@ -82,7 +85,7 @@ public class RuleCacheImpl implements RuleCache {
      * @param rule to be appended
      */
     @Override
-    public void ackRuleInsertion(Rule rule) {
+    public synchronized void ackRuleInsertion(Rule rule) {
         Pattern thenPattern = rule.then();
         if (thenPattern == null) return;
         //NB: thenTypes() will be empty as type edges added on commit
@@ -130,7 +133,7 @@ public class RuleCacheImpl implements RuleCache {
      */
     @Override
     @VisibleForTesting
-    public Stream<Rule> getRulesWithType(Type type) {
+    public synchronized Stream<Rule> getRulesWithType(Type type) {
         return getRulesWithType(type, false);
     }
 
@@ -139,7 +142,7 @@ public class RuleCacheImpl implements RuleCache {
      * @return true if any of the provided types is absent - doesn't have instances
      */
     @Override
-    public boolean absentTypes(Set<Type> types) {
+    public synchronized boolean absentTypes(Set<Type> types) {
         return types.stream().anyMatch(t -> !typeHasInstances(t));
     }
 
@@ -148,7 +151,7 @@ public class RuleCacheImpl implements RuleCache {
      * @param type to be acked
      */
     @Override
-    public void ackTypeInstanceInsertion(Type type){
+    public synchronized void ackTypeInstanceInsertion(Type type){
         checkedTypes.add(type);
         absentTypes.remove(type);
     }
@@ -159,7 +162,8 @@ public class RuleCacheImpl implements RuleCache {
      * @return rules containing specified type in the head
      */
     @Override
-    public Stream<Rule> getRulesWithType(Type type, boolean direct) {
+    public synchronized Stream<Rule> getRulesWithType(Type type, boolean direct) {
+        if (rulesMaterialised) return Stream.empty();
         if (type == null) return getRules();
 
         Set<Rule> match = ruleMap.get(type);
@@ -216,7 +220,7 @@ public class RuleCacheImpl implements RuleCache {
      * @param rule      for which the parsed rule should be retrieved
      * @return parsed rule object
      */
-    public InferenceRule getRule(Rule rule) {
+    public synchronized InferenceRule getRule(Rule rule) {
         InferenceRule match = ruleConversionMap.get(rule);
         if (match != null) return match;
 
@@ -225,11 +229,21 @@ public class RuleCacheImpl implements RuleCache {
         return newMatch;
     }
 
+    @Override
+    public synchronized void setRulesMaterialised(boolean materialised) {
+        this.rulesMaterialised = materialised;
+    }
+
+    @Override
+    public synchronized boolean rulesMaterialised() {
+        return rulesMaterialised;
+    }
+
     /**
      * cleans cache contents
      */
     @Override
-    public void clear() {
+    public synchronized void clear() {
         ruleMap.clear();
         ruleConversionMap.clear();
         absentTypes.clear();
@@ -86,7 +86,7 @@ public abstract class SemanticCache<
     }
 
     @Override
-    public boolean isComplete(ReasonerAtomicQuery query){
+    public synchronized boolean isComplete(ReasonerAtomicQuery query){
         if (super.isComplete(query)) return true;
         return getParents(query).stream()
                 .filter(q -> query.isSubsumedBy(keyToQuery(q)))
@@ -94,7 +94,7 @@ public abstract class SemanticCache<
     }
 
     @Override
-    public void clear(){
+    public synchronized void clear(){
         super.clear();
         families.clear();
         parents.clear();
@@ -124,13 +124,13 @@ public abstract class SemanticCache<
     }
 
     @Override
-    public void ackInsertion(){
+    public synchronized void ackInsertion(){
         //NB: we do a full completion flush to not add too much overhead to inserts
         clearCompleteness();
     }
 
     @Override
-    public void ackDeletion(Type type){
+    public synchronized void ackDeletion(Type type){
         //flush db complete queries
         clearQueryCompleteness();
 
@@ -146,7 +146,7 @@ public abstract class SemanticCache<
     /**
      * propagate answers within the cache (children fetch answers from parents)
      */
-    public void propagateAnswers(){
+    public synchronized void propagateAnswers(){
         queries().stream()
                 .filter(q -> !getParents(q).isEmpty())
                 .forEach(child -> {
@@ -157,13 +157,13 @@ public abstract class SemanticCache<
                 });
     }
 
-    public Set<QE> getParents(ReasonerAtomicQuery child) {
+    public synchronized Set<QE> getParents(ReasonerAtomicQuery child) {
         Set<QE> parents = this.parents.get(queryToKey(child));
         if (parents.isEmpty()) parents = computeParents(child);
         return parents;
     }
 
-    public Set<QE> getFamily(SchemaConcept type){
+    public synchronized Set<QE> getFamily(SchemaConcept type){
         return families.get(type);
     }
 
@@ -237,7 +237,7 @@ public abstract class SemanticCache<
     }
 
     @Override
-    public CacheEntry<ReasonerAtomicQuery, SE> record(
+    public synchronized CacheEntry<ReasonerAtomicQuery, SE> record(
             ReasonerAtomicQuery query,
             ConceptMap answer,
             @Nullable CacheEntry<ReasonerAtomicQuery, SE> entry,
@@ -268,7 +268,7 @@ public abstract class SemanticCache<
     }
 
     @Override
-    public Pair<Stream<ConceptMap>, MultiUnifier> getAnswerStreamWithUnifier(ReasonerAtomicQuery query) {
+    public synchronized Pair<Stream<ConceptMap>, MultiUnifier> getAnswerStreamWithUnifier(ReasonerAtomicQuery query) {
         CacheEntry<ReasonerAtomicQuery, SE> match = getEntry(query);
         boolean queryGround = query.isGround();
         boolean queryDBComplete = isDBComplete(query);
@@ -320,12 +320,12 @@ public abstract class SemanticCache<
     }
 
     @Override
-    public Set<ConceptMap> getAnswers(ReasonerAtomicQuery query) {
+    public synchronized Set<ConceptMap> getAnswers(ReasonerAtomicQuery query) {
         return getAnswerStream(query).collect(toSet());
     }
 
     @Override
-    public Pair<Set<ConceptMap>, MultiUnifier> getAnswersWithUnifier(ReasonerAtomicQuery query) {
+    public synchronized Pair<Set<ConceptMap>, MultiUnifier> getAnswersWithUnifier(ReasonerAtomicQuery query) {
         Pair<Stream<ConceptMap>, MultiUnifier> answerStreamWithUnifier = getAnswerStreamWithUnifier(query);
         return new Pair<>(
                 answerStreamWithUnifier.first().collect(toSet()),
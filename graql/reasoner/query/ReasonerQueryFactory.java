@@ -21,6 +21,7 @@ package grakn.core.graql.reasoner.query;
 
 import com.google.common.collect.Iterables;
 import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graql.reasoner.ParallelResolution;
 import grakn.core.graql.reasoner.atom.Atom;
 import grakn.core.graql.reasoner.atom.PropertyAtomicFactory;
 import grakn.core.kb.concept.manager.ConceptManager;
@@ -33,6 +34,7 @@ import graql.lang.pattern.Conjunction;
 import graql.lang.pattern.Pattern;
 import graql.lang.statement.Statement;
 
+import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Set;
 
@@ -44,16 +46,32 @@ public class ReasonerQueryFactory {
     private ExecutorFactory executorFactory;
     private PropertyAtomicFactory propertyAtomicFactory;
     private TraversalPlanFactory traversalPlanFactory;
+    private final ParallelResolution parallelResolution;
 
     public ReasonerQueryFactory(ConceptManager conceptManager, QueryCache queryCache, RuleCache ruleCache,
                                 ExecutorFactory executorFactory, PropertyAtomicFactory propertyAtomicFactory,
                                 TraversalPlanFactory traversalPlanFactory) {
+        this(conceptManager, queryCache, ruleCache, executorFactory, propertyAtomicFactory, traversalPlanFactory, null);
+    }
+
+    public ReasonerQueryFactory(ConceptManager conceptManager, QueryCache queryCache, RuleCache ruleCache,
+                                ExecutorFactory executorFactory, PropertyAtomicFactory propertyAtomicFactory,
+                                TraversalPlanFactory traversalPlanFactory, @Nullable ParallelResolution parallelResolution) {
         this.conceptManager = conceptManager;
         this.queryCache = queryCache;
         this.ruleCache = ruleCache;
         this.executorFactory = executorFactory;
         this.propertyAtomicFactory = propertyAtomicFactory;
         this.traversalPlanFactory = traversalPlanFactory;
+        this.parallelResolution = parallelResolution;
+    }
+
+    /**
+     * @return pool to resolve rule applications of top level queries with, null if they are resolved sequentially
+     */
+    @Nullable
+    public ParallelResolution parallelResolution() {
+        return parallelResolution;
     }
 
     /**
@@ -20,6 +20,7 @@
 package grakn.core.graql.reasoner.query;
 
 import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graql.reasoner.ParallelResolution;
 import grakn.core.graql.reasoner.ResolutionIterator;
 import grakn.core.graql.reasoner.atom.Atom;
 import grakn.core.graql.reasoner.state.AnswerPropagatorState;
@@ -32,6 +33,7 @@ import graql.lang.Graql;
 import graql.lang.query.GraqlGet;
 
 import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -134,12 +136,23 @@ public abstract class ResolvableQuery implements ReasonerQuery {
      */
     @CheckReturnValue
     public Stream<ConceptMap> resolve(Set<ReasonerAtomicQuery> subGoals){
+        return resolve(subGoals, null);
+    }
+
+    /**
+     *
+     * @param subGoals already visited subgoals
+     * @param parallelResolution pool to resolve rule applications with, null if they should be resolved sequentially
+     * @return stream of resolved answers
+     */
+    @CheckReturnValue
+    public Stream<ConceptMap> resolve(Set<ReasonerAtomicQuery> subGoals, @Nullable ParallelResolution parallelResolution){
         boolean doNotResolve = getAtoms().isEmpty() || (isPositive() && !isRuleResolvable());
         if (doNotResolve) {
             //NB: the flag actually doesn't affect the traverse method which doesn't use reasoning
             return executorFactory.transactional(true).traverse(getPattern());
         } else {
-            return new ResolutionIterator(this, subGoals, queryCache).hasStream();
+            return new ResolutionIterator(this, subGoals, queryCache, parallelResolution).hasStream();
         }
     }
 
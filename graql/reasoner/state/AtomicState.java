@@ -154,20 +154,23 @@ public class AtomicState extends AnswerPropagatorState<ReasonerAtomicQuery> {
                 unifier.keySet() :
                 ruleHead.getVarNames();
 
-        //materialise exhibits put behaviour - duplicates won't be created
-        ConceptMap materialisedSub = ruleHead.materialise(baseAnswer).findFirst().orElse(null);
         ConceptMap answer = baseAnswer;
-        if (materialisedSub != null) {
-            RuleExplanation ruleExplanation = new RuleExplanation(rule.getRule().id());
-            ConceptMap ruleAnswer = materialisedSub.explain(ruleExplanation, query.getPattern());
-            queryCache.record(ruleHead, ruleAnswer);
-            Atom ruleAtom = ruleHead.getAtom();
-            //if it's an implicit relation also record it as an attribute
-            if (ruleAtom.isRelation() && ruleAtom.getSchemaConcept() != null && ruleAtom.getSchemaConcept().isImplicit()) {
-                ReasonerAtomicQuery attributeHead = reasonerQueryFactory.atomic(ruleHead.getAtom().toAttributeAtom());
-                queryCache.record(attributeHead, ruleAnswer.project(attributeHead.getVarNames()));
+        //NB: insertions are serialised on the query cache, which rule branches resolved in parallel share
+        synchronized (queryCache) {
+            //materialise exhibits put behaviour - duplicates won't be created
+            ConceptMap materialisedSub = ruleHead.materialise(baseAnswer).findFirst().orElse(null);
+            if (materialisedSub != null) {
+                RuleExplanation ruleExplanation = new RuleExplanation(rule.getRule().id());
+                ConceptMap ruleAnswer = materialisedSub.explain(ruleExplanation, query.getPattern());
+                queryCache.record(ruleHead, ruleAnswer);
+                Atom ruleAtom = ruleHead.getAtom();
+                //if it's an implicit relation also record it as an attribute
+                if (ruleAtom.isRelation() && ruleAtom.getSchemaConcept() != null && ruleAtom.getSchemaConcept().isImplicit()) {
+                    ReasonerAtomicQuery attributeHead = reasonerQueryFactory.atomic(ruleHead.getAtom().toAttributeAtom());
+                    queryCache.record(attributeHead, ruleAnswer.project(attributeHead.getVarNames()));
+                }
+                answer = unifier.apply(materialisedSub.project(headVars));
             }
-            answer = unifier.apply(materialisedSub.project(headVars));
         }
         if (answer.isEmpty()) return answer;
 
@@ -0,0 +1,117 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.reasoner.state;
+
+import grakn.core.graql.reasoner.query.ReasonerAtomicQuery;
+import grakn.core.kb.graql.reasoner.ReasonerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Stack;
+
+/**
+ *
+ * <p>
+ * A rule application (RuleState) resolved to completion away from the resolution tree it belongs to.
+ *
+ * The branch resolves the rule body depth-first against its own copy of the visited sub goals. Answers reaching the
+ * atomic state the rule is applied to are collected rather than propagated, so that they can be handed back to the
+ * tree, which consumes them in the order the tree would have. Sub goals visited by the branch are merged back into the
+ * tree once it is done, as they have been fully resolved by then. A cancelled branch stops at its next resolution step.
+ * </p>
+ *
+ */
+public class ResolutionBranch implements Runnable {
+
+    private final Set<ReasonerAtomicQuery> treeSubGoals;
+    private final Set<ReasonerAtomicQuery> branchSubGoals;
+    private final RuleState root;
+    private final List<ResolutionState> answers = new ArrayList<>();
+    private Throwable failure = null;
+    private volatile boolean cancelled = false;
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResolutionBranch.class);
+
+    private ResolutionBranch(RuleState state) {
+        this.treeSubGoals = state.getVisitedSubGoals();
+        this.branchSubGoals = new HashSet<>(treeSubGoals);
+        this.root = state.withVisitedSubGoals(branchSubGoals);
+    }
+
+    /**
+     * @param state to be resolved as a branch
+     * @return branch resolving the state if the state is a rule application, null otherwise
+     */
+    public static ResolutionBranch of(ResolutionState state) {
+        return state instanceof RuleState ? new ResolutionBranch((RuleState) state) : null;
+    }
+
+    @Override
+    public void run() {
+        try {
+            AnswerPropagatorState target = root.getParentState();
+            Stack<ResolutionState> states = new Stack<>();
+            states.push(root);
+            while (!states.isEmpty() && !cancelled) {
+                ResolutionState state = states.pop();
+
+                LOG.trace("branch state: {}", state);
+
+                if (state.isAnswerState() && state.getParentState() == target) {
+                    answers.add(state);
+                    continue;
+                }
+
+                ResolutionState newState = state.generateChildState();
+                if (newState != null) {
+                    if (!state.isAnswerState()) states.push(state);
+                    states.push(newState);
+                }
+            }
+        } catch (Throwable e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Stops the branch, its answers are no longer needed
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Merges the branch into the tree it was taken from. Needs to be called from the thread resolving the tree,
+     * once the branch has run and its completion has been published to that thread.
+     * @return answer states of the rule application, to be propagated by the tree
+     */
+    public List<ResolutionState> join() {
+        if (cancelled) throw ReasonerException.resolutionCancelled();
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        if (failure != null) throw new RuntimeException(failure);
+        treeSubGoals.addAll(branchSubGoals);
+        return answers;
+    }
+}
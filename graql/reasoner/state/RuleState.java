@@ -65,6 +65,14 @@ public class RuleState extends AnswerPropagatorState<ResolvableQuery> {
         return !answer.isEmpty()? new AnswerState(answer, getUnifier(), getParentState(), rule) : null;
     }
 
+    /**
+     * @param visitedSubGoals set of visited sub goals the copy should record its sub goals in
+     * @return the same rule application resolved against a different set of visited sub goals
+     */
+    RuleState withVisitedSubGoals(Set<ReasonerAtomicQuery> visitedSubGoals) {
+        return new RuleState(rule, getSubstitution(), getUnifier(), getParentState(), visitedSubGoals);
+    }
+
     @Override
     ConceptMap consumeAnswer(AnswerState state) {
         return state.getSubstitution();
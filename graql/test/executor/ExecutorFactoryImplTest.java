@@ -0,0 +1,70 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.executor.util.DistinctKeySet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutorFactoryImplTest {
+
+    private ExecutorFactoryImpl executorFactory;
+
+    @Before
+    public void setUp() {
+        // spill every key straight away
+        Config config = Config.of(new Properties());
+        config.setConfigProperty(ConfigKey.DISTINCT_SPILL_THRESHOLD, 0);
+        executorFactory = new ExecutorFactoryImpl(null, null, null, null, config, null, null);
+    }
+
+    @Test
+    public void whenTransactionClosesBeforeAStreamIsExhausted_ItsSpilledKeysAreReleased() {
+        DistinctKeySet keys = executorFactory.openKeySet();
+        assertTrue(keys.add("V1".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(keys.spilled());
+
+        executorFactory.close();
+
+        assertFalse(keys.spilled());
+    }
+
+    @Test
+    public void whenKeysAreReleased_ClosingTheTransactionDoesNotCloseThemAgain() {
+        DistinctKeySet released = executorFactory.openKeySet();
+        released.add("V1".getBytes(StandardCharsets.UTF_8));
+        executorFactory.release(released);
+        assertFalse(released.spilled());
+
+        // a released set that is reused is no longer tracked by the transaction
+        released.add("V2".getBytes(StandardCharsets.UTF_8));
+        executorFactory.close();
+        assertTrue(released.spilled());
+        released.close();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.kb.concept.api.Concept;
+import grakn.core.kb.graql.exception.GraqlSemanticException;
+import grakn.core.kb.graql.executor.WriteExecutor;
+import grakn.core.kb.graql.executor.property.PropertyExecutor.Writer;
+import graql.lang.property.IdProperty;
+import graql.lang.property.VarProperty;
+import graql.lang.statement.Variable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class WriteExecutorImplTest {
+
+    private final Variable x = new Variable("x");
+    private final Variable y = new Variable("y");
+    private final Variable z = new Variable("z");
+
+    @Test
+    public void whenPlanIsShared_EachAnswerIsWrittenIndependently() {
+        Concept first = mock(Concept.class);
+        Concept second = mock(Concept.class);
+        List<Concept> written = new ArrayList<>();
+        Writer writer = new TestWriter(y, ImmutableSet.of(x), ImmutableSet.of(y), executor -> written.add(executor.getConcept(x)));
+
+        WriteExecutorImpl.Plan plan = WriteExecutorImpl.plan(ImmutableSet.of(writer));
+        ConceptMap firstAnswer = WriteExecutorImpl.create(null, plan).write(new ConceptMap(ImmutableMap.of(x, first)))
+                .collect(Collectors.toList()).get(0);
+        ConceptMap secondAnswer = WriteExecutorImpl.create(null, plan).write(new ConceptMap(ImmutableMap.of(x, second)))
+                .collect(Collectors.toList()).get(0);
+
+        assertEquals(Arrays.asList(first, second), written);
+        assertEquals(new ConceptMap(ImmutableMap.of(x, first)), firstAnswer);
+        assertEquals(new ConceptMap(ImmutableMap.of(x, second)), secondAnswer);
+    }
+
+    @Test
+    public void whenPlanIsShared_WritersRunInDependencyOrderForEachAnswer() {
+        List<String> executed = new ArrayList<>();
+        Writer dependant = new TestWriter(z, ImmutableSet.of(y), ImmutableSet.of(), executor -> executed.add("dependant"));
+        Writer producer = new TestWriter(y, ImmutableSet.of(x), ImmutableSet.of(y), executor -> executed.add("producer"));
+
+        WriteExecutorImpl.Plan plan = WriteExecutorImpl.plan(ImmutableSet.of(dependant, producer));
+        WriteExecutorImpl.create(null, plan).write(new ConceptMap(ImmutableMap.of(x, mock(Concept.class))));
+        WriteExecutorImpl.create(null, plan).write(new ConceptMap(ImmutableMap.of(x, mock(Concept.class))));
+
+        assertEquals(Arrays.asList("producer", "dependant", "producer", "dependant"), executed);
+    }
+
+    @Test
+    public void whenWritersDependOnEachOther_InsertRecursiveIsReportedForEachAnswer() {
+        List<String> executed = new ArrayList<>();
+        Writer xWriter = new TestWriter(x, ImmutableSet.of(y), ImmutableSet.of(x), executor -> executed.add("x"));
+        Writer yWriter = new TestWriter(y, ImmutableSet.of(x), ImmutableSet.of(y), executor -> executed.add("y"));
+
+        // the loop is only reported once the plan is run, as it was before plans were shared
+        WriteExecutorImpl.Plan plan = WriteExecutorImpl.plan(ImmutableSet.of(xWriter, yWriter));
+
+        for (int answer = 0; answer < 2; answer++) {
+            try {
+                WriteExecutorImpl.create(null, plan).write();
+                fail("Expected the recursive insert to be reported");
+            } catch (GraqlSemanticException e) {
+                assertTrue(e.getMessage().endsWith("should not refer to itself"));
+            }
+        }
+        assertEquals(0, executed.size());
+    }
+
+    /**
+     * A writer of a single property, running the given action
+     */
+    private static class TestWriter implements Writer {
+        private final Variable var;
+        private final VarProperty property;
+        private final Set<Variable> requiredVars;
+        private final Set<Variable> producedVars;
+        private final Consumer<WriteExecutor> action;
+
+        TestWriter(Variable var, Set<Variable> requiredVars, Set<Variable> producedVars, Consumer<WriteExecutor> action) {
+            this.var = var;
+            this.property = new IdProperty(var.toString());
+            this.requiredVars = requiredVars;
+            this.producedVars = producedVars;
+            this.action = action;
+        }
+
+        @Override
+        public Variable var() {
+            return var;
+        }
+
+        @Override
+        public VarProperty property() {
+            return property;
+        }
+
+        @Override
+        public Set<Variable> requiredVars() {
+            return requiredVars;
+        }
+
+        @Override
+        public Set<Variable> producedVars() {
+            return producedVars;
+        }
+
+        @Override
+        public void execute(WriteExecutor executor) {
+            action.accept(executor);
+        }
+    }
+}
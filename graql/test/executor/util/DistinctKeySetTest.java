@@ -0,0 +1,86 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor.util;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DistinctKeySetTest {
+
+    private static byte[] key(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void whenKeysStayBelowThreshold_DuplicatesAreDetectedInMemory() {
+        try (DistinctKeySet keys = new DistinctKeySet(10)) {
+            assertTrue(keys.add(key("V1")));
+            assertTrue(keys.add(key("V2")));
+            assertFalse(keys.add(key("V1")));
+            assertFalse(keys.spilled());
+        }
+    }
+
+    @Test
+    public void whenThresholdIsExceeded_KeysSpillToDiskAndDuplicatesAreStillDetected() {
+        try (DistinctKeySet keys = new DistinctKeySet(100)) {
+            for (int i = 0; i < 50_000; i++) {
+                assertTrue(keys.add(key("V" + i)));
+            }
+            assertTrue(keys.spilled());
+
+            for (int i = 0; i < 50_000; i++) {
+                assertFalse(keys.add(key("V" + i)));
+            }
+            assertTrue(keys.add(key("V50000")));
+        }
+    }
+
+    @Test
+    public void whenKeysAreLargerThanWriteBuffer_TheyAreStillDeduplicated() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.append('x');
+        }
+        String large = builder.toString();
+
+        try (DistinctKeySet keys = new DistinctKeySet(0)) {
+            assertTrue(keys.add(key(large)));
+            assertTrue(keys.add(key(large + "y")));
+            assertFalse(keys.add(key(large)));
+            assertFalse(keys.add(key(large + "y")));
+        }
+    }
+
+    @Test
+    public void whenKeysOnlyDifferInLength_TheyAreNotConsideredEqual() {
+        try (DistinctKeySet keys = new DistinctKeySet(0)) {
+            assertTrue(keys.add(new byte[]{1}));
+            assertTrue(keys.add(new byte[]{1, 0}));
+            assertTrue(keys.add(new byte[0]));
+            assertFalse(keys.add(new byte[]{1, 0}));
+            assertFalse(keys.add(new byte[0]));
+        }
+    }
+}
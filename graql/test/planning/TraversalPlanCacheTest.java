@@ -0,0 +1,174 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.planning;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import grakn.core.graql.executor.property.PropertyExecutorFactoryImpl;
+import grakn.core.graql.planning.gremlin.sets.EquivalentFragmentSets;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.EntityType;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.graql.planning.gremlin.EquivalentFragmentSet;
+import grakn.core.kb.graql.planning.gremlin.Fragment;
+import grakn.core.kb.keyspace.KeyspaceSchemaCache;
+import grakn.core.kb.keyspace.KeyspaceStatistics;
+import graql.lang.pattern.Pattern;
+import graql.lang.statement.Variable;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TraversalPlanCacheTest {
+
+    private static final Label PERSON = Label.of("person");
+
+    private KeyspaceSchemaCache schemaCache;
+    private KeyspaceStatistics statistics;
+    private TraversalPlanCache planCache;
+    private TraversalPlanFactoryImpl planFactory;
+
+    @Before
+    public void setUp() {
+        EntityType person = mock(EntityType.class);
+        when(person.label()).thenReturn(PERSON);
+        when(person.asType()).thenReturn(person);
+        Mockito.doAnswer(invocation -> Stream.of(person)).when(person).subs();
+
+        ConceptManager conceptManager = mock(ConceptManager.class);
+        when(conceptManager.getSchemaConcept(PERSON)).thenReturn(person);
+        when(conceptManager.getType(PERSON)).thenReturn(person);
+
+        statistics = mock(KeyspaceStatistics.class);
+        when(statistics.count(any(), any())).thenReturn(1000L);
+
+        schemaCache = new KeyspaceSchemaCache();
+        planCache = new TraversalPlanCache(schemaCache, 10, 0.5);
+        planFactory = new TraversalPlanFactoryImpl(null, conceptManager, new PropertyExecutorFactoryImpl(), 10000L, statistics, planCache);
+    }
+
+    private static Set<EquivalentFragmentSet> personWithId(String typeVar, String instanceVar, String id) {
+        return ImmutableSet.of(
+                EquivalentFragmentSets.label(null, new Variable(typeVar), ImmutableSet.of(PERSON)),
+                EquivalentFragmentSets.isa(null, new Variable(instanceVar), new Variable(typeVar), false),
+                EquivalentFragmentSets.id(null, new Variable(instanceVar), ConceptId.of(id))
+        );
+    }
+
+    private List<? extends Fragment> planFor(Pattern pattern) {
+        return Iterables.getOnlyElement(planFactory.createTraversal(pattern).fragments());
+    }
+
+    private static List<Class<?>> shapeOf(List<? extends Fragment> plan) {
+        return plan.stream().map(Object::getClass).collect(Collectors.toList());
+    }
+
+    @Test
+    public void whenConjunctionsOnlyDifferByVariablesAndIds_theyNormaliseToTheSameKey() {
+        NormalisedConjunction first = NormalisedConjunction.of(personWithId("t", "x", "V123"));
+        NormalisedConjunction second = NormalisedConjunction.of(personWithId("type", "y", "V456"));
+
+        assertEquals(first.key(), second.key());
+    }
+
+    @Test
+    public void whenConjunctionsDifferByLabel_theyNormaliseToDifferentKeys() {
+        Set<EquivalentFragmentSet> dogWithId = ImmutableSet.of(
+                EquivalentFragmentSets.label(null, new Variable("t"), ImmutableSet.of(Label.of("dog"))),
+                EquivalentFragmentSets.isa(null, new Variable("x"), new Variable("t"), false),
+                EquivalentFragmentSets.id(null, new Variable("x"), ConceptId.of("V123"))
+        );
+
+        assertNotEquals(NormalisedConjunction.of(personWithId("t", "x", "V123")).key(), NormalisedConjunction.of(dogWithId).key());
+    }
+
+    @Test
+    public void whenQueryOfTheSameShapeIsPlanned_theCachedPlanIsReappliedToIt() {
+        List<? extends Fragment> firstPlan = planFor(var("x").isa("person").id("V123"));
+        List<? extends Fragment> secondPlan = planFor(var("y").isa("person").id("V456"));
+
+        assertEquals(1, planCache.missCount());
+        assertEquals(1, planCache.hitCount());
+        assertEquals(shapeOf(firstPlan), shapeOf(secondPlan));
+        assertFalse(secondPlan.stream().anyMatch(fragment -> fragment.vars().contains(new Variable("x"))));
+    }
+
+    @Test
+    public void whenSchemaIsModified_cachedPlansAreDropped() {
+        planFor(var("x").isa("person").id("V123"));
+
+        schemaCache.schemaModified();
+        planFor(var("y").isa("person").id("V456"));
+
+        assertEquals(2, planCache.missCount());
+        assertEquals(0, planCache.hitCount());
+    }
+
+    @Test
+    public void whenStatisticsDrift_cachedPlansAreDropped() {
+        planFor(var("x").isa("person").id("V123"));
+
+        // within the drift threshold the plan is still used
+        when(statistics.count(any(), any())).thenReturn(1400L);
+        planFor(var("y").isa("person").id("V456"));
+        assertEquals(1, planCache.hitCount());
+
+        when(statistics.count(any(), any())).thenReturn(2000L);
+        planFor(var("z").isa("person").id("V789"));
+        assertEquals(1, planCache.hitCount());
+        assertEquals(2, planCache.missCount());
+    }
+
+    @Test
+    public void whenFilterCostIsCached_itIsOnlyEstimatedAgainAfterSchemaChangesOrAttributesDrift() {
+        AtomicInteger estimates = new AtomicInteger();
+        DoubleSupplier estimate = () -> {
+            estimates.incrementAndGet();
+            return -2D;
+        };
+
+        assertEquals(-2D, planCache.filterCost("GT:java.lang.Long:5", estimate, label -> 1000L), 0D);
+        assertEquals(-2D, planCache.filterCost("GT:java.lang.Long:5", estimate, label -> 1400L), 0D);
+        assertEquals(1, estimates.get());
+
+        planCache.filterCost("GT:java.lang.Long:5", estimate, label -> 2000L);
+        assertEquals(2, estimates.get());
+
+        schemaCache.schemaModified();
+        planCache.filterCost("GT:java.lang.Long:5", estimate, label -> 2000L);
+        assertEquals(3, estimates.get());
+    }
+}
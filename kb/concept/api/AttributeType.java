@@ -207,6 +207,36 @@ public interface AttributeType<D> extends Type {
     @Nullable
     String regex();
 
+    /**
+     * Retrieve the number of ownerships of instances of exactly this AttributeType that is saved as a property on
+     * this concept, each owner of an instance counting once
+     * @return the number of ownerships, or null if it is not saved
+     */
+    @Nullable
+    Long getOwnershipCount();
+
+    /**
+     * Retrieve the sum of the values owned of instances of exactly this AttributeType that is saved as a property
+     * on this concept, each value counting once per owner
+     * @return the sum of the owned values, or null if it is not saved
+     */
+    @Nullable
+    Double getOwnedValueSum();
+
+    /**
+     * Retrieve the sum of the squares of the values owned of instances of exactly this AttributeType that is saved
+     * as a property on this concept, each value counting once per owner
+     * @return the sum of the squares of the owned values, or null if it is not saved
+     */
+    @Nullable
+    Double getOwnedValueSquareSum();
+
+    /**
+     * Store the number of ownerships, the sum and the sum of squares of the owned values as properties on this
+     * concept. Storing nulls removes them.
+     */
+    void writeOwnedValueStatistics(@Nullable Long ownershipCount, @Nullable Double sum, @Nullable Double squareSum);
+
     //------------------------------------- Other ---------------------------------
     @SuppressWarnings("unchecked")
     @Deprecated
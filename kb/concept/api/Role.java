@@ -90,6 +90,17 @@ public interface Role extends SchemaConcept {
     @CheckReturnValue
     Stream<Type> players();
 
+    /**
+     * Retrieve the number of role players of this Role that is saved as a property on this concept
+     * @return
+     */
+    Long getRolePlayerCount();
+
+    /**
+     * Store the number of role players of this Role as a property on this concept
+     */
+    void writeRolePlayerCount(Long count);
+
     //------------------------------------- Other ---------------------------------
     @Deprecated
     @CheckReturnValue
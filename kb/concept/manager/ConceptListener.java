@@ -42,12 +42,16 @@ import java.util.function.Supplier;
 public interface ConceptListener {
     void thingDeleted(Thing thing);
 
-    // Using a supplier instead of the concept avoids fetching the wrapping concept
+    // Using suppliers instead of the concepts avoids fetching the wrapping concept
     // when the edge is not inferred, which is probably most of the time
-    void relationEdgeDeleted(RelationType edgeTypeDeleted, boolean isInferredEdge, Supplier<Concept> wrappingConceptGetter);
+    void relationEdgeDeleted(RelationType edgeTypeDeleted, boolean isInferredEdge, Supplier<Concept> wrappingConceptGetter, Supplier<Thing> valueGetter);
+    // the ownership stored by the edge is not deleted, but moves to the reified relation replacing the edge
+    void hasAttributeRelationReified(Thing value);
 
     void schemaConceptDeleted(SchemaConcept schemaConcept);
 
+    void schemaConceptModified(SchemaConcept schemaConcept);
+
     <D> void attributeCreated(Attribute<D> attribute, D value, boolean isInferred);
 
     void relationCreated(Relation relation, boolean isInferred);
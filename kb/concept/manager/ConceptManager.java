@@ -42,6 +42,9 @@ import graql.lang.pattern.Pattern;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 public interface ConceptManager {
@@ -60,8 +63,30 @@ public interface ConceptManager {
     <V> AttributeType<V> getAttributeType(String attributeTypeLabel);
     Role getRole(String label);
     Rule getRule(String label);
-    <D> Attribute<D> getCachedAttribute(String index);
-    <D> Attribute<D> getAttribute(String index);
+
+    /**
+     * @return the index of the attribute of the given type and value, in the format of the keyspace
+     */
+    String attributeIndex(AttributeType<?> type, Object value);
+    <D> Attribute<D> getCachedAttribute(String index, D value);
+    <D> Attribute<D> getAttribute(String index, D value);
+    <D> Attribute<D> getAttributeWithIndex(String index, D value);
+
+    /**
+     * Reads the attributes of the given indices that are not known to the transaction yet all at once, so that the
+     * lookups of these attributes that follow, such as those of an insert, do not each wait on their own read.
+     */
+    void prefetchAttributes(Collection<String> indices);
+
+    /**
+     * Forgets the attributes read by prefetchAttributes, once the lookups they were read for are done
+     */
+    void clearPrefetchedAttributes();
+
+    /**
+     * @return true if the transaction has written to the graph and not committed its writes yet
+     */
+    boolean hasUncommittedWrites();
 
     <T extends Concept> T getConcept(Schema.VertexProperty vertexProperty, Object propertyValue);
     <T extends Concept> T getConcept(ConceptId conceptId);
@@ -73,6 +98,17 @@ public interface ConceptManager {
     Role getMetaRole();
     Rule getMetaRule();
 
+    /**
+     * @return the committed schema shared by the transactions of this keyspace, or null if it cannot be used because
+     * this transaction has modified the schema or no snapshot is available for the current schema version
+     */
+    @Nullable
+    SchemaSnapshot schemaSnapshot();
+
+    /**
+     * Reads the whole schema visible to this transaction, including its own uncommitted schema changes
+     */
+    SchemaSnapshot.Builder snapshotSchema();
 
     Relation createRelation(RelationType relationType, boolean isInferred);
     Entity createEntity(EntityType entityType, boolean isInferred);
@@ -93,6 +129,15 @@ public interface ConceptManager {
 
     Set<Concept> getConcepts(Schema.VertexProperty key, Object value);
 
+    /**
+     * @return the ids of the attributes of exactly the given type with a value within the bounds, where a null bound is
+     * unbounded, in the order of their values and at most as many as the limit, or null if the values of the type
+     * cannot be looked up in order
+     */
+    @Nullable
+    List<ConceptId> attributesInRange(AttributeType<?> type, @Nullable Object lower, boolean lowerInclusive,
+                                      @Nullable Object upper, boolean upperInclusive, int limit);
+
     // TODO these should not be here, overexposed interface or incorrect location
     LabelId convertToId(Label label);
     VertexElement addTypeVertex(LabelId id, Label label, Schema.BaseType baseType);
@@ -50,13 +50,16 @@ public interface ConceptNotificationChannel {
 
     void thingDeleted(Thing thing);
 
-    // Using a supplier instead of the concept avoids fetching the wrapping concept
+    // Using suppliers instead of the concepts avoids fetching the wrapping concept
     // when the edge is not inferred, which is probably most of the time
-    void relationEdgeDeleted(RelationType edgeTypeDeleted, boolean isInferredEdge, Supplier<Concept> wrappingConceptGetter);
+    void relationEdgeDeleted(RelationType edgeTypeDeleted, boolean isInferredEdge, Supplier<Concept> wrappingConceptGetter, Supplier<Thing> valueGetter);
+    // the ownership stored by the edge is not deleted, but moves to the reified relation replacing the edge
+    void hasAttributeRelationReified(Thing value);
     void castingDeleted(Casting casting);
     void deleteReifiedOwner(Relation owner);
 
     void schemaConceptDeleted(SchemaConcept schemaConcept);
+    void schemaConceptModified(SchemaConcept schemaConcept);
     void roleDeleted(Role role);
     void relationRoleUnrelated(RelationType relationType, Role role, List<Casting> conceptsPlayingRole);
 
@@ -0,0 +1,277 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.kb.concept.manager;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ImmutableTable;
+import grakn.core.core.Schema;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.LabelId;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable picture of the committed schema of a keyspace, described by labels.
+ * It is built once per schema version and shared by all transactions opened against that version, so that they can
+ * build schema concepts and answer hierarchy, relates and plays lookups without reading type vertices and their
+ * edges from storage. A schema commit never modifies a snapshot, it publishes a new one.
+ *
+ * Transitive lookups (sups, subs, playing and players) are computed when the snapshot is built.
+ */
+public final class SchemaSnapshot {
+    private final long version;
+
+    private final ImmutableMap<ConceptId, Label> labelsById;
+    private final ImmutableMap<LabelId, Label> labelsByLabelId;
+    private final ImmutableMap<Label, SchemaConceptEntry> schemaConcepts;
+
+    private final ImmutableSetMultimap<Label, Label> directSubs;
+    private final ImmutableSetMultimap<Label, Label> subs;
+    private final ImmutableSetMultimap<Label, Label> sups;
+
+    private final ImmutableSetMultimap<Label, Label> relates;
+    private final ImmutableSetMultimap<Label, Label> relations;
+
+    private final ImmutableTable<Label, Label, Boolean> directPlays;
+    private final ImmutableSetMultimap<Label, Label> directPlayers;
+    private final ImmutableSetMultimap<Label, Label> playing;
+    private final ImmutableSetMultimap<Label, Label> players;
+
+    private SchemaSnapshot(long version, Builder builder) {
+        this.version = version;
+
+        ImmutableMap.Builder<ConceptId, Label> labelsById = ImmutableMap.builder();
+        ImmutableMap.Builder<LabelId, Label> labelsByLabelId = ImmutableMap.builder();
+        ImmutableSetMultimap.Builder<Label, Label> directSubs = ImmutableSetMultimap.builder();
+        builder.schemaConcepts.forEach((label, entry) -> {
+            labelsById.put(entry.conceptId, label);
+            labelsByLabelId.put(entry.labelId, label);
+            if (entry.sup != null) directSubs.put(entry.sup, label);
+        });
+        this.labelsById = labelsById.build();
+        this.labelsByLabelId = labelsByLabelId.build();
+        this.schemaConcepts = ImmutableMap.copyOf(builder.schemaConcepts);
+        this.directSubs = directSubs.build();
+
+        this.relates = builder.relates.build();
+        this.relations = relates.inverse();
+        this.directPlays = builder.directPlays.build();
+
+        ImmutableSetMultimap.Builder<Label, Label> directPlayers = ImmutableSetMultimap.builder();
+        directPlays.cellSet().forEach(cell -> directPlayers.put(cell.getColumnKey(), cell.getRowKey()));
+        this.directPlayers = directPlayers.build();
+
+        ImmutableSetMultimap.Builder<Label, Label> subs = ImmutableSetMultimap.builder();
+        ImmutableSetMultimap.Builder<Label, Label> sups = ImmutableSetMultimap.builder();
+        ImmutableSetMultimap.Builder<Label, Label> playing = ImmutableSetMultimap.builder();
+        for (Label label : schemaConcepts.keySet()) {
+            subs.putAll(label, transitiveSubs(label));
+
+            // sups stop below the meta type thing, as SchemaConcept#sups does
+            Set<Label> labelSups = new LinkedHashSet<>();
+            Label sup = label;
+            while (sup != null && !Schema.MetaSchema.THING.getLabel().equals(sup) && labelSups.add(sup)) {
+                SchemaConceptEntry entry = schemaConcepts.get(sup);
+                sup = entry != null ? entry.sup : null;
+            }
+            sups.putAll(label, labelSups);
+
+            playing.putAll(label, directPlays.row(label).keySet());
+            labelSups.forEach(labelSup -> playing.putAll(label, directPlays.row(labelSup).keySet()));
+        }
+        this.subs = subs.build();
+        this.sups = sups.build();
+        this.playing = playing.build();
+
+        ImmutableSetMultimap.Builder<Label, Label> players = ImmutableSetMultimap.builder();
+        this.directPlayers.forEach((role, player) -> players.putAll(role, this.subs.get(player)));
+        this.players = players.build();
+    }
+
+    private Set<Label> transitiveSubs(Label root) {
+        Set<Label> labelSubs = new LinkedHashSet<>();
+        labelSubs.add(root);
+        for (Label sub : directSubs.get(root)) labelSubs.addAll(transitiveSubs(sub));
+        return labelSubs;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the schema version of the keyspace this snapshot was taken at
+     */
+    public long version() {
+        return version;
+    }
+
+    public boolean contains(ConceptId conceptId) {
+        return labelsById.containsKey(conceptId);
+    }
+
+    public boolean contains(Label label) {
+        return schemaConcepts.containsKey(label);
+    }
+
+    @Nullable
+    public Label label(ConceptId conceptId) {
+        return labelsById.get(conceptId);
+    }
+
+    @Nullable
+    public Label label(LabelId labelId) {
+        return labelsByLabelId.get(labelId);
+    }
+
+    public ConceptId conceptId(Label label) {
+        return schemaConcepts.get(label).conceptId;
+    }
+
+    public LabelId labelId(Label label) {
+        return schemaConcepts.get(label).labelId;
+    }
+
+    public Schema.BaseType baseType(Label label) {
+        return schemaConcepts.get(label).baseType;
+    }
+
+    public boolean isImplicit(Label label) {
+        return schemaConcepts.get(label).isImplicit;
+    }
+
+    @Nullable
+    public Label sup(Label label) {
+        return schemaConcepts.get(label).sup;
+    }
+
+    /**
+     * @return the labels of the schema concept and all the schema concepts above it, up to but excluding thing
+     */
+    public Set<Label> sups(Label label) {
+        return sups.get(label);
+    }
+
+    public Set<Label> directSubs(Label label) {
+        return directSubs.get(label);
+    }
+
+    /**
+     * @return the labels of the schema concept and all the schema concepts below it
+     */
+    public Set<Label> subs(Label label) {
+        return subs.get(label);
+    }
+
+    /**
+     * @return the roles directly related by a relation type
+     */
+    public Set<Label> roles(Label relationType) {
+        return relates.get(relationType);
+    }
+
+    /**
+     * @return the relation types which directly relate a role
+     */
+    public Set<Label> relations(Label role) {
+        return relations.get(role);
+    }
+
+    /**
+     * @return the roles a type has been declared to play, mapped to whether playing them is required
+     */
+    public Map<Label, Boolean> directPlays(Label type) {
+        return directPlays.row(type);
+    }
+
+    /**
+     * @return the roles a type can play, including the roles its sups play
+     */
+    public Set<Label> playing(Label type) {
+        return playing.get(type);
+    }
+
+    public Set<Label> directPlayers(Label role) {
+        return directPlayers.get(role);
+    }
+
+    /**
+     * @return the types which can play a role, including the subs of the types declared to play it
+     */
+    public Set<Label> players(Label role) {
+        return players.get(role);
+    }
+
+    private static class SchemaConceptEntry {
+        private final ConceptId conceptId;
+        private final LabelId labelId;
+        private final Schema.BaseType baseType;
+        private final boolean isImplicit;
+        private final Label sup;
+
+        private SchemaConceptEntry(ConceptId conceptId, LabelId labelId, Schema.BaseType baseType, boolean isImplicit, @Nullable Label sup) {
+            this.conceptId = conceptId;
+            this.labelId = labelId;
+            this.baseType = baseType;
+            this.isImplicit = isImplicit;
+            this.sup = sup;
+        }
+    }
+
+    /**
+     * Collects the schema as read by a single transaction. The snapshot is only built once the keyspace has assigned
+     * it a schema version.
+     */
+    public static class Builder {
+        private final Map<Label, SchemaConceptEntry> schemaConcepts = new HashMap<>();
+        private final ImmutableSetMultimap.Builder<Label, Label> relates = ImmutableSetMultimap.builder();
+        private final ImmutableTable.Builder<Label, Label, Boolean> directPlays = ImmutableTable.builder();
+
+        private Builder() {
+        }
+
+        public Builder schemaConcept(Label label, ConceptId conceptId, LabelId labelId, Schema.BaseType baseType,
+                                     boolean isImplicit, @Nullable Label sup) {
+            schemaConcepts.put(label, new SchemaConceptEntry(conceptId, labelId, baseType, isImplicit, sup));
+            return this;
+        }
+
+        public Builder relates(Label relationType, Label role) {
+            relates.put(relationType, role);
+            return this;
+        }
+
+        public Builder plays(Label type, Label role, boolean required) {
+            directPlays.put(type, role, required);
+            return this;
+        }
+
+        public SchemaSnapshot build(long version) {
+            return new SchemaSnapshot(version, this);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import java.util.stream.Stream;
  * Execute Compute queries
  */
 public interface ComputeExecutor {
+
     Stream<Numeric> stream(GraqlCompute.Statistics query);
 
     Stream<ConceptList> stream(GraqlCompute.Path query);
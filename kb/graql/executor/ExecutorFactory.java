@@ -35,4 +35,10 @@ package grakn.core.kb.graql.executor;
 public interface ExecutorFactory {
     ComputeExecutor compute();
     QueryExecutor transactional(boolean infer);
+
+    /**
+     * Release the resources still held by answer streams of the transaction that were not read to the end,
+     * called when the transaction closes
+     */
+    void close();
 }
@@ -114,6 +114,12 @@ public interface Fragment {
      */
     String name();
 
+    /**
+     * The name of the fragment without its variables, ids or values, so that fragments
+     * which are planned the same way share a shape
+     */
+    String shape();
+
     /**
      * A starting fragment is a fragment that can start a traversal.
      * If any other fragment is present that refers to the same variable, the starting fragment can be omitted.
@@ -139,12 +145,32 @@ public interface Fragment {
      */
     double estimatedCostAsStartingPoint(ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics);
 
+    /**
+     * Estimate the cost of executing this fragment from keyspace statistics, such as the fan-out of the edges it
+     * traverses. Fragments that statistics say nothing about return their internal fragment cost.
+     *
+     * @param conceptManager
+     * @param keyspaceStatistics
+     */
+    double estimatedFragmentCost(ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics);
+
     /**
      * If a fragment has fixed cost, the traversal is done using index. This makes the fragment a good starting point.
      * A plan should always start with these fragments when possible.
      */
     boolean hasFixedFragmentCost();
 
+    /**
+     * A fragment has unique paths if, for any single element it is applied to, it never yields the same element twice.
+     * Traversals built only from such fragments cannot produce duplicate answers.
+     */
+    boolean hasUniquePaths();
+
+    /**
+     * True if this fragment restricts its start variable to at most one concept, e.g. a lookup by id or by a single label.
+     */
+    boolean bindsSingleConcept();
+
     Fragment getInverse();
 
     /**
@@ -53,4 +53,11 @@ public interface GraqlTraversal {
     GraqlTraversal transform(Map<Variable, ConceptId> transform);
 
     double getComplexity();
+
+    /**
+     * @param vars the variables that answers are projected onto
+     * @return true if the traversal is guaranteed to never produce the same answer twice over the given variables,
+     * in which case callers do not need to deduplicate its results
+     */
+    boolean isDistinct(Set<Variable> vars);
 }
@@ -94,4 +94,12 @@ public class ReasonerException extends GraknException {
     public static ReasonerException unsafeNegationBlock(ReasonerQuery query) {
         return new ReasonerException(ErrorMessage.UNSAFE_NEGATION_BLOCK.getMessage(query));
     }
+
+    public static ReasonerException resolutionInterrupted() {
+        return new ReasonerException("Interrupted while waiting for rule branches resolved in parallel.");
+    }
+
+    public static ReasonerException resolutionCancelled() {
+        return new ReasonerException("Rule branches resolved in parallel were cancelled as the transaction was closed.");
+    }
 }
@@ -67,6 +67,17 @@ public interface RuleCache {
      */
     Stream<Rule> getRulesWithType(Type type, boolean direct);
 
+    /**
+     * @param materialised true if the inferences of all rules are persisted and up to date, in which case no rules
+     *                     are applied and queries are answered from the persisted inferences
+     */
+    void setRulesMaterialised(boolean materialised);
+
+    /**
+     * @return true if no rules are applied as their inferences are persisted and up to date
+     */
+    boolean rulesMaterialised();
+
     /**
      * cleans cache contents
      */
@@ -22,6 +22,7 @@ package grakn.core.kb.keyspace;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
+import grakn.core.kb.concept.api.AttributeType;
 import grakn.core.kb.concept.api.ConceptId;
 
 import java.util.Set;
@@ -42,6 +43,12 @@ import java.util.Set;
  */
 public interface AttributeManager {
 
+    /**
+     * @return the index identifying the attribute of the given type and value, in the format of the keyspace.
+     * Indices of long string values are hashes, which may be shared by attributes with different values.
+     */
+    String attributeIndex(AttributeType<?> type, Object value);
+
     Cache<String, ConceptId> attributesCommitted();
     void ackAttributeInsert(String index, String txId);
     void ackAttributeDelete(String index, String txId);
@@ -22,21 +22,28 @@ package grakn.core.kb.keyspace;
 import com.google.common.collect.ImmutableMap;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.api.LabelId;
+import grakn.core.kb.concept.manager.SchemaSnapshot;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Keyspace cache contains:
  * - Label Cache - Map labels to IDs for fast lookups
+ * - Schema Snapshot - The whole committed schema, for transactions to build schema concepts without reading them
  * <p>
  * This cache is shared across sessions and transactions to the same keyspace, and kept in sync
- * on commit.
+ * on commit. Every commit that changes the schema also bumps the schema version, so that anything derived
+ * from the schema can tell it is out of date.
  */
 public class KeyspaceSchemaCache {
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     private final Map<Label, LabelId> cachedLabels;
+    private final AtomicLong schemaVersion = new AtomicLong(0);
+    private volatile SchemaSnapshot schemaSnapshot = null;
 
     public KeyspaceSchemaCache() {
         cachedLabels = new ConcurrentHashMap<>();
@@ -64,15 +71,95 @@ public class KeyspaceSchemaCache {
      * mutations without having to read the graph.
      */
     public void overwriteCache(Map<Label, LabelId> modifiedLabelCache) {
+        overwriteCache(modifiedLabelCache, null, schemaVersion.get());
+    }
+
+    /**
+     * As overwriteCache(Map), also publishing the schema as read by the committing transaction
+     *
+     * @param baseVersion the schema version the committing transaction read the schema at
+     */
+    public void overwriteCache(Map<Label, LabelId> modifiedLabelCache, @Nullable SchemaSnapshot.Builder newSchema, long baseVersion) {
         try {
             lock.writeLock().lock();
             cachedLabels.clear();
             cachedLabels.putAll(modifiedLabelCache);
+            publishSchema(schemaVersion.incrementAndGet(), newSchema, baseVersion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a committed schema mutation which did not add, rename or remove any labels.
+     */
+    public void schemaModified() {
+        try {
+            lock.writeLock().lock();
+            schemaVersion.incrementAndGet();
+            schemaSnapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * As schemaModified(), also publishing the schema as read by the committing transaction
+     *
+     * @param baseVersion the schema version the committing transaction read the schema at
+     */
+    public void schemaModified(@Nullable SchemaSnapshot.Builder newSchema, long baseVersion) {
+        try {
+            lock.writeLock().lock();
+            publishSchema(schemaVersion.incrementAndGet(), newSchema, baseVersion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Publishes the schema for the current schema version, unless a snapshot of it has already been published.
+     * This is used when a keyspace is opened and none of its schema commits have been seen yet.
+     *
+     * @param baseVersion the schema version the transaction read the schema at
+     */
+    public void cacheSchemaSnapshot(SchemaSnapshot.Builder schema, long baseVersion) {
+        try {
+            lock.writeLock().lock();
+            if (schemaSnapshot() == null && baseVersion == schemaVersion.get()) {
+                schemaSnapshot = schema.build(baseVersion);
+            }
         } finally {
             lock.writeLock().unlock();
         }
     }
 
+    /**
+     * Publishes the snapshot of a new schema version, as long as it was read at the version right before it.
+     * Schema commits may run concurrently: a commit that read an older version misses the schema changes committed
+     * since, so its snapshot would overwrite a newer schema with a stale one. The new version is then left without
+     * a snapshot, and transactions read the schema from the graph until the keyspace publishes a complete one.
+     */
+    private void publishSchema(long version, @Nullable SchemaSnapshot.Builder schema, long baseVersion) {
+        schemaSnapshot = schema != null && baseVersion == version - 1 ? schema.build(version) : null;
+    }
+
+    /**
+     * @return the snapshot of the current schema version, or null if the schema was last modified without one
+     */
+    @Nullable
+    public SchemaSnapshot schemaSnapshot() {
+        SchemaSnapshot snapshot = schemaSnapshot;
+        return snapshot != null && snapshot.version() == schemaVersion.get() ? snapshot : null;
+    }
+
+    /**
+     * @return a number that changes every time a schema mutation is committed to the keyspace
+     */
+    public long schemaVersion() {
+        return schemaVersion.get();
+    }
+
     /**
      * A copy of the cached labels. This is used when creating a new transaction.
      *
@@ -22,10 +22,49 @@ package grakn.core.kb.keyspace;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.manager.ConceptManager;
 
+import javax.annotation.Nullable;
+
 /**
  * Store a shared map of statistics attached to each type
  */
 public interface KeyspaceStatistics {
     long count(ConceptManager conceptManager, Label label);
+
+    /**
+     * @return the number of role players of exactly this role, across all relations
+     */
+    long rolePlayerCount(ConceptManager conceptManager, Label role);
+
+    /**
+     * @return the average number of role players of this role in a relation of a type that relates it,
+     * or -1 if there are no such relations to average over
+     */
+    double rolePlayersPerRelation(ConceptManager conceptManager, Label role);
+
+    /**
+     * @return the average number of relations that an instance of a type playing this role takes part in through it.
+     * For the implicit owner and value roles this is the attribute ownership fan-out in each direction.
+     * Returns -1 if there are no such instances to average over.
+     */
+    double relationsPerRolePlayer(ConceptManager conceptManager, Label role);
+
+    /**
+     * @return the number of ownerships of instances of exactly this numeric attribute type, with the sum and the sum
+     * of squares of the values owned, each value counting once per owner
+     */
+    OwnedValueStatistics ownedValueStatistics(ConceptManager conceptManager, Label attributeType);
+
+    /**
+     * @return the smallest value owned of an instance of exactly this numeric attribute type, or null if none is owned
+     */
+    @Nullable
+    Number minOwnedValue(ConceptManager conceptManager, Label attributeType);
+
+    /**
+     * @return the largest value owned of an instance of exactly this numeric attribute type, or null if none is owned
+     */
+    @Nullable
+    Number maxOwnedValue(ConceptManager conceptManager, Label attributeType);
+
     void commit(ConceptManager conceptManager, StatisticsDelta statisticsDelta);
 }
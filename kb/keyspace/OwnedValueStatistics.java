@@ -0,0 +1,49 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.kb.keyspace;
+
+/**
+ * The number of ownerships of the instances of a numeric attribute type, with the sum and the sum of squares of the
+ * values owned, each value counting once per owner. These are the aggregates compute statistics queries are made of.
+ */
+public class OwnedValueStatistics {
+
+    private final long count;
+    private final double sum;
+    private final double squareSum;
+
+    public OwnedValueStatistics(long count, double sum, double squareSum) {
+        this.count = count;
+        this.sum = sum;
+        this.squareSum = squareSum;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    public double squareSum() {
+        return squareSum;
+    }
+}
@@ -20,9 +20,11 @@
 package grakn.core.kb.keyspace;
 
 import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.Role;
 import grakn.core.kb.concept.api.Type;
 
 import java.util.HashMap;
+import java.util.Set;
 
 public interface StatisticsDelta {
     long delta(Label label);
@@ -38,4 +40,33 @@ public interface StatisticsDelta {
     void decrementAttribute(Label label);
 
     HashMap<Label, Long> instanceDeltas();
+
+    void incrementRolePlayer(Role role);
+
+    void decrementRolePlayer(Role role);
+
+    HashMap<Label, Long> rolePlayerDeltas();
+
+    /**
+     * Record an owner gaining an attribute of a numeric attribute type, with the value of the attribute
+     */
+    void ownedValueAdded(Label attributeType, Number value);
+
+    /**
+     * Record an owner losing an attribute of a numeric attribute type, with the value of the attribute
+     */
+    void ownedValueRemoved(Label attributeType, Number value);
+
+    /**
+     * Record a change to the ownerships of the attribute type, or its subtypes, that cannot be followed by value,
+     * making their owned value statistics unknown
+     */
+    void invalidateOwnedValues(Label attributeType);
+
+    /**
+     * @return for each numeric attribute type, the change in number of owners of each of its values
+     */
+    HashMap<Label, HashMap<Number, Long>> ownedValueDeltas();
+
+    Set<Label> invalidatedOwnedValues();
 }
@@ -336,6 +336,19 @@ public interface Transaction extends AutoCloseable {
 
     void close(String closeMethod);
 
+    /**
+     * A transaction may only be used from the thread it was opened in. This moves it to the current thread,
+     * e.g. a worker of a pool serving the requests of many transactions one at a time,
+     * until unbindCurrentThread is called. The caller must make sure that it is never used from two threads at once.
+     */
+    void bindCurrentThread();
+
+    /**
+     * Reverts bindCurrentThread, or releases the thread the transaction was opened in, so that the thread
+     * may open or serve other transactions of the same session
+     */
+    void unbindCurrentThread();
+
     /**
      * Commits and closes the transaction
      *
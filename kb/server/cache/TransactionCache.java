@@ -21,7 +21,6 @@ package grakn.core.kb.server.cache;
 
 import com.google.common.annotations.VisibleForTesting;
 import grakn.common.util.Pair;
-import grakn.core.core.Schema;
 import grakn.core.kb.concept.api.Attribute;
 import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.ConceptId;
@@ -34,13 +33,17 @@ import grakn.core.kb.concept.api.Rule;
 import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.concept.api.Thing;
 import grakn.core.kb.concept.api.Type;
+import grakn.core.kb.concept.manager.SchemaSnapshot;
 import grakn.core.kb.concept.structure.Casting;
+import grakn.core.kb.keyspace.AttributeManager;
 import grakn.core.kb.keyspace.KeyspaceSchemaCache;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 
@@ -50,16 +53,20 @@ import java.util.stream.Stream;
  * Built Concepts -  Prevents rebuilding when the same vertex is encountered
  * The Schema - Optimises validation checks by preventing db read.
  * Label - Allows mapping type labels to type Ids
+ * Schema Snapshot - The keyspace schema as it was when the transaction opened
  */
 public class TransactionCache {
     //Cache which is shared across multiple transactions
     private final KeyspaceSchemaCache keyspaceSchemaCache;
+    // Knows the format of the attribute indices of the keyspace
+    private final AttributeManager attributeManager;
 
     //Caches any concept which has been touched before
-    private final Map<ConceptId, Concept> conceptCache = new HashMap<>();
-    private final Map<String, Attribute> attributeCache = new HashMap<>();
-    private final Map<Label, SchemaConcept> schemaConceptCache = new HashMap<>();
-    private final Map<Label, LabelId> labelCache = new HashMap<>();
+    //NB: concepts can be built concurrently by rule branches resolved in parallel
+    private final Map<ConceptId, Concept> conceptCache = new ConcurrentHashMap<>();
+    private final Map<String, Attribute> attributeCache = new ConcurrentHashMap<>();
+    private final Map<Label, SchemaConcept> schemaConceptCache = new ConcurrentHashMap<>();
+    private final Map<Label, LabelId> labelCache = new ConcurrentHashMap<>();
 
     //Elements Tracked For Validation
     private final Set<Relation> newRelations = new HashSet<>();
@@ -83,18 +90,64 @@ public class TransactionCache {
     // after commit
     private Set<String> removedAttributes = new HashSet<>();
     private Set<String> modifiedKeyIndices = new HashSet<>();
-
-    public TransactionCache(KeyspaceSchemaCache keyspaceSchemaCache) {
+    // Track the types of the explicit instances inserted or deleted, so that the inferences depending on them
+    // can be maintained in keyspaces materialising their rules. The inserted and deleted types are tracked
+    // since the inferences were last retracted, the modified types since the transaction opened.
+    private final Set<Label> modifiedInstanceTypes = new HashSet<>();
+    private final Set<Label> insertedInstanceTypes = new HashSet<>();
+    private final Set<Label> deletedInstanceTypes = new HashSet<>();
+    // Set when this transaction mutates the schema, so that the keyspace cache learns about it on commit
+    private boolean schemaModified = false;
+    // The shared schema this transaction opened with, and the schema it will publish if it commits schema changes
+    private SchemaSnapshot schemaSnapshot = null;
+    private SchemaSnapshot.Builder newSchemaSnapshot = null;
+    // The keyspace schema version this transaction read the schema at
+    private long schemaVersion = -1;
+
+    public TransactionCache(KeyspaceSchemaCache keyspaceSchemaCache, AttributeManager attributeManager) {
         this.keyspaceSchemaCache = keyspaceSchemaCache;
+        this.attributeManager = attributeManager;
     }
 
     public void flushSchemaLabelIdsToCache() {
         //Check if the schema has been changed and should be flushed into this cache
         if (!keyspaceSchemaCache.cacheMatches(labelCache)) {
-            keyspaceSchemaCache.overwriteCache(labelCache);
+            keyspaceSchemaCache.overwriteCache(labelCache, newSchemaSnapshot, schemaVersion);
+        } else if (schemaModified) {
+            keyspaceSchemaCache.schemaModified(newSchemaSnapshot, schemaVersion);
         }
     }
 
+    public void markSchemaModified() {
+        schemaModified = true;
+    }
+
+    public boolean isSchemaModified() {
+        return schemaModified;
+    }
+
+    /**
+     * @return the shared schema snapshot, as long as this transaction has not modified the schema
+     */
+    @Nullable
+    public SchemaSnapshot schemaSnapshot() {
+        return schemaModified ? null : schemaSnapshot;
+    }
+
+    /**
+     * @param newSchema the schema written by this transaction, to be shared with the keyspace once it is committed
+     */
+    public void stageSchemaSnapshot(SchemaSnapshot.Builder newSchema) {
+        newSchemaSnapshot = newSchema;
+    }
+
+    /**
+     * @return the keyspace schema version this transaction read the schema at
+     */
+    public long schemaVersion() {
+        return schemaVersion;
+    }
+
     /**
      * Refreshes the transaction schema cache by reading the keyspace schema cache into this transaction cache.
      * This method performs this operation whilst making a deep clone of the cached concepts to ensure transactions
@@ -106,6 +159,8 @@ public class TransactionCache {
             schemaCacheLock.writeLock().lock();
             Map<Label, LabelId> cachedLabelsSnapshot = keyspaceSchemaCache.labelCacheCopy();
             cachedLabelsSnapshot.forEach(this::cacheLabel);
+            schemaSnapshot = keyspaceSchemaCache.schemaSnapshot();
+            schemaVersion = keyspaceSchemaCache.schemaVersion();
         } finally {
             schemaCacheLock.writeLock().unlock();
         }
@@ -157,7 +212,7 @@ public class TransactionCache {
             Attribute<?> attr = concept.asAttribute();
             // this is probably slower than reading index from vertex but we don't have access to AttributeImpl here (cyclic dep)
             Label attrLabel = attr.type().label();
-            String attrIndex = Schema.generateAttributeIndex(attrLabel, attr.value().toString());
+            String attrIndex = attributeManager.attributeIndex(attr.type(), attr.value());
             newAttributes.remove(new Pair<>(attrLabel, attrIndex));
             attributeCache.remove(attrIndex);
             removedAttributes.add(attrIndex);
@@ -198,7 +253,7 @@ public class TransactionCache {
         }
         if (concept.isAttribute()){
             Attribute<Object> attribute = concept.asAttribute();
-            String index = Schema.generateAttributeIndex(attribute.type().label(), attribute.value().toString());
+            String index = attributeManager.attributeIndex(attribute.type(), attribute.value());
             attributeCache.put(index, attribute);
         }
     }
@@ -310,6 +365,36 @@ public class TransactionCache {
         modifiedKeyIndices.add(keyIndex);
     }
 
+    public void ackInstanceInsertion(Label type) {
+        modifiedInstanceTypes.add(type);
+        insertedInstanceTypes.add(type);
+    }
+
+    public void ackInstanceDeletion(Label type) {
+        modifiedInstanceTypes.add(type);
+        deletedInstanceTypes.add(type);
+    }
+
+    public Set<Label> getModifiedInstanceTypes() {
+        return modifiedInstanceTypes;
+    }
+
+    public Set<Label> getInsertedInstanceTypes() {
+        return insertedInstanceTypes;
+    }
+
+    public Set<Label> getDeletedInstanceTypes() {
+        return deletedInstanceTypes;
+    }
+
+    /**
+     * Acknowledge that the inferences depending on the instances inserted and deleted so far have been retracted
+     */
+    public void ackInferenceRetraction() {
+        insertedInstanceTypes.clear();
+        deletedInstanceTypes.clear();
+    }
+
     public Map<Pair<Label, String>, ConceptId> getNewAttributes() {
         return newAttributes;
     }
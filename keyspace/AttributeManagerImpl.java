@@ -22,6 +22,8 @@ package grakn.core.keyspace;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import grakn.core.core.Schema;
+import grakn.core.kb.concept.api.AttributeType;
 import grakn.core.kb.concept.api.ConceptId;
 import grakn.core.kb.keyspace.AttributeManager;
 
@@ -37,17 +39,41 @@ public class AttributeManagerImpl implements AttributeManager {
     //we track txs that insert an attribute with given index
     private final ConcurrentHashMap<String, Set<String>> attributesEphemeral;
     private final Set<String> lockCandidates;
+    private final boolean compactIndex;
 
     public AttributeManagerImpl(){
+        this(true);
+    }
+
+    public AttributeManagerImpl(boolean compactIndex){
+        this(compactIndex, ATTRIBUTES_CACHE_MAX_SIZE, TimeUnit.MINUTES.toMillis(TIMEOUT_MINUTES_ATTRIBUTES_CACHE));
+    }
+
+    /**
+     * @param compactIndex whether the keyspace indexes its attributes by type id and value, rather than
+     *                     by the older ATTRIBUTE-label-value format
+     * @param committedCacheSize maximum number of recently committed attributes remembered
+     * @param committedCacheTimeoutMillis time a committed attribute is remembered for since it was last looked up
+     */
+    public AttributeManagerImpl(boolean compactIndex, int committedCacheSize, long committedCacheTimeoutMillis){
+        this.compactIndex = compactIndex;
         this.attributesCommitted = CacheBuilder.newBuilder()
-                .expireAfterAccess(TIMEOUT_MINUTES_ATTRIBUTES_CACHE, TimeUnit.MINUTES)
-                .maximumSize(ATTRIBUTES_CACHE_MAX_SIZE)
+                .expireAfterAccess(committedCacheTimeoutMillis, TimeUnit.MILLISECONDS)
+                .maximumSize(committedCacheSize)
                 .build();
 
         this.attributesEphemeral = new ConcurrentHashMap<>();
         this.lockCandidates = ConcurrentHashMap.newKeySet();
     }
 
+    @Override
+    public String attributeIndex(AttributeType<?> type, Object value) {
+        if (compactIndex) {
+            return Schema.generateCompactAttributeIndex(type.labelId(), type.dataType(), value.toString());
+        }
+        return Schema.generateAttributeIndex(type.label(), value.toString());
+    }
+
     @Override
     public boolean isAttributeEphemeral(String index) {
         return attributesEphemeral.containsKey(index);
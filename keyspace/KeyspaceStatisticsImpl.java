@@ -19,15 +19,22 @@
 
 package grakn.core.keyspace;
 
+import grakn.core.kb.concept.api.AttributeType;
 import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.RelationType;
+import grakn.core.kb.concept.api.Role;
+import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.concept.api.Type;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
+import grakn.core.kb.keyspace.OwnedValueStatistics;
 import grakn.core.kb.keyspace.StatisticsDelta;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -44,13 +51,30 @@ import java.util.concurrent.ConcurrentHashMap;
  * We also store the total count of all concepts the same was as any other schema concept, but on the meta
  * concept types. Note that this is different from the other instance counts as it DOES include counts of all subtypes. The
  * other counts on user-defined schema concepts are for for that concrete type only
+ * Alongside instance counts we keep the number of role players of each role, written to the role vertices the same way.
+ * From these the query planner derives fan-outs: role players per relation, relations per role player, and, through
+ * the implicit roles of attribute ownership, owners per attribute value (attributes being unique per value, the
+ * instance count of an attribute type is its value cardinality) and attributes per owner.
+ * Implicit roles are not counted directly, as most ownerships are edges without castings. Every implicit relation has
+ * exactly one player per implicit role, so their role player count is the instance count of the implicit relation types.
+ *
+ * For numeric attribute types we also keep the number of ownerships, with the sum and sum of squares of the owned
+ * values, written to the attribute type vertices, so that compute statistics do not have to visit every attribute.
+ * The smallest and largest owned values come from an in-memory index of the owned values in order.
+ * Ownerships of a type that become unknown, because they were deleted with a reified implicit relation whose value is
+ * no longer reachable, are removed from the vertex. Unknown ownerships, and the ordered values when first needed, are
+ * rebuilt by reading all the instances of the type and their owners once.
  */
 public class KeyspaceStatisticsImpl implements KeyspaceStatistics {
 
     private ConcurrentHashMap<Label, Long> instanceCountsCache;
+    private ConcurrentHashMap<Label, Long> rolePlayerCountsCache;
+    private ConcurrentHashMap<Label, OwnedValues> ownedValuesCache;
 
     public KeyspaceStatisticsImpl() {
         instanceCountsCache = new ConcurrentHashMap<>();
+        rolePlayerCountsCache = new ConcurrentHashMap<>();
+        ownedValuesCache = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -60,8 +84,119 @@ public class KeyspaceStatisticsImpl implements KeyspaceStatistics {
         return instanceCountsCache.get(label);
     }
 
+    @Override
+    public long rolePlayerCount(ConceptManager conceptManager, Label label) {
+        Role role = conceptManager.getRole(label.getValue());
+        if (role == null) return 0L;
+
+        if (role.isImplicit()) {
+            return relationCount(conceptManager, role);
+        }
+        rolePlayerCountsCache.computeIfAbsent(label, l -> role.getRolePlayerCount());
+        return rolePlayerCountsCache.get(label);
+    }
+
+    @Override
+    public double rolePlayersPerRelation(ConceptManager conceptManager, Label label) {
+        Role role = conceptManager.getRole(label.getValue());
+        if (role == null) return -1D;
+
+        long relations = relationCount(conceptManager, role);
+        if (relations <= 0) return -1D;
+        return (double) rolePlayerCount(conceptManager, label) / relations;
+    }
+
+    @Override
+    public double relationsPerRolePlayer(ConceptManager conceptManager, Label label) {
+        Role role = conceptManager.getRole(label.getValue());
+        if (role == null) return -1D;
+
+        long players = role.players().distinct().mapToLong(type -> count(conceptManager, type.label())).sum();
+        if (players <= 0) return -1D;
+        return (double) rolePlayerCount(conceptManager, label) / players;
+    }
+
+    private long relationCount(ConceptManager conceptManager, Role role) {
+        return role.relations()
+                .flatMap(RelationType::subs)
+                .distinct()
+                .mapToLong(relationType -> count(conceptManager, relationType.label()))
+                .sum();
+    }
+
+    @Override
+    public OwnedValueStatistics ownedValueStatistics(ConceptManager conceptManager, Label label) {
+        OwnedValues ownedValues = ownedValues(conceptManager, label, false);
+        return ownedValues == null ? new OwnedValueStatistics(0L, 0D, 0D) : ownedValues.statistics();
+    }
+
+    @Override
+    public Number minOwnedValue(ConceptManager conceptManager, Label label) {
+        OwnedValues ownedValues = orderedOwnedValues(conceptManager, label);
+        return ownedValues == null ? null : ownedValues.min();
+    }
+
+    @Override
+    public Number maxOwnedValue(ConceptManager conceptManager, Label label) {
+        OwnedValues ownedValues = orderedOwnedValues(conceptManager, label);
+        return ownedValues == null ? null : ownedValues.max();
+    }
+
+    @Nullable
+    private OwnedValues orderedOwnedValues(ConceptManager conceptManager, Label label) {
+        return ownedValues(conceptManager, label, true);
+    }
+
+    /**
+     * Owned values are cached once read or rebuilt, unless the querying transaction has uncommitted writes, as they
+     * would be rebuilt with its writes. Such a transaction gets owned values of its own, which are not cached.
+     */
+    @Nullable
+    private OwnedValues ownedValues(ConceptManager conceptManager, Label label, boolean ordered) {
+        OwnedValues cached = ownedValuesCache.get(label);
+        if (cached != null && (!ordered || cached.isOrdered())) return cached;
+        if (conceptManager.hasUncommittedWrites()) return loadOwnedValues(conceptManager, label, ordered, null);
+        return ownedValuesCache.compute(label, (lab, prior) -> loadOwnedValues(conceptManager, lab, ordered, prior));
+    }
+
+    @Nullable
+    private OwnedValues loadOwnedValues(ConceptManager conceptManager, Label label, boolean ordered, @Nullable OwnedValues prior) {
+        if (prior != null && (!ordered || prior.isOrdered())) return prior;
+        AttributeType<?> attributeType = numericAttributeType(conceptManager, label);
+        if (attributeType == null) return null;
+        OwnedValues persisted = ordered ? null : OwnedValues.read(attributeType);
+        return persisted != null ? persisted : readOwnedValues(attributeType);
+    }
+
+    /**
+     * Rebuilds the owned values of a type from its instances. When cached, runs under the lock of the type, so that
+     * commits to it wait for the rebuild, but it reads what the querying transaction sees of commits that completed
+     * meanwhile.
+     */
+    private OwnedValues readOwnedValues(AttributeType<?> attributeType) {
+        OwnedValues ownedValues = OwnedValues.ordered();
+        attributeType.instances()
+                .filter(attribute -> attribute.type().equals(attributeType))
+                .forEach(attribute -> ownedValues.add((Number) attribute.value(), attribute.owners().count()));
+        return ownedValues;
+    }
+
+    @Nullable
+    private AttributeType<?> numericAttributeType(ConceptManager conceptManager, Label label) {
+        SchemaConcept schemaConcept = conceptManager.getSchemaConcept(label);
+        if (schemaConcept == null || !schemaConcept.isAttributeType()) return null;
+        AttributeType<?> attributeType = schemaConcept.asAttributeType();
+        AttributeType.DataType<?> dataType = attributeType.dataType();
+        if (!AttributeType.DataType.LONG.equals(dataType) && !AttributeType.DataType.DOUBLE.equals(dataType)) return null;
+        return attributeType;
+    }
+
     @Override
     public void commit(ConceptManager conceptManager, StatisticsDelta statisticsDelta) {
+        commitRolePlayerCounts(conceptManager, statisticsDelta.rolePlayerDeltas());
+        // before merging the instance counts, as these tell whether a type without owned values had no instances yet
+        commitOwnedValues(conceptManager, statisticsDelta.ownedValueDeltas(), statisticsDelta.invalidatedOwnedValues());
+
         HashMap<Label, Long> deltaMap = statisticsDelta.instanceDeltas();
 
         // merge each delta into the cache, then flush the cache to Janus
@@ -83,6 +218,54 @@ public class KeyspaceStatisticsImpl implements KeyspaceStatistics {
         persist(conceptManager, labelsToPersist);
     }
 
+    private void commitRolePlayerCounts(ConceptManager conceptManager, Map<Label, Long> rolePlayerDeltas) {
+        rolePlayerDeltas.forEach((label, delta) -> {
+            if (delta == 0) return;
+            // merge and write within `.compute()` for an atomic and locking vertex write
+            rolePlayerCountsCache.compute(label, (lab, prior) -> {
+                Role role = conceptManager.getRole(lab.getValue());
+                if (role == null) return prior;
+                long count = (prior == null ? role.getRolePlayerCount() : prior) + delta;
+                role.writeRolePlayerCount(count);
+                return count;
+            });
+        });
+    }
+
+    private void commitOwnedValues(ConceptManager conceptManager, Map<Label, HashMap<Number, Long>> ownedValueDeltas, Set<Label> invalidated) {
+        Set<Label> invalidatedTypes = new HashSet<>();
+        invalidated.forEach(label -> {
+            SchemaConcept schemaConcept = conceptManager.getSchemaConcept(label);
+            if (schemaConcept != null && schemaConcept.isAttributeType()) {
+                schemaConcept.asAttributeType().subs().forEach(sub -> invalidatedTypes.add(sub.label()));
+            }
+        });
+
+        Set<Label> labels = new HashSet<>(ownedValueDeltas.keySet());
+        labels.addAll(invalidatedTypes);
+        for (Label label : labels) {
+            // merge and write within `.compute()` for an atomic and locking vertex write
+            ownedValuesCache.compute(label, (lab, prior) -> {
+                AttributeType<?> attributeType = numericAttributeType(conceptManager, lab);
+                if (attributeType == null) return null;
+                if (invalidatedTypes.contains(lab)) {
+                    attributeType.writeOwnedValueStatistics(null, null, null);
+                    return null;
+                }
+
+                OwnedValues ownedValues = prior != null ? prior : OwnedValues.read(attributeType);
+                if (ownedValues == null) {
+                    // without instances, there are no owned values to rebuild
+                    if (count(conceptManager, lab) != 0) return null;
+                    ownedValues = OwnedValues.ordered();
+                }
+                ownedValues.merge(ownedValueDeltas.get(lab));
+                ownedValues.write(attributeType);
+                return ownedValues;
+            });
+        }
+    }
+
     private void persist(ConceptManager conceptManager, Set<Label> labelsToPersist) {
         // TODO - there's an possible removal from instanceCountsCache here
         // when the schemaConcept is null - ie it's been removed. However making this
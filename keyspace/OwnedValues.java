@@ -0,0 +1,113 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.keyspace;
+
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.keyspace.OwnedValueStatistics;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The running aggregates of the values owned of the instances of a numeric attribute type: the number of ownerships,
+ * the sum and the sum of squares of the owned values. Optionally, the owned values themselves in order, each with its
+ * number of owners, from which the smallest and largest owned values are read.
+ *
+ * The aggregates are read from and written to the attribute type vertex, the ordered values only live in memory.
+ * Mutated by the keyspace statistics under the lock of the attribute type, but read by queries without it.
+ */
+class OwnedValues {
+
+    // the values of an attribute type are all Long or all Double
+    private static final Comparator<Number> VALUE_ORDER = (a, b) -> a instanceof Long && b instanceof Long ?
+            Long.compare(a.longValue(), b.longValue()) :
+            Double.compare(a.doubleValue(), b.doubleValue());
+
+    private long count;
+    private double sum;
+    private double squareSum;
+    @Nullable
+    private final TreeMap<Number, Long> ordered;
+
+    private OwnedValues(long count, double sum, double squareSum, @Nullable TreeMap<Number, Long> ordered) {
+        this.count = count;
+        this.sum = sum;
+        this.squareSum = squareSum;
+        this.ordered = ordered;
+    }
+
+    /**
+     * @return aggregates to be filled in with all the values owned, that keep the values in order
+     */
+    static OwnedValues ordered() {
+        return new OwnedValues(0L, 0D, 0D, new TreeMap<>(VALUE_ORDER));
+    }
+
+    /**
+     * @return the aggregates saved on the attribute type vertex, or null if there are none
+     */
+    @Nullable
+    static OwnedValues read(AttributeType<?> attributeType) {
+        Long count = attributeType.getOwnershipCount();
+        Double sum = attributeType.getOwnedValueSum();
+        Double squareSum = attributeType.getOwnedValueSquareSum();
+        if (count == null || sum == null || squareSum == null) return null;
+        return new OwnedValues(count, sum, squareSum, null);
+    }
+
+    synchronized void write(AttributeType<?> attributeType) {
+        attributeType.writeOwnedValueStatistics(count, sum, squareSum);
+    }
+
+    synchronized void add(Number value, long owners) {
+        if (owners == 0) return;
+        double doubleValue = value.doubleValue();
+        count += owners;
+        sum += doubleValue * owners;
+        squareSum += doubleValue * doubleValue * owners;
+        if (ordered != null) {
+            ordered.merge(value, owners, (prior, delta) -> prior + delta == 0 ? null : prior + delta);
+        }
+    }
+
+    synchronized void merge(Map<Number, Long> ownerDeltas) {
+        ownerDeltas.forEach(this::add);
+    }
+
+    synchronized boolean isOrdered() {
+        return ordered != null;
+    }
+
+    synchronized OwnedValueStatistics statistics() {
+        return new OwnedValueStatistics(count, sum, squareSum);
+    }
+
+    @Nullable
+    synchronized Number min() {
+        return ordered == null || ordered.isEmpty() ? null : ordered.firstKey();
+    }
+
+    @Nullable
+    synchronized Number max() {
+        return ordered == null || ordered.isEmpty() ? null : ordered.lastKey();
+    }
+}
@@ -25,10 +25,13 @@ import grakn.core.kb.concept.api.EntityType;
 import grakn.core.kb.concept.api.GraknConceptException;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.api.RelationType;
+import grakn.core.kb.concept.api.Role;
 import grakn.core.kb.concept.api.Type;
 import grakn.core.kb.keyspace.StatisticsDelta;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * A transaction-bound tracker of created and deleted types. A simple implementation that increments and decrements
@@ -39,6 +42,9 @@ import java.util.HashMap;
 public class StatisticsDeltaImpl implements StatisticsDelta {
 
     private HashMap<Label, Long> instanceDeltas;
+    private HashMap<Label, Long> rolePlayerDeltas;
+    private HashMap<Label, HashMap<Number, Long>> ownedValueDeltas;
+    private Set<Label> invalidatedOwnedValues;
     // keep these outside of the hashmap to avoid a large number of hash() method calls
     private long thingCount = 0;
     private long entityCount = 0;
@@ -47,6 +53,9 @@ public class StatisticsDeltaImpl implements StatisticsDelta {
 
     public StatisticsDeltaImpl() {
         instanceDeltas = new HashMap<>();
+        rolePlayerDeltas = new HashMap<>();
+        ownedValueDeltas = new HashMap<>();
+        invalidatedOwnedValues = new HashSet<>();
     }
 
     @Override
@@ -117,4 +126,44 @@ public class StatisticsDeltaImpl implements StatisticsDelta {
         }
         return instanceDeltas;
     }
+
+    @Override
+    public void incrementRolePlayer(Role role) {
+        rolePlayerDeltas.merge(role.label(), 1L, Long::sum);
+    }
+
+    @Override
+    public void decrementRolePlayer(Role role) {
+        rolePlayerDeltas.merge(role.label(), -1L, Long::sum);
+    }
+
+    @Override
+    public HashMap<Label, Long> rolePlayerDeltas() {
+        return rolePlayerDeltas;
+    }
+
+    @Override
+    public void ownedValueAdded(Label attributeType, Number value) {
+        ownedValueDeltas.computeIfAbsent(attributeType, label -> new HashMap<>()).merge(value, 1L, Long::sum);
+    }
+
+    @Override
+    public void ownedValueRemoved(Label attributeType, Number value) {
+        ownedValueDeltas.computeIfAbsent(attributeType, label -> new HashMap<>()).merge(value, -1L, Long::sum);
+    }
+
+    @Override
+    public void invalidateOwnedValues(Label attributeType) {
+        invalidatedOwnedValues.add(attributeType);
+    }
+
+    @Override
+    public HashMap<Label, HashMap<Number, Long>> ownedValueDeltas() {
+        return ownedValueDeltas;
+    }
+
+    @Override
+    public Set<Label> invalidatedOwnedValues() {
+        return invalidatedOwnedValues;
+    }
 }
@@ -31,14 +31,17 @@ import grakn.core.server.rpc.OpenRequest;
 import grakn.core.server.rpc.ServerKeyspaceRequestsHandler;
 import grakn.core.server.rpc.ServerOpenRequest;
 import grakn.core.server.rpc.SessionService;
+import grakn.core.server.rpc.TransactionExecutorPool;
 import grakn.core.server.session.HadoopGraphFactory;
 import grakn.core.server.session.JanusGraphFactory;
 import grakn.core.server.session.SessionFactory;
 import grakn.core.server.util.LockManager;
+import io.grpc.ServerInterceptors;
 import io.grpc.netty.NettyServerBuilder;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 
+import javax.annotation.Nullable;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -88,7 +91,7 @@ public class ServerFactory {
         // create gRPC server
         io.grpc.Server serverRPC = createServerRPC(config, sessionFactory, keyspaceManager, janusGraphFactory);
 
-        return createServer(serverRPC);
+        return createServer(serverRPC, sessionFactory);
     }
 
     /**
@@ -98,7 +101,16 @@ public class ServerFactory {
      */
 
     public static Server createServer(io.grpc.Server rpcServer) {
-        Server server = new Server(rpcServer);
+        return createServer(rpcServer, null);
+    }
+
+    /**
+     * As createServer(io.grpc.Server), also shutting down the SessionFactory once the RPC server has terminated
+     *
+     * @return a Server instance
+     */
+    public static Server createServer(io.grpc.Server rpcServer, @Nullable SessionFactory sessionFactory) {
+        Server server = new Server(rpcServer, sessionFactory);
 
         Runtime.getRuntime().addShutdownHook(new Thread(server::close, "grakn-server-shutdown"));
 
@@ -134,7 +146,10 @@ public class ServerFactory {
         int grpcPort = config.getProperty(ConfigKey.GRPC_PORT);
         OpenRequest requestOpener = new ServerOpenRequest(sessionFactory);
 
-        SessionService sessionService = new SessionService(requestOpener);
+        TransactionExecutorPool transactionExecutorPool = new TransactionExecutorPool(config.getProperty(ConfigKey.TRANSACTION_THREADS));
+        SessionService sessionService = new SessionService(requestOpener, transactionExecutorPool);
+        SessionService.IteratorBatchSizeInterceptor batchSizeInterceptor =
+                new SessionService.IteratorBatchSizeInterceptor(config.getProperty(ConfigKey.ITERATOR_BATCH_SIZE), config.getProperty(ConfigKey.ITERATOR_MAX_BATCH_SIZE));
 
         KeyspaceRequestsHandler requestsHandler = new ServerKeyspaceRequestsHandler(
                 keyspaceManager, sessionFactory, janusGraphFactory);
@@ -151,7 +166,7 @@ public class ServerFactory {
                 .bossEventLoopGroup(eventLoopGroup)
                 .maxConnectionIdle(1, TimeUnit.HOURS)
                 .channelType(NioServerSocketChannel.class)
-                .addService(sessionService)
+                .addService(ServerInterceptors.intercept(sessionService, batchSizeInterceptor))
                 .addService(new KeyspaceService(requestsHandler))
                 .build();
     }
@@ -45,7 +45,9 @@ import io.grpc.StatusRuntimeException;
 import javax.annotation.Nullable;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -151,6 +153,23 @@ public class ResponseBuilder {
          */
         static class Iter {
 
+            static SessionProto.Transaction.Res done() {
+                return SessionProto.Transaction.Res.newBuilder()
+                        .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
+                                .setDone(true)).build();
+            }
+
+            /**
+             * A batch of iterator responses answering a single iterate request, terminated by a done response
+             * when the iterator has no more answers
+             */
+            static List<SessionProto.Transaction.Res> batch(List<SessionProto.Transaction.Res> answers, boolean done) {
+                List<SessionProto.Transaction.Res> responses = new ArrayList<>(answers.size() + 1);
+                responses.addAll(answers);
+                if (done) responses.add(done());
+                return responses;
+            }
+
             static SessionProto.Transaction.Res query(Object object) {
                 return SessionProto.Transaction.Res.newBuilder()
                         .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
@@ -21,7 +21,6 @@ package grakn.core.server.rpc;
 import brave.ScopedSpan;
 import brave.Span;
 import brave.propagation.TraceContext;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import grakn.benchmark.lib.instrumentation.ServerTracing;
 import grakn.core.concept.answer.Explanation;
 import grakn.core.kb.concept.api.Attribute;
@@ -41,25 +40,33 @@ import grakn.protocol.session.SessionProto.Transaction;
 import grakn.protocol.session.SessionServiceGrpc;
 import graql.lang.Graql;
 import graql.lang.pattern.Pattern;
+import graql.lang.query.GraqlDelete;
+import graql.lang.query.GraqlInsert;
 import graql.lang.query.GraqlQuery;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
@@ -70,6 +77,13 @@ import java.util.stream.Stream;
  */
 public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
     private static final Logger LOG = LoggerFactory.getLogger(SessionService.class);
+
+    // Clients opt in to batched iteration by sending this header when opening the transaction stream.
+    // The value is the number of answers to receive per iterate request, or 0 to use the server default.
+    public static final Metadata.Key<String> ITERATOR_BATCH_SIZE_HEADER = Metadata.Key.of("grakn-iterator-batch-size", Metadata.ASCII_STRING_MARSHALLER);
+    // Clients that do not send the header expect exactly one response per iterate request
+    private static final Context.Key<Integer> ITERATOR_BATCH_SIZE = Context.keyWithDefault("iterator-batch-size", 1);
+
     private final OpenRequest requestOpener;
     // Each client's connection obtains a unique ID, which we map to the shared session under the hood
     // if connecting to the same keyspace
@@ -81,11 +95,18 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
     //     - if a client abruptly closes a connection (usually because of crashes on client side) we can kill all the threads associated
     //       to transactions previously opened by the client and that were not properly closed before the abrupt closure (see onError()).
     private Map<String, Set<TransactionListener>> transactionListeners;
+    // The requests of all transactions are served by a bounded pool of threads, one request per transaction at a time
+    private final TransactionExecutorPool transactionExecutorPool;
 
-    public SessionService(OpenRequest requestOpener) {
+    public SessionService(OpenRequest requestOpener, TransactionExecutorPool transactionExecutorPool) {
         this.requestOpener = requestOpener;
         this.openSessions = new HashMap<>();
         this.transactionListeners = new HashMap<>();
+        this.transactionExecutorPool = transactionExecutorPool;
+    }
+
+    public TransactionExecutorPool transactionExecutorPool() {
+        return transactionExecutorPool;
     }
 
     /**
@@ -97,11 +118,12 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                         transactionListenerSet.forEach(transactionListener -> transactionListener.close(null)));
         transactionListeners.clear();
         openSessions.values().forEach(Session::close);
+        transactionExecutorPool.shutdown();
     }
 
     @Override
     public StreamObserver<Transaction.Req> transaction(StreamObserver<Transaction.Res> responseSender) {
-        return new TransactionListener(responseSender, openSessions);
+        return new TransactionListener(responseSender, openSessions, IteratorBatchSizeInterceptor.currentBatchSize());
     }
 
     @Override
@@ -135,6 +157,58 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
     }
 
 
+    /**
+     * A ServerInterceptor that reads the iterator batch size requested by the client from the call headers,
+     * so that the TransactionListener serving the call knows how many answers to send per iterate request.
+     */
+    public static class IteratorBatchSizeInterceptor implements ServerInterceptor {
+        private final int defaultBatchSize;
+        private final int maxBatchSize;
+
+        public IteratorBatchSizeInterceptor(int defaultBatchSize, int maxBatchSize) {
+            if (defaultBatchSize < 1) {
+                throw new IllegalArgumentException("Iterator batch size must be positive, but was " + defaultBatchSize);
+            }
+            if (maxBatchSize < defaultBatchSize) {
+                throw new IllegalArgumentException("Maximum iterator batch size must be at least the default batch size " + defaultBatchSize + ", but was " + maxBatchSize);
+            }
+            this.defaultBatchSize = defaultBatchSize;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        @Override
+        public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+            String requested = headers.get(ITERATOR_BATCH_SIZE_HEADER);
+            if (requested == null) {
+                return next.startCall(call, headers);
+            }
+
+            Context context = Context.current().withValue(ITERATOR_BATCH_SIZE, batchSize(requested));
+            return Contexts.interceptCall(context, call, headers, next);
+        }
+
+        /**
+         * @return the batch size requested by the client, the default if it asked for none, capped to the maximum
+         */
+        int batchSize(String requested) {
+            int batchSize;
+            try {
+                batchSize = Integer.parseInt(requested.trim());
+            } catch (NumberFormatException e) {
+                batchSize = 0;
+            }
+            if (batchSize < 1) return defaultBatchSize;
+            return Math.min(batchSize, maxBatchSize);
+        }
+
+        /**
+         * @return the batch size in effect for calls intercepted in the current context
+         */
+        static int currentBatchSize() {
+            return ITERATOR_BATCH_SIZE.get();
+        }
+    }
+
     /**
      * A StreamObserver that implements the transaction-handling behaviour for io.grpc.Server.
      * Receives a stream of Transaction.Reqs and returning a stream of Transaction.Ress.
@@ -143,18 +217,19 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
         final Logger LOG = LoggerFactory.getLogger(TransactionListener.class);
         private final StreamObserver<Transaction.Res> responseSender;
         private final AtomicBoolean terminated = new AtomicBoolean(false);
-        private final ExecutorService threadExecutor;
+        private final TransactionExecutorPool.Lane lane;
         private final Map<String, Session> openSessions;
         private final Iterators iterators = new Iterators();
+        private final int iteratorBatchSize;
 
         @Nullable
         private grakn.core.kb.server.Transaction tx = null;
         private String sessionId;
 
-        TransactionListener(StreamObserver<Transaction.Res> responseSender, Map<String, Session> openSessions) {
+        TransactionListener(StreamObserver<Transaction.Res> responseSender, Map<String, Session> openSessions, int iteratorBatchSize) {
             this.responseSender = responseSender;
-            ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("transaction-listener").build();
-            this.threadExecutor = Executors.newSingleThreadExecutor(threadFactory);
+            this.iteratorBatchSize = iteratorBatchSize;
+            this.lane = transactionExecutorPool.lane();
             this.openSessions = openSessions;
         }
 
@@ -288,20 +363,23 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                     ServerTracing.currentSpan().finish();
                 }
 
-                threadExecutor.shutdownNow();
-                try {
-                    boolean terminated = threadExecutor.awaitTermination(30, TimeUnit.SECONDS);
-                    if (!terminated) {
-                        LOG.warn("Some tasks did not terminate within the timeout period.");
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+                lane.close();
             }
         }
 
+        /**
+         * The requests run one at a time on workers of the pool, each moving the transaction to its worker
+         */
         private void submit(Runnable runnable) {
-            threadExecutor.submit(runnable);
+            lane.submit(() -> {
+                if (tx != null) tx.bindCurrentThread();
+                try {
+                    runnable.run();
+                } finally {
+                    // the request may have opened the transaction
+                    if (tx != null) tx.unbindCurrentThread();
+                }
+            });
         }
 
         private void open(Transaction.Open.Req request) {
@@ -343,7 +421,9 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             int createStreamSpanId = ServerTracing.startScopedChildSpan("Creating query stream");
 
             Stream<Transaction.Res> responseStream = tx().stream(query, request.getInfer().equals(Transaction.Query.INFER.TRUE)).map(ResponseBuilder.Transaction.Iter::query);
-            Transaction.Res response = ResponseBuilder.Transaction.queryIterator(iterators.add(responseStream.iterator()));
+            // answers of write queries are only computed when the client asks for them, as computing them performs the writes
+            boolean prefetch = !(query instanceof GraqlInsert || query instanceof GraqlDelete);
+            Transaction.Res response = ResponseBuilder.Transaction.queryIterator(iterators.add(responseStream.iterator(), prefetch));
 
             ServerTracing.closeScopedChildSpan(createStreamSpanId);
 
@@ -434,9 +514,14 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
 
         private void next(Transaction.Iter.Req iterate) {
             int iteratorId = iterate.getId();
-            Transaction.Res response = iterators.next(iteratorId);
-            if (response == null) throw ResponseBuilder.exception(Status.FAILED_PRECONDITION);
-            onNextResponse(response);
+            List<Transaction.Res> responses = iterators.next(iteratorId, iteratorBatchSize);
+            if (responses == null) throw ResponseBuilder.exception(Status.FAILED_PRECONDITION);
+            onNextResponses(responses);
+
+            // compute the following batch on the transaction thread while this one is travelling to the client
+            if (iterators.prefetchable(iteratorId) && !terminated.get()) {
+                submit(() -> iterators.prefetch(iteratorId, iteratorBatchSize));
+            }
         }
 
         private void onNextResponse(Transaction.Res response) {
@@ -445,41 +530,120 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             }
             responseSender.onNext(response);
         }
+
+        private void onNextResponses(List<Transaction.Res> responses) {
+            if (ServerTracing.tracingActive()) {
+                ServerTracing.currentSpan().finish();
+            }
+            responses.forEach(responseSender::onNext);
+        }
     }
 
     /**
      * Contains a mutable map of iterators of Transaction.Res for gRPC. These iterators are used for returning
      * lazy, streaming responses such as for Graql query results.
+     * Responses are handed out in batches, and the next batch of a read-only iterator can be computed ahead of
+     * the client asking for it.
      */
-    class Iterators {
+    static class Iterators {
         private final AtomicInteger iteratorIdCounter = new AtomicInteger(1);
-        private final Map<Integer, Iterator<Transaction.Res>> iterators = new ConcurrentHashMap<>();
+        private final Map<Integer, PrefetchingIterator> iterators = new ConcurrentHashMap<>();
 
         public int add(Iterator<Transaction.Res> iterator) {
+            return add(iterator, true);
+        }
+
+        public int add(Iterator<Transaction.Res> iterator, boolean prefetch) {
             int iteratorId = iteratorIdCounter.getAndIncrement();
-            iterators.put(iteratorId, iterator);
+            iterators.put(iteratorId, new PrefetchingIterator(iterator, prefetch));
             return iteratorId;
         }
 
-        public Transaction.Res next(int iteratorId) {
-            Iterator<Transaction.Res> iterator = iterators.get(iteratorId);
+        /**
+         * @return up to batchSize answers, followed by a done response if the iterator got exhausted,
+         * or null if the iterator does not exist
+         */
+        @Nullable
+        public List<Transaction.Res> next(int iteratorId, int batchSize) {
+            PrefetchingIterator iterator = iterators.get(iteratorId);
             if (iterator == null) return null;
 
-            Transaction.Res response;
-            if (iterator.hasNext()) {
-                response = iterator.next();
-            } else {
-                response = SessionProto.Transaction.Res.newBuilder()
-                        .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
-                                .setDone(true)).build();
-                stop(iteratorId);
-            }
+            List<Transaction.Res> answers = iterator.next(batchSize);
+            boolean done = iterator.isDone();
+            if (done) stop(iteratorId);
 
-            return response;
+            return ResponseBuilder.Transaction.Iter.batch(answers, done);
+        }
+
+        boolean prefetchable(int iteratorId) {
+            PrefetchingIterator iterator = iterators.get(iteratorId);
+            return iterator != null && iterator.prefetch;
+        }
+
+        /**
+         * Fill the buffer of the given iterator with the next batch, so that the next call to next()
+         * does not need to wait for the answers to be computed
+         */
+        void prefetch(int iteratorId, int batchSize) {
+            PrefetchingIterator iterator = iterators.get(iteratorId);
+            if (iterator != null) iterator.prefetch(batchSize);
         }
 
         public void stop(int iteratorId) {
             iterators.remove(iteratorId);
         }
     }
+
+    /**
+     * Wraps an iterator of responses with a buffer of answers computed ahead of time.
+     * Errors met while prefetching are held back until the answers preceding them have been handed out.
+     * Only accessed from the transaction thread.
+     */
+    private static class PrefetchingIterator {
+        private final Iterator<Transaction.Res> iterator;
+        private final boolean prefetch;
+        private final Deque<Transaction.Res> buffer = new ArrayDeque<>();
+        @Nullable
+        private RuntimeException error = null;
+        private boolean exhausted = false;
+
+        PrefetchingIterator(Iterator<Transaction.Res> iterator, boolean prefetch) {
+            this.iterator = iterator;
+            this.prefetch = prefetch;
+        }
+
+        void prefetch(int count) {
+            try {
+                while (error == null && !exhausted && buffer.size() < count) {
+                    if (hasNext()) buffer.add(iterator.next());
+                }
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+
+        List<Transaction.Res> next(int count) {
+            List<Transaction.Res> answers = new ArrayList<>(Math.min(count, 1024));
+            while (answers.size() < count && !buffer.isEmpty()) {
+                answers.add(buffer.poll());
+            }
+            if (error != null) {
+                if (!answers.isEmpty()) return answers;
+                throw error;
+            }
+            while (answers.size() < count && hasNext()) {
+                answers.add(iterator.next());
+            }
+            return answers;
+        }
+
+        boolean isDone() {
+            return exhausted && buffer.isEmpty() && error == null;
+        }
+
+        private boolean hasNext() {
+            if (!exhausted && !iterator.hasNext()) exhausted = true;
+            return !exhausted;
+        }
+    }
 }
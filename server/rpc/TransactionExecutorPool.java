@@ -0,0 +1,201 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.server.rpc;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of threads shared by all the transactions served over RPC, instead of a thread per transaction.
+ * Each transaction is served by its own Lane, which runs the requests of the transaction one at a time and in the
+ * order they were submitted, on whichever worker of the pool is free. A lane runs one request per turn on a worker,
+ * so that a transaction with many queued requests does not hold back the others.
+ *
+ * Requests of a transaction may therefore run on different threads, but never at the same time: they have to move
+ * the transaction to the worker they run on (see Transaction.bindCurrentThread).
+ */
+public class TransactionExecutorPool {
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionExecutorPool.class);
+
+    private final ExecutorService workers;
+    // requests submitted to lanes that have not started yet
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong startedRequests = new AtomicLong();
+    private final AtomicLong totalLaneWaitNanos = new AtomicLong();
+    private final AtomicLong maxLaneWaitNanos = new AtomicLong();
+
+    public TransactionExecutorPool(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of transaction threads must be positive, but was " + threads);
+        }
+        this.workers = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("transaction-worker-%d").build());
+    }
+
+    public Lane lane() {
+        return new Lane();
+    }
+
+    /**
+     * @return the number of requests waiting in lanes for a worker, or for the request before them to complete
+     */
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return the average time in milliseconds requests waited in their lane before starting
+     */
+    public double averageLaneWaitMillis() {
+        long started = startedRequests.get();
+        return started == 0 ? 0D : totalLaneWaitNanos.get() / 1e6 / started;
+    }
+
+    /**
+     * @return the longest time in milliseconds a request waited in its lane before starting
+     */
+    public long maxLaneWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLaneWaitNanos.get());
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+        try {
+            boolean terminated = workers.awaitTermination(30, TimeUnit.SECONDS);
+            if (!terminated) {
+                LOG.warn("Some transaction workers did not terminate within the timeout period.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void started(long submittedAt) {
+        long waited = System.nanoTime() - submittedAt;
+        queueDepth.decrementAndGet();
+        startedRequests.incrementAndGet();
+        totalLaneWaitNanos.addAndGet(waited);
+        maxLaneWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    /**
+     * A serial execution lane: the requests of one transaction, run in order and never concurrently.
+     */
+    public class Lane {
+        // guarded by this
+        private final Deque<Request> requests = new ArrayDeque<>();
+        private boolean scheduled = false;
+        private boolean closed = false;
+        private Thread runningOn = null;
+
+        private Lane() {
+        }
+
+        public void submit(Runnable runnable) {
+            synchronized (this) {
+                if (closed) return;
+                requests.add(new Request(runnable, System.nanoTime()));
+                queueDepth.incrementAndGet();
+                if (scheduled) return;
+                scheduled = true;
+            }
+            workers.execute(this::runNext);
+        }
+
+        private void runNext() {
+            Request request;
+            synchronized (this) {
+                request = requests.poll();
+                if (request == null) {
+                    scheduled = false;
+                    notifyAll();
+                    return;
+                }
+                runningOn = Thread.currentThread();
+            }
+
+            started(request.submittedAt);
+            try {
+                request.runnable.run();
+            } catch (RuntimeException e) {
+                LOG.error("Uncaught exception in transaction request", e);
+            } finally {
+                boolean more;
+                synchronized (this) {
+                    runningOn = null;
+                    // clear the interrupt a close may have left on this worker, which is now to serve other lanes
+                    Thread.interrupted();
+                    more = !requests.isEmpty();
+                    if (!more) scheduled = false;
+                    notifyAll();
+                }
+                // yield the worker between requests, the lane goes to the back of the pool's queue
+                if (more) workers.execute(this::runNext);
+            }
+        }
+
+        /**
+         * Discards the requests that have not started, and interrupts and waits for the one running, if any,
+         * unless called by the running request itself
+         */
+        public void close() {
+            synchronized (this) {
+                if (closed) return;
+                closed = true;
+                queueDepth.addAndGet(-requests.size());
+                requests.clear();
+                if (runningOn == null || runningOn == Thread.currentThread()) return;
+                runningOn.interrupt();
+
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+                try {
+                    while (runningOn != null) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            LOG.warn("A transaction request did not terminate within the timeout period.");
+                            return;
+                        }
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private static class Request {
+        private final Runnable runnable;
+        private final long submittedAt;
+
+        private Request(Runnable runnable, long submittedAt) {
+            this.runnable = runnable;
+            this.submittedAt = submittedAt;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.server.session;
+
+import grakn.core.core.AttributeSerialiser;
+import grakn.core.core.Schema;
+import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.LabelId;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keyspaces created before attributes were indexed by type id and value keep the older index of type label and value
+ * until they are migrated. The attributes are indexed again in batches, each committed in its own transaction, so
+ * that an interrupted migration picks up where it stopped. The keyspace is flagged as migrating before the first batch,
+ * as it then holds both indices and can be used with neither, and as compact once all of its attributes are indexed
+ * again.
+ */
+public class AttributeIndexMigration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AttributeIndexMigration.class);
+    private static final int BATCH_SIZE = 10_000;
+    private static final String LEGACY_INDEX_PREFIX = Schema.BaseType.ATTRIBUTE.name() + "-";
+
+    private AttributeIndexMigration() {}
+
+    /**
+     * @return whether the attributes of the keyspace are indexed by type id and value, as in all new keyspaces
+     */
+    public static boolean hasCompactIndex(StandardJanusGraph graph) {
+        JanusGraphTransaction tx = graph.newTransaction();
+        try {
+            return metaAttributeType(tx)
+                    .map(type -> type.<Boolean>property(Schema.VertexProperty.COMPACT_ATTRIBUTE_INDEX.name()).orElse(false))
+                    .orElse(true);
+        } finally {
+            tx.rollback();
+        }
+    }
+
+    /**
+     * @return whether a migration of the attribute index of the keyspace was started and did not complete, in which
+     * case it must be resumed before the keyspace is used
+     */
+    public static boolean isMigrating(StandardJanusGraph graph) {
+        JanusGraphTransaction tx = graph.newTransaction();
+        try {
+            return metaAttributeType(tx)
+                    .map(type -> type.<Boolean>property(Schema.VertexProperty.ATTRIBUTE_INDEX_MIGRATION.name()).orElse(false))
+                    .orElse(false);
+        } finally {
+            tx.rollback();
+        }
+    }
+
+    /**
+     * Indexes the attributes of the keyspace by type id and value, must complete before the keyspace is used.
+     */
+    public static void migrate(StandardJanusGraph graph, String keyspace) {
+        LOG.info("Migrating the attribute index of keyspace {}", keyspace);
+        JanusGraphTransaction startTx = graph.newTransaction();
+        metaAttributeType(startTx).ifPresent(type -> type.property(Schema.VertexProperty.ATTRIBUTE_INDEX_MIGRATION.name(), true));
+        startTx.commit();
+
+        JanusGraphTransaction readTx = graph.newTransaction();
+        long migrated = 0;
+        try {
+            Map<Integer, IndexedType> types = new HashMap<>();
+            Map<Object, String> batch = new HashMap<>();
+            Iterator<Vertex> attributes = readTx.traversal().V().hasLabel(Schema.BaseType.ATTRIBUTE.name());
+            while (attributes.hasNext()) {
+                Vertex attribute = attributes.next();
+                String index = attribute.<String>property(Schema.VertexProperty.INDEX.name()).orElse(null);
+                if (index == null || !index.startsWith(LEGACY_INDEX_PREFIX)) continue;
+
+                Integer typeId = attribute.value(Schema.VertexProperty.THING_TYPE_LABEL_ID.name());
+                IndexedType type = types.computeIfAbsent(typeId, id -> IndexedType.of(readTx, id));
+                batch.put(attribute.id(), type.compactIndex(attribute, index));
+                if (batch.size() >= BATCH_SIZE) {
+                    migrated += write(graph, batch);
+                    LOG.info("Migrated the index of {} attributes of keyspace {}", migrated, keyspace);
+                }
+            }
+            migrated += write(graph, batch);
+        } finally {
+            readTx.rollback();
+        }
+
+        JanusGraphTransaction tx = graph.newTransaction();
+        metaAttributeType(tx).ifPresent(type -> {
+            type.property(Schema.VertexProperty.COMPACT_ATTRIBUTE_INDEX.name(), true);
+            type.properties(Schema.VertexProperty.ATTRIBUTE_INDEX_MIGRATION.name()).forEachRemaining(Property::remove);
+        });
+        tx.commit();
+        LOG.info("Migrated the index of {} attributes of keyspace {}", migrated, keyspace);
+    }
+
+    private static int write(StandardJanusGraph graph, Map<Object, String> batch) {
+        JanusGraphTransaction tx = graph.newTransaction();
+        batch.forEach((id, index) -> tx.vertices(id).forEachRemaining(
+                attribute -> attribute.property(Schema.VertexProperty.INDEX.name(), index)));
+        tx.commit();
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private static Optional<Vertex> metaAttributeType(JanusGraphTransaction tx) {
+        Integer metaAttributeId = Schema.MetaSchema.ATTRIBUTE.getId().getValue();
+        return tx.traversal().V().has(Schema.VertexProperty.LABEL_ID.name(), metaAttributeId).tryNext();
+    }
+
+    /**
+     * What the index of an attribute type needs, read from the vertex of the type
+     */
+    private static class IndexedType {
+        private final LabelId labelId;
+        private final String legacyIndexPrefix;
+        private final AttributeType.DataType<?> dataType;
+
+        private IndexedType(LabelId labelId, String label, AttributeType.DataType<?> dataType) {
+            this.labelId = labelId;
+            this.legacyIndexPrefix = LEGACY_INDEX_PREFIX + label + "-";
+            this.dataType = dataType;
+        }
+
+        static IndexedType of(JanusGraphTransaction tx, Integer typeId) {
+            Vertex type = tx.traversal().V().has(Schema.VertexProperty.LABEL_ID.name(), typeId).next();
+            String label = type.value(Schema.VertexProperty.SCHEMA_LABEL.name());
+            String dataTypeClass = type.value(Schema.VertexProperty.DATA_TYPE.name());
+            try {
+                return new IndexedType(LabelId.of(typeId), label, AttributeType.DataType.of(Class.forName(dataTypeClass)));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Unsupported data type of attribute type [" + label + "]: " + dataTypeClass, e);
+            }
+        }
+
+        String compactIndex(Vertex attribute, String legacyIndex) {
+            String value;
+            if (legacyIndex.startsWith(legacyIndexPrefix)) {
+                value = legacyIndex.substring(legacyIndexPrefix.length());
+            } else {
+                // the type was relabelled since the attribute was indexed
+                value = AttributeSerialiser.of(dataType).deserialise(
+                        attribute.value(Schema.VertexProperty.ofDataType(dataType).name())
+                ).toString();
+            }
+            return Schema.generateCompactAttributeIndex(labelId, dataType, value);
+        }
+    }
+}
@@ -111,6 +111,7 @@ final public class JanusGraphFactory {
 
         makeIndicesVertexCentric(management);
         makeIndicesComposite(management);
+        makeIndicesOrdered(management);
 
         management.commit();
     }
@@ -200,5 +201,16 @@ final public class JanusGraphFactory {
             }
         }
     }
-}
 
+    private static void makeIndicesOrdered(JanusGraphManagement management) {
+        ResourceBundle keys = ResourceBundle.getBundle("resources/indices-ordered");
+        for (String propertyKeyLabel : keys.keySet()) {
+            PropertyKey key = management.getPropertyKey(propertyKeyLabel);
+            PropertyKey partitionKey = management.getPropertyKey(keys.getString(propertyKeyLabel));
+            // the index only holds the values written after it is built, so it is only built along with the keyspace
+            if (key.isNew() && !management.containsOrderedIndex(key)) {
+                management.buildOrderedIndex(key, partitionKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.server.session;
+
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keyspace-wide state of the inferences persisted in a keyspace that materialises its rules.
+ *
+ * Committing transactions retract the persisted inferences that their deletions may invalidate, and once committed
+ * derive the inferences of the rules depending on what they modified again in a maintenance transaction.
+ * Maintenance transactions run in the background, one at a time, so that each of them derives from all the data
+ * committed before it and commits are not held up by reasoning.
+ * The inferences are up to date, and queries with inference can be answered from them directly,
+ * once they have been fully built and no maintenance is pending.
+ */
+public class MaterialisedInferences {
+    private final static Logger LOG = LoggerFactory.getLogger(MaterialisedInferences.class);
+
+    // Opens a session to the keyspace for each maintenance, which keeps the keyspace open while it runs
+    private final Supplier<Session> sessionOpener;
+    private final ExecutorService maintenanceExecutor;
+    private final AtomicInteger pendingMaintenance = new AtomicInteger();
+    // Inferences persisted before the keyspace was opened, or while the schema changed, are not trusted until rebuilt
+    private volatile boolean built = false;
+
+    MaterialisedInferences(String keyspaceName, Supplier<Session> sessionOpener) {
+        this.sessionOpener = sessionOpener;
+        this.maintenanceExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inference-maintenance-" + keyspaceName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return true if the persisted inferences are complete with respect to the committed data and rules
+     */
+    boolean upToDate() {
+        return built && pendingMaintenance.get() == 0;
+    }
+
+    /**
+     * @return true if the persisted inferences need to be rebuilt from scratch rather than maintained incrementally
+     */
+    boolean requiresRebuild() {
+        return !built;
+    }
+
+    /**
+     * Acknowledge a transaction that is about to commit changes to the inferences, they are not up to date
+     * until the maintenance following the commit is done
+     */
+    void maintenanceScheduled() {
+        pendingMaintenance.incrementAndGet();
+    }
+
+    /**
+     * Acknowledge a transaction that scheduled maintenance but failed to commit
+     */
+    void maintenanceCancelled() {
+        pendingMaintenance.decrementAndGet();
+    }
+
+    /**
+     * Queue the maintenance scheduled by a committed transaction. Failures are not propagated as the transaction
+     * has already committed, instead the inferences are rebuilt by the next maintenance.
+     *
+     * @param modifiedInstanceTypes types of the instances inserted or deleted by the committed transaction
+     * @param rebuild               true if the maintenance rebuilds all inferences
+     */
+    void maintain(Set<Label> modifiedInstanceTypes, boolean rebuild) {
+        try {
+            maintenanceExecutor.execute(() -> maintenance(modifiedInstanceTypes, rebuild));
+        } catch (RejectedExecutionException e) {
+            // the keyspace has been closed since the transaction was opened
+            built = false;
+            pendingMaintenance.decrementAndGet();
+        }
+    }
+
+    private void maintenance(Set<Label> modifiedInstanceTypes, boolean rebuild) {
+        try (Session session = sessionOpener.get(); Transaction tx = session.writeTransaction()) {
+            ((TransactionImpl) tx).materialiseInferences(modifiedInstanceTypes, rebuild);
+            tx.commit();
+            if (rebuild) built = true;
+        } catch (RuntimeException e) {
+            built = false;
+            LOG.error("Failed to maintain materialised inferences, they will be rebuilt on the next commit", e);
+        } finally {
+            pendingMaintenance.decrementAndGet();
+        }
+    }
+
+    /**
+     * Waits for the maintenance queued so far to be done
+     */
+    void awaitMaintenance() throws InterruptedException {
+        try {
+            maintenanceExecutor.submit(() -> {}).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Drops the maintenance still queued when the keyspace is closed. The inferences are rebuilt the next time the
+     * keyspace is opened.
+     */
+    void close() {
+        maintenanceExecutor.shutdownNow();
+    }
+}
@@ -21,6 +21,7 @@ package grakn.core.server.session;
 import grakn.core.common.config.Config;
 import grakn.core.common.config.ConfigKey;
 import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graql.planning.TraversalPlanCache;
 import grakn.core.kb.keyspace.AttributeManager;
 import grakn.core.kb.keyspace.KeyspaceSchemaCache;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
@@ -31,16 +32,30 @@ import grakn.core.kb.server.keyspace.Keyspace;
 import grakn.core.keyspace.AttributeManagerImpl;
 import grakn.core.keyspace.KeyspaceStatisticsImpl;
 import grakn.core.keyspace.ShardManagerImpl;
+import grakn.core.server.util.CommitLockManager;
 import grakn.core.server.util.LockManager;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
 
 /**
  * Grakn Server's internal {@link SessionImpl} Factory
@@ -49,6 +64,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  */
 public class SessionFactory {
 
+    private final static Logger LOG = LoggerFactory.getLogger(SessionFactory.class);
+
     // Keep visibility to protected as this is used by KGMS
     protected final JanusGraphFactory janusGraphFactory;
     // Keep visibility to protected as this is used by KGMS
@@ -59,12 +76,43 @@ public class SessionFactory {
 
     private final Map<Keyspace, SharedKeyspaceData> sharedKeyspaceDataMap;
 
+    // Bounded pool shared by all transactions to resolve rule applications in parallel, null if reasoning is sequential
+    private final ForkJoinPool reasonerPool;
+
+    // Names of the keyspaces that persist the inferences of their rules
+    private final Set<String> materialisedKeyspaces;
+
+    // Keyspaces without open sessions whose graphs are kept open, mapped to the time they became idle, oldest first.
+    // A keyspace is in here if and only if its shared data is cached without session references.
+    private final LinkedHashMap<Keyspace, Long> idleKeyspaces;
+    private final long keyspaceIdleTimeout;
+    private final int warmKeyspacesLimit;
+    // Closes idle keyspaces, null if keyspaces are closed as soon as their last session is
+    private final ScheduledExecutorService evictionScheduler;
+
+    private final AtomicLong warmOpens = new AtomicLong();
+    private final AtomicLong coldOpens = new AtomicLong();
+
     public SessionFactory(LockManager lockManager, JanusGraphFactory janusGraphFactory, HadoopGraphFactory hadoopGraphFactory, Config config) {
         this.janusGraphFactory = janusGraphFactory;
         this.hadoopGraphFactory = hadoopGraphFactory;
         this.lockManager = lockManager;
         this.config = config;
-        this.sharedKeyspaceDataMap = new HashMap<>();
+        this.sharedKeyspaceDataMap = new ConcurrentHashMap<>();
+        int reasonerParallelism = config.getProperty(ConfigKey.REASONER_PARALLELISM);
+        this.reasonerPool = reasonerParallelism > 1 ? new ForkJoinPool(reasonerParallelism) : null;
+        this.materialisedKeyspaces = Arrays.stream(config.getProperty(ConfigKey.MATERIALISED_KEYSPACES).split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        this.idleKeyspaces = new LinkedHashMap<>();
+        this.keyspaceIdleTimeout = config.getProperty(ConfigKey.KEYSPACE_IDLE_TIMEOUT);
+        this.warmKeyspacesLimit = config.getProperty(ConfigKey.WARM_KEYSPACES_LIMIT);
+        this.evictionScheduler = keyspaceIdleTimeout > 0 && warmKeyspacesLimit > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "keyspace-eviction");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
     }
 
     /**
@@ -81,7 +129,9 @@ public class SessionFactory {
         KeyspaceStatistics keyspaceStatistics;
         AttributeManager attributeManager;
         ShardManager shardManager;
-        ReadWriteLock graphLock;
+        CommitLockManager commitLocks;
+        TraversalPlanCache planCache;
+        MaterialisedInferences materialisedInferences;
         HadoopGraph hadoopGraph;
 
         Lock lock = lockManager.getLock(keyspace.name());
@@ -91,28 +141,45 @@ public class SessionFactory {
             // If keyspace reference already in cache, retrieve open graph and keyspace cache
             if (sharedKeyspaceDataMap.containsKey(keyspace)) {
                 cacheContainer = sharedKeyspaceDataMap.get(keyspace);
+                synchronized (idleKeyspaces) {
+                    idleKeyspaces.remove(keyspace);
+                }
+                warmOpens.incrementAndGet();
                 graph = cacheContainer.graph();
                 cache = cacheContainer.cache();
                 keyspaceStatistics = cacheContainer.keyspaceStatistics();
                 attributeManager = cacheContainer.attributeManager();
                 shardManager = cacheContainer.shardManager();
-                graphLock = cacheContainer.graphLock();
+                commitLocks = cacheContainer.commitLocks();
+                planCache = cacheContainer.planCache();
+                materialisedInferences = cacheContainer.materialisedInferences();
                 hadoopGraph = cacheContainer.hadoopGraph();
 
             } else { // If keyspace reference not cached, put keyspace in keyspace manager, open new graph and instantiate new keyspace cache
                 graph = janusGraphFactory.openGraph(keyspace.name());
+                boolean compactAttributeIndex = AttributeIndexMigration.hasCompactIndex(graph);
+                if (!compactAttributeIndex && (config.getProperty(ConfigKey.MIGRATE_ATTRIBUTE_INDEX) || AttributeIndexMigration.isMigrating(graph))) {
+                    AttributeIndexMigration.migrate(graph, keyspace.name());
+                    compactAttributeIndex = true;
+                }
                 hadoopGraph = hadoopGraphFactory.getGraph(keyspace);
                 cache = new KeyspaceSchemaCache();
                 keyspaceStatistics = new KeyspaceStatisticsImpl();
-                attributeManager = new AttributeManagerImpl();
+                attributeManager = new AttributeManagerImpl(compactAttributeIndex, config.getProperty(ConfigKey.ATTRIBUTE_CACHE_SIZE),
+                        config.getProperty(ConfigKey.ATTRIBUTE_CACHE_TIMEOUT));
                 shardManager = new ShardManagerImpl();
-                graphLock = new ReentrantReadWriteLock();
-                cacheContainer = new SharedKeyspaceData(cache, graph, keyspaceStatistics, attributeManager, shardManager, graphLock, hadoopGraph);
+                commitLocks = new CommitLockManager();
+                planCache = new TraversalPlanCache(cache, config.getProperty(ConfigKey.PLAN_CACHE_SIZE), config.getProperty(ConfigKey.PLAN_CACHE_STATISTICS_DRIFT));
+                materialisedInferences = materialisedKeyspaces.contains(keyspace.name()) ?
+                        new MaterialisedInferences(keyspace.name(), () -> session(keyspace)) : null;
+                cacheContainer = new SharedKeyspaceData(cache, graph, keyspaceStatistics, attributeManager, shardManager, commitLocks, planCache,
+                        materialisedInferences, hadoopGraph);
                 sharedKeyspaceDataMap.put(keyspace, cacheContainer);
+                coldOpens.incrementAndGet();
             }
 
-            long typeShardThreshold = config.getProperty(ConfigKey.TYPE_SHARD_THRESHOLD);
-            TransactionProvider transactionProvider = new TransactionProviderImpl(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, graphLock, typeShardThreshold);
+            TransactionProvider transactionProvider = new TransactionProviderImpl(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, commitLocks, planCache,
+                    reasonerPool, materialisedInferences, config);
             Session session = new SessionImpl(keyspace, transactionProvider, cache, graph, keyspaceStatistics, attributeManager, shardManager);
             session.setOnClose(this::onSessionClose);
             cacheContainer.addSessionReference(session);
@@ -135,8 +202,10 @@ public class SessionFactory {
         try {
             if (sharedKeyspaceDataMap.containsKey(keyspace)) {
                 SharedKeyspaceData container = sharedKeyspaceDataMap.remove(keyspace);
-                container.graph().close();
-                container.hadoopGraph().close();
+                synchronized (idleKeyspaces) {
+                    idleKeyspaces.remove(keyspace);
+                }
+                closeKeyspace(container);
                 container.invalidateSessions();
             }
         } finally {
@@ -159,19 +228,126 @@ public class SessionFactory {
             if (sharedKeyspaceDataMap.containsKey(session.keyspace())) {
                 SharedKeyspaceData cacheContainer = sharedKeyspaceDataMap.get(session.keyspace());
                 cacheContainer.removeSessionReference(session);
-                // If there are no more sessions associated to current keyspace,
-                // close graph and remove reference from cache.
+                // If there are no more sessions associated to current keyspace, keep it warm for the next session
+                // until it has been idle for too long, or close graph and remove reference from cache straight away.
                 if (cacheContainer.referenceCount() == 0) {
-                    cacheContainer.graph().close();
-                    cacheContainer.hadoopGraph().close();
-                    sharedKeyspaceDataMap.remove(session.keyspace());
+                    if (evictionScheduler != null && !evictionScheduler.isShutdown()) {
+                        keepWarm(session.keyspace());
+                    } else {
+                        closeKeyspace(cacheContainer);
+                        sharedKeyspaceDataMap.remove(session.keyspace());
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the graphs of a keyspace and stops its inference maintenance.
+     * Must be invoked while holding the lock of the keyspace, once its shared data is no longer handed to sessions.
+     */
+    private void closeKeyspace(SharedKeyspaceData cacheContainer) {
+        if (cacheContainer.materialisedInferences() != null) cacheContainer.materialisedInferences().close();
+        cacheContainer.graph().close();
+        cacheContainer.hadoopGraph().close();
+    }
+
+    /**
+     * Stops the resources shared by the sessions of this factory and closes every open keyspace, invalidating the
+     * sessions still open to them. Invoked when the server shuts down, once no more requests are served.
+     */
+    public void shutdown() {
+        if (evictionScheduler != null) evictionScheduler.shutdownNow();
+        for (Keyspace keyspace : new ArrayList<>(sharedKeyspaceDataMap.keySet())) {
+            Lock lock = lockManager.getLock(keyspace.name());
+            lock.lock();
+            try {
+                SharedKeyspaceData container = sharedKeyspaceDataMap.remove(keyspace);
+                if (container == null) continue;
+                synchronized (idleKeyspaces) {
+                    idleKeyspaces.remove(keyspace);
                 }
+                closeKeyspace(container);
+                container.invalidateSessions();
+            } catch (RuntimeException e) {
+                LOG.error("Failed to close keyspace {} on shutdown", keyspace.name(), e);
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (reasonerPool != null) reasonerPool.shutdownNow();
+    }
+
+    /**
+     * Marks a keyspace whose last session has been closed as idle, schedules it to be closed once the idle timeout
+     * expires and closes the keyspaces idle for the longest if there are more idle keyspaces than allowed.
+     * Must be invoked while holding the lock of the keyspace.
+     */
+    private void keepWarm(Keyspace keyspace) {
+        long idleSince = System.nanoTime();
+        Map<Keyspace, Long> overLimit = new HashMap<>();
+        synchronized (idleKeyspaces) {
+            idleKeyspaces.put(keyspace, idleSince);
+            Iterator<Map.Entry<Keyspace, Long>> oldest = idleKeyspaces.entrySet().iterator();
+            for (int excess = idleKeyspaces.size() - warmKeyspacesLimit; excess > 0; excess--) {
+                Map.Entry<Keyspace, Long> entry = oldest.next();
+                overLimit.put(entry.getKey(), entry.getValue());
+            }
+        }
+        // Other keyspaces are closed by the scheduler so that their locks are never taken while holding this one
+        overLimit.forEach((idleKeyspace, since) -> evictionScheduler.execute(() -> closeIfIdle(idleKeyspace, since)));
+        evictionScheduler.schedule(() -> closeIfIdle(keyspace, idleSince), keyspaceIdleTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Closes graph and removes reference from cache of a keyspace, unless a session was opened to it since it became idle.
+     *
+     * @param keyspace  keyspace to close
+     * @param idleSince time the keyspace became idle when it was scheduled to be closed
+     */
+    private void closeIfIdle(Keyspace keyspace, long idleSince) {
+        Lock lock = lockManager.getLock(keyspace.name());
+        lock.lock();
+        try {
+            synchronized (idleKeyspaces) {
+                Long since = idleKeyspaces.get(keyspace);
+                if (since == null || since != idleSince) return;
+                idleKeyspaces.remove(keyspace);
             }
+            closeKeyspace(sharedKeyspaceDataMap.remove(keyspace));
+            LOG.debug("Closed keyspace {} after {} ms without sessions", keyspace.name(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - idleSince));
+        } catch (RuntimeException e) {
+            LOG.error("Failed to close idle keyspace {}", keyspace.name(), e);
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Only used in tests, to wait for the inferences of a keyspace to be maintained
+     */
+    @Nullable
+    MaterialisedInferences materialisedInferences(Keyspace keyspace) {
+        SharedKeyspaceData cacheContainer = sharedKeyspaceDataMap.get(keyspace);
+        return cacheContainer != null ? cacheContainer.materialisedInferences() : null;
+    }
+
+    /**
+     * @return number of sessions opened to a keyspace whose graph and caches were already open
+     */
+    public long warmOpenCount() {
+        return warmOpens.get();
+    }
+
+    /**
+     * @return number of sessions that had to open the graph and caches of their keyspace
+     */
+    public long coldOpenCount() {
+        return coldOpens.get();
+    }
+
     /**
      * Helper class used to hold in memory a reference to a graph together with its schema cache
      * and a reference to all sessions open to the graph.
@@ -195,11 +371,20 @@ public class SessionFactory {
 
         private final ShardManager shardManager;
 
-        private final ReadWriteLock graphLock;
+        // Striped locks serialising commits that contend on the same attributes or type shards
+        private final CommitLockManager commitLocks;
+
+        // Query plans shared by all transactions to the keyspace
+        private final TraversalPlanCache planCache;
+
+        // State of the persisted inferences, null unless the keyspace materialises its rules
+        private final MaterialisedInferences materialisedInferences;
 
         // Keep visibility to public as this is used by KGMS
         public SharedKeyspaceData(KeyspaceSchemaCache keyspaceSchemaCache, StandardJanusGraph graph, KeyspaceStatistics keyspaceStatistics,
-                                  AttributeManager attributeManager, ShardManager shardManager, ReadWriteLock graphLock, HadoopGraph hadoopGraph) {
+                                  AttributeManager attributeManager, ShardManager shardManager, CommitLockManager commitLocks,
+                                  TraversalPlanCache planCache, @Nullable MaterialisedInferences materialisedInferences,
+                                  HadoopGraph hadoopGraph) {
             this.keyspaceSchemaCache = keyspaceSchemaCache;
             this.graph = graph;
             this.hadoopGraph = hadoopGraph;
@@ -207,12 +392,48 @@ public class SessionFactory {
             this.keyspaceStatistics = keyspaceStatistics;
             this.attributeManager = attributeManager;
             this.shardManager = shardManager;
-            this.graphLock = graphLock;
+            this.commitLocks = commitLocks;
+            this.planCache = planCache;
+            this.materialisedInferences = materialisedInferences;
         }
 
+        /**
+         * @deprecated commits share the read side of the given graph lock, plans are cached with the default settings
+         * and no inferences are materialised. Pass the commit locks, plan cache and materialised inferences instead.
+         */
         // Keep visibility to public as this is used by KGMS
+        @Deprecated
+        public SharedKeyspaceData(KeyspaceSchemaCache keyspaceSchemaCache, StandardJanusGraph graph, KeyspaceStatistics keyspaceStatistics,
+                                  AttributeManager attributeManager, ShardManager shardManager, ReadWriteLock graphLock, HadoopGraph hadoopGraph) {
+            this(keyspaceSchemaCache, graph, keyspaceStatistics, attributeManager, shardManager, new CommitLockManager(graphLock),
+                    new TraversalPlanCache(keyspaceSchemaCache, ConfigKey.PLAN_CACHE_SIZE.defaultValue(), ConfigKey.PLAN_CACHE_STATISTICS_DRIFT.defaultValue()),
+                    null, hadoopGraph);
+        }
+
+        /**
+         * @deprecated commits now lock the attributes and types they contend on through commitLocks(),
+         * taking the write side of this lock waits for them and keeps them out as before
+         */
+        // Keep visibility to public as this is used by KGMS
+        @Deprecated
         public ReadWriteLock graphLock() {
-            return graphLock;
+            return commitLocks.keyspaceLock();
+        }
+
+        // Keep visibility to public as this is used by KGMS
+        public CommitLockManager commitLocks() {
+            return commitLocks;
+        }
+
+        // Keep visibility to public as this is used by KGMS
+        public TraversalPlanCache planCache() {
+            return planCache;
+        }
+
+        // Keep visibility to public as this is used by KGMS
+        @Nullable
+        public MaterialisedInferences materialisedInferences() {
+            return materialisedInferences;
         }
 
         // Keep visibility to public as this is used by KGMS
@@ -83,6 +83,9 @@ public class SessionImpl implements Session {
 
         if (!keyspaceHasBeenInitialised(tx)) {
             initialiseMetaConcepts(tx);
+        } else if (keyspaceSchemaCache.schemaSnapshot() == null) {
+            // A new keyspace shares its schema when the meta concepts are committed, an existing one is read here
+            copySchemaToKeyspaceCache(tx);
         }
         // If keyspace cache is empty, copy schema concept labels in it.
         if (keyspaceSchemaCache.isEmpty()) {
@@ -104,14 +107,17 @@ public class SessionImpl implements Session {
 
     private Transaction transaction(Transaction.Type type) {
 
-        // If graph is closed it means the session was already closed
-        if (graph.isClosed()) {
+        // The graph of a keyspace may be kept open after its sessions are closed, so the session must be checked too
+        if (isClosed || graph.isClosed()) {
             throw new SessionException(ErrorMessage.SESSION_CLOSED.getMessage(keyspace()));
         }
 
         Transaction localTx = localOLTPTransactionContainer.get();
-        // If transaction is already open in current thread throw exception
-        if (localTx != null && localTx.isOpen()) throw TransactionException.transactionOpen(localTx);
+        // If transaction is already open in current thread throw exception,
+        // unless the transaction released the thread, to be served by other threads
+        if (localTx != null && localTx.isOpen() && ((TransactionImpl) localTx).isLocal()) {
+            throw TransactionException.transactionOpen(localTx);
+        }
 
         Transaction tx = transactionProvider.newTransaction(this);
 
@@ -141,6 +147,14 @@ public class SessionImpl implements Session {
         copyToCache(tx.getMetaRule());
     }
 
+    /**
+     * Copy the whole schema to the keyspace cache, for it to be shared by the transactions of the keyspace
+     */
+    private void copySchemaToKeyspaceCache(Transaction tx) {
+        TransactionImpl transaction = (TransactionImpl) tx;
+        keyspaceSchemaCache.cacheSchemaSnapshot(transaction.snapshotSchema(), transaction.schemaVersion());
+    }
+
     /**
      * Copy schema concept and all its subs labels to keyspace cache
      */
@@ -40,6 +40,7 @@ import grakn.core.concept.util.ConceptUtils;
 import grakn.core.core.JanusTraversalSourceProvider;
 import grakn.core.core.Schema;
 import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graql.reasoner.ParallelResolution;
 import grakn.core.graql.reasoner.cache.MultilevelSemanticCache;
 import grakn.core.graql.reasoner.explanation.JoinExplanation;
 import grakn.core.graql.reasoner.query.ReasonerAtomicQuery;
@@ -58,6 +59,7 @@ import grakn.core.kb.concept.api.Rule;
 import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.concept.api.Thing;
 import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.concept.manager.SchemaSnapshot;
 import grakn.core.kb.concept.structure.GraknElementException;
 import grakn.core.kb.concept.structure.PropertyNotUniqueException;
 import grakn.core.kb.concept.structure.VertexElement;
@@ -74,6 +76,7 @@ import grakn.core.kb.server.exception.TransactionException;
 import grakn.core.kb.server.keyspace.Keyspace;
 import grakn.core.keyspace.StatisticsDeltaImpl;
 import grakn.core.server.Validator;
+import grakn.core.server.util.CommitLockManager;
 import graql.lang.Graql;
 import graql.lang.pattern.Pattern;
 import graql.lang.query.GraqlCompute;
@@ -96,6 +99,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -103,7 +107,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.Stack;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -112,6 +117,7 @@ import java.util.stream.Stream;
  */
 public class TransactionImpl implements Transaction {
     private final static Logger LOG = LoggerFactory.getLogger(TransactionImpl.class);
+    private final static String SHARD_LOCK_PREFIX = "SHARD-";
     private final long typeShardThreshold;
 
     // Shared Variables
@@ -138,18 +144,24 @@ public class TransactionImpl implements Transaction {
     protected final TraversalPlanFactory traversalPlanFactory;
     protected final JanusTraversalSourceProvider janusTraversalSourceProvider;
     protected final ReasonerQueryFactory reasonerQueryFactory;
-    private final ReadWriteLock graphLock;
+    private final CommitLockManager commitLocks;
+
+    // Set if the keyspace materialises its rules, in which case this transaction maintains the persisted inferences
+    private final MaterialisedInferences materialisedInferences;
+    private boolean maintainingInferences = false;
 
     public TransactionImpl(Session session, JanusGraphTransaction janusTransaction, ConceptManager conceptManager,
                            JanusTraversalSourceProvider janusTraversalSourceProvider, TransactionCache transactionCache,
                            MultilevelSemanticCache queryCache, RuleCache ruleCache,
                            StatisticsDeltaImpl statisticsDelta, ExecutorFactory executorFactory,
                            TraversalPlanFactory traversalPlanFactory, ReasonerQueryFactory reasonerQueryFactory,
-                           ReadWriteLock graphLock, long typeShardThreshold) {
+                           CommitLockManager commitLocks, @Nullable MaterialisedInferences materialisedInferences,
+                           long typeShardThreshold) {
         createdInCurrentThread.set(true);
 
         this.session = session;
-        this.graphLock = graphLock;
+        this.commitLocks = commitLocks;
+        this.materialisedInferences = materialisedInferences;
 
         this.janusTransaction = janusTransaction;
         this.janusTraversalSourceProvider = janusTraversalSourceProvider;
@@ -182,7 +194,9 @@ public class TransactionImpl implements Transaction {
      * - use a lock if there is a tx that deletes attributes
      * - use a lock if there is a tx that mutates key implicit relations
      * - otherwise do not lock
-     * @return true if graph lock need to be acquired for commit
+     * Only the locks guarding the keys returned by commitLockKeys() are taken, so that transactions
+     * mutating disjoint attributes and types can commit in parallel.
+     * @return true if commit locks need to be acquired for commit
      */
     @VisibleForTesting
     public boolean commitLockRequired(){
@@ -213,9 +227,28 @@ public class TransactionImpl implements Transaction {
         return lockRequired;
     }
 
+    /**
+     * @return the keys of everything this transaction can contend on with other transactions when committing:
+     * the indices of the attributes it inserts or removes, the key indices it modifies,
+     * and the types it creates shards for
+     */
+    @VisibleForTesting
+    public Set<String> commitLockKeys() {
+        Set<String> lockKeys = new HashSet<>();
+        transactionCache.getNewAttributes().keySet().forEach(labelIndexPair -> lockKeys.add(labelIndexPair.second()));
+        lockKeys.addAll(transactionCache.getRemovedAttributes());
+        lockKeys.addAll(transactionCache.getModifiedKeyIndices());
+        transactionCache.getNewShards().keySet().forEach(label -> lockKeys.add(SHARD_LOCK_PREFIX + label.getValue()));
+        return lockKeys;
+    }
+
     private void commitInternal() throws InvalidKBException {
         boolean lockRequired = commitLockRequired();
-        if (lockRequired) graphLock.writeLock().lock();
+        List<Lock> locks = lockRequired ? commitLocks.lock(commitLockKeys()) : Collections.emptyList();
+        if (lockRequired) {
+            LOG.debug("{} acquired {} commit locks, average commit lock wait: {}ms, max commit lock wait: {}ms",
+                    janusTransaction, locks.size(), commitLocks.averageWaitMillis(), commitLocks.maxWaitMillis());
+        }
         try {
             createNewTypeShardsWhenThresholdReached();
             transactionCache.getRemovedAttributes().forEach(index -> session.attributeManager().attributesCommitted().invalidate(index));
@@ -224,12 +257,14 @@ public class TransactionImpl implements Transaction {
             ackCommit(deduplicatedIndices);
 
         } finally {
-            if (lockRequired) graphLock.writeLock().unlock();
+            commitLocks.unlock(locks);
         }
     }
 
     private void persistInternal() throws InvalidKBException {
         validateGraph();
+        // the schema this transaction commits is shared with new transactions once the keyspace cache is flushed
+        if (transactionCache.isSchemaModified()) transactionCache.stageSchemaSnapshot(conceptManager.snapshotSchema());
         session.keyspaceStatistics().commit(conceptManager, uncomittedStatisticsDelta);
         LOG.trace("Graph is valid. Committing graph...");
         janusTransaction.commit();
@@ -252,7 +287,7 @@ public class TransactionImpl implements Transaction {
     }
 
     // When there are new attributes in the current transaction that is about to be committed
-    // we serialise the commit by locking and merge attributes that are duplicates.
+    // we serialise the commit by locking the attribute indices and merge attributes that are duplicates.
     private Set<String> mergeAttributes() {
         Set<String> deduplicatesIndices = new HashSet<>();
         transactionCache.getNewAttributes().forEach(((labelIndexPair, conceptId) -> {
@@ -264,7 +299,7 @@ public class TransactionImpl implements Transaction {
             String index = labelIndexPair.second();
             Label label = labelIndexPair.first();
             ConceptId targetId = session.attributeManager().attributesCommitted().getIfPresent(index);
-            if (targetId != null) {
+            if (targetId != null && (!Schema.isHashedAttributeIndex(index) || sameValue(conceptId, targetId))) {
                 merge(conceptId, targetId);
                 deduplicatesIndices.add(index);
                 uncomittedStatisticsDelta.decrementAttribute(label);
@@ -273,6 +308,14 @@ public class TransactionImpl implements Transaction {
         return deduplicatesIndices;
     }
 
+    // Hashed indices are shared by attributes of colliding values, which must not be merged
+    private boolean sameValue(ConceptId attributeId, ConceptId otherAttributeId) {
+        Concept attribute = conceptManager.getConcept(attributeId);
+        Concept otherAttribute = conceptManager.getConcept(otherAttributeId);
+        return attribute != null && otherAttribute != null
+                && attribute.asAttribute().value().equals(otherAttribute.asAttribute().value());
+    }
+
     @VisibleForTesting
     public void computeShardCandidates() {
         String txId = this.janusTransaction.toString();
@@ -422,7 +465,8 @@ public class TransactionImpl implements Transaction {
         Stream<ConceptMap> explicitlyPersisted = inserted.peek(conceptMap -> {
             // mark all inferred concepts that are required for the insert for persistence explicitly
             // can avoid this potentially expensive check if there aren't any inferred concepts to start with
-            if (transactionCache.getInferredInstances().findAny().isPresent()) {
+            // persisted inferences are not tracked by the cache, so they are always checked if rules are materialised
+            if (materialisedInferences != null || transactionCache.getInferredInstances().findAny().isPresent()) {
                 markConceptsForPersistence(conceptMap.concepts());
             }
         });
@@ -713,10 +757,22 @@ public class TransactionImpl implements Transaction {
         }
     }
 
-    private boolean isLocal() {
+    boolean isLocal() {
         return createdInCurrentThread.get();
     }
 
+    @Override
+    public void bindCurrentThread() {
+        createdInCurrentThread.set(true);
+        janusTraversalSourceProvider.bindCurrentThread();
+    }
+
+    @Override
+    public void unbindCurrentThread() {
+        createdInCurrentThread.remove();
+        janusTraversalSourceProvider.unbindCurrentThread();
+    }
+
 
     /**
      * @param label A unique label for the EntityType
@@ -1103,6 +1159,7 @@ public class TransactionImpl implements Transaction {
             return;
         }
         try {
+            stopParallelResolution();
             if (janusTransaction.isOpen()) {
                 janusTransaction.rollback();
             }
@@ -1121,19 +1178,147 @@ public class TransactionImpl implements Transaction {
         if (!isOpen()) {
             return;
         }
+        Set<Label> modifiedInstanceTypes = new HashSet<>(transactionCache.getModifiedInstanceTypes());
+        boolean rebuildInferences = false;
+        boolean maintainInferences = false;
+        boolean committed = false;
         try {
+            stopParallelResolution();
             checkMutationAllowed();
             removeInferredConcepts();
+            if (materialisedInferences != null && !maintainingInferences) {
+                rebuildInferences = materialisedInferences.requiresRebuild() || transactionCache.isSchemaModified();
+                maintainInferences = rebuildInferences || !modifiedInstanceTypes.isEmpty();
+                if (maintainInferences) {
+                    materialisedInferences.maintenanceScheduled();
+                    retractMaterialisedInferences();
+                }
+            }
             computeShardCandidates();
 
             // lock on the keyspace cache shared between concurrent tx's to the same keyspace
             // force serialized updates, keeping Janus and our KeyspaceCache in sync
             commitInternal();
             transactionCache.flushSchemaLabelIdsToCache();
+            committed = true;
         } finally {
             String closeMessage = ErrorMessage.TX_CLOSED_ON_ACTION.getMessage("committed", keyspace());
             closeTransaction(closeMessage);
+            if (maintainInferences && !committed) materialisedInferences.maintenanceCancelled();
+        }
+        if (maintainInferences) materialisedInferences.maintain(modifiedInstanceTypes, rebuildInferences);
+    }
+
+    /**
+     * In a keyspace materialising its rules, queries with inference are answered from the persisted inferences
+     * as long as they are up to date and this transaction has not modified the data or schema. Otherwise rules
+     * are applied as usual, once the inferences invalidated by the deletions of this transaction are retracted.
+     */
+    private void applyMaterialisedInferences() {
+        if (materialisedInferences == null || maintainingInferences) return;
+        boolean materialised = materialisedInferences.upToDate()
+                && transactionCache.getModifiedInstanceTypes().isEmpty()
+                && !transactionCache.isSchemaModified();
+        if (!materialised) retractMaterialisedInferences();
+        if (ruleCache.rulesMaterialised() != materialised) {
+            // answers cached without rules are incomplete once rules apply
+            if (!materialised) queryCache.clear();
+            ruleCache.setRulesMaterialised(materialised);
+        }
+    }
+
+    /**
+     * Delete the persisted inferences that may no longer hold given the instances inserted and deleted since
+     * the last retraction: those derived from deleted instances, and those that insertions can invalidate through
+     * negation. They are derived again, where they still hold, once the transaction commits.
+     */
+    private void retractMaterialisedInferences() {
+        Set<Rule> rules = dependentRules(transactionCache.getDeletedInstanceTypes());
+        Set<Rule> insertionRules = dependentRules(transactionCache.getInsertedInstanceTypes());
+        if (insertionRules.stream().anyMatch(rule -> rule.whenNegativeTypes().findFirst().isPresent())) {
+            rules.addAll(insertionRules);
         }
+        deleteInferences(rules.stream().flatMap(Rule::thenTypes).collect(Collectors.toSet()));
+        transactionCache.ackInferenceRetraction();
+    }
+
+    /**
+     * Derive and persist the inferences of the rules depending on the modified types, or of all rules if rebuilding.
+     * Used by the maintenance transaction following the commit of a transaction in a keyspace materialising its rules,
+     * the inferred instances are persisted while remaining flagged as inferred.
+     */
+    void materialiseInferences(Set<Label> modifiedInstanceTypes, boolean rebuild) {
+        maintainingInferences = true;
+        Set<Rule> rules;
+        if (rebuild) {
+            rules = ruleCache.getRules().collect(Collectors.toSet());
+            Set<grakn.core.kb.concept.api.Type> types = new HashSet<>();
+            types.add(conceptManager.getMetaRelationType());
+            types.add(conceptManager.getMetaAttributeType());
+            deleteInferences(types);
+        } else {
+            rules = dependentRules(modifiedInstanceTypes);
+        }
+        rules.forEach(rule -> stream(Graql.match(rule.then()).get(), true).forEach(answer -> {}));
+        transactionCache.getInferredInstances().forEach(transactionCache::inferredInstanceToPersist);
+    }
+
+    /**
+     * @return rules whose inferences may change when instances of the given types change, directly or through
+     * the inferences of other rules. Retracting the inferences of a rule deletes all the inferred instances of its
+     * head types and their subs, whichever rule inferred them, so the rules inferring these are included as well.
+     */
+    private Set<Rule> dependentRules(Set<Label> instanceTypes) {
+        Set<Rule> rules = new HashSet<>();
+        Stack<SchemaConcept> types = new Stack<>();
+        Stack<Rule> retractedRules = new Stack<>();
+        instanceTypes.stream()
+                .flatMap(label -> label.getValue().startsWith(Schema.ImplicitType.RESERVED.getValue()) ?
+                        Stream.of(label, Schema.ImplicitType.explicitLabel(label)) : Stream.of(label))
+                .map(conceptManager::<SchemaConcept>getSchemaConcept)
+                .filter(Objects::nonNull)
+                .forEach(types::push);
+        while (!types.isEmpty() || !retractedRules.isEmpty()) {
+            if (!retractedRules.isEmpty()) {
+                retractedRules.pop().thenTypes()
+                        .flatMap(grakn.core.kb.concept.api.Type::subs)
+                        .forEach(head -> {
+                            types.push(head);
+                            head.thenRules().filter(rules::add).forEach(retractedRules::push);
+                        });
+            } else {
+                types.pop().sups()
+                        .flatMap(SchemaConcept::whenRules)
+                        .filter(rules::add)
+                        .forEach(retractedRules::push);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Delete the persisted inferred instances of the given types, and the inferred ownerships of attribute types
+     */
+    private void deleteInferences(Set<grakn.core.kb.concept.api.Type> types) {
+        types.stream()
+                .flatMap(type -> type.isAttributeType() ?
+                        Stream.of(type, conceptManager.getType(Schema.ImplicitType.HAS.getLabel(type.label()))) : Stream.of(type))
+                .filter(Objects::nonNull)
+                .flatMap(grakn.core.kb.concept.api.Type::instances)
+                .filter(Thing::isInferred)
+                .collect(Collectors.toSet())
+                .forEach(thing -> {
+                    if (!thing.isDeleted()) thing.delete();
+                });
+    }
+
+    /**
+     * Cancels the rule branches still being resolved on behalf of this transaction, and waits for them to stop
+     * before the Janus transaction is committed or rolled back
+     */
+    private void stopParallelResolution() {
+        ParallelResolution parallelResolution = reasonerQueryFactory.parallelResolution();
+        if (parallelResolution != null) parallelResolution.close();
     }
 
     private void closeTransaction(String closedReason) {
@@ -1141,6 +1326,7 @@ public class TransactionImpl implements Transaction {
         this.isTxOpen = false;
         ruleCache.clear();
         queryCache.clear();
+        executorFactory.close();
     }
 
     private void removeInferredConcepts() {
@@ -1228,15 +1414,25 @@ public class TransactionImpl implements Transaction {
 
     // shortcut helpers
     private QueryExecutor executor() {
-        return executorFactory.transactional( true);
+        return executor(true);
     }
 
     private QueryExecutor executor(boolean infer) {
+        if (infer) applyMaterialisedInferences();
         return executorFactory.transactional( infer);
     }
 
     // ----------- Exposed low level methods that should not be exposed here TODO refactor
+    SchemaSnapshot.Builder snapshotSchema() {
+        return conceptManager.snapshotSchema();
+    }
+
+    long schemaVersion() {
+        return transactionCache.schemaVersion();
+    }
+
     void createMetaConcepts() {
+        transactionCache.markSchemaModified();
         VertexElement type = conceptManager.addTypeVertex(Schema.MetaSchema.THING.getId(), Schema.MetaSchema.THING.getLabel(), Schema.BaseType.TYPE);
         VertexElement entityType = conceptManager.addTypeVertex(Schema.MetaSchema.ENTITY.getId(), Schema.MetaSchema.ENTITY.getLabel(), Schema.BaseType.ENTITY_TYPE);
         VertexElement relationType = conceptManager.addTypeVertex(Schema.MetaSchema.RELATION.getId(), Schema.MetaSchema.RELATION.getLabel(), Schema.BaseType.RELATION_TYPE);
@@ -1246,6 +1442,7 @@ public class TransactionImpl implements Transaction {
 
         relationType.property(Schema.VertexProperty.IS_ABSTRACT, true);
         resourceType.property(Schema.VertexProperty.IS_ABSTRACT, true);
+        resourceType.property(Schema.VertexProperty.COMPACT_ATTRIBUTE_INDEX, true);
         entityType.property(Schema.VertexProperty.IS_ABSTRACT, true);
 
         relationType.addEdge(type, Schema.EdgeLabel.SUB);
@@ -19,6 +19,8 @@
 
 package grakn.core.server.session;
 
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
 import grakn.core.concept.manager.ConceptListenerImpl;
 import grakn.core.concept.manager.ConceptManagerImpl;
 import grakn.core.concept.manager.ConceptNotificationChannelImpl;
@@ -28,7 +30,9 @@ import grakn.core.graph.core.JanusGraphTransaction;
 import grakn.core.graph.graphdb.database.StandardJanusGraph;
 import grakn.core.graql.executor.ExecutorFactoryImpl;
 import grakn.core.graql.executor.property.PropertyExecutorFactoryImpl;
+import grakn.core.graql.planning.TraversalPlanCache;
 import grakn.core.graql.planning.TraversalPlanFactoryImpl;
+import grakn.core.graql.reasoner.ParallelResolution;
 import grakn.core.graql.reasoner.atom.PropertyAtomicFactory;
 import grakn.core.graql.reasoner.cache.MultilevelSemanticCache;
 import grakn.core.graql.reasoner.cache.RuleCacheImpl;
@@ -45,9 +49,11 @@ import grakn.core.kb.server.Transaction;
 import grakn.core.kb.server.TransactionProvider;
 import grakn.core.kb.server.cache.TransactionCache;
 import grakn.core.keyspace.StatisticsDeltaImpl;
+import grakn.core.server.util.CommitLockManager;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 
-import java.util.concurrent.locks.ReadWriteLock;
+import javax.annotation.Nullable;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A component performing inversion of control, removing the creation of Transactions from the SessionImpl
@@ -58,19 +64,29 @@ public class TransactionProviderImpl implements TransactionProvider {
     private final KeyspaceSchemaCache keyspaceSchemaCache;
     private final KeyspaceStatistics keyspaceStatistics;
     private final AttributeManager attributeManager;
-    private ReadWriteLock graphLock;
+    private final CommitLockManager commitLocks;
+    private final TraversalPlanCache planCache;
+    private final ForkJoinPool reasonerPool;
+    private final MaterialisedInferences materialisedInferences;
+    private final Config config;
     private final long typeShardThreshold;
 
     public TransactionProviderImpl(StandardJanusGraph graph, HadoopGraph hadoopGraph,
                                    KeyspaceSchemaCache keyspaceSchemaCache, KeyspaceStatistics keyspaceStatistics,
-                                   AttributeManager attributeManager, ReadWriteLock graphLock, long typeShardThreshold) {
+                                   AttributeManager attributeManager, CommitLockManager commitLocks, TraversalPlanCache planCache,
+                                   @Nullable ForkJoinPool reasonerPool, @Nullable MaterialisedInferences materialisedInferences,
+                                   Config config) {
         this.graph = graph;
         this.hadoopGraph = hadoopGraph;
         this.keyspaceSchemaCache = keyspaceSchemaCache;
         this.keyspaceStatistics = keyspaceStatistics;
         this.attributeManager = attributeManager;
-        this.graphLock = graphLock;
-        this.typeShardThreshold = typeShardThreshold;
+        this.commitLocks = commitLocks;
+        this.planCache = planCache;
+        this.reasonerPool = reasonerPool;
+        this.materialisedInferences = materialisedInferences;
+        this.config = config;
+        this.typeShardThreshold = config.getProperty(ConfigKey.TYPE_SHARD_THRESHOLD);
     }
 
     /*
@@ -81,24 +97,27 @@ public class TransactionProviderImpl implements TransactionProvider {
 
         // Data structures
         ConceptNotificationChannel conceptNotificationChannel = new ConceptNotificationChannelImpl();
-        TransactionCache transactionCache = new TransactionCache(keyspaceSchemaCache);
+        TransactionCache transactionCache = new TransactionCache(keyspaceSchemaCache, attributeManager);
         StatisticsDeltaImpl statisticsDelta = new StatisticsDeltaImpl();
 
         // Janus elements
-        JanusGraphTransaction janusGraphTransaction = graph.newThreadBoundTransaction();
+        // Rule applications resolved in parallel read the graph from several workers, which needs a multi-threaded transaction
+        JanusGraphTransaction janusGraphTransaction = reasonerPool != null ? graph.buildTransaction().start() : graph.newThreadBoundTransaction();
         JanusTraversalSourceProvider janusTraversalSourceProvider = new JanusTraversalSourceProvider(janusGraphTransaction);
         ElementFactory elementFactory = new ElementFactory(janusGraphTransaction, janusTraversalSourceProvider);
 
         // Grakn elements
         PropertyExecutorFactory propertyExecutorFactory = new PropertyExecutorFactoryImpl();
         ConceptManager conceptManager = new ConceptManagerImpl(elementFactory, transactionCache, conceptNotificationChannel, attributeManager);
-        TraversalPlanFactory traversalPlanFactory = new TraversalPlanFactoryImpl(janusTraversalSourceProvider, conceptManager, propertyExecutorFactory, typeShardThreshold, keyspaceStatistics);
-        ExecutorFactoryImpl executorFactory = new ExecutorFactoryImpl(conceptManager, hadoopGraph, keyspaceStatistics, traversalPlanFactory);
+        TraversalPlanFactory traversalPlanFactory = new TraversalPlanFactoryImpl(janusTraversalSourceProvider, conceptManager, propertyExecutorFactory, typeShardThreshold, keyspaceStatistics, planCache);
+        ExecutorFactoryImpl executorFactory = new ExecutorFactoryImpl(conceptManager, hadoopGraph, keyspaceStatistics, traversalPlanFactory, config,
+                graph, janusGraphTransaction);
         RuleCacheImpl ruleCache = new RuleCacheImpl(conceptManager, keyspaceStatistics);
         MultilevelSemanticCache queryCache = new MultilevelSemanticCache(executorFactory, traversalPlanFactory);
 
         PropertyAtomicFactory propertyAtomicFactory = new PropertyAtomicFactory(conceptManager, ruleCache, queryCache, keyspaceStatistics);
-        ReasonerQueryFactory reasonerQueryFactory = new ReasonerQueryFactory(conceptManager, queryCache, ruleCache, executorFactory, propertyAtomicFactory, traversalPlanFactory);
+        ParallelResolution parallelResolution = reasonerPool != null ? new ParallelResolution(reasonerPool, janusTraversalSourceProvider) : null;
+        ReasonerQueryFactory reasonerQueryFactory = new ReasonerQueryFactory(conceptManager, queryCache, ruleCache, executorFactory, propertyAtomicFactory, traversalPlanFactory, parallelResolution);
         executorFactory.setReasonerQueryFactory(reasonerQueryFactory);
         propertyAtomicFactory.setReasonerQueryFactory(reasonerQueryFactory);
         ruleCache.setReasonerQueryFactory(reasonerQueryFactory);
@@ -107,7 +126,7 @@ public class TransactionProviderImpl implements TransactionProvider {
                 session, janusGraphTransaction, conceptManager,
                 janusTraversalSourceProvider, transactionCache, queryCache, ruleCache, statisticsDelta,
                 executorFactory, traversalPlanFactory, reasonerQueryFactory,
-                graphLock, typeShardThreshold
+                commitLocks, materialisedInferences, typeShardThreshold
         );
 
         ConceptListenerImpl conceptListener = new ConceptListenerImpl(transactionCache, queryCache, ruleCache, statisticsDelta, attributeManager, janusGraphTransaction.toString());
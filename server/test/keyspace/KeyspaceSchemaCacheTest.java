@@ -0,0 +1,175 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.keyspace;
+
+import com.google.common.collect.ImmutableSet;
+import grakn.core.core.Schema;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.LabelId;
+import grakn.core.kb.concept.manager.SchemaSnapshot;
+import grakn.core.kb.keyspace.KeyspaceSchemaCache;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class KeyspaceSchemaCacheTest {
+
+    private static final Label THING = Schema.MetaSchema.THING.getLabel();
+    private static final Label ENTITY = Schema.MetaSchema.ENTITY.getLabel();
+    private static final Label RELATION = Schema.MetaSchema.RELATION.getLabel();
+    private static final Label ROLE = Schema.MetaSchema.ROLE.getLabel();
+    private static final Label PERSON = Label.of("person");
+    private static final Label STUDENT = Label.of("student");
+    private static final Label EMPLOYMENT = Label.of("employment");
+    private static final Label EMPLOYEE = Label.of("employee");
+
+    private static SchemaSnapshot.Builder schema() {
+        return SchemaSnapshot.builder()
+                .schemaConcept(THING, ConceptId.of("V1"), LabelId.of(1), Schema.BaseType.TYPE, false, null)
+                .schemaConcept(ENTITY, ConceptId.of("V2"), LabelId.of(2), Schema.BaseType.ENTITY_TYPE, false, THING)
+                .schemaConcept(RELATION, ConceptId.of("V3"), LabelId.of(3), Schema.BaseType.RELATION_TYPE, false, THING)
+                .schemaConcept(ROLE, ConceptId.of("V4"), LabelId.of(4), Schema.BaseType.ROLE, false, null)
+                .schemaConcept(PERSON, ConceptId.of("V5"), LabelId.of(5), Schema.BaseType.ENTITY_TYPE, false, ENTITY)
+                .schemaConcept(STUDENT, ConceptId.of("V6"), LabelId.of(6), Schema.BaseType.ENTITY_TYPE, false, PERSON)
+                .schemaConcept(EMPLOYMENT, ConceptId.of("V7"), LabelId.of(7), Schema.BaseType.RELATION_TYPE, false, RELATION)
+                .schemaConcept(EMPLOYEE, ConceptId.of("V8"), LabelId.of(8), Schema.BaseType.ROLE, false, ROLE)
+                .relates(EMPLOYMENT, EMPLOYEE)
+                .plays(PERSON, EMPLOYEE, false);
+    }
+
+    @Test
+    public void whenSchemaSnapshotIsBuilt_labelsAndIdsAreIndexed() {
+        SchemaSnapshot snapshot = schema().build(3);
+
+        assertEquals(3, snapshot.version());
+        assertTrue(snapshot.contains(PERSON));
+        assertTrue(snapshot.contains(ConceptId.of("V5")));
+        assertFalse(snapshot.contains(Label.of("dog")));
+        assertEquals(PERSON, snapshot.label(ConceptId.of("V5")));
+        assertEquals(STUDENT, snapshot.label(LabelId.of(6)));
+        assertEquals(LabelId.of(7), snapshot.labelId(EMPLOYMENT));
+        assertEquals(Schema.BaseType.ROLE, snapshot.baseType(EMPLOYEE));
+        assertEquals(PERSON, snapshot.sup(STUDENT));
+    }
+
+    @Test
+    public void whenSchemaSnapshotIsBuilt_supsStopBelowThing() {
+        SchemaSnapshot snapshot = schema().build(0);
+
+        assertEquals(ImmutableSet.of(STUDENT, PERSON, ENTITY), snapshot.sups(STUDENT));
+        assertEquals(ImmutableSet.of(EMPLOYEE, ROLE), snapshot.sups(EMPLOYEE));
+        assertTrue(snapshot.sups(THING).isEmpty());
+    }
+
+    @Test
+    public void whenSchemaSnapshotIsBuilt_subsAreTransitive() {
+        SchemaSnapshot snapshot = schema().build(0);
+
+        assertEquals(ImmutableSet.of(PERSON), snapshot.directSubs(ENTITY));
+        assertEquals(ImmutableSet.of(ENTITY, PERSON, STUDENT), snapshot.subs(ENTITY));
+        assertEquals(ImmutableSet.of(STUDENT), snapshot.subs(STUDENT));
+    }
+
+    @Test
+    public void whenSchemaSnapshotIsBuilt_playedRolesAreInheritedBySubs() {
+        SchemaSnapshot snapshot = schema().build(0);
+
+        assertEquals(ImmutableSet.of(EMPLOYEE), snapshot.directPlays(PERSON).keySet());
+        assertTrue(snapshot.directPlays(STUDENT).isEmpty());
+        assertEquals(ImmutableSet.of(EMPLOYEE), snapshot.playing(STUDENT));
+        assertEquals(ImmutableSet.of(PERSON), snapshot.directPlayers(EMPLOYEE));
+        assertEquals(ImmutableSet.of(PERSON, STUDENT), snapshot.players(EMPLOYEE));
+    }
+
+    @Test
+    public void whenSchemaSnapshotIsBuilt_relatesIsIndexedBothWays() {
+        SchemaSnapshot snapshot = schema().build(0);
+
+        assertEquals(ImmutableSet.of(EMPLOYEE), snapshot.roles(EMPLOYMENT));
+        assertEquals(ImmutableSet.of(EMPLOYMENT), snapshot.relations(EMPLOYEE));
+        assertTrue(snapshot.roles(RELATION).isEmpty());
+    }
+
+    @Test
+    public void whenSchemaIsCommittedFromTheLatestVersion_itsSnapshotIsPublished() {
+        KeyspaceSchemaCache cache = new KeyspaceSchemaCache();
+        long version = cache.schemaVersion();
+
+        cache.schemaModified(schema(), version);
+
+        SchemaSnapshot snapshot = cache.schemaSnapshot();
+        assertNotNull(snapshot);
+        assertEquals(version + 1, snapshot.version());
+    }
+
+    @Test
+    public void whenSchemaIsCommittedFromAStaleVersion_itsSnapshotIsNotPublished() {
+        KeyspaceSchemaCache cache = new KeyspaceSchemaCache();
+        long version = cache.schemaVersion();
+
+        // two transactions read the schema at the same version, then both commit schema changes
+        cache.schemaModified(schema(), version);
+        cache.overwriteCache(new HashMap<>(), schema(), version);
+
+        assertEquals(version + 2, cache.schemaVersion());
+        assertNull(cache.schemaSnapshot());
+    }
+
+    @Test
+    public void whenSchemaIsModifiedWithoutASnapshot_thePreviousSnapshotIsNoLongerShared() {
+        KeyspaceSchemaCache cache = new KeyspaceSchemaCache();
+        cache.schemaModified(schema(), cache.schemaVersion());
+
+        cache.schemaModified();
+
+        assertNull(cache.schemaSnapshot());
+    }
+
+    @Test
+    public void whenSchemaIsReadAtTheCurrentVersion_itIsCachedOnlyOnce() {
+        KeyspaceSchemaCache cache = new KeyspaceSchemaCache();
+        long version = cache.schemaVersion();
+        cache.cacheSchemaSnapshot(schema(), version);
+        SchemaSnapshot snapshot = cache.schemaSnapshot();
+
+        cache.cacheSchemaSnapshot(schema(), version);
+
+        assertNotNull(snapshot);
+        assertSame(snapshot, cache.schemaSnapshot());
+    }
+
+    @Test
+    public void whenSchemaWasReadBeforeAnotherCommit_itIsNotCached() {
+        KeyspaceSchemaCache cache = new KeyspaceSchemaCache();
+        long version = cache.schemaVersion();
+        cache.schemaModified();
+
+        cache.cacheSchemaSnapshot(schema(), version);
+
+        assertNull(cache.schemaSnapshot());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.server.rpc;
+
+import grakn.protocol.session.SessionProto.Transaction;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class SessionServiceIteratorsTest {
+
+    private final SessionService.Iterators iterators = new SessionService.Iterators();
+
+    @Test
+    public void whenIteratingInBatches_EachRequestGetsAtMostBatchSizeAnswersAndTheLastOneIsDone() {
+        int iteratorId = iterators.add(answers(5, new AtomicInteger()));
+
+        assertAnswers(2, false, iterators.next(iteratorId, 2));
+        assertAnswers(2, false, iterators.next(iteratorId, 2));
+        assertAnswers(1, true, iterators.next(iteratorId, 2));
+        assertNull(iterators.next(iteratorId, 2));
+    }
+
+    @Test
+    public void whenIteratorEndsOnABatchBoundary_NextRequestOnlyGetsDone() {
+        int iteratorId = iterators.add(answers(4, new AtomicInteger()));
+
+        assertAnswers(2, false, iterators.next(iteratorId, 2));
+        assertAnswers(2, false, iterators.next(iteratorId, 2));
+        assertAnswers(0, true, iterators.next(iteratorId, 2));
+        assertNull(iterators.next(iteratorId, 2));
+    }
+
+    @Test
+    public void whenPrefetching_NextBatchIsServedFromTheBufferInOrder() {
+        AtomicInteger computed = new AtomicInteger();
+        int iteratorId = iterators.add(answers(10, computed));
+
+        assertAnswers(3, false, iterators.next(iteratorId, 3));
+        assertEquals(3, computed.get());
+
+        iterators.prefetch(iteratorId, 3);
+        assertEquals(6, computed.get());
+
+        List<Transaction.Res> batch = iterators.next(iteratorId, 3);
+        assertAnswers(3, false, batch);
+        assertEquals(6, computed.get());
+        assertEquals(3, batch.get(0).getQueryIter().getId());
+        assertEquals(5, batch.get(2).getQueryIter().getId());
+    }
+
+    @Test
+    public void whenWriteIteratorIsAdded_ItIsNotPrefetchable() {
+        int readId = iterators.add(answers(1, new AtomicInteger()), true);
+        int writeId = iterators.add(answers(1, new AtomicInteger()), false);
+
+        assertTrue(iterators.prefetchable(readId));
+        assertEquals(false, iterators.prefetchable(writeId));
+    }
+
+    @Test
+    public void whenPrefetchingFails_ErrorIsThrownAfterThePrefetchedAnswersAreHandedOut() {
+        Iterator<Transaction.Res> failing = new Iterator<Transaction.Res>() {
+            int produced = 0;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Transaction.Res next() {
+                if (produced == 2) throw new IllegalStateException("failed");
+                return ResponseBuilder.Transaction.queryIterator(produced++);
+            }
+        };
+        int iteratorId = iterators.add(failing);
+
+        iterators.prefetch(iteratorId, 3);
+        assertAnswers(2, false, iterators.next(iteratorId, 3));
+        try {
+            iterators.next(iteratorId, 3);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void whenClientRequestsABatchSize_ItIsCappedToTheMaximum() {
+        SessionService.IteratorBatchSizeInterceptor interceptor = new SessionService.IteratorBatchSizeInterceptor(50, 1000);
+
+        assertEquals(7, interceptor.batchSize("7"));
+        assertEquals(1000, interceptor.batchSize("1000"));
+        assertEquals(1000, interceptor.batchSize(String.valueOf(Integer.MAX_VALUE)));
+        assertEquals(50, interceptor.batchSize("0"));
+        assertEquals(50, interceptor.batchSize("-3"));
+        assertEquals(50, interceptor.batchSize("many"));
+    }
+
+    @Test
+    public void whenInterceptingACall_TheClampedBatchSizeIsVisibleToTheCall() {
+        SessionService.IteratorBatchSizeInterceptor interceptor = new SessionService.IteratorBatchSizeInterceptor(50, 1000);
+        AtomicInteger seen = new AtomicInteger();
+
+        Metadata headers = new Metadata();
+        headers.put(SessionService.ITERATOR_BATCH_SIZE_HEADER, "1000000");
+        interceptor.interceptCall(mock(ServerCall.class), headers, (call, h) -> {
+            seen.set(SessionService.IteratorBatchSizeInterceptor.currentBatchSize());
+            return new ServerCall.Listener<Object>() {};
+        });
+        assertEquals(1000, seen.get());
+
+        interceptor.interceptCall(mock(ServerCall.class), new Metadata(), (call, h) -> {
+            seen.set(SessionService.IteratorBatchSizeInterceptor.currentBatchSize());
+            return new ServerCall.Listener<Object>() {};
+        });
+        assertEquals(1, seen.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMaximumBatchSizeIsBelowTheDefault_Throw() {
+        new SessionService.IteratorBatchSizeInterceptor(50, 10);
+    }
+
+    private static Iterator<Transaction.Res> answers(int count, AtomicInteger computed) {
+        return new Iterator<Transaction.Res>() {
+            @Override
+            public boolean hasNext() {
+                return computed.get() < count;
+            }
+
+            @Override
+            public Transaction.Res next() {
+                return ResponseBuilder.Transaction.queryIterator(computed.getAndIncrement());
+            }
+        };
+    }
+
+    private static void assertAnswers(int answers, boolean done, List<Transaction.Res> responses) {
+        assertEquals(answers + (done ? 1 : 0), responses.size());
+        for (int i = 0; i < answers; i++) {
+            assertTrue(responses.get(i).hasQueryIter());
+        }
+        if (done) assertTrue(responses.get(answers).getIterateRes().getDone());
+    }
+}
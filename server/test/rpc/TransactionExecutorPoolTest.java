@@ -0,0 +1,120 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.server.rpc;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionExecutorPoolTest {
+
+    private final TransactionExecutorPool pool = new TransactionExecutorPool(2);
+
+    @After
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void whenSubmittingToManyLanes_RequestsOfEachLaneRunInOrderOneAtATime() throws InterruptedException {
+        int lanes = 20;
+        int requestsPerLane = 100;
+        CountDownLatch done = new CountDownLatch(lanes * requestsPerLane);
+        AtomicInteger violations = new AtomicInteger();
+
+        for (int i = 0; i < lanes; i++) {
+            TransactionExecutorPool.Lane lane = pool.lane();
+            AtomicInteger running = new AtomicInteger();
+            List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+            for (int request = 0; request < requestsPerLane; request++) {
+                int expected = request;
+                lane.submit(() -> {
+                    if (running.incrementAndGet() != 1) violations.incrementAndGet();
+                    if (order.size() != expected) violations.incrementAndGet();
+                    order.add(expected);
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertEquals(0, violations.get());
+        assertEquals(0, pool.queueDepth());
+    }
+
+    @Test
+    public void whenClosingLane_PendingRequestsAreDiscardedAndRunningOneIsInterrupted() throws InterruptedException {
+        TransactionExecutorPool.Lane lane = pool.lane();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        AtomicInteger ranAfterClose = new AtomicInteger();
+
+        lane.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        });
+        lane.submit(ranAfterClose::incrementAndGet);
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+
+        lane.close();
+        lane.submit(ranAfterClose::incrementAndGet);
+
+        assertEquals(1, interrupted.get());
+        assertEquals(0, ranAfterClose.get());
+        assertEquals(0, pool.queueDepth());
+    }
+
+    @Test
+    public void whenPoolHasOneWorker_EveryLaneIsServed() throws InterruptedException {
+        TransactionExecutorPool singleWorker = new TransactionExecutorPool(1);
+        CountDownLatch done = new CountDownLatch(2);
+        singleWorker.lane().submit(done::countDown);
+        singleWorker.lane().submit(done::countDown);
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertEquals(0, singleWorker.queueDepth());
+        singleWorker.shutdown();
+    }
+
+    @Test
+    public void whenRequestsWaitLessThanAMillisecond_AverageLaneWaitIsNotTruncatedToZero() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        pool.lane().submit(done::countDown);
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        // an idle pool starts a request within microseconds of its submission
+        assertTrue(pool.averageLaneWaitMillis() > 0D);
+        assertTrue(pool.averageLaneWaitMillis() <= pool.maxLaneWaitMillis() + 1);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.util;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CommitLockManagerTest {
+
+    @Test
+    public void whenLockingSameKeyTwice_SameLockIsAcquired() {
+        CommitLockManager lockManager = new CommitLockManager();
+
+        List<Lock> first = lockManager.lock(ImmutableList.of("ATTRIBUTE-name-Alice"));
+        lockManager.unlock(first);
+        List<Lock> second = lockManager.lock(ImmutableList.of("ATTRIBUTE-name-Alice"));
+        lockManager.unlock(second);
+
+        assertEquals(1, first.size());
+        assertSame(first.get(0), second.get(0));
+    }
+
+    @Test
+    public void whenLockingDuplicateKeys_EachLockIsAcquiredOnce() {
+        CommitLockManager lockManager = new CommitLockManager();
+
+        List<Lock> locks = lockManager.lock(ImmutableList.of("ATTRIBUTE-name-Alice", "ATTRIBUTE-name-Alice"));
+        lockManager.unlock(locks);
+
+        assertEquals(1, locks.size());
+    }
+
+    @Test
+    public void whenLockingNoKeys_NothingIsAcquired() {
+        CommitLockManager lockManager = new CommitLockManager();
+
+        assertEquals(0, lockManager.lock(ImmutableList.of()).size());
+        assertEquals(0, lockManager.acquisitions());
+    }
+
+    @Test
+    public void whenKeyIsLockedByAnotherThread_LockingWaitsUntilItIsReleased() throws Exception {
+        CommitLockManager lockManager = new CommitLockManager();
+        List<Lock> held = lockManager.lock(ImmutableList.of("ATTRIBUTE-name-Alice"));
+
+        CompletableFuture<List<Lock>> waiting = CompletableFuture.supplyAsync(() -> {
+            List<Lock> acquired = lockManager.lock(ImmutableList.of("ATTRIBUTE-name-Alice"));
+            lockManager.unlock(acquired);
+            return acquired;
+        });
+        try {
+            waiting.get(200, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException expected) {
+            // the lock is still held
+        }
+        assertFalse(waiting.isDone());
+
+        lockManager.unlock(held);
+        List<Lock> acquired = waiting.get(10, TimeUnit.SECONDS);
+
+        assertSame(held.get(0), acquired.get(0));
+        assertEquals(2, lockManager.acquisitions());
+    }
+
+    @Test
+    public void whenKeyspaceLockIsHeld_CommitLocksWaitUntilItIsReleased() throws Exception {
+        CommitLockManager lockManager = new CommitLockManager();
+        lockManager.keyspaceLock().writeLock().lock();
+
+        CompletableFuture<List<Lock>> waiting = CompletableFuture.supplyAsync(() -> {
+            List<Lock> acquired = lockManager.lock(ImmutableList.of("ATTRIBUTE-name-Alice"));
+            lockManager.unlock(acquired);
+            return acquired;
+        });
+        try {
+            waiting.get(200, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException expected) {
+            // the keyspace lock is still held
+        }
+        assertFalse(waiting.isDone());
+
+        lockManager.keyspaceLock().writeLock().unlock();
+        assertEquals(1, waiting.get(10, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    public void whenCommitLocksAreHeld_KeyspaceLockCannotBeTakenUntilTheyAreReleased() {
+        CommitLockManager lockManager = new CommitLockManager();
+        List<Lock> held = lockManager.lock(ImmutableList.of("ATTRIBUTE-name-Alice"));
+
+        assertFalse(lockManager.keyspaceLock().writeLock().tryLock());
+
+        lockManager.unlock(held);
+        assertTrue(lockManager.keyspaceLock().writeLock().tryLock());
+        lockManager.keyspaceLock().writeLock().unlock();
+    }
+
+    @Test
+    public void whenGivenAnExistingKeyspaceLock_CommitLocksShareItsReadSide() {
+        ReadWriteLock graphLock = new ReentrantReadWriteLock();
+        CommitLockManager lockManager = new CommitLockManager(graphLock);
+        List<Lock> held = lockManager.lock(ImmutableList.of("ATTRIBUTE-name-Alice"));
+
+        assertSame(graphLock, lockManager.keyspaceLock());
+        assertFalse(graphLock.writeLock().tryLock());
+
+        lockManager.unlock(held);
+        assertTrue(graphLock.writeLock().tryLock());
+        graphLock.writeLock().unlock();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.util;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Striped;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Striped locks used to serialise the commits of transactions of a keyspace that contend on the same attribute indices
+ * or type shards. Transactions which touch disjoint sets of keys acquire different stripes and can commit in parallel.
+ * Also keeps track of the time spent waiting for commit locks.
+ *
+ * Commits holding stripes also share the read side of a keyspace-wide lock, so that taking its write side waits for
+ * the commits in progress and keeps new ones out, as the keyspace-wide commit lock used to.
+ */
+public class CommitLockManager {
+
+    private static final int STRIPES = 1024;
+
+    private final Striped<Lock> locks;
+    private final ReadWriteLock keyspaceLock;
+    private final AtomicLong acquisitions = new AtomicLong(0);
+    private final AtomicLong totalWaitNanos = new AtomicLong(0);
+    private final AtomicLong maxWaitNanos = new AtomicLong(0);
+
+    public CommitLockManager() {
+        this(STRIPES);
+    }
+
+    public CommitLockManager(int stripes) {
+        this(stripes, new ReentrantReadWriteLock());
+    }
+
+    /**
+     * @param keyspaceLock an existing keyspace-wide lock, whose read side commits will share
+     */
+    public CommitLockManager(ReadWriteLock keyspaceLock) {
+        this(STRIPES, keyspaceLock);
+    }
+
+    private CommitLockManager(int stripes, ReadWriteLock keyspaceLock) {
+        this.locks = Striped.lock(stripes);
+        this.keyspaceLock = keyspaceLock;
+    }
+
+    /**
+     * Acquire the locks guarding all the given keys. Stripes are always acquired in the same global order,
+     * so concurrent callers cannot deadlock.
+     *
+     * @param keys attribute indices or shard keys the caller is about to mutate
+     * @return the acquired locks, to be passed to unlock() once done
+     */
+    public List<Lock> lock(Collection<String> keys) {
+        List<Lock> acquired = new ArrayList<>();
+        if (keys.isEmpty()) return acquired;
+
+        long start = System.nanoTime();
+        keyspaceLock.readLock().lock();
+        // bulkGet returns the stripes sorted and de-duplicated
+        for (Lock lock : locks.bulkGet(keys)) {
+            lock.lock();
+            acquired.add(lock);
+        }
+        recordWait(System.nanoTime() - start);
+        return acquired;
+    }
+
+    public void unlock(List<Lock> acquired) {
+        if (acquired.isEmpty()) return;
+        Lists.reverse(acquired).forEach(Lock::unlock);
+        keyspaceLock.readLock().unlock();
+    }
+
+    /**
+     * @return the keyspace-wide lock: its write side excludes every commit that needs commit locks
+     */
+    public ReadWriteLock keyspaceLock() {
+        return keyspaceLock;
+    }
+
+    private void recordWait(long waitNanos) {
+        acquisitions.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    /**
+     * @return number of commits that acquired commit locks
+     */
+    public long acquisitions() {
+        return acquisitions.get();
+    }
+
+    /**
+     * @return total time spent by commits waiting for commit locks, in milliseconds
+     */
+    public long totalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+    }
+
+    /**
+     * @return longest time a single commit waited for its commit locks, in milliseconds
+     */
+    public long maxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    /**
+     * @return average time a commit waited for its commit locks, in milliseconds
+     */
+    public double averageWaitMillis() {
+        long count = acquisitions.get();
+        return count == 0 ? 0 : (double) totalWaitNanos.get() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.diskstorage.cql;
+
+import com.google.common.collect.ImmutableMap;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.rule.GraknTestStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static grakn.core.graph.diskstorage.cql.CQLTestStoreManager.key;
+import static grakn.core.graph.diskstorage.cql.CQLTestStoreManager.transaction;
+import static grakn.core.graph.diskstorage.cql.CQLTestStoreManager.writeRow;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CQLMultiKeySliceIT {
+
+    private static final String TABLE = "multikey";
+    // small pages and a single read chain for the keys, so that rows span several pages read one after the other
+    private static final int PAGE_SIZE = 7;
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private CQLStoreManager storeManager;
+    private KeyColumnValueStore store;
+
+    @Before
+    public void openStore() throws BackendException {
+        storeManager = CQLTestStoreManager.open(storage.createCompatibleServerConfig(), ImmutableMap.of(
+                "storage.page-size", PAGE_SIZE,
+                "storage.cql.max-concurrent-slice-queries", 2));
+        store = storeManager.openDatabase(TABLE);
+    }
+
+    @After
+    public void closeStore() throws BackendException {
+        store.close();
+        storeManager.clearStorage();
+        storeManager.close();
+    }
+
+    @Test
+    public void whenReadingManyKeys_EachKeyGetsTheSliceOfItsOwnRow() throws BackendException {
+        List<StaticBuffer> keys = new ArrayList<>();
+        for (long key = 1; key <= 10; key++) {
+            writeRow(storeManager, TABLE, key, (int) key);
+            keys.add(key(key));
+        }
+
+        StoreTransaction tx = transaction(storeManager);
+        Map<StaticBuffer, EntryList> slices = store.getSlice(keys, allColumns(), tx);
+
+        assertEquals(keys.size(), slices.size());
+        for (long key = 1; key <= 10; key++) {
+            assertRow(key, (int) key, slices.get(key(key)));
+            assertEquals(store.getSlice(new KeySliceQuery(key(key), allColumns()), tx), slices.get(key(key)));
+        }
+    }
+
+    @Test
+    public void whenAKeyHasNoRow_ItGetsAnEmptySlice() throws BackendException {
+        writeRow(storeManager, TABLE, 1, 3);
+        writeRow(storeManager, TABLE, 3, 3);
+
+        Map<StaticBuffer, EntryList> slices = store.getSlice(Arrays.asList(key(1), key(2), key(3), key(4)), allColumns(), transaction(storeManager));
+
+        assertEquals(4, slices.size());
+        assertRow(1, 3, slices.get(key(1)));
+        assertTrue(slices.get(key(2)).isEmpty());
+        assertRow(3, 3, slices.get(key(3)));
+        assertTrue(slices.get(key(4)).isEmpty());
+    }
+
+    @Test
+    public void whenRowsSpanSeveralPages_AllTheirColumnsAreReadInOrder() throws BackendException {
+        int columns = PAGE_SIZE * 5 + 3;
+        writeRow(storeManager, TABLE, 1, columns);
+        writeRow(storeManager, TABLE, 2, PAGE_SIZE);
+        writeRow(storeManager, TABLE, 3, columns * 2);
+
+        Map<StaticBuffer, EntryList> slices = store.getSlice(Arrays.asList(key(1), key(2), key(3)), allColumns(), transaction(storeManager));
+
+        assertRow(1, columns, slices.get(key(1)));
+        assertRow(2, PAGE_SIZE, slices.get(key(2)));
+        assertRow(3, columns * 2, slices.get(key(3)));
+    }
+
+    @Test
+    public void whenSliceHasALimitSpanningPages_OnlyTheFirstColumnsAreRead() throws BackendException {
+        writeRow(storeManager, TABLE, 1, PAGE_SIZE * 4);
+        writeRow(storeManager, TABLE, 2, 2);
+
+        SliceQuery limited = allColumns().setLimit(PAGE_SIZE * 2 + 1);
+        Map<StaticBuffer, EntryList> slices = store.getSlice(Arrays.asList(key(1), key(2)), limited, transaction(storeManager));
+
+        assertRow(1, PAGE_SIZE * 2 + 1, slices.get(key(1)));
+        assertRow(2, 2, slices.get(key(2)));
+    }
+
+    private static SliceQuery allColumns() {
+        return new SliceQuery(BufferUtil.zeroBuffer(8), BufferUtil.oneBuffer(8));
+    }
+
+    private static void assertRow(long key, int columns, EntryList slice) {
+        assertEquals(columns, slice.size());
+        int column = 0;
+        for (Entry entry : slice) {
+            assertEquals(column, entry.getColumn().getLong(0));
+            assertEquals(key * 1_000_000 + column, entry.getValue().getLong(0));
+            column++;
+        }
+    }
+}
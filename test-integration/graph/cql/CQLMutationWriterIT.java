@@ -0,0 +1,179 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.diskstorage.cql;
+
+import com.google.common.collect.ImmutableMap;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.KCVMutation;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.rule.GraknTestStorage;
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static grakn.core.graph.diskstorage.cql.CQLTestStoreManager.entry;
+import static grakn.core.graph.diskstorage.cql.CQLTestStoreManager.key;
+import static grakn.core.graph.diskstorage.cql.CQLTestStoreManager.transaction;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CQLMutationWriterIT {
+
+    private static final String TABLE = "mutations";
+    private static final int KEYS = 50;
+    private static final int COLUMNS = 4;
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private CQLStoreManager storeManager;
+    private KeyColumnValueStore store;
+
+    private void openStore(int batchSizeBytes, int maxInFlightBatches) throws BackendException {
+        storeManager = CQLTestStoreManager.open(storage.createCompatibleServerConfig(), ImmutableMap.of(
+                "storage.cql.batch-size-bytes", batchSizeBytes,
+                "storage.cql.max-inflight-batches", maxInFlightBatches));
+        store = storeManager.openDatabase(TABLE);
+    }
+
+    @After
+    public void closeStore() throws BackendException {
+        store.close();
+        storeManager.clearStorage();
+        storeManager.close();
+    }
+
+    @Test
+    public void whenBatchesAreLargerThanTheCommit_PartitionsOfTheSameReplicasAreWrittenInOneBatch() throws BackendException {
+        openStore(1_000_000, 4);
+
+        CQLMutationMetrics metrics = write(additions(KEYS, COLUMNS));
+
+        // the test storage is a single node, which replicates every partition
+        assertEquals(1, metrics.batches());
+        assertEquals(KEYS, metrics.partitions());
+        assertTrue(metrics.bytes() > 0);
+        assertEquals(0, metrics.retries());
+        assertAllRowsWritten();
+    }
+
+    @Test
+    public void whenBatchesAreSmallerThanAPartition_EachPartitionIsWrittenInABatchOfItsOwn() throws BackendException {
+        openStore(1, 2);
+
+        CQLMutationMetrics metrics = write(additions(KEYS, COLUMNS));
+
+        assertEquals(KEYS, metrics.batches());
+        assertEquals(KEYS, metrics.partitions());
+        assertAllRowsWritten();
+    }
+
+    @Test
+    public void whenBatchesHoldSomePartitions_AllPartitionsAreWrittenWhole() throws BackendException {
+        openStore(200, 1);
+
+        CQLMutationMetrics metrics = write(additions(KEYS, COLUMNS));
+
+        assertTrue(metrics.batches() > 1);
+        assertTrue(metrics.batches() < KEYS);
+        assertEquals(KEYS, metrics.partitions());
+        assertAllRowsWritten();
+    }
+
+    @Test
+    public void whenACommitDeletesColumns_TheyAreNoLongerRead() throws BackendException {
+        openStore(200, 2);
+        write(additions(KEYS, COLUMNS));
+
+        Map<StaticBuffer, KCVMutation> deletions = new HashMap<>();
+        for (long key = 0; key < KEYS; key++) {
+            deletions.put(key(key), new KCVMutation(Collections.emptyList(), Collections.singletonList(entry(0, 0).getColumn())));
+        }
+        CQLMutationMetrics metrics = write(deletions);
+
+        assertEquals(KEYS, metrics.partitions());
+        for (long key = 0; key < KEYS; key++) {
+            EntryList row = store.getSlice(new KeySliceQuery(key(key), allColumns()), transaction(storeManager));
+            assertEquals(COLUMNS - 1, row.size());
+            assertEquals(1, row.get(0).getColumn().getLong(0));
+        }
+    }
+
+    @Test
+    public void whenTransactionsCommit_EachGetsTheMetricsOfItsOwnCommit() throws BackendException {
+        openStore(1, 4);
+        StoreTransaction first = transaction(storeManager);
+        StoreTransaction second = transaction(storeManager);
+        StoreTransaction idle = transaction(storeManager);
+
+        storeManager.mutateMany(Collections.singletonMap(TABLE, additions(3, 1)), first);
+        storeManager.mutateMany(Collections.singletonMap(TABLE, additions(5, 1)), second);
+
+        assertEquals(3, CQLTransaction.getTransaction(first).getMutationMetrics().partitions());
+        assertEquals(5, CQLTransaction.getTransaction(second).getMutationMetrics().partitions());
+        assertNull(CQLTransaction.getTransaction(idle).getMutationMetrics());
+    }
+
+    private CQLMutationMetrics write(Map<StaticBuffer, KCVMutation> mutations) throws BackendException {
+        StoreTransaction tx = transaction(storeManager);
+        storeManager.mutateMany(Collections.singletonMap(TABLE, mutations), tx);
+        return CQLTransaction.getTransaction(tx).getMutationMetrics();
+    }
+
+    private static Map<StaticBuffer, KCVMutation> additions(int keys, int columns) {
+        Map<StaticBuffer, KCVMutation> mutations = new HashMap<>();
+        for (long key = 0; key < keys; key++) {
+            List<Entry> additions = new ArrayList<>(columns);
+            for (int column = 0; column < columns; column++) {
+                additions.add(entry(column, key * 1_000_000 + column));
+            }
+            mutations.put(key(key), new KCVMutation(additions, Collections.emptyList()));
+        }
+        return mutations;
+    }
+
+    private void assertAllRowsWritten() throws BackendException {
+        for (long key = 0; key < KEYS; key++) {
+            EntryList row = store.getSlice(new KeySliceQuery(key(key), allColumns()), transaction(storeManager));
+            assertEquals(COLUMNS, row.size());
+            for (int column = 0; column < COLUMNS; column++) {
+                assertEquals(column, row.get(column).getColumn().getLong(0));
+                assertEquals(key * 1_000_000 + column, row.get(column).getValue().getLong(0));
+            }
+        }
+    }
+
+    private static SliceQuery allColumns() {
+        return new SliceQuery(BufferUtil.zeroBuffer(8), BufferUtil.oneBuffer(8));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.diskstorage.cql;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.configuration.BasicConfiguration;
+import grakn.core.graph.diskstorage.configuration.backend.CommonsConfiguration;
+import grakn.core.graph.diskstorage.keycolumnvalue.KCVMutation;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.graph.diskstorage.util.StandardBaseTransactionConfig;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.time.TimestampProviders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.ROOT_NS;
+
+/**
+ * Opens CQLStoreManagers on the embedded test storage, each on a keyspace of its own, and writes test rows to them.
+ */
+final class CQLTestStoreManager {
+
+    private CQLTestStoreManager() {
+    }
+
+    /**
+     * @param options storage options overriding the ones of the given server config, e.g. "storage.page-size"
+     */
+    static CQLStoreManager open(Config config, Map<String, Object> options) throws BackendException {
+        CommonsConfiguration configuration = new CommonsConfiguration();
+        configuration.set(ConfigKey.STORAGE_BACKEND.name(), "cql");
+        configuration.set(ConfigKey.STORAGE_KEYSPACE.name(), "cql_" + UUID.randomUUID().toString().replace("-", ""));
+        config.properties().forEach((key, value) -> configuration.set(key.toString(), value));
+        options.forEach(configuration::set);
+        return new CQLStoreManager(new BasicConfiguration(ROOT_NS, configuration));
+    }
+
+    static StoreTransaction transaction(CQLStoreManager storeManager) throws BackendException {
+        return storeManager.beginTransaction(new StandardBaseTransactionConfig.Builder()
+                .timestampProvider(TimestampProviders.MICRO)
+                .commitTime(TimestampProviders.MICRO.getTime())
+                .build());
+    }
+
+    static StaticBuffer key(long key) {
+        return BufferUtil.getLongBuffer(key);
+    }
+
+    static Entry entry(long column, long value) {
+        return StaticArrayEntry.of(BufferUtil.getLongBuffer(column), BufferUtil.getLongBuffer(value));
+    }
+
+    /**
+     * Writes the given number of columns, numbered from 0, to the row of the given key
+     */
+    static void writeRow(CQLStoreManager storeManager, String table, long key, int columns) throws BackendException {
+        List<Entry> additions = new ArrayList<>(columns);
+        for (int column = 0; column < columns; column++) {
+            additions.add(entry(column, key * 1_000_000 + column));
+        }
+        Map<StaticBuffer, KCVMutation> mutations = Collections.singletonMap(key(key), new KCVMutation(additions, Collections.emptyList()));
+        storeManager.mutateMany(Collections.singletonMap(table, mutations), transaction(storeManager));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.graphdb.database;
+
+import grakn.core.core.Schema;
+import grakn.core.graph.core.JanusGraphVertex;
+import grakn.core.graph.graphdb.internal.InternalRelation;
+import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
+import grakn.core.rule.GraknTestStorage;
+import grakn.core.server.session.JanusGraphFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ParallelCommitIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private JanusGraphFactory janusGraphFactory;
+    private String keyspace;
+    private StandardJanusGraph graph;
+
+    @Before
+    public void openGraph() {
+        janusGraphFactory = new JanusGraphFactory(storage.createCompatibleServerConfig());
+        keyspace = "a" + UUID.randomUUID().toString().replaceAll("-", "");
+        graph = janusGraphFactory.openGraph(keyspace);
+    }
+
+    @After
+    public void dropGraph() {
+        graph.close();
+        janusGraphFactory.drop(keyspace);
+    }
+
+    @Test
+    public void whenAddedRelationsAreSerialisedInParallel_TheEntriesAreIdenticalToSequential() {
+        StandardJanusGraphTx tx = graph.newThreadBoundTransaction();
+        List<InternalRelation> added = new ArrayList<>();
+        JanusGraphVertex relation = tx.addVertex(Schema.BaseType.RELATION.name());
+        for (int i = 0; i < 500; i++) {
+            JanusGraphVertex player = tx.addVertex(Schema.BaseType.ENTITY.name());
+            added.add((InternalRelation) player.property(Schema.VertexProperty.INDEX.name(), "player" + i));
+            // role player edges are sorted by their role and relation type in the relation indexes of their label
+            added.add((InternalRelation) relation.addEdge(Schema.EdgeLabel.ROLE_PLAYER.getLabel(), player,
+                    Schema.EdgeProperty.ROLE_LABEL_ID.name(), i % 7,
+                    Schema.EdgeProperty.RELATION_TYPE_LABEL_ID.name(), 3));
+        }
+
+        Map<Long, StandardJanusGraph.VertexMutation> sequential = graph.serialiseMutations(added, Collections.emptyList(), tx, false);
+        Map<Long, StandardJanusGraph.VertexMutation> parallel = graph.serialiseMutations(added, Collections.emptyList(), tx, true);
+
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential.keySet(), parallel.keySet());
+        for (Map.Entry<Long, StandardJanusGraph.VertexMutation> vertexMutation : sequential.entrySet()) {
+            assertEquals(vertexMutation.getValue().additions, parallel.get(vertexMutation.getKey()).additions);
+            assertEquals(vertexMutation.getValue().deletions, parallel.get(vertexMutation.getKey()).deletions);
+        }
+        tx.rollback();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.diskstorage;
+
+import grakn.core.common.config.Config;
+import grakn.core.core.Schema;
+import grakn.core.graph.core.JanusGraphVertex;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyIterator;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
+import grakn.core.rule.GraknTestStorage;
+import grakn.core.server.session.JanusGraphFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BackendTransactionAsyncIT {
+
+    private static final SliceQuery ALL_COLUMNS = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(32));
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private JanusGraphFactory janusGraphFactory;
+    private String keyspace;
+    private StandardJanusGraph graph;
+    private List<StaticBuffer> keys;
+
+    @Before
+    public void openGraph() {
+        Properties properties = storage.createCompatibleServerConfig().properties();
+        // a single request in flight, so that the reads issued from the completion of another one wait for it
+        properties.setProperty("storage.cql.max-requests-per-connection", "1");
+        properties.setProperty("storage.cql.max-concurrent-slice-queries", "4");
+        janusGraphFactory = new JanusGraphFactory(Config.of(properties));
+        keyspace = "a" + UUID.randomUUID().toString().replaceAll("-", "");
+        graph = janusGraphFactory.openGraph(keyspace);
+
+        StandardJanusGraphTx tx = graph.newThreadBoundTransaction();
+        List<JanusGraphVertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            JanusGraphVertex vertex = tx.addVertex(Schema.BaseType.ENTITY.name());
+            vertex.property(Schema.VertexProperty.INDEX.name(), "entity" + i);
+            vertices.add(vertex);
+        }
+        tx.commit();
+        keys = new ArrayList<>();
+        for (JanusGraphVertex vertex : vertices) {
+            keys.add(graph.getIDManager().getKey(vertex.longId()));
+        }
+    }
+
+    @After
+    public void dropGraph() {
+        graph.close();
+        janusGraphFactory.drop(keyspace);
+    }
+
+    @Test
+    public void whenReadingASliceAsynchronously_ItMatchesTheBlockingRead() throws InterruptedException, ExecutionException, TimeoutException {
+        StandardJanusGraphTx tx = graph.newThreadBoundTransaction();
+        BackendTransaction backendTx = tx.getBackendTransaction();
+        for (StaticBuffer key : keys) {
+            KeySliceQuery query = new KeySliceQuery(key, ALL_COLUMNS);
+            EntryList slice = backendTx.edgeStoreQueryAsync(query).toCompletableFuture().get(30, TimeUnit.SECONDS);
+            assertFalse(slice.isEmpty());
+            assertEquals(backendTx.edgeStoreQuery(query), slice);
+        }
+        tx.rollback();
+    }
+
+    @Test
+    public void whenReadingManyKeysWithOneRequestInFlight_TheMultiKeyReadCompletesWithTheSliceOfEachKey() throws InterruptedException, ExecutionException, TimeoutException {
+        StandardJanusGraphTx tx = graph.newThreadBoundTransaction();
+        BackendTransaction backendTx = tx.getBackendTransaction();
+        List<StaticBuffer> keysAndMissing = new ArrayList<>(keys);
+        StaticBuffer missing = graph.getIDManager().getKey(graph.getIDManager().toVertexId(graph.getIDManager().getVertexCountBound() - 1));
+        keysAndMissing.add(missing);
+
+        // each chain issues its next read from the completion of its previous one, which must not block a driver thread
+        Map<StaticBuffer, EntryList> slices = backendTx.edgeStoreMultiQueryAsync(keysAndMissing, ALL_COLUMNS).toCompletableFuture().get(30, TimeUnit.SECONDS);
+
+        assertEquals(keysAndMissing.size(), slices.size());
+        assertTrue(slices.get(missing).isEmpty());
+        assertEquals(backendTx.edgeStoreMultiQuery(keysAndMissing, ALL_COLUMNS), slices);
+        tx.rollback();
+    }
+
+    @Test
+    public void whenScanningKeysAsynchronously_TheyMatchTheBlockingScan() throws InterruptedException, ExecutionException, TimeoutException, IOException {
+        StandardJanusGraphTx tx = graph.newThreadBoundTransaction();
+        BackendTransaction backendTx = tx.getBackendTransaction();
+        SliceQuery firstColumn = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(32)).setLimit(1);
+
+        Set<StaticBuffer> scanned = keys(backendTx.edgeStoreKeysAsync(firstColumn).toCompletableFuture().get(30, TimeUnit.SECONDS));
+
+        assertTrue(scanned.containsAll(keys));
+        assertEquals(keys(backendTx.edgeStoreKeys(firstColumn)), scanned);
+        tx.rollback();
+    }
+
+    private static Set<StaticBuffer> keys(KeyIterator iterator) throws IOException {
+        Set<StaticBuffer> keys = new HashSet<>();
+        while (iterator.hasNext()) {
+            keys.add(iterator.next());
+        }
+        iterator.close();
+        return keys;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.analytics;
+
+import com.google.common.collect.ImmutableSet;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.concept.answer.ConceptSet;
+import grakn.core.concept.answer.ConceptSetMeasure;
+import grakn.core.concept.answer.Numeric;
+import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graql.executor.computer.InProcessGraphLoader;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.Entity;
+import grakn.core.kb.concept.api.EntityType;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.LabelId;
+import grakn.core.kb.concept.api.RelationType;
+import grakn.core.kb.concept.api.Role;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.kb.server.keyspace.Keyspace;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.session.HadoopGraphFactory;
+import grakn.core.server.session.JanusGraphFactory;
+import grakn.core.server.session.SessionFactory;
+import grakn.core.server.util.LockManager;
+import graql.lang.Graql;
+import graql.lang.query.GraqlCompute;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import static graql.lang.Graql.Token.Compute.Algorithm.CONNECTED_COMPONENT;
+import static graql.lang.Graql.Token.Compute.Algorithm.DEGREE;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compute queries over a scope of few instances run in-process, over a copy of the instances made by the
+ * InProcessGraphLoader, and must answer as they do on Spark.
+ */
+@SuppressWarnings("CheckReturnValue")
+public class InProcessComputeIT {
+
+    private static final int PEOPLE = 6;
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private Keyspace keyspace;
+    private Session inProcessSession;
+    private SessionFactory sparkSessionFactory;
+    private Session sparkSession;
+
+    @Before
+    public void setUp() {
+        keyspace = server.randomKeyspaceName();
+        inProcessSession = server.session(keyspace);
+
+        Config config = Config.of(server.serverConfig().properties());
+        config.setConfigProperty(ConfigKey.COMPUTE_IN_PROCESS_THRESHOLD, 0L);
+        sparkSessionFactory = new SessionFactory(new LockManager(), new JanusGraphFactory(config), new HadoopGraphFactory(config), config);
+        sparkSession = sparkSessionFactory.session(keyspace);
+
+        // a chain of friendships between all the people but the last, who has no friends
+        try (Transaction tx = inProcessSession.writeTransaction()) {
+            AttributeType<Long> age = tx.putAttributeType("age", AttributeType.DataType.LONG);
+            Role friend = tx.putRole("friend");
+            EntityType person = tx.putEntityType("person").plays(friend).has(age);
+            RelationType friendship = tx.putRelationType("friendship").relates(friend);
+            List<Entity> people = new ArrayList<>();
+            for (long i = 0; i < PEOPLE; i++) {
+                Entity entity = person.create();
+                entity.has(age.create(20 + i));
+                people.add(entity);
+            }
+            tx.putEntityType("robot").create();
+            for (int i = 0; i < PEOPLE - 2; i++) {
+                friendship.create().assign(friend, people.get(i)).assign(friend, people.get(i + 1));
+            }
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSessions() {
+        sparkSession.close();
+        sparkSessionFactory.shutdown();
+        inProcessSession.close();
+    }
+
+    @Test
+    public void whenLoadingAScope_onlyInstancesInScopeAndEdgesBetweenThemAreCopied() throws ExecutionException, InterruptedException {
+        Set<LabelId> people;
+        Set<LabelId> peopleAndFriendships;
+        Set<LabelId> peopleAndAges;
+        try (Transaction tx = inProcessSession.readTransaction()) {
+            LabelId person = tx.getSchemaConcept(Label.of("person")).labelId();
+            people = ImmutableSet.of(person);
+            peopleAndFriendships = ImmutableSet.of(person, tx.getSchemaConcept(Label.of("friendship")).labelId());
+            peopleAndAges = ImmutableSet.of(person, tx.getSchemaConcept(Label.of("age")).labelId());
+        }
+
+        StandardJanusGraph graph = new JanusGraphFactory(server.serverConfig()).openGraph(keyspace.name());
+        try {
+            InProcessGraphLoader loader = new InProcessGraphLoader(graph);
+
+            TinkerGraph copy = loader.load(people);
+            assertEquals(PEOPLE, count(copy.vertices()));
+            assertEquals(0, count(copy.edges()));
+
+            copy = loader.load(peopleAndFriendships);
+            assertEquals(PEOPLE + PEOPLE - 2, count(copy.vertices()));
+            // each friendship has an edge to both of its friends
+            assertEquals(2 * (PEOPLE - 2), count(copy.edges()));
+            copy.edges().forEachRemaining(edge -> assertEquals(edge.outVertex().label(), "RELATION"));
+
+            copy = loader.load(peopleAndAges);
+            assertEquals(2 * PEOPLE, count(copy.vertices()));
+            assertEquals(PEOPLE, count(copy.edges()));
+            copy.vertices().forEachRemaining(vertex -> {
+                if (vertex.label().equals("ENTITY")) assertEquals(1, count(vertex.edges(Direction.OUT)));
+            });
+        } finally {
+            graph.close();
+        }
+    }
+
+    @Test
+    public void whenComputingStatisticsOverAScope_inProcessAndSparkAgree() {
+        assertSameNumbers(Graql.compute().count().in("person", "friendship"));
+        assertSameNumbers(Graql.compute().sum().of("age").in("person", "age"));
+        assertSameNumbers(Graql.compute().max().of("age").in("person", "age"));
+        assertSameNumbers(Graql.compute().mean().of("age").in("person", "age"));
+        assertSameNumbers(Graql.compute().median().of("age").in("person", "age"));
+        assertSameNumbers(Graql.compute().std().of("age").in("person", "age"));
+    }
+
+    @Test
+    public void whenComputingDegreesOverAScope_inProcessAndSparkAgree() {
+        GraqlCompute.Centrality query = Graql.compute().centrality().using(DEGREE).in("person", "friendship");
+
+        Set<ConceptSetMeasure> inProcess;
+        Set<ConceptSetMeasure> spark;
+        try (Transaction tx = inProcessSession.readTransaction()) {
+            inProcess = new HashSet<>(tx.execute(query));
+        }
+        try (Transaction tx = sparkSession.readTransaction()) {
+            spark = new HashSet<>(tx.execute(query));
+        }
+        assertEquals(spark, inProcess);
+    }
+
+    @Test
+    public void whenComputingConnectedComponentsOverAScope_inProcessAndSparkAgree() {
+        GraqlCompute.Cluster query = Graql.compute().cluster().using(CONNECTED_COMPONENT).in("person", "friendship");
+
+        Set<Set<ConceptId>> inProcess;
+        Set<Set<ConceptId>> spark;
+        try (Transaction tx = inProcessSession.readTransaction()) {
+            inProcess = tx.execute(query).stream().map(ConceptSet::set).collect(Collectors.toSet());
+        }
+        try (Transaction tx = sparkSession.readTransaction()) {
+            spark = tx.execute(query).stream().map(ConceptSet::set).collect(Collectors.toSet());
+        }
+        // the chain of friends, and the person without any
+        assertEquals(2, inProcess.size());
+        assertEquals(spark, inProcess);
+    }
+
+    private void assertSameNumbers(GraqlCompute.Statistics query) {
+        List<Numeric> inProcess;
+        List<Numeric> spark;
+        try (Transaction tx = inProcessSession.readTransaction()) {
+            inProcess = tx.execute(query);
+        }
+        try (Transaction tx = sparkSession.readTransaction()) {
+            spark = tx.execute(query);
+        }
+        assertEquals(query.toString(), spark.size(), inProcess.size());
+        for (int i = 0; i < spark.size(); i++) {
+            // sums of doubles may be added up in a different order
+            assertEquals(query.toString(), spark.get(i).number().doubleValue(), inProcess.get(i).number().doubleValue(), 1e-9);
+        }
+    }
+
+    private static long count(Iterator<?> elements) {
+        long count = 0;
+        while (elements.hasNext()) {
+            elements.next();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.analytics;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.concept.answer.ConceptList;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.Entity;
+import grakn.core.kb.concept.api.EntityType;
+import grakn.core.kb.concept.api.RelationType;
+import grakn.core.kb.concept.api.Role;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.kb.server.keyspace.Keyspace;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.session.HadoopGraphFactory;
+import grakn.core.server.session.JanusGraphFactory;
+import grakn.core.server.session.SessionFactory;
+import grakn.core.server.util.LockManager;
+import graql.lang.Graql;
+import graql.lang.query.GraqlCompute;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compute path queries search the shortest paths in the transaction before resorting to the ShortestPathVertexProgram,
+ * and must find the same paths as the vertex program, including when the search gives up.
+ */
+@SuppressWarnings("CheckReturnValue")
+public class ShortestPathSearchIT {
+
+    private static final int HUB_FRIENDS = 20;
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private Session searchSession;
+    private SessionFactory vertexProgramSessionFactory;
+    private Session vertexProgramSession;
+    private SessionFactory limitedSearchSessionFactory;
+    private Session limitedSearchSession;
+
+    private List<ConceptId> chain;
+    private Entity hub;
+    private List<ConceptId> hubFriends;
+    private ConceptId loner;
+
+    @Before
+    public void setUp() {
+        Keyspace keyspace = server.randomKeyspaceName();
+        searchSession = server.session(keyspace);
+        vertexProgramSessionFactory = sessionFactory(0);
+        vertexProgramSession = vertexProgramSessionFactory.session(keyspace);
+        // small enough for the search to give up on the hub
+        limitedSearchSessionFactory = sessionFactory(HUB_FRIENDS / 2);
+        limitedSearchSession = limitedSearchSessionFactory.session(keyspace);
+
+        try (Transaction tx = searchSession.writeTransaction()) {
+            AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+            Role friend = tx.putRole("friend");
+            EntityType person = tx.putEntityType("person").plays(friend).has(name);
+            RelationType friendship = tx.putRelationType("friendship").relates(friend);
+
+            // a chain of pairs of people, each befriended by both people of the previous pair,
+            // so that there are several shortest paths between its ends
+            chain = new ArrayList<>();
+            List<Entity> previous = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                List<Entity> pair = new ArrayList<>();
+                for (int j = 0; j < 2; j++) {
+                    Entity entity = person.create();
+                    pair.add(entity);
+                    for (Entity before : previous) {
+                        friendship.create().assign(friend, before).assign(friend, entity);
+                    }
+                }
+                chain.add(pair.get(0).id());
+                previous = pair;
+            }
+
+            // a person with many friends, who share a name with each other
+            hub = person.create();
+            hubFriends = new ArrayList<>();
+            for (int i = 0; i < HUB_FRIENDS; i++) {
+                Entity entity = person.create();
+                entity.has(name.create("friend of the hub"));
+                friendship.create().assign(friend, hub).assign(friend, entity);
+                hubFriends.add(entity.id());
+            }
+            friendship.create().assign(friend, hub).assign(friend, tx.getConcept(chain.get(chain.size() - 1)));
+
+            loner = person.create().id();
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSessions() {
+        limitedSearchSession.close();
+        limitedSearchSessionFactory.shutdown();
+        vertexProgramSession.close();
+        vertexProgramSessionFactory.shutdown();
+        searchSession.close();
+    }
+
+    @Test
+    public void whenThereAreSeveralShortestPaths_searchFindsThePathsOfTheVertexProgram() {
+        Set<List<ConceptId>> paths = assertSamePaths(Graql.compute().path().from(chain.get(0).getValue()).to(chain.get(3).getValue()));
+        // through either person of each of the two pairs in between
+        assertEquals(4, paths.size());
+    }
+
+    @Test
+    public void whenConceptsAreNotConnected_searchFindsNoPathLikeTheVertexProgram() {
+        Set<List<ConceptId>> paths = assertSamePaths(Graql.compute().path().from(chain.get(0).getValue()).to(loner.getValue()));
+        assertTrue(paths.isEmpty());
+    }
+
+    @Test
+    public void whenPathsGoThroughAttributes_searchFindsThePathsOfTheVertexProgram() {
+        assertSamePaths(Graql.compute().path().from(hubFriends.get(0).getValue()).to(hubFriends.get(1).getValue()).attributes(true));
+    }
+
+    @Test
+    public void whenScopeExcludesTheShortestPaths_searchFindsThePathsOfTheVertexProgram() {
+        assertSamePaths(Graql.compute().path().from(hubFriends.get(0).getValue()).to(hubFriends.get(1).getValue())
+                .attributes(true).in("person", "friendship"));
+    }
+
+    @Test
+    public void whenSearchReadsMoreEdgesThanItsLimit_theVertexProgramFindsThePaths() {
+        assertSamePaths(Graql.compute().path().from(hubFriends.get(0).getValue()).to(chain.get(0).getValue()));
+    }
+
+    private Set<List<ConceptId>> assertSamePaths(GraqlCompute.Path query) {
+        Set<List<ConceptId>> expected = paths(vertexProgramSession, query);
+        assertEquals(expected, paths(searchSession, query));
+        assertEquals(expected, paths(limitedSearchSession, query));
+        return expected;
+    }
+
+    private static Set<List<ConceptId>> paths(Session session, GraqlCompute.Path query) {
+        try (Transaction tx = session.readTransaction()) {
+            return tx.execute(query).stream().map(ConceptList::list).collect(Collectors.toSet());
+        }
+    }
+
+    private static SessionFactory sessionFactory(int pathSearchLimit) {
+        Config config = Config.of(server.serverConfig().properties());
+        config.setConfigProperty(ConfigKey.COMPUTE_PATH_SEARCH_LIMIT, pathSearchLimit);
+        return new SessionFactory(new LockManager(), new JanusGraphFactory(config), new HadoopGraphFactory(config), config);
+    }
+}
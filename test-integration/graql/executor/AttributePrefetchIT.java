@@ -0,0 +1,131 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.graql.executor;
+
+import grakn.core.common.config.Config;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.kb.concept.api.Attribute;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.rule.GraknTestStorage;
+import grakn.core.rule.SessionUtil;
+import grakn.core.rule.TestTransactionProvider;
+import graql.lang.Graql;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class AttributePrefetchIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private static final int NAMES = 50;
+
+    private Config config;
+    private Session session;
+
+    @Before
+    public void setUp() {
+        config = storage.createCompatibleServerConfig();
+        Session schemaSession = SessionUtil.serverlessSessionWithNewKeyspace(config);
+        try (Transaction tx = schemaSession.writeTransaction()) {
+            tx.execute(Graql.parse("define " +
+                    "name sub attribute, datatype string; " +
+                    "weight sub attribute, datatype double; " +
+                    "person sub entity, has name, has weight;").asDefine());
+            tx.execute(Graql.parse("insert $w 5.0 isa weight; " + names()).asInsert());
+            tx.commit();
+        }
+        schemaSession.close();
+
+        // a new session does not know the attributes committed by the previous one, and looks them up in the graph
+        session = SessionUtil.serverlessSession(config, schemaSession.keyspace().name());
+    }
+
+    @After
+    public void tearDown() {
+        session.close();
+    }
+
+    @Test
+    public void whenInsertingCommittedAttributes_TheyAreFoundInsteadOfDuplicated() {
+        try (Transaction tx = session.writeTransaction()) {
+            tx.execute(Graql.parse("insert $p isa person, " + hasNames() + ";").asInsert());
+            assertEquals(NAMES, tx.getAttributeType("name").instances().count());
+        }
+    }
+
+    @Test
+    public void whenInsertedValueIsConvertedToTheDataType_TheCommittedAttributeIsFound() {
+        try (Transaction tx = session.writeTransaction()) {
+            AttributeType<Double> weight = tx.getAttributeType("weight");
+            ConceptId committed = weight.attribute(5.0).id();
+            ConceptManager conceptManager = ((TestTransactionProvider.TestTransaction) tx).conceptManager();
+            assertEquals(conceptManager.attributeIndex(weight, 5.0), conceptManager.attributeIndex(weight, 5L));
+
+            List<ConceptMap> answers = tx.execute(Graql.parse("insert $w 5 isa weight;").asInsert());
+            assertEquals(committed, answers.get(0).get("w").id());
+            assertEquals(1, weight.instances().count());
+        }
+    }
+
+    @Test
+    public void whenAttributeIsAddedByTheTransaction_InsertFindsIt() {
+        try (Transaction tx = session.writeTransaction()) {
+            ConceptId added = tx.execute(Graql.parse("insert $n \"Alice\" isa name;").asInsert()).get(0).get("n").id();
+            ConceptMap answer = tx.execute(Graql.parse("insert $p isa person, has name $n; $n \"Alice\" isa name;").asInsert()).get(0);
+            assertEquals(added, answer.get("n").id());
+            assertEquals(NAMES + 1, tx.getAttributeType("name").instances().count());
+        }
+    }
+
+    @Test
+    public void whenAttributeIsDeletedByTheTransaction_InsertCreatesItAgain() {
+        try (Transaction tx = session.writeTransaction()) {
+            Attribute<String> deleted = tx.<String>getAttributeType("name").attribute("name0");
+            ConceptId deletedId = deleted.id();
+            deleted.delete();
+
+            ConceptMap answer = tx.execute(Graql.parse("insert $n \"name0\" isa name;").asInsert()).get(0);
+            assertNotEquals(deletedId, answer.get("n").id());
+            assertEquals(NAMES, tx.getAttributeType("name").instances().count());
+        }
+    }
+
+    private static String names() {
+        return IntStream.range(0, NAMES).mapToObj(i -> "$n" + i + " \"name" + i + "\" isa name;").collect(Collectors.joining(" "));
+    }
+
+    private static String hasNames() {
+        return IntStream.range(0, NAMES).mapToObj(i -> "has name \"name" + i + "\"").collect(Collectors.joining(", "));
+    }
+}
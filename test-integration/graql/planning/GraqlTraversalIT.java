@@ -81,6 +81,7 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -308,6 +309,34 @@ public class GraqlTraversalIT {
         ));
     }
 
+    @Test
+    public void whenTraversalOnlyHasUniquePathsAndDropsPinnedVars_ItIsDistinct() {
+        GraqlTraversal isaFromType = traversal(yId, inIsa(null, y.var(), x.var(), false));
+        assertTrue(isaFromType.isDistinct(ImmutableSet.of(x.var())));
+        assertTrue(isaFromType.isDistinct(ImmutableSet.of(x.var(), y.var())));
+    }
+
+    @Test
+    public void whenTraversalDropsAnUnpinnedVar_ItIsNotDistinct() {
+        GraqlTraversal isaToType = traversal(xIsaY);
+        assertTrue(isaToType.isDistinct(ImmutableSet.of(x.var(), y.var())));
+        assertFalse(isaToType.isDistinct(ImmutableSet.of(x.var())));
+    }
+
+    @Test
+    public void whenTraversalMayReachAnElementTwice_ItIsNotDistinct() {
+        assertFalse(fastIsaTraversal.isDistinct(ImmutableSet.of(x.var(), y.var())));
+
+        GraqlTraversal rolePlayers = traversal(inRolePlayer(x.var(), z.var()), outRolePlayer(z.var(), y.var()));
+        assertFalse(rolePlayers.isDistinct(ImmutableSet.of(x.var(), y.var(), z.var())));
+    }
+
+    @Test
+    public void whenTraversalHasDisjunctions_ItIsNotDistinct() {
+        GraqlTraversal disjunction = traversal(ImmutableList.of(xId), ImmutableList.of(yId));
+        assertFalse(disjunction.isDistinct(ImmutableSet.of(x.var(), y.var())));
+    }
+
     private static GraqlTraversal semiOptimal(Pattern pattern) {
         TraversalPlanFactory traversalPlanFactory = ((TestTransactionProvider.TestTransaction)tx).traversalPlanFactory();
         return traversalPlanFactory.createTraversal(pattern);
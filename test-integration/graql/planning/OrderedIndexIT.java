@@ -0,0 +1,126 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.gremlin;
+
+import grakn.core.kb.concept.api.Attribute;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.EntityType;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.rule.GraknTestStorage;
+import grakn.core.rule.SessionUtil;
+import grakn.core.rule.TestTransactionProvider;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Compares the attributes found by range queries, which seek into the ordered index of attribute values, with the
+ * attributes found by scanning all of them
+ */
+public class OrderedIndexIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+    private static Session session;
+
+    @BeforeClass
+    public static void loadData() {
+        session = SessionUtil.serverlessSessionWithNewKeyspace(storage.createCompatibleServerConfig());
+        Transaction tx = session.writeTransaction();
+        AttributeType<Long> age = tx.putAttributeType("age", AttributeType.DataType.LONG);
+        AttributeType<Double> weight = tx.putAttributeType("weight", AttributeType.DataType.DOUBLE);
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+        EntityType person = tx.putEntityType("person").has(age).has(weight).has(name);
+        for (long i = -50; i <= 50; i++) {
+            person.create()
+                    .has(age.create(i * 2))
+                    .has(weight.create(i * 1.25))
+                    .has(name.create("name" + (char) ('a' + Math.abs(i) % 26) + i));
+        }
+        tx.commit();
+    }
+
+    @AfterClass
+    public static void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void whenMatchingNumericRanges_TheAttributesFoundAreTheOnesWithAValueInTheRange() {
+        assertSameAsScan("match $x > 10; get;", value -> value instanceof Number && ((Number) value).doubleValue() > 10);
+        assertSameAsScan("match $x >= 10; get;", value -> value instanceof Number && ((Number) value).doubleValue() >= 10);
+        assertSameAsScan("match $x < -7.5; get;", value -> value instanceof Number && ((Number) value).doubleValue() < -7.5);
+        assertSameAsScan("match $x <= -7.5; get;", value -> value instanceof Number && ((Number) value).doubleValue() <= -7.5);
+        assertSameAsScan("match $x > 9.9; $x < 10.1; get;", value -> value instanceof Number
+                && ((Number) value).doubleValue() > 9.9 && ((Number) value).doubleValue() < 10.1);
+        assertSameAsScan("match $x isa age; $x < 0; get;", value -> value instanceof Long && (Long) value < 0);
+        assertSameAsScan("match $x isa weight; $x > -0.0; get;", value -> value instanceof Double && (Double) value > 0);
+    }
+
+    @Test
+    public void whenMatchingStringRanges_TheAttributesFoundAreTheOnesWithAValueInTheRange() {
+        assertSameAsScan("match $x > \"namem\"; get;", value -> value instanceof String && ((String) value).compareTo("namem") > 0);
+        assertSameAsScan("match $x <= \"namec\"; get;", value -> value instanceof String && ((String) value).compareTo("namec") <= 0);
+    }
+
+    @Test
+    public void whenATransactionAddsAttributes_TheyAreFoundInOrderAndWithinTheLimit() {
+        try (TestTransactionProvider.TestTransaction tx = (TestTransactionProvider.TestTransaction) session.writeTransaction()) {
+            AttributeType<Long> age = tx.getAttributeType("age");
+            age.create(1L);
+            age.create(3L);
+
+            List<ConceptId> ids = tx.conceptManager().attributesInRange(age, 0L, true, 5L, true, 4);
+
+            List<Object> values = ids.stream().map(id -> tx.getConcept(id).asAttribute().value()).collect(toList());
+            assertEquals(Arrays.asList(0L, 1L, 2L, 3L), values);
+        }
+    }
+
+    private static void assertSameAsScan(String query, Predicate<Object> inRange) {
+        try (Transaction tx = session.readTransaction()) {
+            Stream<Attribute<?>> attributes = tx.getMetaAttributeType().instances();
+            Set<ConceptId> scanned = attributes
+                    .filter(attribute -> inRange.test(attribute.value()))
+                    .map(Attribute::id)
+                    .collect(toSet());
+            Set<ConceptId> found = tx.execute(Graql.parse(query).asGet()).stream()
+                    .map(answer -> answer.get("x").id())
+                    .collect(toSet());
+
+            assertFalse(query, scanned.isEmpty());
+            assertEquals(query, scanned, found);
+        }
+    }
+}
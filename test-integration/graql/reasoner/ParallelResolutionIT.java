@@ -0,0 +1,164 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.graql.reasoner;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.kb.server.keyspace.Keyspace;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.session.HadoopGraphFactory;
+import grakn.core.server.session.JanusGraphFactory;
+import grakn.core.server.session.SessionFactory;
+import grakn.core.server.util.LockManager;
+import graql.lang.Graql;
+import graql.lang.query.GraqlGet;
+import graql.lang.statement.Variable;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that resolving rule applications in parallel gives the same answers as resolving them sequentially.
+ */
+@SuppressWarnings("CheckReturnValue")
+public class ParallelResolutionIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private static Keyspace keyspace;
+    private static SessionFactory parallelSessionFactory;
+
+    @BeforeClass
+    public static void loadData() {
+        keyspace = server.randomKeyspaceName();
+        try (Session session = server.session(keyspace)) {
+            try (Transaction tx = session.writeTransaction()) {
+                tx.execute(Graql.parse("define " +
+                        "name sub attribute, datatype string;" +
+                        "person sub entity, has name, plays parent, plays child, plays ancestor, plays descendant, plays sibling;" +
+                        "parentship sub relation, relates parent, relates child;" +
+                        "ancestorship sub relation, relates ancestor, relates descendant;" +
+                        "siblingship sub relation, relates sibling;" +
+                        "parent-is-ancestor sub rule, when { (parent: $x, child: $y) isa parentship; }, " +
+                        "then { (ancestor: $x, descendant: $y) isa ancestorship; };" +
+                        "ancestor-transitivity sub rule, when { (ancestor: $x, descendant: $y) isa ancestorship; " +
+                        "(ancestor: $y, descendant: $z) isa ancestorship; }, " +
+                        "then { (ancestor: $x, descendant: $z) isa ancestorship; };" +
+                        "siblings sub rule, when { (parent: $p, child: $x) isa parentship; (parent: $p, child: $y) isa parentship; $x != $y; }, " +
+                        "then { (sibling: $x, sibling: $y) isa siblingship; };").asDefine());
+                // two chains of descendants sharing their root
+                tx.execute(Graql.parse("insert " +
+                        "$a isa person, has name 'a'; $b isa person, has name 'b'; $c isa person, has name 'c';" +
+                        "$d isa person, has name 'd'; $e isa person, has name 'e'; $f isa person, has name 'f';" +
+                        "$g isa person, has name 'g'; $h isa person, has name 'h';" +
+                        "(parent: $a, child: $b) isa parentship; (parent: $b, child: $c) isa parentship;" +
+                        "(parent: $c, child: $d) isa parentship; (parent: $d, child: $e) isa parentship;" +
+                        "(parent: $a, child: $f) isa parentship; (parent: $f, child: $g) isa parentship;" +
+                        "(parent: $g, child: $h) isa parentship;").asInsert());
+                tx.commit();
+            }
+        }
+
+        Config config = Config.of(server.serverConfig().properties());
+        config.setConfigProperty(ConfigKey.REASONER_PARALLELISM, 4);
+        parallelSessionFactory = new SessionFactory(new LockManager(), new JanusGraphFactory(config), new HadoopGraphFactory(config), config);
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        parallelSessionFactory.shutdown();
+    }
+
+    @Test
+    public void whenResolvingRecursiveRulesInParallel_answersAreTheSameAsSequentially() {
+        GraqlGet query = Graql.parse("match (ancestor: $x, descendant: $y) isa ancestorship; " +
+                "$x has name $nx; $y has name $ny; get $nx, $ny;").asGet();
+
+        Set<Map<Variable, Object>> sequentialAnswers = answers(server.sessionFactory(), query);
+        Set<Map<Variable, Object>> parallelAnswers = answers(parallelSessionFactory, query);
+
+        // 10 pairs along a-b-c-d-e and 6 along a-f-g-h
+        assertEquals(10 + 6, sequentialAnswers.size());
+        assertEquals(sequentialAnswers, parallelAnswers);
+    }
+
+    @Test
+    public void whenResolvingAConjunctionOfInferredRelationsInParallel_answersAreTheSameAsSequentially() {
+        GraqlGet query = Graql.parse("match (ancestor: $x, descendant: $y) isa ancestorship; " +
+                "(sibling: $y, sibling: $z) isa siblingship; " +
+                "$x has name $nx; $z has name $nz; get $nx, $nz;").asGet();
+
+        Set<Map<Variable, Object>> sequentialAnswers = answers(server.sessionFactory(), query);
+        Set<Map<Variable, Object>> parallelAnswers = answers(parallelSessionFactory, query);
+
+        assertFalse(sequentialAnswers.isEmpty());
+        assertEquals(sequentialAnswers, parallelAnswers);
+    }
+
+    @Test
+    public void whenTransactionIsClosedWhileBranchesAreRunning_itClosesCleanly() {
+        GraqlGet query = Graql.parse("match (ancestor: $x, descendant: $y) isa ancestorship; get;").asGet();
+
+        try (Session session = parallelSessionFactory.session(keyspace)) {
+            Transaction tx = session.readTransaction();
+            try (Stream<ConceptMap> answers = tx.stream(query)) {
+                assertTrue(answers.findFirst().isPresent());
+            }
+            tx.close();
+            assertFalse(tx.isOpen());
+
+            // the session can still resolve queries once the branches of the closed transaction have stopped
+            try (Transaction nextTx = session.readTransaction()) {
+                assertEquals(16, nextTx.execute(query).size());
+            }
+        }
+    }
+
+    private static Set<Map<Variable, Object>> answers(SessionFactory sessionFactory, GraqlGet query) {
+        try (Session session = sessionFactory.session(keyspace)) {
+            try (Transaction tx = session.readTransaction()) {
+                List<ConceptMap> answers = tx.execute(query);
+                return answers.stream().map(ParallelResolutionIT::attributeValues).collect(Collectors.toSet());
+            }
+        }
+    }
+
+    private static Map<Variable, Object> attributeValues(ConceptMap answer) {
+        Map<Variable, Object> values = new HashMap<>();
+        answer.map().forEach((var, concept) -> values.put(var, concept.asAttribute().value()));
+        return values;
+    }
+}
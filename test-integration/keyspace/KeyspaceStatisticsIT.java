@@ -30,6 +30,7 @@ import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.api.RelationType;
 import grakn.core.kb.concept.api.Role;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
+import grakn.core.kb.keyspace.OwnedValueStatistics;
 import grakn.core.kb.server.Session;
 import grakn.core.kb.server.Transaction;
 import grakn.core.rule.GraknTestServer;
@@ -281,6 +282,132 @@ public class KeyspaceStatisticsIT {
         assertEquals(attributeCount, attributeCountReopened);
     }
 
+    @Test
+    public void rolePlayerStatisticsUpdatedOnCommitAndPersisted() {
+        Transaction tx = localSession.writeTransaction();
+        AttributeType ageType = tx.putAttributeType("age", AttributeType.DataType.LONG);
+        Role friend = tx.putRole("friend");
+        EntityType personType = tx.putEntityType("person").plays(friend).has(ageType);
+        RelationType friendshipType = tx.putRelationType("friendship").relates(friend);
+        tx.commit();
+
+        tx = localSession.writeTransaction();
+        ageType = tx.getAttributeType("age");
+        Attribute age = ageType.create(1);
+        personType = tx.getEntityType("person");
+        Entity person1 = personType.create().has(age);
+        Entity person2 = personType.create().has(age);
+        Entity person3 = personType.create();
+        Entity person4 = personType.create();
+        friendshipType = tx.getRelationType("friendship");
+        friend = tx.getRole("friend");
+        friendshipType.create().assign(friend, person1).assign(friend, person2);
+        friendshipType.create().assign(friend, person1).assign(friend, person3);
+        tx.commit();
+
+        KeyspaceStatistics statistics = localSession.keyspaceStatistics();
+        TestTransactionProvider.TestTransaction testTx = (TestTransactionProvider.TestTransaction)localSession.writeTransaction();
+        assertEquals(4L, statistics.rolePlayerCount(testTx.conceptManager(), Label.of("friend")));
+        assertEquals(2D, statistics.rolePlayersPerRelation(testTx.conceptManager(), Label.of("friend")), 0.001);
+        assertEquals(1D, statistics.relationsPerRolePlayer(testTx.conceptManager(), Label.of("friend")), 0.001);
+
+        // attribute ownership fan-out: 2 ownerships over 4 people and 1 age value
+        Label ownerRole = Schema.ImplicitType.HAS_OWNER.getLabel(Label.of("age"));
+        Label valueRole = Schema.ImplicitType.HAS_VALUE.getLabel(Label.of("age"));
+        assertEquals(0.5D, statistics.relationsPerRolePlayer(testTx.conceptManager(), ownerRole), 0.001);
+        assertEquals(2D, statistics.relationsPerRolePlayer(testTx.conceptManager(), valueRole), 0.001);
+
+        testTx.getConcept(person1.id()).delete();
+        testTx.commit();
+
+        localSession.close();
+        localSession = SessionUtil.serverlessSession(server.serverConfig(), remoteSession.keyspace().name());
+
+        testTx = (TestTransactionProvider.TestTransaction)localSession.writeTransaction();
+        // person1 is removed from both friendships, which each keep their other friend
+        long friendCount = localSession.keyspaceStatistics().rolePlayerCount(testTx.conceptManager(), Label.of("friend"));
+        testTx.close();
+        assertEquals(2L, friendCount);
+        assertEquals(friendshipRolePlayers(), friendCount);
+    }
+
+    @Test
+    public void ownedValueStatisticsUpdatedOnCommitAndPersisted() {
+        Transaction tx = localSession.writeTransaction();
+        AttributeType ageType = tx.putAttributeType("age", AttributeType.DataType.LONG);
+        tx.putEntityType("person").has(ageType);
+        tx.commit();
+
+        tx = localSession.writeTransaction();
+        ageType = tx.getAttributeType("age");
+        Attribute age1 = ageType.create(1L);
+        Attribute age5 = ageType.create(5L);
+        EntityType personType = tx.getEntityType("person");
+        Entity person1 = personType.create().has(age1);
+        personType.create().has(age1);
+        personType.create().has(age5);
+        tx.commit();
+
+        KeyspaceStatistics statistics = localSession.keyspaceStatistics();
+        TestTransactionProvider.TestTransaction testTx = (TestTransactionProvider.TestTransaction)localSession.writeTransaction();
+        OwnedValueStatistics ages = statistics.ownedValueStatistics(testTx.conceptManager(), Label.of("age"));
+        // each value counts once per owner
+        assertEquals(3L, ages.count());
+        assertEquals(7D, ages.sum(), 0.001);
+        assertEquals(27D, ages.squareSum(), 0.001);
+        assertEquals(1L, statistics.minOwnedValue(testTx.conceptManager(), Label.of("age")));
+        assertEquals(5L, statistics.maxOwnedValue(testTx.conceptManager(), Label.of("age")));
+
+        testTx.getConcept(person1.id()).delete();
+        testTx.getConcept(age1.id()).delete();
+        testTx.commit();
+
+        localSession.close();
+        localSession = SessionUtil.serverlessSession(server.serverConfig(), remoteSession.keyspace().name());
+
+        testTx = (TestTransactionProvider.TestTransaction)localSession.writeTransaction();
+        ages = localSession.keyspaceStatistics().ownedValueStatistics(testTx.conceptManager(), Label.of("age"));
+        Number minAge = localSession.keyspaceStatistics().minOwnedValue(testTx.conceptManager(), Label.of("age"));
+        testTx.close();
+        assertEquals(1L, ages.count());
+        assertEquals(5D, ages.sum(), 0.001);
+        assertEquals(5L, minAge);
+    }
+
+    @Test
+    public void whenTransactionWithUncommittedWritesReadsOwnedValues_theyAreNotCachedForOtherTransactions() {
+        Transaction tx = localSession.writeTransaction();
+        AttributeType ageType = tx.putAttributeType("age", AttributeType.DataType.LONG);
+        EntityType personType = tx.putEntityType("person").has(ageType);
+        personType.create().has(ageType.create(1L));
+        personType.create().has(ageType.create(5L));
+        tx.commit();
+
+        KeyspaceStatistics statistics = localSession.keyspaceStatistics();
+        TestTransactionProvider.TestTransaction writingTx = (TestTransactionProvider.TestTransaction)localSession.writeTransaction();
+        writingTx.getEntityType("person").create().has(writingTx.getAttributeType("age").create(0L));
+        // the writing transaction sees its own writes
+        assertEquals(0L, statistics.minOwnedValue(writingTx.conceptManager(), Label.of("age")));
+        writingTx.close();
+
+        TestTransactionProvider.TestTransaction testTx = (TestTransactionProvider.TestTransaction)localSession.writeTransaction();
+        Number minAge = statistics.minOwnedValue(testTx.conceptManager(), Label.of("age"));
+        OwnedValueStatistics ages = statistics.ownedValueStatistics(testTx.conceptManager(), Label.of("age"));
+        testTx.close();
+        assertEquals(1L, minAge);
+        assertEquals(2L, ages.count());
+        assertEquals(6D, ages.sum(), 0.001);
+    }
+
+    private long friendshipRolePlayers() {
+        Transaction tx = localSession.readTransaction();
+        long rolePlayers = tx.getRelationType("friendship").instances()
+                .mapToLong(relation -> relation.rolePlayers().count())
+                .sum();
+        tx.close();
+        return rolePlayers;
+    }
+
     @Test
     public void nonexistentLabelStatisticsReturnMinusOne() {
         TestTransactionProvider.TestTransaction testTx = (TestTransactionProvider.TestTransaction)localSession.writeTransaction();
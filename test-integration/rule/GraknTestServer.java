@@ -33,11 +33,13 @@ import grakn.core.server.rpc.OpenRequest;
 import grakn.core.server.rpc.ServerKeyspaceRequestsHandler;
 import grakn.core.server.rpc.ServerOpenRequest;
 import grakn.core.server.rpc.SessionService;
+import grakn.core.server.rpc.TransactionExecutorPool;
 import grakn.core.server.session.HadoopGraphFactory;
 import grakn.core.server.session.JanusGraphFactory;
 import grakn.core.server.session.SessionFactory;
 import grakn.core.server.util.LockManager;
 import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptors;
 import org.junit.rules.ExternalResource;
 
 import java.io.FileInputStream;
@@ -107,8 +109,9 @@ public class GraknTestServer extends ExternalResource {
     @Override
     protected void after() {
         try {
-            graknTestStorage.after();
+            // the server closes the graphs of its keyspaces, which needs the storage
             graknServer.close();
+            graknTestStorage.after();
         } catch (Exception e) {
             throw new RuntimeException("Could not shut down ", e);
         }
@@ -188,11 +191,12 @@ public class GraknTestServer extends ExternalResource {
                 keyspaceManager, sessionFactory, janusGraphFactory);
 
         io.grpc.Server serverRPC = ServerBuilder.forPort(grpcPort)
-                .addService(new SessionService(requestOpener))
+                .addService(ServerInterceptors.intercept(new SessionService(requestOpener, new TransactionExecutorPool(serverConfig.getProperty(ConfigKey.TRANSACTION_THREADS))),
+                        new SessionService.IteratorBatchSizeInterceptor(serverConfig.getProperty(ConfigKey.ITERATOR_BATCH_SIZE), serverConfig.getProperty(ConfigKey.ITERATOR_MAX_BATCH_SIZE))))
                 .addService(new KeyspaceService(requestsHandler))
                 .build();
 
-        return ServerFactory.createServer(serverRPC);
+        return ServerFactory.createServer(serverRPC, sessionFactory);
     }
 
 }
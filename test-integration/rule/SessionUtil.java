@@ -30,15 +30,15 @@ import grakn.core.kb.server.keyspace.Keyspace;
 import grakn.core.keyspace.KeyspaceStatisticsImpl;
 import grakn.core.server.keyspace.KeyspaceImpl;
 import grakn.core.keyspace.AttributeManagerImpl;
+import grakn.core.server.session.AttributeIndexMigration;
 import grakn.core.server.session.HadoopGraphFactory;
 import grakn.core.server.session.JanusGraphFactory;
 import grakn.core.server.session.SessionImpl;
 import grakn.core.keyspace.ShardManagerImpl;
+import grakn.core.server.util.CommitLockManager;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 
 import java.util.UUID;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * For testing, we sometimes ONLY start cassandra, without starting the full Grakn Server
@@ -93,13 +93,13 @@ public class SessionUtil {
         HadoopGraphFactory hadoopGraphFactory = new HadoopGraphFactory(mockServerConfig);
         StandardJanusGraph graph = janusGraphFactory.openGraph(newKeyspaceName);
         KeyspaceSchemaCache cache = new KeyspaceSchemaCache();
-        AttributeManager attributeManager = new AttributeManagerImpl();
+        AttributeManager attributeManager = new AttributeManagerImpl(AttributeIndexMigration.hasCompactIndex(graph));
         ShardManager shardManager = new ShardManagerImpl();
-        ReadWriteLock graphLock = new ReentrantReadWriteLock();
+        CommitLockManager commitLocks = new CommitLockManager();
         HadoopGraph hadoopGraph = hadoopGraphFactory.getGraph(randomKeyspace);
 
         long typeShardThreshold = 250000; // TODO decide if this belongs in the mockServerConfig or not
-        TransactionProvider transactionProvider = new TestTransactionProvider(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, graphLock, typeShardThreshold);
+        TransactionProvider transactionProvider = new TestTransactionProvider(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, commitLocks, typeShardThreshold);
         return new SessionImpl(randomKeyspace, transactionProvider, cache, graph, keyspaceStatistics, attributeManager, shardManager);
     }
 
@@ -112,12 +112,12 @@ public class SessionUtil {
         StandardJanusGraph graph = janusGraphFactory.openGraph(randomKeyspace.name());
         KeyspaceSchemaCache cache = new KeyspaceSchemaCache();
         KeyspaceStatistics keyspaceStatistics = new KeyspaceStatisticsImpl();
-        AttributeManager attributeManager = new AttributeManagerImpl();
+        AttributeManager attributeManager = new AttributeManagerImpl(AttributeIndexMigration.hasCompactIndex(graph));
         ShardManager shardManager = new ShardManagerImpl();
-        ReadWriteLock graphLock = new ReentrantReadWriteLock();
+        CommitLockManager commitLocks = new CommitLockManager();
         HadoopGraph hadoopGraph = hadoopGraphFactory.getGraph(randomKeyspace);
 
-        TransactionProvider transactionProvider = new TestTransactionProvider(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, graphLock, typeShardThreshold);
+        TransactionProvider transactionProvider = new TestTransactionProvider(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, commitLocks, typeShardThreshold);
         return new SessionImpl(randomKeyspace, transactionProvider, cache, graph, keyspaceStatistics, attributeManager, shardManager);
     }
 
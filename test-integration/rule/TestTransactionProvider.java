@@ -51,10 +51,9 @@ import grakn.core.kb.server.TransactionProvider;
 import grakn.core.kb.server.cache.TransactionCache;
 import grakn.core.keyspace.StatisticsDeltaImpl;
 import grakn.core.server.session.TransactionImpl;
+import grakn.core.server.util.CommitLockManager;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 
-import java.util.concurrent.locks.ReadWriteLock;
-
 /**
  * Implementation of TransactionProvider that can be relied upon to return a `TestTransaction`,
  * which is an extension of `TransactionImpl` with further fields and getters
@@ -65,18 +64,18 @@ public class TestTransactionProvider implements TransactionProvider {
     private final KeyspaceSchemaCache keyspaceSchemaCache;
     private final KeyspaceStatistics keyspaceStatistics;
     private final AttributeManager attributeManager;
-    private ReadWriteLock graphLock;
+    private final CommitLockManager commitLocks;
     private final long typeShardThreshold;
 
     public TestTransactionProvider(StandardJanusGraph graph, HadoopGraph hadoopGraph,
                                    KeyspaceSchemaCache keyspaceSchemaCache, KeyspaceStatistics keyspaceStatistics,
-                                   AttributeManager attributeManager, ReadWriteLock graphLock, long typeShardThreshold) {
+                                   AttributeManager attributeManager, CommitLockManager commitLocks, long typeShardThreshold) {
         this.graph = graph;
         this.hadoopGraph = hadoopGraph;
         this.keyspaceSchemaCache = keyspaceSchemaCache;
         this.keyspaceStatistics = keyspaceStatistics;
         this.attributeManager = attributeManager;
-        this.graphLock = graphLock;
+        this.commitLocks = commitLocks;
         this.typeShardThreshold = typeShardThreshold;
     }
 
@@ -84,7 +83,7 @@ public class TestTransactionProvider implements TransactionProvider {
     public Transaction newTransaction(Session session) {
         // Data structures
         ConceptNotificationChannel conceptNotificationChannel = new ConceptNotificationChannelImpl();
-        TransactionCache transactionCache = new TransactionCache(keyspaceSchemaCache);
+        TransactionCache transactionCache = new TransactionCache(keyspaceSchemaCache, attributeManager);
         StatisticsDeltaImpl statisticsDelta = new StatisticsDeltaImpl();
 
         // Janus elements
@@ -113,7 +112,7 @@ public class TestTransactionProvider implements TransactionProvider {
         return new TestTransaction(
                 session, janusGraphTransaction, conceptManager, janusTraversalSourceProvider, transactionCache,
                 queryCache, ruleCache, statisticsDelta, executorFactory, traversalPlanFactory, reasonerQueryFactory,
-                graphLock, typeShardThreshold,
+                commitLocks, typeShardThreshold,
                 conceptNotificationChannel, elementFactory, propertyAtomicFactory, conceptListener, propertyExecutorFactory
         );
     }
@@ -133,14 +132,14 @@ public class TestTransactionProvider implements TransactionProvider {
                                TransactionCache transactionCache, MultilevelSemanticCache queryCache,
                                RuleCacheImpl ruleCache, StatisticsDeltaImpl statisticsDelta,
                                ExecutorFactoryImpl executorFactory, TraversalPlanFactory traversalPlanFactory,
-                               ReasonerQueryFactory reasonerQueryFactory, ReadWriteLock graphLock, long typeShardThreshold,
+                               ReasonerQueryFactory reasonerQueryFactory, CommitLockManager commitLocks, long typeShardThreshold,
                                ConceptNotificationChannel conceptNotificationChannel, ElementFactory elementFactory,
                                PropertyAtomicFactory propertyAtomicFactory, ConceptListener conceptListener,
                                PropertyExecutorFactory propertyExecutorFactory) {
 
             super(session, janusGraphTransaction, conceptManager, janusTraversalSourceProvider, transactionCache,
                     queryCache, ruleCache, statisticsDelta, executorFactory, traversalPlanFactory,
-                    reasonerQueryFactory, graphLock, typeShardThreshold);
+                    reasonerQueryFactory, commitLocks, typeShardThreshold);
 
 
             this.conceptNotificationChannel = conceptNotificationChannel;
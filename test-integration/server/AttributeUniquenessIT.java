@@ -20,7 +20,6 @@ package grakn.core.server;
 
 import grakn.common.util.Collections;
 import grakn.core.concept.answer.ConceptMap;
-import grakn.core.core.Schema;
 import grakn.core.kb.concept.api.ConceptId;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.server.Session;
@@ -347,11 +346,12 @@ public class AttributeUniquenessIT {
     public void whenDeletingAndReaddingSameAttributeInDifferentTx_attributesCacheIsInSyncAndShouldNotTryToMerge() {
         String testAttributeLabel = "test-attribute";
         String testAttributeValue = "test-attribute-value";
-        String index = Schema.generateAttributeIndex(Label.of(testAttributeLabel), testAttributeValue);
+        String index;
 
         // define the schema
         try (Transaction tx = session.writeTransaction()) {
             tx.execute(Graql.define(type(testAttributeLabel).sub("attribute").datatype(Graql.Token.DataType.STRING)));
+            index = session.attributeManager().attributeIndex(tx.getAttributeType(testAttributeLabel), testAttributeValue);
             tx.commit();
         }
 
@@ -383,11 +383,12 @@ public class AttributeUniquenessIT {
     public void whenDeletingAndReaddingSameAttributeInSameTx_shouldNotTryToMergeAndThereShouldBeOneAttributeNodeWithDifferentId() {
         String testAttributeLabel = "test-attribute";
         String testAttributeValue = "test-attribute-value";
-        String index = Schema.generateAttributeIndex(Label.of(testAttributeLabel), testAttributeValue);
+        String index;
 
         // define the schema
         try (Transaction tx = session.writeTransaction()) {
             tx.execute(Graql.define(type(testAttributeLabel).sub("attribute").datatype(Graql.Token.DataType.STRING)));
+            index = session.attributeManager().attributeIndex(tx.getAttributeType(testAttributeLabel), testAttributeValue);
             tx.commit();
         }
         String oldAttributeId;
@@ -415,11 +416,12 @@ public class AttributeUniquenessIT {
     public void whenAddingAndDeletingSameAttributeInSameTx_thereShouldBeNoAttributeIndexInAttributesCache() {
         String testAttributeLabel = "test-attribute";
         String testAttributeValue = "test-attribute-value";
-        String index = Schema.generateAttributeIndex(Label.of(testAttributeLabel), testAttributeValue);
+        String index;
 
         // define the schema
         try (Transaction tx = session.writeTransaction()) {
             tx.execute(Graql.define(type(testAttributeLabel).sub("attribute").datatype(Graql.Token.DataType.STRING)));
+            index = session.attributeManager().attributeIndex(tx.getAttributeType(testAttributeLabel), testAttributeValue);
             tx.commit();
         }
 
@@ -0,0 +1,237 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.server.session;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.core.Schema;
+import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.kb.concept.api.Attribute;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.kb.server.keyspace.Keyspace;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.util.LockManager;
+import graql.lang.Graql;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class AttributeIndexMigrationIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    // long enough for its index to hold a hash of the value
+    private static final String LONG_NAME = "Bob, whose name is longer than the hash it is indexed by";
+    private static final String OTHER_LONG_NAME = "Alice, whose name is longer than the hash it is indexed by";
+
+    private Keyspace keyspace;
+    private JanusGraphFactory janusGraphFactory;
+    private SessionFactory sessionFactory;
+    private SessionFactory migratingSessionFactory;
+
+    @Before
+    public void setUp() {
+        keyspace = server.randomKeyspaceName();
+        // keyspaces are closed along with their last session, so that each session opens them again
+        Config config = Config.of(server.serverConfig().properties());
+        config.setConfigProperty(ConfigKey.KEYSPACE_IDLE_TIMEOUT, 0L);
+        config.setConfigProperty(ConfigKey.MIGRATE_ATTRIBUTE_INDEX, false);
+        Config migratingConfig = Config.of(config.properties());
+        migratingConfig.setConfigProperty(ConfigKey.MIGRATE_ATTRIBUTE_INDEX, true);
+
+        janusGraphFactory = new JanusGraphFactory(config);
+        sessionFactory = new SessionFactory(new LockManager(), janusGraphFactory, new HadoopGraphFactory(config), config);
+        migratingSessionFactory = new SessionFactory(new LockManager(), janusGraphFactory, new HadoopGraphFactory(migratingConfig), migratingConfig);
+
+        try (Session session = sessionFactory.session(keyspace); Transaction tx = session.writeTransaction()) {
+            tx.execute(Graql.parse("define " +
+                    "name sub attribute, datatype string; " +
+                    "age sub attribute, datatype long; " +
+                    "person sub entity, has name, has age;").asDefine());
+            tx.execute(Graql.parse("insert $x isa person, has name \"Bob\", has name \"" + LONG_NAME + "\", has age 42;").asInsert());
+            tx.commit();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        sessionFactory.shutdown();
+        migratingSessionFactory.shutdown();
+    }
+
+    @Test
+    public void whenMigrationIsDisabled_KeyspaceWithOlderIndexKeepsFindingItsAttributes() {
+        indexAttributesByLabel(false);
+
+        try (Session session = sessionFactory.session(keyspace)) {
+            assertAttributesAreFoundAndNotDuplicated(session);
+        }
+        assertFalse(hasCompactIndex());
+    }
+
+    @Test
+    public void whenMigrationIsEnabled_AttributesAreIndexedAgainAndFound() {
+        indexAttributesByLabel(false);
+
+        try (Session session = migratingSessionFactory.session(keyspace)) {
+            assertAttributesAreFoundAndNotDuplicated(session);
+        }
+        assertTrue(hasCompactIndex());
+        assertFalse(isMigrating());
+    }
+
+    @Test
+    public void whenMigrationWasInterrupted_ItResumesEvenIfDisabled() {
+        indexAttributesByLabel(true);
+        assertTrue(isMigrating());
+
+        try (Session session = sessionFactory.session(keyspace)) {
+            assertAttributesAreFoundAndNotDuplicated(session);
+        }
+        assertTrue(hasCompactIndex());
+        assertFalse(isMigrating());
+    }
+
+    @Test
+    public void whenHashedIndicesCollide_AttributeIsFoundByItsValue() {
+        ConceptId longNameId;
+        try (Session session = sessionFactory.session(keyspace); Transaction tx = session.writeTransaction()) {
+            tx.execute(Graql.parse("insert $x \"" + OTHER_LONG_NAME + "\" isa name;").asInsert());
+            longNameId = tx.<String>getAttributeType("name").attribute(LONG_NAME).id();
+            tx.commit();
+        }
+
+        // give the other name the index of the first one, as a collision of their hashes would
+        StandardJanusGraph graph = janusGraphFactory.openGraph(keyspace.name());
+        JanusGraphTransaction janusTx = graph.newTransaction();
+        String longNameIndex = janusTx.traversal().V().has(Schema.VertexProperty.VALUE_STRING.name(), LONG_NAME).next()
+                .value(Schema.VertexProperty.INDEX.name());
+        assertTrue(Schema.isHashedAttributeIndex(longNameIndex));
+        janusTx.traversal().V().has(Schema.VertexProperty.VALUE_STRING.name(), OTHER_LONG_NAME).next()
+                .property(Schema.VertexProperty.INDEX.name(), longNameIndex);
+        janusTx.commit();
+        graph.close();
+
+        try (Session session = sessionFactory.session(keyspace); Transaction tx = session.readTransaction()) {
+            Attribute<String> longName = tx.<String>getAttributeType("name").attribute(LONG_NAME);
+            assertEquals(longNameId, longName.id());
+            assertEquals(LONG_NAME, longName.value());
+        }
+    }
+
+    @Test
+    public void whenCommittedAttributeHasCollidingIndex_NewAttributeIsNotMergedIntoIt() {
+        try (Session session = sessionFactory.session(keyspace)) {
+            try (Transaction tx = session.writeTransaction()) {
+                AttributeType<String> name = tx.getAttributeType("name");
+                ConceptId longNameId = name.attribute(LONG_NAME).id();
+                // as if a concurrent transaction had committed the first name under the index of the other one
+                String otherIndex = Schema.generateCompactAttributeIndex(name.labelId(), AttributeType.DataType.STRING, OTHER_LONG_NAME);
+                session.attributeManager().attributesCommitted().put(otherIndex, longNameId);
+
+                tx.execute(Graql.parse("insert $x \"" + OTHER_LONG_NAME + "\" isa name;").asInsert());
+                tx.commit();
+            }
+
+            try (Transaction tx = session.readTransaction()) {
+                AttributeType<String> name = tx.getAttributeType("name");
+                Set<String> names = name.instances().map(Attribute::value).collect(Collectors.toSet());
+                assertEquals(3, names.size());
+                assertTrue(names.contains(OTHER_LONG_NAME));
+                assertNotNull(name.attribute(OTHER_LONG_NAME));
+            }
+        }
+    }
+
+    private void assertAttributesAreFoundAndNotDuplicated(Session session) {
+        try (Transaction tx = session.writeTransaction()) {
+            assertNotNull(tx.<String>getAttributeType("name").attribute("Bob"));
+            assertNotNull(tx.<String>getAttributeType("name").attribute(LONG_NAME));
+            assertNotNull(tx.<Long>getAttributeType("age").attribute(42L));
+
+            tx.execute(Graql.parse("insert $x isa person, has name \"Bob\", has name \"" + LONG_NAME + "\", has age 42;").asInsert());
+            tx.commit();
+        }
+        try (Transaction tx = session.readTransaction()) {
+            assertEquals(3, tx.getMetaAttributeType().instances().count());
+        }
+    }
+
+    /**
+     * Indexes the attributes by type label and value, as keyspaces created by earlier versions do.
+     * An interrupted migration leaves the ages indexed by type id and value, and the keyspace flagged as migrating.
+     */
+    private void indexAttributesByLabel(boolean interrupted) {
+        StandardJanusGraph graph = janusGraphFactory.openGraph(keyspace.name());
+        JanusGraphTransaction tx = graph.newTransaction();
+        tx.traversal().V().hasLabel(Schema.BaseType.ATTRIBUTE.name()).forEachRemaining(attribute -> {
+            Integer typeId = attribute.value(Schema.VertexProperty.THING_TYPE_LABEL_ID.name());
+            Vertex type = tx.traversal().V().has(Schema.VertexProperty.LABEL_ID.name(), typeId).next();
+            String label = type.value(Schema.VertexProperty.SCHEMA_LABEL.name());
+            if (interrupted && label.equals("age")) return;
+
+            Object value = attribute.properties(Schema.VertexProperty.VALUE_STRING.name(), Schema.VertexProperty.VALUE_LONG.name()).next().value();
+            attribute.property(Schema.VertexProperty.INDEX.name(), Schema.generateAttributeIndex(Label.of(label), value.toString()));
+        });
+        Vertex metaAttributeType = metaAttributeType(tx);
+        metaAttributeType.property(Schema.VertexProperty.COMPACT_ATTRIBUTE_INDEX.name()).remove();
+        if (interrupted) metaAttributeType.property(Schema.VertexProperty.ATTRIBUTE_INDEX_MIGRATION.name(), true);
+        tx.commit();
+        graph.close();
+    }
+
+    private boolean hasCompactIndex() {
+        StandardJanusGraph graph = janusGraphFactory.openGraph(keyspace.name());
+        try {
+            return AttributeIndexMigration.hasCompactIndex(graph);
+        } finally {
+            graph.close();
+        }
+    }
+
+    private boolean isMigrating() {
+        StandardJanusGraph graph = janusGraphFactory.openGraph(keyspace.name());
+        try {
+            return AttributeIndexMigration.isMigrating(graph);
+        } finally {
+            graph.close();
+        }
+    }
+
+    private static Vertex metaAttributeType(JanusGraphTransaction tx) {
+        return tx.traversal().V().has(Schema.VertexProperty.LABEL_ID.name(), Schema.MetaSchema.ATTRIBUTE.getId().getValue()).next();
+    }
+}
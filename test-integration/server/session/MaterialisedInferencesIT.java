@@ -0,0 +1,147 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2019 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.server.session;
+
+import com.google.common.collect.ImmutableSet;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.kb.server.keyspace.Keyspace;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.util.LockManager;
+import graql.lang.Graql;
+import graql.lang.query.GraqlGet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MaterialisedInferencesIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private static final GraqlGet ACQUAINTANCES = Graql.parse("match (acquaintance: $x, acquaintance: $y) isa acquaintanceship; " +
+            "$x has name $nx; $y has name $ny; get $nx, $ny;").asGet();
+
+    private Keyspace keyspace;
+    private SessionFactory sessionFactory;
+    private Session session;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        keyspace = server.randomKeyspaceName();
+        Config config = Config.of(server.serverConfig().properties());
+        config.setConfigProperty(ConfigKey.MATERIALISED_KEYSPACES, keyspace.name());
+        sessionFactory = new SessionFactory(new LockManager(), new JanusGraphFactory(config), new HadoopGraphFactory(config), config);
+        session = sessionFactory.session(keyspace);
+
+        try (Transaction tx = session.writeTransaction()) {
+            tx.execute(Graql.parse("define " +
+                    "name sub attribute, datatype string;" +
+                    "person sub entity, has name, plays friend, plays colleague, plays acquaintance;" +
+                    "friendship sub relation, relates friend;" +
+                    "colleagueship sub relation, relates colleague;" +
+                    "acquaintanceship sub relation, relates acquaintance;" +
+                    "friends-are-acquainted sub rule, when { (friend: $x, friend: $y) isa friendship; }, " +
+                    "then { (acquaintance: $x, acquaintance: $y) isa acquaintanceship; };" +
+                    "colleagues-are-acquainted sub rule, when { (colleague: $x, colleague: $y) isa colleagueship; }, " +
+                    "then { (acquaintance: $x, acquaintance: $y) isa acquaintanceship; };").asDefine());
+            tx.execute(Graql.parse("insert " +
+                    "$a isa person, has name 'a'; $b isa person, has name 'b';" +
+                    "$c isa person, has name 'c'; $d isa person, has name 'd';" +
+                    "(friend: $a, friend: $b) isa friendship; (colleague: $c, colleague: $d) isa colleagueship;").asInsert());
+            tx.commit();
+        }
+        awaitMaintenance();
+    }
+
+    @After
+    public void tearDown() {
+        session.close();
+        sessionFactory.shutdown();
+    }
+
+    @Test
+    public void whenSchemaIsCommitted_inferencesAreRebuiltAndPersisted() {
+        assertEquals(ImmutableSet.of(ImmutableSet.of("a", "b"), ImmutableSet.of("c", "d")), acquaintances(false));
+        assertEquals(acquaintances(false), acquaintances(true));
+    }
+
+    @Test
+    public void whenTheBodyOfOneRuleIsDeleted_inferencesOfOtherRulesWithTheSameHeadArePersistedAgain() throws InterruptedException {
+        try (Transaction tx = session.writeTransaction()) {
+            tx.execute(Graql.parse("match $r isa friendship; delete $r;").asDelete());
+            tx.commit();
+        }
+        awaitMaintenance();
+
+        assertEquals(ImmutableSet.of(ImmutableSet.of("c", "d")), acquaintances(false));
+        assertEquals(acquaintances(false), acquaintances(true));
+    }
+
+    @Test
+    public void whenDataIsInserted_newInferencesArePersisted() throws InterruptedException {
+        try (Transaction tx = session.writeTransaction()) {
+            tx.execute(Graql.parse("match $a isa person, has name 'a'; $c isa person, has name 'c'; " +
+                    "insert (colleague: $a, colleague: $c) isa colleagueship;").asInsert());
+            tx.commit();
+        }
+        awaitMaintenance();
+
+        assertEquals(ImmutableSet.of(ImmutableSet.of("a", "b"), ImmutableSet.of("c", "d"), ImmutableSet.of("a", "c")),
+                acquaintances(false));
+        assertEquals(acquaintances(false), acquaintances(true));
+    }
+
+    @Test
+    public void whenMaintenanceIsPending_queriesWithInferenceStillApplyTheRules() {
+        try (Transaction tx = session.writeTransaction()) {
+            tx.execute(Graql.parse("match $b isa person, has name 'b'; $d isa person, has name 'd'; " +
+                    "insert (friend: $b, friend: $d) isa friendship;").asInsert());
+            tx.commit();
+        }
+
+        // whether or not the maintenance is done yet, the new inference is found
+        Set<Set<String>> acquaintances = acquaintances(true);
+        assertTrue(acquaintances.contains(ImmutableSet.of("b", "d")));
+    }
+
+    private void awaitMaintenance() throws InterruptedException {
+        sessionFactory.materialisedInferences(keyspace).awaitMaintenance();
+    }
+
+    private Set<Set<String>> acquaintances(boolean infer) {
+        try (Transaction tx = session.readTransaction()) {
+            return tx.stream(ACQUAINTANCES, infer)
+                    .map(answer -> ImmutableSet.of(
+                            answer.get("nx").asAttribute().value().toString(),
+                            answer.get("ny").asAttribute().value().toString()))
+                    .collect(Collectors.<Set<String>>toSet());
+        }
+    }
+}
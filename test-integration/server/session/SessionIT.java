@@ -18,14 +18,17 @@
 
 package grakn.core.server.session;
 
+import grakn.core.common.config.Config;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.server.Session;
 import grakn.core.kb.server.Transaction;
 import grakn.core.kb.server.exception.SessionException;
 import grakn.core.kb.server.exception.TransactionException;
+import grakn.core.kb.server.keyspace.Keyspace;
 import grakn.core.rule.GraknTestServer;
 import grakn.core.server.keyspace.KeyspaceImpl;
+import grakn.core.server.util.LockManager;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -155,6 +158,40 @@ public class SessionIT {
         }).get();
     }
 
+    @Test
+    public void whenReopeningKeyspaceWithoutSessions_keyspaceIsStillWarm() {
+        KeyspaceImpl keyspace = new KeyspaceImpl("warm");
+        server.sessionFactory().session(keyspace).close();
+        long warmOpens = server.sessionFactory().warmOpenCount();
+        long coldOpens = server.sessionFactory().coldOpenCount();
+
+        Session localSession = server.sessionFactory().session(keyspace);
+        Transaction tx = localSession.readTransaction();
+        assertEquals("thing", tx.getSchemaConcept(Label.of("thing")).label().toString());
+        tx.close();
+        localSession.close();
+
+        assertEquals(warmOpens + 1, server.sessionFactory().warmOpenCount());
+        assertEquals(coldOpens, server.sessionFactory().coldOpenCount());
+    }
+
+    @Test
+    public void whenShuttingDownSessionFactory_idleKeyspacesAreClosedAndOpenSessionsInvalidated() {
+        Config config = Config.of(server.serverConfig().properties());
+        SessionFactory sessionFactory = new SessionFactory(new LockManager(), new JanusGraphFactory(config), new HadoopGraphFactory(config), config);
+        Keyspace idleKeyspace = server.randomKeyspaceName();
+        sessionFactory.session(idleKeyspace).close();
+        Session openSession = sessionFactory.session(server.randomKeyspaceName());
+
+        sessionFactory.shutdown();
+
+        long coldOpens = sessionFactory.coldOpenCount();
+        sessionFactory.session(idleKeyspace).close();
+        assertEquals(coldOpens + 1, sessionFactory.coldOpenCount());
+
+        expectedException.expect(SessionException.class);
+        openSession.writeTransaction();
+    }
 
     @Test
     public void whenClosingSession_transactionIsAlsoClosed() {
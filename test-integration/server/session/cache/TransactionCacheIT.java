@@ -224,10 +224,10 @@ public class TransactionCacheIT {
     public void whenAddingAndDeletingSameAttributeInSameTx_transactionCacheIsInSync() {
         String testAttributeLabel = "test-attribute";
         String testAttributeValue = "test-attribute-value";
-        String index = Schema.generateAttributeIndex(Label.of(testAttributeLabel), testAttributeValue);
 
         // define the schema
         tx.execute(Graql.define(type(testAttributeLabel).sub("attribute").datatype(Graql.Token.DataType.STRING)));
+        String index = session.attributeManager().attributeIndex(tx.getAttributeType(testAttributeLabel), testAttributeValue);
         tx.commit();
 
 
@@ -382,7 +382,7 @@ public class TransactionCacheIT {
         AttributeType<String> attributeType = tx.putAttributeType("resource", AttributeType.DataType.STRING);
         String value = "banana";
         Attribute attribute = attributeType.create(value);
-        String index = Schema.generateAttributeIndex(attributeType.label(), value);
+        String index = session.attributeManager().attributeIndex(attributeType, value);
 
         Attribute cachedAttribute = tx.cache().getAttributeCache().get(index);
         assertNotNull(cachedAttribute);